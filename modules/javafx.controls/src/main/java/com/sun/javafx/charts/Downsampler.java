@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.charts;
+
+/**
+ * Reduces a run of points, sorted by x and given in display coordinates, to roughly as many points as there are
+ * pixels to draw them on. Both algorithms always keep the first and the last point and work in place: the reduced
+ * points are written back to the start of the given range and their count is returned.
+ */
+public final class Downsampler {
+
+    private Downsampler() {}
+
+    /**
+     * Keeps, for every pixel column, the first, the minimum, the maximum and the last point in their original order.
+     * A polyline through the remaining points covers exactly the same pixels as one through all of them.
+     *
+     * @param x the x display positions, sorted in ascending order
+     * @param y the y display positions
+     * @param from the index of the first point
+     * @param to the index after the last point
+     * @return the number of points kept, starting at {@code from}
+     */
+    public static int minMax(double[] x, double[] y, int from, int to) {
+        int out = from;
+        int i = from;
+        while (i < to) {
+            final double column = Math.floor(x[i]);
+            final int first = i;
+            int min = i;
+            int max = i;
+            for (i++; i < to && Math.floor(x[i]) == column; i++) {
+                if (y[i] < y[min]) min = i;
+                if (y[i] > y[max]) max = i;
+            }
+            final int last = i - 1;
+            final int a = Math.min(min, max);
+            final int b = Math.max(min, max);
+            // read the values before writing, the output may overlap the points of this column
+            final double fx = x[first], fy = y[first];
+            final double ax = x[a], ay = y[a];
+            final double bx = x[b], by = y[b];
+            final double lx = x[last], ly = y[last];
+            x[out] = fx; y[out++] = fy;
+            if (a != first) {
+                x[out] = ax; y[out++] = ay;
+            }
+            if (b != a && b != first) {
+                x[out] = bx; y[out++] = by;
+            }
+            if (last != b && last != first) {
+                x[out] = lx; y[out++] = ly;
+            }
+        }
+        return out - from;
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets: splits the points between the first and the last one into
+     * {@code threshold - 2} buckets and keeps from each the point forming the largest triangle with the point kept
+     * from the previous bucket and the average of the next bucket.
+     *
+     * @param x the x display positions, sorted in ascending order
+     * @param y the y display positions
+     * @param from the index of the first point
+     * @param to the index after the last point
+     * @param threshold the number of points to keep
+     * @return the number of points kept, starting at {@code from}
+     */
+    public static int lttb(double[] x, double[] y, int from, int to, int threshold) {
+        final int count = to - from;
+        if (threshold >= count || threshold < 3) {
+            return count;
+        }
+        final double bucketSize = (double) (count - 2) / (threshold - 2);
+        double ax = x[from];
+        double ay = y[from];
+        int out = from + 1;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            final int start = from + (int) (bucket * bucketSize) + 1;
+            final int end = from + (int) ((bucket + 1) * bucketSize) + 1;
+            final int nextEnd = Math.min(from + (int) ((bucket + 2) * bucketSize) + 1, to);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = end; j < nextEnd; j++) {
+                avgX += x[j];
+                avgY += y[j];
+            }
+            final int n = nextEnd - end;
+            if (n > 0) {
+                avgX /= n;
+                avgY /= n;
+            } else {
+                avgX = x[to - 1];
+                avgY = y[to - 1];
+            }
+            double maxArea = -1;
+            double bx = ax;
+            double by = ay;
+            for (int j = start; j < end; j++) {
+                final double area = Math.abs((ax - avgX) * (y[j] - ay) - (ax - x[j]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    bx = x[j];
+                    by = y[j];
+                }
+            }
+            x[out] = bx;
+            y[out++] = by;
+            ax = bx;
+            ay = by;
+        }
+        x[out] = x[to - 1];
+        y[out++] = y[to - 1];
+        return out - from;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.scene.control;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The executor on which cells load their content in the background (see
+ * {@code IndexedCell.loadContentAsync}). The default pool runs the most
+ * recent requests first, since while scrolling these are the cells that have
+ * just come into view, and removes cancelled requests from its queue so that
+ * cells that were scrolled past cost nothing.
+ */
+public final class CellContentLoader {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private static ThreadPoolExecutor defaultExecutor;
+    private static Executor executor;
+
+    private CellContentLoader() {
+    }
+
+    private static final class Job extends FutureTask<Void> implements Comparable<Job> {
+        private final long sequence = SEQUENCE.getAndIncrement();
+
+        Job(Runnable task) {
+            super(task, null);
+        }
+
+        // newest first
+        @Override public int compareTo(Job other) {
+            return Long.compare(other.sequence, sequence);
+        }
+    }
+
+    private static synchronized Executor getExecutor() {
+        if (executor != null) {
+            return executor;
+        }
+        if (defaultExecutor == null) {
+            int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+            defaultExecutor = new ThreadPoolExecutor(threads, threads, 5, TimeUnit.SECONDS,
+                    new PriorityBlockingQueue<>(), r -> {
+                        Thread thread = new Thread(r, "JavaFX Cell Content Loader");
+                        thread.setDaemon(true);
+                        thread.setPriority(Thread.NORM_PRIORITY - 1);
+                        return thread;
+                    });
+            defaultExecutor.allowCoreThreadTimeOut(true);
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * Replaces the executor used to load cell content, or restores the
+     * default one if {@code null}. This is intended for testing.
+     */
+    public static synchronized void setExecutor(Executor value) {
+        executor = value;
+    }
+
+    /**
+     * Schedules the given task to run in the background.
+     *
+     * @return a future that can be passed to {@link #cancel(Future)}
+     */
+    public static Future<?> submit(Runnable task) {
+        Job job = new Job(task);
+        getExecutor().execute(job);
+        return job;
+    }
+
+    /**
+     * Cancels a task scheduled by {@link #submit(Runnable)}, interrupting it
+     * if it is already running.
+     */
+    public static void cancel(Future<?> future) {
+        if (future.cancel(true)) {
+            ThreadPoolExecutor pool;
+            synchronized (CellContentLoader.class) {
+                pool = defaultExecutor;
+            }
+            if (pool != null && future instanceof Runnable) {
+                pool.remove((Runnable) future);
+            }
+        }
+    }
+}
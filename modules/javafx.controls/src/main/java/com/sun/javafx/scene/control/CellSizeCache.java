@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.scene.control;
+
+import java.util.Arrays;
+
+/**
+ * The measured sizes of the items of a virtualized control, held in primitive
+ * arrays together with a Fenwick (binary indexed) tree of their running
+ * totals. Items that have not been measured yet count as a caller-supplied
+ * estimate, so that the offset of an item, and the item at an offset, can be
+ * found in O(log n) whether or not all items have been measured. Once every
+ * item has been measured the offsets are exact.
+ *
+ * <p>Setting or invalidating the size of a single item is O(log n). Adding
+ * m items to the cache is O(m + log n) and removing items is O(log n);
+ * invalidating large ranges rebuilds the tree in O(n). No objects are
+ * allocated except when the item count grows.</p>
+ */
+public final class CellSizeCache {
+
+    private static final double[] EMPTY_SIZES = new double[0];
+    private static final int[] EMPTY_COUNTS = new int[0];
+
+    private int size;
+    // the size of each item, NaN if it is not known
+    private double[] sizes = EMPTY_SIZES;
+    // Fenwick trees (1-based) of the known sizes and of the number of known
+    // sizes; node i covers the items (i - lowbit(i), i]
+    private double[] sizeTree = EMPTY_SIZES;
+    private int[] countTree = EMPTY_COUNTS;
+    private int knownCount;
+    // one past the highest index that has been measured since the last reset,
+    // lowered to the start of any range that is invalidated
+    private int extent;
+
+    public CellSizeCache() {
+    }
+
+    /**
+     * Returns the number of items in this cache.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Changes the number of items in this cache, keeping the sizes of the
+     * items that remain.
+     */
+    public void setSize(int newSize) {
+        if (newSize < 0) {
+            throw new IllegalArgumentException("Negative size: " + newSize);
+        }
+        if (newSize == size) {
+            return;
+        }
+        if (newSize > sizes.length) {
+            int capacity = (int) Math.max(newSize, Math.min(2L * sizes.length, Integer.MAX_VALUE - 8));
+            sizes = Arrays.copyOf(sizes, capacity);
+            sizeTree = Arrays.copyOf(sizeTree, capacity + 1);
+            countTree = Arrays.copyOf(countTree, capacity + 1);
+        }
+        // the nodes of the items that remain only cover those items, so they
+        // stay valid either way
+        if (newSize > size) {
+            Arrays.fill(sizes, size, newSize, Double.NaN);
+            addNodes(size, newSize);
+        } else {
+            knownCount = prefixCount(newSize);
+        }
+        size = newSize;
+        extent = Math.min(extent, size);
+    }
+
+    /**
+     * Forgets the sizes of all items.
+     */
+    public void clear() {
+        invalidate(0, size);
+        extent = 0;
+    }
+
+    /**
+     * Returns the size of the item at the given index, or -1 if it has not
+     * been measured.
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            return -1;
+        }
+        double s = sizes[index];
+        return s != s ? -1 : s;
+    }
+
+    /**
+     * Returns whether the item at the given index has been measured.
+     */
+    public boolean isKnown(int index) {
+        return index >= 0 && index < size && !Double.isNaN(sizes[index]);
+    }
+
+    /**
+     * Records the size of the item at the given index.
+     */
+    public void set(int index, double itemSize) {
+        checkIndex(index);
+        if (Double.isNaN(itemSize) || itemSize < 0) {
+            throw new IllegalArgumentException("Invalid size: " + itemSize);
+        }
+        double old = sizes[index];
+        sizes[index] = itemSize;
+        if (old != old) {
+            knownCount++;
+            update(index, itemSize, 1);
+        } else if (old != itemSize) {
+            update(index, itemSize - old, 0);
+        }
+        extent = Math.max(extent, index + 1);
+    }
+
+    /**
+     * Forgets the sizes of the items from {@code from} (inclusive) to
+     * {@code to} (exclusive).
+     */
+    public void invalidate(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ") in " + size);
+        }
+        // clearing more than a few items one by one costs more than a rebuild
+        extent = Math.min(extent, from);
+        int n = to - from;
+        if (n > 32 && n > size >> 5) {
+            Arrays.fill(sizes, from, to, Double.NaN);
+            rebuild();
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            double old = sizes[i];
+            if (old == old) {
+                sizes[i] = Double.NaN;
+                knownCount--;
+                update(i, -old, -1);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of items that have been measured.
+     */
+    public int getKnownCount() {
+        return knownCount;
+    }
+
+    /**
+     * Returns the total size of the items that have been measured.
+     */
+    public double getKnownTotal() {
+        return knownCount == 0 ? 0 : prefixSize(size);
+    }
+
+    /**
+     * Returns the average size of the measured items, or the given default
+     * if no item has been measured.
+     */
+    public double getAverage(double defaultSize) {
+        return knownCount == 0 ? defaultSize : getKnownTotal() / knownCount;
+    }
+
+    /**
+     * Returns one past the highest index measured since the cache was last
+     * cleared, or the start of the earliest range invalidated since then if
+     * that is lower.
+     */
+    public int getExtent() {
+        return extent;
+    }
+
+    /**
+     * Returns the index of the first item at or after {@code from} that has
+     * not been measured, or -1 if there is none.
+     */
+    public int nextUnknown(int from) {
+        from = Math.max(from, 0);
+        if (from >= size || knownCount == size) {
+            return -1;
+        }
+        // the number of unknown items before from
+        int target = from;
+        for (int i = from; i > 0; i -= i & -i) {
+            target -= countTree[i];
+        }
+        // descend the tree to find the longest prefix that has no more
+        // unknown items than that; the item after it is the one we want
+        int pos = 0;
+        for (int step = Integer.highestOneBit(size); step != 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= size) {
+                int unknown = step - countTree[next];
+                if (unknown <= target) {
+                    pos = next;
+                    target -= unknown;
+                }
+            }
+        }
+        return pos < size ? pos : -1;
+    }
+
+    /**
+     * Returns the offset of the start of the item at the given index, that
+     * is the sum of the sizes of all items before it, where items that have
+     * not been measured, or lie beyond the end of the cache, count as
+     * {@code estimate}.
+     */
+    public double offsetOf(int index, double estimate) {
+        if (index <= 0) {
+            return 0;
+        }
+        double total = 0;
+        int unknown = index;
+        for (int i = Math.min(index, size); i > 0; i -= i & -i) {
+            total += sizeTree[i];
+            unknown -= countTree[i];
+        }
+        return total + unknown * estimate;
+    }
+
+    /**
+     * Returns the index of the item that contains the given offset, where
+     * items that have not been measured count as {@code estimate}. Offsets
+     * before the first item map to 0 and offsets after the last item map to
+     * the last item; an empty cache returns 0.
+     */
+    public int indexAt(double offset, double estimate) {
+        if (size == 0 || offset < 0) {
+            return 0;
+        }
+        // descend the tree to find the largest prefix whose total does not
+        // exceed the offset
+        int pos = 0;
+        double remaining = offset;
+        for (int step = Integer.highestOneBit(size); step != 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= size) {
+                double s = sizeTree[next] + (step - countTree[next]) * estimate;
+                if (s <= remaining) {
+                    pos = next;
+                    remaining -= s;
+                }
+            }
+        }
+        return Math.min(pos, size - 1);
+    }
+
+    private double prefixSize(int index) {
+        double total = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            total += sizeTree[i];
+        }
+        return total;
+    }
+
+    private int prefixCount(int index) {
+        int count = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            count += countTree[i];
+        }
+        return count;
+    }
+
+    // computes the tree nodes of the unknown items appended at indices from
+    // to to - 1, each as the sum of its children, which precede it
+    private void addNodes(int from, int to) {
+        for (int i = from + 1; i <= to; i++) {
+            double total = 0;
+            int count = 0;
+            for (int child = i - 1, start = i - (i & -i); child > start; child -= child & -child) {
+                total += sizeTree[child];
+                count += countTree[child];
+            }
+            sizeTree[i] = total;
+            countTree[i] = count;
+        }
+    }
+
+    private void update(int index, double delta, int countDelta) {
+        for (int i = index + 1; i <= size; i += i & -i) {
+            sizeTree[i] += delta;
+            countTree[i] += countDelta;
+        }
+    }
+
+    private void rebuild() {
+        knownCount = 0;
+        for (int i = 1; i <= size; i++) {
+            double s = sizes[i - 1];
+            if (s == s) {
+                sizeTree[i] = s;
+                countTree[i] = 1;
+                knownCount++;
+            } else {
+                sizeTree[i] = 0;
+                countTree[i] = 0;
+            }
+        }
+        for (int i = 1; i <= size; i++) {
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                sizeTree[parent] += sizeTree[i];
+                countTree[parent] += countTree[i];
+            }
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
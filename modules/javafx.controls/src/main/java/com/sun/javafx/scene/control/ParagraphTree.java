@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.scene.control;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The paragraphs of a multi-line text, held in a balanced tree (a treap with
+ * implicit keys) that records the number of paragraphs and characters in each
+ * subtree. Looking up a paragraph by index or by character offset, inserting
+ * or removing a range of paragraphs, and updating the length of a paragraph
+ * are all O(log n) in the number of paragraphs, and extracting a range of the
+ * text is linear in the size of the range only.
+ *
+ * <p>The paragraphs are separated by a single newline character, which is not
+ * part of any paragraph. A paragraph may be any {@code CharSequence}; if it is
+ * mutable, {@link #lengthChanged(int)} must be called after it is modified.
+ * There is always at least one, possibly empty, paragraph.</p>
+ */
+public final class ParagraphTree {
+
+    private static final class Node {
+        CharSequence text;
+        int length;
+        final int priority;
+        Node left, right;
+        // the number of paragraphs in this subtree
+        int count;
+        // the number of characters in this subtree, with one newline for
+        // each paragraph
+        int weight;
+
+        Node(CharSequence text, int priority) {
+            this.text = text;
+            this.length = text.length();
+            this.priority = priority;
+            this.count = 1;
+            this.weight = length + 1;
+        }
+    }
+
+    private Node root;
+    private int seed = 0x2545F491;
+
+    // results of split()
+    private Node splitLeft, splitRight;
+
+    /**
+     * Creates a tree holding a single paragraph.
+     *
+     * @param paragraph the first paragraph
+     */
+    public ParagraphTree(CharSequence paragraph) {
+        root = new Node(paragraph, nextPriority());
+    }
+
+    /**
+     * Gets the number of paragraphs.
+     *
+     * @return the number of paragraphs
+     */
+    public int size() {
+        return root.count;
+    }
+
+    /**
+     * Gets the number of characters in the text, including the newlines
+     * between the paragraphs.
+     *
+     * @return the length of the text
+     */
+    public int length() {
+        return root.weight - 1;
+    }
+
+    /**
+     * Gets the paragraph at the given index.
+     *
+     * @param index the index of the paragraph
+     * @return the paragraph
+     */
+    public CharSequence get(int index) {
+        return node(index).text;
+    }
+
+    /**
+     * Replaces the paragraph at the given index.
+     *
+     * @param index the index of the paragraph
+     * @param paragraph the new paragraph
+     */
+    public void set(int index, CharSequence paragraph) {
+        node(index).text = paragraph;
+        lengthChanged(index);
+    }
+
+    /**
+     * Updates the length recorded for the paragraph at the given index, after
+     * it was modified.
+     *
+     * @param index the index of the paragraph
+     */
+    public void lengthChanged(int index) {
+        checkIndex(index, size());
+        lengthChanged(root, index);
+    }
+
+    /**
+     * Gets the index of the paragraph containing the given character offset.
+     * An offset at the start of a paragraph belongs to that paragraph, and
+     * the offset of the newline ending a paragraph belongs to the paragraph
+     * it ends.
+     *
+     * @param offset the character offset, between 0 and {@link #length()}
+     * @return the index of the paragraph
+     */
+    public int paragraphAt(int offset) {
+        if (offset < 0 || offset > length()) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length());
+        }
+        Node n = root;
+        int index = 0;
+        while (true) {
+            int leftWeight = weight(n.left);
+            if (offset < leftWeight) {
+                n = n.left;
+                continue;
+            }
+            offset -= leftWeight;
+            index += count(n.left);
+            if (offset <= n.length || n.right == null) {
+                return index;
+            }
+            offset -= n.length + 1;
+            index++;
+            n = n.right;
+        }
+    }
+
+    /**
+     * Gets the character offset at which the paragraph at the given index
+     * starts.
+     *
+     * @param index the index of the paragraph
+     * @return the offset of the first character of the paragraph
+     */
+    public int paragraphStart(int index) {
+        checkIndex(index, size());
+        Node n = root;
+        int start = 0;
+        while (true) {
+            int leftCount = count(n.left);
+            if (index < leftCount) {
+                n = n.left;
+            } else {
+                start += weight(n.left);
+                if (index == leftCount) {
+                    return start;
+                }
+                start += n.length + 1;
+                index -= leftCount + 1;
+                n = n.right;
+            }
+        }
+    }
+
+    /**
+     * Inserts paragraphs at the given index.
+     *
+     * @param index the index at which to insert the first paragraph
+     * @param paragraphs the paragraphs to insert
+     */
+    public void addAll(int index, List<? extends CharSequence> paragraphs) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size());
+        }
+        if (paragraphs.isEmpty()) {
+            return;
+        }
+        Node added = build(paragraphs);
+        split(root, index);
+        Node right = splitRight;
+        root = merge(merge(splitLeft, added), right);
+        splitLeft = splitRight = null;
+    }
+
+    /**
+     * Removes the paragraphs in the given range. At least one paragraph must
+     * remain.
+     *
+     * @param from the index of the first paragraph to remove
+     * @param to the index after the last paragraph to remove
+     * @return the removed paragraphs
+     */
+    public List<CharSequence> remove(int from, int to) {
+        if (from < 0 || to > size() || from > to || to - from == size()) {
+            throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", size " + size());
+        }
+        List<CharSequence> removed = new ArrayList<>(to - from);
+        if (from == to) {
+            return removed;
+        }
+        split(root, to);
+        Node right = splitRight;
+        split(splitLeft, from);
+        Node left = splitLeft;
+        collect(splitRight, removed);
+        root = merge(left, right);
+        splitLeft = splitRight = null;
+        return removed;
+    }
+
+    /**
+     * Appends the characters of the text between the given offsets to a
+     * string builder.
+     *
+     * @param sb the string builder
+     * @param start the offset of the first character
+     * @param end the offset after the last character
+     */
+    public void appendTo(StringBuilder sb, int start, int end) {
+        if (start < 0 || end > length() || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length());
+        }
+        if (start < end) {
+            append(root, 0, start, end, sb);
+        }
+    }
+
+    private static void append(Node n, int base, int start, int end, StringBuilder sb) {
+        int leftWeight = weight(n.left);
+        if (n.left != null && start < base + leftWeight) {
+            append(n.left, base, start, end, sb);
+        }
+        int nodeStart = base + leftWeight;
+        int nodeEnd = nodeStart + n.length;
+        if (start <= nodeEnd && end > nodeStart) {
+            int from = Math.max(start, nodeStart);
+            int to = Math.min(end, nodeEnd);
+            if (from < to) {
+                sb.append(n.text, from - nodeStart, to - nodeStart);
+            }
+            if (end > nodeEnd) {
+                sb.append('\n');
+            }
+        }
+        if (n.right != null && end > nodeEnd + 1) {
+            append(n.right, nodeEnd + 1, start, end, sb);
+        }
+    }
+
+    private Node node(int index) {
+        checkIndex(index, size());
+        Node n = root;
+        while (true) {
+            int leftCount = count(n.left);
+            if (index < leftCount) {
+                n = n.left;
+            } else if (index > leftCount) {
+                index -= leftCount + 1;
+                n = n.right;
+            } else {
+                return n;
+            }
+        }
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+    }
+
+    private static void lengthChanged(Node n, int index) {
+        int leftCount = count(n.left);
+        if (index < leftCount) {
+            lengthChanged(n.left, index);
+        } else if (index > leftCount) {
+            lengthChanged(n.right, index - leftCount - 1);
+        } else {
+            n.length = n.text.length();
+        }
+        update(n);
+    }
+
+    private int nextPriority() {
+        // xorshift, good enough to keep the tree balanced
+        int x = seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        return seed = x;
+    }
+
+    private static int count(Node n) {
+        return n == null ? 0 : n.count;
+    }
+
+    private static int weight(Node n) {
+        return n == null ? 0 : n.weight;
+    }
+
+    private static Node update(Node n) {
+        n.count = count(n.left) + 1 + count(n.right);
+        n.weight = weight(n.left) + n.length + 1 + weight(n.right);
+        return n;
+    }
+
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            return update(a);
+        } else {
+            b.left = merge(a, b.left);
+            return update(b);
+        }
+    }
+
+    // Splits the tree into its first k paragraphs, in splitLeft, and the
+    // others, in splitRight.
+    private void split(Node n, int k) {
+        if (n == null) {
+            splitLeft = splitRight = null;
+        } else if (count(n.left) >= k) {
+            split(n.left, k);
+            n.left = splitRight;
+            splitRight = update(n);
+        } else {
+            split(n.right, k - count(n.left) - 1);
+            n.right = splitLeft;
+            splitLeft = update(n);
+        }
+    }
+
+    // Builds a tree from a list of paragraphs in linear time, keeping the
+    // nodes with the highest priority on top.
+    private Node build(List<? extends CharSequence> paragraphs) {
+        Node[] stack = new Node[paragraphs.size()];
+        int top = -1;
+        for (CharSequence paragraph : paragraphs) {
+            Node n = new Node(paragraph, nextPriority());
+            Node last = null;
+            while (top >= 0 && stack[top].priority < n.priority) {
+                last = stack[top--];
+            }
+            n.left = last;
+            if (top >= 0) {
+                stack[top].right = n;
+            }
+            stack[++top] = n;
+        }
+        Node built = stack[0];
+        updateAll(built);
+        return built;
+    }
+
+    private static void updateAll(Node n) {
+        if (n.left != null) updateAll(n.left);
+        if (n.right != null) updateAll(n.right);
+        update(n);
+    }
+
+    private static void collect(Node n, List<CharSequence> list) {
+        if (n == null) return;
+        collect(n.left, list);
+        list.add(n.text);
+        collect(n.right, list);
+    }
+}
@@ -24,6 +24,7 @@
  */
 package com.sun.javafx.scene.control;
 
+import com.sun.javafx.collections.NonIterableChange;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
@@ -45,6 +46,12 @@ import java.util.*;
  * row is selected.
  *
  * Refer to RT-33442 for more information on this issue.
+ *
+ * Selecting all rows or cells (e.g. with Ctrl+A) on a large table would
+ * require a position object per row or cell, so {@link #selectAll(int, int,
+ * PositionFactory)} instead records the selection as a range, from which the
+ * positions are created on demand. The range is only turned into positions
+ * if the selection is subsequently modified other than by being cleared.
  */
 // T == TablePosition<S,?>
 public abstract class SelectedCellsMap<T extends TablePositionBase> {
@@ -53,12 +60,94 @@ public abstract class SelectedCellsMap<T extends TablePositionBase> {
 
     private final Map<Integer, BitSet> selectedCellBitSetMap;
 
+    private final ListChangeListener<T> listener;
+
+    // the range selection, if any: every row in [0, range.rowCount), and in
+    // each row every column in [0, range.columnCount), or no column if the
+    // column count is zero
+    private RangeList<T> range;
+
+    // the current contents, as the list reported in range change events
+    private final ReadOnlyUnbackedObservableList<T> rangeView = new ReadOnlyUnbackedObservableList<T>() {
+        @Override public T get(int i) {
+            return SelectedCellsMap.this.get(i);
+        }
+
+        @Override public int size() {
+            return SelectedCellsMap.this.size();
+        }
+    };
+
+    /**
+     * Creates the position for the given row and visible leaf column index,
+     * or for the row alone if the column is -1.
+     */
+    @FunctionalInterface
+    public interface PositionFactory<T> {
+        T create(int row, int column);
+    }
+
+    /**
+     * An immutable list of all positions within a range selection, in row
+     * then column order. The positions are created as they are requested.
+     */
+    public static final class RangeList<T> extends AbstractList<T> {
+        private final int rowCount;
+        private final int columnCount;
+        private final PositionFactory<T> factory;
+
+        RangeList(int rowCount, int columnCount, PositionFactory<T> factory) {
+            this.rowCount = rowCount;
+            this.columnCount = columnCount;
+            this.factory = factory;
+        }
+
+        /**
+         * Returns the number of rows covered by this list, which are the rows
+         * from 0 (inclusive) to the row count (exclusive).
+         */
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        @Override public int size() {
+            return columnCount == 0 ? rowCount : rowCount * columnCount;
+        }
+
+        @Override public T get(int i) {
+            if (i < 0 || i >= size()) {
+                throw new IndexOutOfBoundsException(i + " >= " + size());
+            }
+            return columnCount == 0 ?
+                    factory.create(i, -1) :
+                    factory.create(i / columnCount, i % columnCount);
+        }
+
+        boolean contains(int row, int columnIndex) {
+            if (row < 0 || row >= rowCount) {
+                return false;
+            }
+            return columnIndex < 0 || columnIndex < columnCount;
+        }
+
+        int indexOf(int row, int columnIndex) {
+            if (!contains(row, columnIndex)) {
+                return -1;
+            }
+            if (columnCount == 0) {
+                return columnIndex < 0 ? row : -1;
+            }
+            return columnIndex < 0 ? -1 : row * columnCount + columnIndex;
+        }
+    }
+
     public SelectedCellsMap(final ListChangeListener<T> listener) {
         selectedCells = FXCollections.<T>observableArrayList();
         sortedSelectedCells = new SortedList<>(selectedCells, (T o1, T o2) -> {
             int result = o1.getRow() - o2.getRow();
             return result == 0 ? (o1.getColumn() - o2.getColumn()) : result;
         });
+        this.listener = listener;
         sortedSelectedCells.addListener(listener);
 
         selectedCellBitSetMap = new TreeMap<>((o1, o2) -> o1.compareTo(o2));
@@ -67,17 +156,54 @@ public abstract class SelectedCellsMap<T extends TablePositionBase> {
     public abstract boolean isCellSelectionEnabled();
 
     public int size() {
-        return selectedCells.size();
+        return range != null ? range.size() : selectedCells.size();
     }
 
     public T get(int i) {
         if (i < 0) {
             return null;
         }
-        return sortedSelectedCells.get(i);
+        return range != null ? range.get(i) : sortedSelectedCells.get(i);
+    }
+
+    /**
+     * Selects every row from 0 (inclusive) to rowCount (exclusive), and in
+     * each of them every visible leaf column from 0 (inclusive) to
+     * columnCount (exclusive), or only the row if columnCount is zero. This
+     * replaces the current selection, and takes constant time and space
+     * regardless of the number of rows and columns.
+     */
+    public void selectAll(int rowCount, int columnCount, PositionFactory<T> factory) {
+        if (rowCount <= 0) {
+            clear();
+            return;
+        }
+
+        List<T> removed = getSnapshot();
+        clearQuietly();
+        range = new RangeList<>(rowCount, Math.max(0, columnCount), factory);
+
+        fireRangeChange(0, range.size(), removed, range);
+    }
+
+    /**
+     * Returns a copy of the selected cells, in the same order as returned by
+     * {@link #get(int)}. For a range selection the copy is itself a range.
+     */
+    public List<T> getSnapshot() {
+        return range != null ? range : new ArrayList<>(sortedSelectedCells);
     }
 
     public void add(T tp) {
+        if (range != null) {
+            // selecting a cell that is already selected is a no-op
+            if (range.contains(tp.getRow(), isCellSelectionEnabled() ? tp.getColumn() : -1)
+                    && (!isCellSelectionEnabled() || tp.getColumn() >= 0)) {
+                return;
+            }
+            materializeRange();
+        }
+
         final int row = tp.getRow();
         final int columnIndex = tp.getColumn();
 
@@ -121,6 +247,8 @@ public abstract class SelectedCellsMap<T extends TablePositionBase> {
     }
 
     public void addAll(Collection<T> cells) {
+        materializeRange();
+
         // update bitset
         for (T tp : cells) {
             final int row = tp.getRow();
@@ -147,6 +275,8 @@ public abstract class SelectedCellsMap<T extends TablePositionBase> {
     }
 
     public void setAll(Collection<T> cells) {
+        materializeRange();
+
         // update bitset
         selectedCellBitSetMap.clear();
         for (T tp : cells) {
@@ -174,6 +304,8 @@ public abstract class SelectedCellsMap<T extends TablePositionBase> {
     }
 
     public void remove(T tp) {
+        materializeRange();
+
         final int row = tp.getRow();
         final int columnIndex = tp.getColumn();
 
@@ -195,6 +327,13 @@ public abstract class SelectedCellsMap<T extends TablePositionBase> {
     }
 
     public void clear() {
+        if (range != null) {
+            List<T> removed = range;
+            range = null;
+            fireRangeChange(0, 0, removed, null);
+            return;
+        }
+
         // update bitset
         selectedCellBitSetMap.clear();
 
@@ -203,6 +342,11 @@ public abstract class SelectedCellsMap<T extends TablePositionBase> {
     }
 
     public boolean isSelected(int row, int columnIndex) {
+        if (range != null) {
+            // a row selected without cell selection has no columns selected
+            return range.contains(row, columnIndex)
+                    && (columnIndex < 0 || range.columnCount > 0);
+        }
         if (columnIndex < 0) {
             return selectedCellBitSetMap.containsKey(row);
         } else {
@@ -211,14 +355,61 @@ public abstract class SelectedCellsMap<T extends TablePositionBase> {
     }
 
     public int indexOf(T tp) {
+        if (range != null) {
+            if (tp == null) {
+                return -1;
+            }
+            int index = range.indexOf(tp.getRow(), tp.getColumn());
+            return index >= 0 && tp.equals(range.get(index)) ? index : -1;
+        }
         return sortedSelectedCells.indexOf(tp);
     }
 
     public boolean isEmpty() {
-        return selectedCells.isEmpty();
+        return size() == 0;
     }
 
     public ObservableList<T> getSelectedCells() {
+        materializeRange();
         return selectedCells;
     }
+
+    // Replaces the range selection, if any, with the positions it contains,
+    // without reporting a change as the selection stays the same
+    private void materializeRange() {
+        if (range == null) return;
+
+        RangeList<T> cells = range;
+        range = null;
+
+        for (int row = 0; row < cells.rowCount; row++) {
+            BitSet bitset = new BitSet();
+            if (cells.columnCount > 0) {
+                bitset.set(0, cells.columnCount);
+            }
+            selectedCellBitSetMap.put(row, bitset);
+        }
+
+        sortedSelectedCells.removeListener(listener);
+        selectedCells.setAll(cells);
+        sortedSelectedCells.addListener(listener);
+    }
+
+    // Clears the selection without reporting a change
+    private void clearQuietly() {
+        range = null;
+        selectedCellBitSetMap.clear();
+        sortedSelectedCells.removeListener(listener);
+        selectedCells.clear();
+        sortedSelectedCells.addListener(listener);
+    }
+
+    private void fireRangeChange(int from, int to, List<T> removed, RangeList<T> added) {
+        listener.onChanged(new NonIterableChange.GenericAddRemoveChange<T>(from, to, removed, rangeView) {
+            @Override public List<T> getAddedSubList() {
+                // report the added cells as a range too
+                return added != null && from == 0 && to == added.size() ? added : super.getAddedSubList();
+            }
+        });
+    }
 }
\ No newline at end of file
@@ -24,6 +24,7 @@
  */
 package com.sun.javafx.scene.control.behavior;
 
+import javafx.event.EventType;
 import javafx.scene.Node;
 import com.sun.javafx.scene.control.inputmap.InputMap;
 import com.sun.javafx.scene.control.inputmap.InputMap.Mapping;
@@ -52,6 +53,13 @@ public abstract class BehaviorBase<N extends Node> {
     }
 
     public void dispose() {
+        // if the default mappings were never needed, nothing but the input
+        // map's own event handlers has been installed
+        if (getInputMap().hasPendingMappings()) {
+            getInputMap().dispose();
+            return;
+        }
+
         // when we dispose a behavior, we do NOT want to dispose the InputMap,
         // as that can remove input mappings that were not installed by the
         // behavior. Instead, we want to only remove mappings that the behavior
@@ -83,6 +91,16 @@ public abstract class BehaviorBase<N extends Node> {
     }
 
     protected void addDefaultMapping(InputMap<N> inputMap, Mapping<?>... newMapping) {
+        if (inputMap.hasPendingMappings()) {
+            // keep the input map lazy, these mappings are added after the pending ones
+            List<EventType<?>> eventTypes = new ArrayList<>(newMapping.length);
+            for (Mapping<?> mapping : newMapping) {
+                eventTypes.add(mapping.getEventType());
+            }
+            inputMap.populateLazily(eventTypes, () -> addDefaultMapping(inputMap, newMapping));
+            return;
+        }
+
         // make a copy of the existing mappings, so we only check against those
         List<Mapping<?>> existingMappings = new ArrayList<>(inputMap.getMappings());
 
@@ -29,12 +29,15 @@ import com.sun.javafx.scene.control.inputmap.KeyBinding;
 
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
+import javafx.event.EventType;
 import javafx.scene.control.ButtonBase;
 import com.sun.javafx.scene.control.inputmap.InputMap;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 
+import java.util.List;
+
 import static com.sun.javafx.scene.control.inputmap.InputMap.*;
 import static javafx.scene.input.KeyCode.ENTER;
 import static javafx.scene.input.KeyCode.SPACE;
@@ -48,6 +51,12 @@ import static javafx.scene.input.KeyCode.SPACE;
  *
  */
 public class ButtonBehavior<C extends ButtonBase> extends BehaviorBase<C> {
+    // the event types of the mappings added by this behavior, in the order they are first used
+    private static final List<EventType<?>> MAPPED_EVENT_TYPES = List.of(
+            KeyEvent.KEY_PRESSED, KeyEvent.KEY_RELEASED,
+            MouseEvent.MOUSE_PRESSED, MouseEvent.MOUSE_RELEASED,
+            MouseEvent.MOUSE_ENTERED, MouseEvent.MOUSE_EXITED);
+
     private final InputMap<C> buttonInputMap;
 
     /**
@@ -74,22 +83,25 @@ public class ButtonBehavior<C extends ButtonBase> extends BehaviorBase<C> {
         // InputMap installed on the control, if it is non-null, allowing us to pick up any user-specified mappings)
         buttonInputMap = createInputMap();
 
-        // add focus traversal mappings
-        addDefaultMapping(buttonInputMap, FocusTraversalInputMap.getFocusTraversalMappings());
-
-        // then button-specific mappings for key and mouse input
-        addDefaultMapping(buttonInputMap,
-            new KeyMapping(SPACE, KeyEvent.KEY_PRESSED, this::keyPressed),
-            new KeyMapping(SPACE, KeyEvent.KEY_RELEASED, this::keyReleased),
-            new MouseMapping(MouseEvent.MOUSE_PRESSED, this::mousePressed),
-            new MouseMapping(MouseEvent.MOUSE_RELEASED, this::mouseReleased),
-            new MouseMapping(MouseEvent.MOUSE_ENTERED, this::mouseEntered),
-            new MouseMapping(MouseEvent.MOUSE_EXITED, this::mouseExited),
-
-            // on non-Mac OS platforms, we support pressing the ENTER key to activate the button
-            new KeyMapping(new KeyBinding(ENTER, KeyEvent.KEY_PRESSED), this::keyPressed, event -> PlatformUtil.isMac()),
-            new KeyMapping(new KeyBinding(ENTER, KeyEvent.KEY_RELEASED), this::keyReleased, event -> PlatformUtil.isMac())
-        );
+        // the mappings are only created once the button receives input
+        buttonInputMap.populateLazily(MAPPED_EVENT_TYPES, () -> {
+            // add focus traversal mappings
+            addDefaultMapping(buttonInputMap, FocusTraversalInputMap.getFocusTraversalMappings());
+
+            // then button-specific mappings for key and mouse input
+            addDefaultMapping(buttonInputMap,
+                new KeyMapping(SPACE, KeyEvent.KEY_PRESSED, this::keyPressed),
+                new KeyMapping(SPACE, KeyEvent.KEY_RELEASED, this::keyReleased),
+                new MouseMapping(MouseEvent.MOUSE_PRESSED, this::mousePressed),
+                new MouseMapping(MouseEvent.MOUSE_RELEASED, this::mouseReleased),
+                new MouseMapping(MouseEvent.MOUSE_ENTERED, this::mouseEntered),
+                new MouseMapping(MouseEvent.MOUSE_EXITED, this::mouseExited),
+
+                // on non-Mac OS platforms, we support pressing the ENTER key to activate the button
+                new KeyMapping(new KeyBinding(ENTER, KeyEvent.KEY_PRESSED), this::keyPressed, event -> PlatformUtil.isMac()),
+                new KeyMapping(new KeyBinding(ENTER, KeyEvent.KEY_RELEASED), this::keyReleased, event -> PlatformUtil.isMac())
+            );
+        });
 
         // Button also cares about focus
         control.focusedProperty().addListener(focusListener);
@@ -25,6 +25,7 @@
 
 package com.sun.javafx.scene.control.behavior;
 
+import javafx.event.EventType;
 import javafx.scene.control.Cell;
 import javafx.scene.control.Control;
 import javafx.scene.control.FocusModel;
@@ -102,6 +103,10 @@ public abstract class CellBehaviorBase<T extends Cell> extends BehaviorBase<T> {
      *                                                                         *
      **************************************************************************/
 
+    // the event types of the mappings added by this behavior, shared by all cells
+    private static final List<EventType<?>> MAPPED_EVENT_TYPES =
+            List.of(MouseEvent.MOUSE_PRESSED, MouseEvent.MOUSE_RELEASED, MouseEvent.MOUSE_DRAGGED);
+
     private final InputMap<T> cellInputMap;
 
     // To support touch devices, we have to slightly modify this behavior, such
@@ -127,15 +132,19 @@ public abstract class CellBehaviorBase<T extends Cell> extends BehaviorBase<T> {
         // TODO add focus traversal mappings (?)
         // addDefaultMapping(cellInputMap, FocusTraversalInputMap.getFocusTraversalMappings());
 
-        InputMap.MouseMapping pressedMapping, releasedMapping, mouseDragged;
-        addDefaultMapping(
-            pressedMapping = new InputMap.MouseMapping(MouseEvent.MOUSE_PRESSED, this::mousePressed),
-            releasedMapping = new InputMap.MouseMapping(MouseEvent.MOUSE_RELEASED, this::mouseReleased),
-            mouseDragged = new InputMap.MouseMapping(MouseEvent.MOUSE_DRAGGED, this::mouseDragged)
-        );
-        pressedMapping.setAutoConsume(false);
-        releasedMapping.setAutoConsume(false);
-        mouseDragged.setAutoConsume(false);
+        // cells are created in large numbers and most of them never receive
+        // input, so their mappings are only created once they are needed
+        cellInputMap.populateLazily(MAPPED_EVENT_TYPES, () -> {
+            InputMap.MouseMapping pressedMapping, releasedMapping, mouseDragged;
+            addDefaultMapping(
+                pressedMapping = new InputMap.MouseMapping(MouseEvent.MOUSE_PRESSED, this::mousePressed),
+                releasedMapping = new InputMap.MouseMapping(MouseEvent.MOUSE_RELEASED, this::mouseReleased),
+                mouseDragged = new InputMap.MouseMapping(MouseEvent.MOUSE_DRAGGED, this::mouseDragged)
+            );
+            pressedMapping.setAutoConsume(false);
+            releasedMapping.setAutoConsume(false);
+            mouseDragged.setAutoConsume(false);
+        });
     }
 
 
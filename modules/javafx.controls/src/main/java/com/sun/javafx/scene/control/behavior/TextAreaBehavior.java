@@ -48,6 +48,7 @@ import javafx.scene.text.HitInfo;
 import javafx.stage.Screen;
 import javafx.stage.Window;
 
+import java.util.List;
 import java.util.function.Predicate;
 
 import static com.sun.javafx.PlatformUtil.isMac;
@@ -78,68 +79,70 @@ public class TextAreaBehavior extends TextInputControlBehavior<TextArea> {
             contextMenu.getStyleClass().add("text-input-context-menu");
         }
 
-        // some of the mappings are only valid when the control is editable, or
-        // only on certain platforms, so we create the following predicates that filters out the mapping when the
-        // control is not in the correct state / on the correct platform
-        final Predicate<KeyEvent> validWhenEditable = e -> !c.isEditable();
-
-        // Add these bindings as a child input map, so they take precedence
-        InputMap<TextArea> textAreaInputMap = new InputMap<>(c);
-        textAreaInputMap.getMappings().addAll(
-            keyMapping(HOME,      e -> lineStart(false)),
-            keyMapping(END,       e -> lineEnd(false)),
-            keyMapping(UP,        e -> skin.moveCaret(TextUnit.LINE, Direction.UP,   false)),
-            keyMapping(DOWN,      e -> skin.moveCaret(TextUnit.LINE, Direction.DOWN, false)),
-            keyMapping(PAGE_UP,   e -> skin.moveCaret(TextUnit.PAGE, Direction.UP,   false)),
-            keyMapping(PAGE_DOWN, e -> skin.moveCaret(TextUnit.PAGE, Direction.DOWN, false)),
-
-            keyMapping(new KeyBinding(HOME).shift(),      e -> lineStart(true)),
-            keyMapping(new KeyBinding(END).shift(),       e -> lineEnd(true)),
-            keyMapping(new KeyBinding(UP).shift(),        e -> skin.moveCaret(TextUnit.LINE, Direction.UP,   true)),
-            keyMapping(new KeyBinding(DOWN).shift(),      e -> skin.moveCaret(TextUnit.LINE, Direction.DOWN, true)),
-            keyMapping(new KeyBinding(PAGE_UP).shift(),   e -> skin.moveCaret(TextUnit.PAGE, Direction.UP,   true)),
-            keyMapping(new KeyBinding(PAGE_DOWN).shift(), e -> skin.moveCaret(TextUnit.PAGE, Direction.DOWN, true)),
-
-            // editing-only mappings
-            keyMapping(new KeyBinding(ENTER), e -> insertNewLine(), validWhenEditable),
-            keyMapping(new KeyBinding(TAB), e -> insertTab(), validWhenEditable)
-        );
-        addDefaultChildMap(getInputMap(), textAreaInputMap);
-
-        // mac os specific mappings
-        InputMap<TextArea> macOsInputMap = new InputMap<>(c);
-        macOsInputMap.setInterceptor(e -> !PlatformUtil.isMac());
-        macOsInputMap.getMappings().addAll(
-            // Mac OS specific mappings
-            keyMapping(new KeyBinding(LEFT).shortcut(),  e -> lineStart(false)),
-            keyMapping(new KeyBinding(RIGHT).shortcut(), e -> lineEnd(false)),
-            keyMapping(new KeyBinding(UP).shortcut(),    e -> c.home()),
-            keyMapping(new KeyBinding(DOWN).shortcut(),  e -> c.end()),
-
-            keyMapping(new KeyBinding(LEFT).shortcut().shift(),  e -> lineStart(true)),
-            keyMapping(new KeyBinding(RIGHT).shortcut().shift(), e -> lineEnd(true)),
-            keyMapping(new KeyBinding(UP).shortcut().shift(),    e -> selectHomeExtend()),
-            keyMapping(new KeyBinding(DOWN).shortcut().shift(),  e -> selectEndExtend()),
-
-            keyMapping(new KeyBinding(UP).alt(),           e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.UP,   false)),
-            keyMapping(new KeyBinding(DOWN).alt(),         e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.DOWN, false)),
-            keyMapping(new KeyBinding(UP).alt().shift(),   e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.UP,   true)),
-            keyMapping(new KeyBinding(DOWN).alt().shift(), e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.DOWN, true))
-        );
-        addDefaultChildMap(textAreaInputMap, macOsInputMap);
-
-        // windows / linux specific mappings
-        InputMap<TextArea> nonMacOsInputMap = new InputMap<>(c);
-        nonMacOsInputMap.setInterceptor(e -> PlatformUtil.isMac());
-        nonMacOsInputMap.getMappings().addAll(
-            keyMapping(new KeyBinding(UP).ctrl(),           e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.UP,   false)),
-            keyMapping(new KeyBinding(DOWN).ctrl(),         e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.DOWN, false)),
-            keyMapping(new KeyBinding(UP).ctrl().shift(),   e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.UP,   true)),
-            keyMapping(new KeyBinding(DOWN).ctrl().shift(), e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.DOWN, true))
-        );
-        addDefaultChildMap(textAreaInputMap, nonMacOsInputMap);
-
-        addKeyPadMappings(textAreaInputMap);
+        getInputMap().populateLazily(List.of(KeyEvent.KEY_PRESSED), () -> {
+            // some of the mappings are only valid when the control is editable, or
+            // only on certain platforms, so we create the following predicates that filters out the mapping when the
+            // control is not in the correct state / on the correct platform
+            final Predicate<KeyEvent> validWhenEditable = e -> !c.isEditable();
+
+            // Add these bindings as a child input map, so they take precedence
+            InputMap<TextArea> textAreaInputMap = new InputMap<>(c);
+            textAreaInputMap.getMappings().addAll(
+                keyMapping(HOME,      e -> lineStart(false)),
+                keyMapping(END,       e -> lineEnd(false)),
+                keyMapping(UP,        e -> skin.moveCaret(TextUnit.LINE, Direction.UP,   false)),
+                keyMapping(DOWN,      e -> skin.moveCaret(TextUnit.LINE, Direction.DOWN, false)),
+                keyMapping(PAGE_UP,   e -> skin.moveCaret(TextUnit.PAGE, Direction.UP,   false)),
+                keyMapping(PAGE_DOWN, e -> skin.moveCaret(TextUnit.PAGE, Direction.DOWN, false)),
+
+                keyMapping(new KeyBinding(HOME).shift(),      e -> lineStart(true)),
+                keyMapping(new KeyBinding(END).shift(),       e -> lineEnd(true)),
+                keyMapping(new KeyBinding(UP).shift(),        e -> skin.moveCaret(TextUnit.LINE, Direction.UP,   true)),
+                keyMapping(new KeyBinding(DOWN).shift(),      e -> skin.moveCaret(TextUnit.LINE, Direction.DOWN, true)),
+                keyMapping(new KeyBinding(PAGE_UP).shift(),   e -> skin.moveCaret(TextUnit.PAGE, Direction.UP,   true)),
+                keyMapping(new KeyBinding(PAGE_DOWN).shift(), e -> skin.moveCaret(TextUnit.PAGE, Direction.DOWN, true)),
+
+                // editing-only mappings
+                keyMapping(new KeyBinding(ENTER), e -> insertNewLine(), validWhenEditable),
+                keyMapping(new KeyBinding(TAB), e -> insertTab(), validWhenEditable)
+            );
+            addDefaultChildMap(getInputMap(), textAreaInputMap);
+
+            // mac os specific mappings
+            InputMap<TextArea> macOsInputMap = new InputMap<>(c);
+            macOsInputMap.setInterceptor(e -> !PlatformUtil.isMac());
+            macOsInputMap.getMappings().addAll(
+                // Mac OS specific mappings
+                keyMapping(new KeyBinding(LEFT).shortcut(),  e -> lineStart(false)),
+                keyMapping(new KeyBinding(RIGHT).shortcut(), e -> lineEnd(false)),
+                keyMapping(new KeyBinding(UP).shortcut(),    e -> c.home()),
+                keyMapping(new KeyBinding(DOWN).shortcut(),  e -> c.end()),
+
+                keyMapping(new KeyBinding(LEFT).shortcut().shift(),  e -> lineStart(true)),
+                keyMapping(new KeyBinding(RIGHT).shortcut().shift(), e -> lineEnd(true)),
+                keyMapping(new KeyBinding(UP).shortcut().shift(),    e -> selectHomeExtend()),
+                keyMapping(new KeyBinding(DOWN).shortcut().shift(),  e -> selectEndExtend()),
+
+                keyMapping(new KeyBinding(UP).alt(),           e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.UP,   false)),
+                keyMapping(new KeyBinding(DOWN).alt(),         e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.DOWN, false)),
+                keyMapping(new KeyBinding(UP).alt().shift(),   e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.UP,   true)),
+                keyMapping(new KeyBinding(DOWN).alt().shift(), e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.DOWN, true))
+            );
+            addDefaultChildMap(textAreaInputMap, macOsInputMap);
+
+            // windows / linux specific mappings
+            InputMap<TextArea> nonMacOsInputMap = new InputMap<>(c);
+            nonMacOsInputMap.setInterceptor(e -> PlatformUtil.isMac());
+            nonMacOsInputMap.getMappings().addAll(
+                keyMapping(new KeyBinding(UP).ctrl(),           e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.UP,   false)),
+                keyMapping(new KeyBinding(DOWN).ctrl(),         e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.DOWN, false)),
+                keyMapping(new KeyBinding(UP).ctrl().shift(),   e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.UP,   true)),
+                keyMapping(new KeyBinding(DOWN).ctrl().shift(), e -> skin.moveCaret(TextUnit.PARAGRAPH, Direction.DOWN, true))
+            );
+            addDefaultChildMap(textAreaInputMap, nonMacOsInputMap);
+
+            addKeyPadMappings(textAreaInputMap);
+        });
 
         focusListener = (src, ov, nv) -> handleFocusChange();
         // Register for change events
@@ -32,6 +32,7 @@ import com.sun.javafx.scene.control.skin.FXVK;
 import javafx.event.ActionEvent;
 import javafx.event.Event;
 import javafx.event.EventHandler;
+import javafx.event.EventType;
 import javafx.scene.control.skin.TextInputControlSkin;
 import javafx.application.ConditionalFeature;
 import javafx.beans.InvalidationListener;
@@ -53,6 +54,7 @@ import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
 
 import java.text.Bidi;
+import java.util.List;
 import java.util.function.Predicate;
 
 import static com.sun.javafx.PlatformUtil.isLinux;
@@ -96,6 +98,12 @@ public abstract class TextInputControlBehavior<T extends TextInputControl> exten
 
     private final InputMap<T> inputMap;
 
+    // the event types of the mappings added by this behavior, in the order they are first used
+    private static final List<EventType<?>> MAPPED_EVENT_TYPES = List.of(
+            KEY_PRESSED, KEY_TYPED,
+            MouseEvent.MOUSE_PRESSED, MouseEvent.MOUSE_DRAGGED, MouseEvent.MOUSE_RELEASED,
+            ContextMenuEvent.CONTEXT_MENU_REQUESTED);
+
 
 
 
@@ -114,152 +122,156 @@ public abstract class TextInputControlBehavior<T extends TextInputControl> exten
         // InputMap installed on the control, if it is non-null, allowing us to pick up any user-specified mappings)
         inputMap = createInputMap();
 
-        // some of the mappings are only valid when the control is editable, or
-        // only on certain platforms, so we create the following predicates that filters out the mapping when the
-        // control is not in the correct state / on the correct platform
-        final Predicate<KeyEvent> validWhenEditable = e -> !c.isEditable();
-        final Predicate<KeyEvent> validOnWindows = e -> !PlatformUtil.isWindows();
-        final Predicate<KeyEvent> validOnLinux = e -> !PlatformUtil.isLinux();
-
-        KeyMapping cancelEditMapping;
-        KeyMapping fireMapping;
-        KeyMapping consumeMostPressedEventsMapping;
-
-        // create a child input map for mappings which are applicable on all
-        // platforms, and regardless of editing state
-        addDefaultMapping(inputMap,
-                // caret movement
-                keyMapping(RIGHT, e -> nextCharacterVisually(true)),
-                keyMapping(LEFT, e -> nextCharacterVisually(false)),
-                keyMapping(UP, e -> c.home()),
-                keyMapping(HOME, e -> c.home()),
-                keyMapping(DOWN, e -> c.end()),
-                keyMapping(END, e -> c.end()),
-                fireMapping = keyMapping(ENTER, this::fire),
-
-                keyMapping(new KeyBinding(HOME).shortcut(), e -> c.home()),
-                keyMapping(new KeyBinding(END).shortcut(), e -> c.end()),
-
-                // deletion (only applies when control is editable)
-                keyMapping(new KeyBinding(BACK_SPACE), e -> deletePreviousChar(), validWhenEditable),
-                keyMapping(new KeyBinding(BACK_SPACE).shift(), e -> deletePreviousChar(), validWhenEditable),
-                keyMapping(new KeyBinding(DELETE), e -> deleteNextChar(), validWhenEditable),
-
-                // cut (only applies when control is editable)
-                keyMapping(new KeyBinding(X).shortcut(), e -> cut(), validWhenEditable),
-                keyMapping(new KeyBinding(CUT), e -> cut(), validWhenEditable),
-
-                // copy
-                keyMapping(new KeyBinding(C).shortcut(), e -> c.copy()),
-                keyMapping(new KeyBinding(INSERT).shortcut(), e -> c.copy()),
-                keyMapping(COPY, e -> c.copy()),
-
-                // paste (only applies when control is editable)
-                keyMapping(new KeyBinding(V).shortcut(), e -> paste(), validWhenEditable),
-                keyMapping(new KeyBinding(PASTE), e -> paste(), validWhenEditable),
-                keyMapping(new KeyBinding(INSERT).shift(), e -> paste(), validWhenEditable),
-
-                // selection
-                keyMapping(new KeyBinding(RIGHT).shift(), e -> selectRight()),
-                keyMapping(new KeyBinding(LEFT).shift(), e -> selectLeft()),
-                keyMapping(new KeyBinding(UP).shift(), e -> selectHome()),
-                keyMapping(new KeyBinding(DOWN).shift(), e -> selectEnd()),
-                keyMapping(new KeyBinding(HOME).shortcut().shift(), e -> selectHome()),
-                keyMapping(new KeyBinding(END).shortcut().shift(), e -> selectEnd()),
-                keyMapping(new KeyBinding(A).shortcut(), e -> c.selectAll()),
-
-                // Traversal Bindings
-                new KeyMapping(new KeyBinding(TAB), FocusTraversalInputMap::traverseNext),
-                new KeyMapping(new KeyBinding(TAB).shift(), FocusTraversalInputMap::traversePrevious),
-                new KeyMapping(new KeyBinding(TAB).ctrl(), FocusTraversalInputMap::traverseNext),
-                new KeyMapping(new KeyBinding(TAB).ctrl().shift(), FocusTraversalInputMap::traversePrevious),
-
-                // The following keys are forwarded to the parent container
-                cancelEditMapping = new KeyMapping(ESCAPE, this::cancelEdit),
-
-                keyMapping(new KeyBinding(Z).shortcut(), e -> undo()),
-
-                // character input.
-                // Any other key press first goes to normal text input
-                // Note this is KEY_TYPED because otherwise the character is not available in the event.
-                keyMapping(new KeyBinding(null, KEY_TYPED)
-                                    .alt(OptionalBoolean.ANY)
-                                    .shift(OptionalBoolean.ANY)
-                                    .ctrl(OptionalBoolean.ANY)
-                                    .meta(OptionalBoolean.ANY),
-                           this::defaultKeyTyped),
-
-                // However, we want to consume other key press / release events too, for
-                // things that would have been handled by the InputCharacter normally
-                consumeMostPressedEventsMapping =
-                    keyMapping(new KeyBinding(null, KEY_PRESSED).shift(OptionalBoolean.ANY),
-                               e -> { if (!e.getCode().isFunctionKey()) e.consume(); }),
-
-                // VK
-                new KeyMapping(new KeyBinding(DIGIT9).ctrl().shift(), e -> {
-                    FXVK.toggleUseVK(textInputControl);
-                }, p -> !PlatformImpl.isSupported(ConditionalFeature.VIRTUAL_KEYBOARD)),
-
-                // mouse and context menu mappings
-                new MouseMapping(MouseEvent.MOUSE_PRESSED, this::mousePressed),
-                new MouseMapping(MouseEvent.MOUSE_DRAGGED, this::mouseDragged),
-                new MouseMapping(MouseEvent.MOUSE_RELEASED, this::mouseReleased),
-                new InputMap.Mapping<ContextMenuEvent>(ContextMenuEvent.CONTEXT_MENU_REQUESTED, this::contextMenuRequested) {
-                    @Override public int getSpecificity(Event event) {
-                        return 1;
+        // text input controls have many mappings, which are only created once
+        // the control receives input
+        inputMap.populateLazily(MAPPED_EVENT_TYPES, () -> {
+            // some of the mappings are only valid when the control is editable, or
+            // only on certain platforms, so we create the following predicates that filters out the mapping when the
+            // control is not in the correct state / on the correct platform
+            final Predicate<KeyEvent> validWhenEditable = e -> !c.isEditable();
+            final Predicate<KeyEvent> validOnWindows = e -> !PlatformUtil.isWindows();
+            final Predicate<KeyEvent> validOnLinux = e -> !PlatformUtil.isLinux();
+
+            KeyMapping cancelEditMapping;
+            KeyMapping fireMapping;
+            KeyMapping consumeMostPressedEventsMapping;
+
+            // create a child input map for mappings which are applicable on all
+            // platforms, and regardless of editing state
+            addDefaultMapping(inputMap,
+                    // caret movement
+                    keyMapping(RIGHT, e -> nextCharacterVisually(true)),
+                    keyMapping(LEFT, e -> nextCharacterVisually(false)),
+                    keyMapping(UP, e -> c.home()),
+                    keyMapping(HOME, e -> c.home()),
+                    keyMapping(DOWN, e -> c.end()),
+                    keyMapping(END, e -> c.end()),
+                    fireMapping = keyMapping(ENTER, this::fire),
+
+                    keyMapping(new KeyBinding(HOME).shortcut(), e -> c.home()),
+                    keyMapping(new KeyBinding(END).shortcut(), e -> c.end()),
+
+                    // deletion (only applies when control is editable)
+                    keyMapping(new KeyBinding(BACK_SPACE), e -> deletePreviousChar(), validWhenEditable),
+                    keyMapping(new KeyBinding(BACK_SPACE).shift(), e -> deletePreviousChar(), validWhenEditable),
+                    keyMapping(new KeyBinding(DELETE), e -> deleteNextChar(), validWhenEditable),
+
+                    // cut (only applies when control is editable)
+                    keyMapping(new KeyBinding(X).shortcut(), e -> cut(), validWhenEditable),
+                    keyMapping(new KeyBinding(CUT), e -> cut(), validWhenEditable),
+
+                    // copy
+                    keyMapping(new KeyBinding(C).shortcut(), e -> c.copy()),
+                    keyMapping(new KeyBinding(INSERT).shortcut(), e -> c.copy()),
+                    keyMapping(COPY, e -> c.copy()),
+
+                    // paste (only applies when control is editable)
+                    keyMapping(new KeyBinding(V).shortcut(), e -> paste(), validWhenEditable),
+                    keyMapping(new KeyBinding(PASTE), e -> paste(), validWhenEditable),
+                    keyMapping(new KeyBinding(INSERT).shift(), e -> paste(), validWhenEditable),
+
+                    // selection
+                    keyMapping(new KeyBinding(RIGHT).shift(), e -> selectRight()),
+                    keyMapping(new KeyBinding(LEFT).shift(), e -> selectLeft()),
+                    keyMapping(new KeyBinding(UP).shift(), e -> selectHome()),
+                    keyMapping(new KeyBinding(DOWN).shift(), e -> selectEnd()),
+                    keyMapping(new KeyBinding(HOME).shortcut().shift(), e -> selectHome()),
+                    keyMapping(new KeyBinding(END).shortcut().shift(), e -> selectEnd()),
+                    keyMapping(new KeyBinding(A).shortcut(), e -> c.selectAll()),
+
+                    // Traversal Bindings
+                    new KeyMapping(new KeyBinding(TAB), FocusTraversalInputMap::traverseNext),
+                    new KeyMapping(new KeyBinding(TAB).shift(), FocusTraversalInputMap::traversePrevious),
+                    new KeyMapping(new KeyBinding(TAB).ctrl(), FocusTraversalInputMap::traverseNext),
+                    new KeyMapping(new KeyBinding(TAB).ctrl().shift(), FocusTraversalInputMap::traversePrevious),
+
+                    // The following keys are forwarded to the parent container
+                    cancelEditMapping = new KeyMapping(ESCAPE, this::cancelEdit),
+
+                    keyMapping(new KeyBinding(Z).shortcut(), e -> undo()),
+
+                    // character input.
+                    // Any other key press first goes to normal text input
+                    // Note this is KEY_TYPED because otherwise the character is not available in the event.
+                    keyMapping(new KeyBinding(null, KEY_TYPED)
+                                        .alt(OptionalBoolean.ANY)
+                                        .shift(OptionalBoolean.ANY)
+                                        .ctrl(OptionalBoolean.ANY)
+                                        .meta(OptionalBoolean.ANY),
+                               this::defaultKeyTyped),
+
+                    // However, we want to consume other key press / release events too, for
+                    // things that would have been handled by the InputCharacter normally
+                    consumeMostPressedEventsMapping =
+                        keyMapping(new KeyBinding(null, KEY_PRESSED).shift(OptionalBoolean.ANY),
+                                   e -> { if (!e.getCode().isFunctionKey()) e.consume(); }),
+
+                    // VK
+                    new KeyMapping(new KeyBinding(DIGIT9).ctrl().shift(), e -> {
+                        FXVK.toggleUseVK(textInputControl);
+                    }, p -> !PlatformImpl.isSupported(ConditionalFeature.VIRTUAL_KEYBOARD)),
+
+                    // mouse and context menu mappings
+                    new MouseMapping(MouseEvent.MOUSE_PRESSED, this::mousePressed),
+                    new MouseMapping(MouseEvent.MOUSE_DRAGGED, this::mouseDragged),
+                    new MouseMapping(MouseEvent.MOUSE_RELEASED, this::mouseReleased),
+                    new InputMap.Mapping<ContextMenuEvent>(ContextMenuEvent.CONTEXT_MENU_REQUESTED, this::contextMenuRequested) {
+                        @Override public int getSpecificity(Event event) {
+                            return 1;
+                        }
                     }
-                }
-        );
-
-        cancelEditMapping.setAutoConsume(false);
-        // fix of JDK-8207759: don't auto-consume
-        fireMapping.setAutoConsume(false);
-        consumeMostPressedEventsMapping.setAutoConsume(false);
-
-        // mac os specific mappings
-        InputMap<T> macOsInputMap = new InputMap<>(c);
-        macOsInputMap.setInterceptor(e -> !PlatformUtil.isMac());
-        macOsInputMap.getMappings().addAll(
-            // Mac OS specific mappings
-            keyMapping(new KeyBinding(HOME).shift(), e -> selectHomeExtend()),
-            keyMapping(new KeyBinding(END).shift(), e -> selectEndExtend()),
-            keyMapping(new KeyBinding(LEFT).shortcut(), e -> c.home()),
-            keyMapping(new KeyBinding(RIGHT).shortcut(), e -> c.end()),
-            keyMapping(new KeyBinding(LEFT).alt(), e -> leftWord()),
-            keyMapping(new KeyBinding(RIGHT).alt(), e -> rightWord()),
-            keyMapping(new KeyBinding(DELETE).alt(), e -> deleteNextWord()),
-            keyMapping(new KeyBinding(BACK_SPACE).alt(), e -> deletePreviousWord()),
-            keyMapping(new KeyBinding(BACK_SPACE).shortcut(), e -> deleteFromLineStart()),
-            keyMapping(new KeyBinding(Z).shortcut().shift(), e -> redo()),
-            keyMapping(new KeyBinding(LEFT).shortcut().shift(), e -> selectHomeExtend()),
-            keyMapping(new KeyBinding(RIGHT).shortcut().shift(), e -> selectEndExtend()),
-
-            // Mac OS specific selection mappings
-            keyMapping(new KeyBinding(LEFT).shift().alt(), e -> selectLeftWord()),
-            keyMapping(new KeyBinding(RIGHT).shift().alt(), e -> selectRightWord())
-        );
-        addDefaultChildMap(inputMap, macOsInputMap);
-
-        // windows / linux specific mappings
-        InputMap<T> nonMacOsInputMap = new InputMap<>(c);
-        nonMacOsInputMap.setInterceptor(e -> PlatformUtil.isMac());
-        nonMacOsInputMap.getMappings().addAll(
-            keyMapping(new KeyBinding(HOME).shift(), e -> selectHome()),
-            keyMapping(new KeyBinding(END).shift(), e -> selectEnd()),
-            keyMapping(new KeyBinding(LEFT).ctrl(), e -> leftWord()),
-            keyMapping(new KeyBinding(RIGHT).ctrl(), e -> rightWord()),
-            keyMapping(new KeyBinding(H).ctrl(), e -> deletePreviousChar()),
-            keyMapping(new KeyBinding(DELETE).ctrl(), e -> deleteNextWord()),
-            keyMapping(new KeyBinding(BACK_SPACE).ctrl(), e -> deletePreviousWord()),
-            keyMapping(new KeyBinding(BACK_SLASH).ctrl(), e -> c.deselect()),
-            keyMapping(new KeyBinding(Y).ctrl(), e -> redo(), validOnWindows),
-            keyMapping(new KeyBinding(Z).ctrl().shift(), e -> redo(), validOnLinux),
-            keyMapping(new KeyBinding(LEFT).ctrl().shift(), e -> selectLeftWord()),
-            keyMapping(new KeyBinding(RIGHT).ctrl().shift(), e -> selectRightWord())
-        );
-        addDefaultChildMap(inputMap, nonMacOsInputMap);
-
-        addKeyPadMappings(inputMap);
+            );
+
+            cancelEditMapping.setAutoConsume(false);
+            // fix of JDK-8207759: don't auto-consume
+            fireMapping.setAutoConsume(false);
+            consumeMostPressedEventsMapping.setAutoConsume(false);
+
+            // mac os specific mappings
+            InputMap<T> macOsInputMap = new InputMap<>(c);
+            macOsInputMap.setInterceptor(e -> !PlatformUtil.isMac());
+            macOsInputMap.getMappings().addAll(
+                // Mac OS specific mappings
+                keyMapping(new KeyBinding(HOME).shift(), e -> selectHomeExtend()),
+                keyMapping(new KeyBinding(END).shift(), e -> selectEndExtend()),
+                keyMapping(new KeyBinding(LEFT).shortcut(), e -> c.home()),
+                keyMapping(new KeyBinding(RIGHT).shortcut(), e -> c.end()),
+                keyMapping(new KeyBinding(LEFT).alt(), e -> leftWord()),
+                keyMapping(new KeyBinding(RIGHT).alt(), e -> rightWord()),
+                keyMapping(new KeyBinding(DELETE).alt(), e -> deleteNextWord()),
+                keyMapping(new KeyBinding(BACK_SPACE).alt(), e -> deletePreviousWord()),
+                keyMapping(new KeyBinding(BACK_SPACE).shortcut(), e -> deleteFromLineStart()),
+                keyMapping(new KeyBinding(Z).shortcut().shift(), e -> redo()),
+                keyMapping(new KeyBinding(LEFT).shortcut().shift(), e -> selectHomeExtend()),
+                keyMapping(new KeyBinding(RIGHT).shortcut().shift(), e -> selectEndExtend()),
+
+                // Mac OS specific selection mappings
+                keyMapping(new KeyBinding(LEFT).shift().alt(), e -> selectLeftWord()),
+                keyMapping(new KeyBinding(RIGHT).shift().alt(), e -> selectRightWord())
+            );
+            addDefaultChildMap(inputMap, macOsInputMap);
+
+            // windows / linux specific mappings
+            InputMap<T> nonMacOsInputMap = new InputMap<>(c);
+            nonMacOsInputMap.setInterceptor(e -> PlatformUtil.isMac());
+            nonMacOsInputMap.getMappings().addAll(
+                keyMapping(new KeyBinding(HOME).shift(), e -> selectHome()),
+                keyMapping(new KeyBinding(END).shift(), e -> selectEnd()),
+                keyMapping(new KeyBinding(LEFT).ctrl(), e -> leftWord()),
+                keyMapping(new KeyBinding(RIGHT).ctrl(), e -> rightWord()),
+                keyMapping(new KeyBinding(H).ctrl(), e -> deletePreviousChar()),
+                keyMapping(new KeyBinding(DELETE).ctrl(), e -> deleteNextWord()),
+                keyMapping(new KeyBinding(BACK_SPACE).ctrl(), e -> deletePreviousWord()),
+                keyMapping(new KeyBinding(BACK_SLASH).ctrl(), e -> c.deselect()),
+                keyMapping(new KeyBinding(Y).ctrl(), e -> redo(), validOnWindows),
+                keyMapping(new KeyBinding(Z).ctrl().shift(), e -> redo(), validOnLinux),
+                keyMapping(new KeyBinding(LEFT).ctrl().shift(), e -> selectLeftWord()),
+                keyMapping(new KeyBinding(RIGHT).ctrl().shift(), e -> selectRightWord())
+            );
+            addDefaultChildMap(inputMap, nonMacOsInputMap);
+
+            addKeyPadMappings(inputMap);
+        });
 
         textInputControl.textProperty().addListener(textListener);
 
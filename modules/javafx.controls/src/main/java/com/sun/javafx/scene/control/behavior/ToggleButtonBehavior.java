@@ -36,6 +36,8 @@ import javafx.scene.control.ToggleGroup;
 import com.sun.javafx.scene.control.inputmap.InputMap;
 import javafx.scene.input.KeyEvent;
 
+import java.util.List;
+
 import static com.sun.javafx.scene.control.inputmap.InputMap.*;
 import static javafx.scene.input.KeyCode.*;
 
@@ -44,23 +46,25 @@ public class ToggleButtonBehavior<C extends ToggleButton> extends ButtonBehavior
     public ToggleButtonBehavior(C button) {
         super(button);
 
-        ObservableList<Mapping<?>> mappings = FXCollections.observableArrayList(
-            new KeyMapping(RIGHT, e -> traverse(e, "ToggleNext-Right")),
-            new KeyMapping(LEFT, e -> traverse(e, "TogglePrevious-Left")),
-            new KeyMapping(DOWN, e -> traverse(e, "ToggleNext-Down")),
-            new KeyMapping(UP, e -> traverse(e, "TogglePrevious-Up"))
-        );
+        getInputMap().populateLazily(List.of(KeyEvent.KEY_PRESSED), () -> {
+            ObservableList<Mapping<?>> mappings = FXCollections.observableArrayList(
+                new KeyMapping(RIGHT, e -> traverse(e, "ToggleNext-Right")),
+                new KeyMapping(LEFT, e -> traverse(e, "TogglePrevious-Left")),
+                new KeyMapping(DOWN, e -> traverse(e, "ToggleNext-Down")),
+                new KeyMapping(UP, e -> traverse(e, "TogglePrevious-Up"))
+            );
 
-        // we disable auto-consuming, so that unconsumed events work their way
-        // back up the input map hierarchy and back out of the node.
-        for (Mapping<?> mapping : mappings) {
-            mapping.setAutoConsume(false);
-        }
+            // we disable auto-consuming, so that unconsumed events work their way
+            // back up the input map hierarchy and back out of the node.
+            for (Mapping<?> mapping : mappings) {
+                mapping.setAutoConsume(false);
+            }
 
-        // put the mappings into a child input map so they take precedence
-        InputMap<C> overriddenFocusInput = new InputMap<>(button);
-        overriddenFocusInput.getMappings().addAll(mappings);
-        addDefaultChildMap(getInputMap(), overriddenFocusInput);
+            // put the mappings into a child input map so they take precedence
+            InputMap<C> overriddenFocusInput = new InputMap<>(button);
+            overriddenFocusInput.getMappings().addAll(mappings);
+            addDefaultChildMap(getInputMap(), overriddenFocusInput);
+        });
     }
 
     /**
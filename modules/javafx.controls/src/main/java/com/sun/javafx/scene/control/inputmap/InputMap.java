@@ -26,8 +26,6 @@ package com.sun.javafx.scene.control.inputmap;
 
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.ReadOnlyObjectProperty;
-import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
@@ -43,12 +41,15 @@ import javafx.scene.input.MouseEvent;
 import javafx.util.Pair;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -78,10 +79,16 @@ public class InputMap<N extends Node> implements EventHandler<Event> {
 
 //    private final ObservableList<Predicate<? extends Event>> interceptors;
 
-    private final Map<EventType<?>, List<EventHandler<? super Event>>> installedEventHandlers;
+    // the event types this InputMap has installed its event handler for
+    private final Set<EventType<?>> installedEventHandlers;
+
+    private final EventHandler<Event> eventHandler = this::handle;
 
     private final Map<EventType, List<Mapping>> eventTypeMappings;
 
+    // populates the mappings on first use, see populateLazily
+    private Runnable populator;
+
 
 
     /***************************************************************************
@@ -102,7 +109,7 @@ public class InputMap<N extends Node> implements EventHandler<Event> {
 
         this.node = node;
         this.eventTypeMappings = new HashMap<>();
-        this.installedEventHandlers = new HashMap<>();
+        this.installedEventHandlers = new HashSet<>();
 //        this.interceptors = FXCollections.observableArrayList();
 
         // listeners
@@ -172,17 +179,17 @@ public class InputMap<N extends Node> implements EventHandler<Event> {
      *                                                                         *
      **************************************************************************/
 
-    // --- parent behavior - for now this is an private property
-    private ReadOnlyObjectWrapper<InputMap<N>> parentInputMap = new ReadOnlyObjectWrapper<InputMap<N>>(this, "parentInputMap") {
-        @Override protected void invalidated() {
+    // --- parent behavior - for now this is a private field
+    private InputMap<N> parentInputMap;
+    private final void setParentInputMap(InputMap<N> value) {
+        if (parentInputMap != value) {
+            parentInputMap = value;
             // whenever the parent InputMap changes, we uninstall all mappings and
             // then reprocess them so that they are installed in the correct root.
             reprocessAllMappings();
         }
-    };
-    private final void setParentInputMap(InputMap<N> value) { parentInputMap.set(value); }
-    private final InputMap<N> getParentInputMap() {return parentInputMap.get(); }
-    private final ReadOnlyObjectProperty<InputMap<N>> parentInputMapProperty() { return parentInputMap.getReadOnlyProperty(); }
+    }
+    private final InputMap<N> getParentInputMap() {return parentInputMap; }
 
 
     // --- interceptor
@@ -195,14 +202,22 @@ public class InputMap<N extends Node> implements EventHandler<Event> {
      * before returning a boolean value, where boolean true means block
      * execution, and boolean false means to allow execution.
      */
-    private ObjectProperty<Predicate<? extends Event>> interceptor = new SimpleObjectProperty<>(this, "interceptor");
+    private ObjectProperty<Predicate<? extends Event>> interceptor;
+    private Predicate<? extends Event> interceptorValue;
     public final Predicate<? extends Event> getInterceptor() {
-        return interceptor.get();
+        return interceptor == null ? interceptorValue : interceptor.get();
     }
     public final void setInterceptor(Predicate<? extends Event> value) {
-        interceptor.set(value);
+        if (interceptor == null) {
+            interceptorValue = value;
+        } else {
+            interceptor.set(value);
+        }
     }
     public final ObjectProperty<Predicate<? extends Event>> interceptorProperty() {
+        if (interceptor == null) {
+            interceptor = new SimpleObjectProperty<>(this, "interceptor", interceptorValue);
+        }
         return interceptor;
     }
 
@@ -228,6 +243,7 @@ public class InputMap<N extends Node> implements EventHandler<Event> {
      * (that is, the mapping with the highest specificity wins).
      */
     public ObservableList<Mapping<?>> getMappings() {
+        populate();
         return mappings;
     }
 
@@ -244,14 +260,54 @@ public class InputMap<N extends Node> implements EventHandler<Event> {
      * considered in one of the two states.
      */
     public ObservableList<InputMap<N>> getChildInputMaps() {
+        populate();
         return childInputMaps;
     }
 
+    /**
+     * Defers adding mappings and child input maps to this InputMap until they
+     * are first needed, that is when an event of one of the given types
+     * reaches the node, or when the mappings or child input maps are
+     * accessed. Until then, no mapping objects need to exist and only this
+     * InputMap's event handler is installed for the given event types, in
+     * the same order as if the mappings had been added right away. If mappings
+     * are already pending, the given populator runs after the pending ones.
+     *
+     * @param eventTypes The event types of the mappings the populator adds.
+     * Mappings of other event types still work, but their event handlers are
+     * only installed once the populator has run.
+     * @param populator Adds the mappings and child input maps.
+     */
+    public void populateLazily(Collection<EventType<?>> eventTypes, Runnable populator) {
+        InputMap<N> rootInputMap = getRootInputMap();
+        for (EventType<?> et : eventTypes) {
+            rootInputMap.addEventHandler(et);
+        }
+        if (this.populator == null) {
+            this.populator = populator;
+        } else {
+            Runnable pending = this.populator;
+            this.populator = () -> {
+                pending.run();
+                populator.run();
+            };
+        }
+    }
+
+    /**
+     * Returns true if mappings have been deferred with
+     * {@link #populateLazily(Collection, Runnable)} and not added yet.
+     */
+    public boolean hasPendingMappings() {
+        return populator != null;
+    }
+
     /**
      * Disposes all child InputMaps, removes all event handlers from the Node,
-     * and clears the mappings list.
+     * and clears the mappings list. Pending mappings are discarded.
      */
     public void dispose() {
+        populator = null;
         for (InputMap<N> childInputMap : getChildInputMaps()) {
             childInputMap.dispose();
         }
@@ -267,6 +323,8 @@ public class InputMap<N extends Node> implements EventHandler<Event> {
     @Override public void handle(Event e) {
         if (e == null || e.isConsumed()) return;
 
+        populate();
+
         List<Mapping<?>> mappings = lookup(e, true);
         for (Mapping<?> mapping : mappings) {
             EventHandler eventHandler = mapping.getEventHandler();
@@ -313,6 +371,7 @@ public class InputMap<N extends Node> implements EventHandler<Event> {
             return Optional.empty();
         }
 
+        populate();
         List<Mapping<?>> mappings = lookupMappingKey(mappingKey);
 
         // descend into our child input maps as well
@@ -335,6 +394,14 @@ public class InputMap<N extends Node> implements EventHandler<Event> {
      *                                                                         *
      **************************************************************************/
 
+    private void populate() {
+        if (populator != null) {
+            Runnable r = populator;
+            populator = null;
+            r.run();
+        }
+    }
+
     private List<Mapping<?>> lookupMappingKey(Object mappingKey) {
         return getMappings().stream()
                 .filter(mapping -> !mapping.isDisabled())
@@ -380,6 +447,8 @@ public class InputMap<N extends Node> implements EventHandler<Event> {
     }
 
     private int scanRecursively(InputMap<?> inputMap, Event event, boolean testInterceptors, int minSpecificity, List<Mapping<?>> mappings) {
+        inputMap.populate();
+
         // test if the childInputMap should be considered
         if (testInterceptors) {
             boolean interceptorsApplies = testInterceptor(event, inputMap.getInterceptor());
@@ -451,28 +520,23 @@ public class InputMap<N extends Node> implements EventHandler<Event> {
         }
     }
 
-    private void addEventHandler(EventType et) {
-        List<EventHandler<? super Event>> eventHandlers =
-                installedEventHandlers.computeIfAbsent(et, f -> new ArrayList<>());
-
-        final EventHandler<? super Event> eventHandler = this::handle;
-
-        if (eventHandlers.isEmpty()) {
-//            System.out.println("Added event handler for type " + et);
+    private <T extends Event> void addEventHandler(EventType<T> et) {
+        // a single handler per event type is enough, we track the types so that
+        // we can dispose cleanly
+        if (installedEventHandlers.add(et)) {
             node.addEventHandler(et, eventHandler);
         }
+    }
 
-        // We need to store these event handlers so we can dispose cleanly.
-        eventHandlers.add(eventHandler);
+    private <T extends Event> void removeEventHandler(EventType<T> et) {
+        node.removeEventHandler(et, eventHandler);
     }
 
     private void removeAllEventHandlers() {
-        for (EventType<?> et : installedEventHandlers.keySet()) {
-            List<EventHandler<? super Event>> handlers = installedEventHandlers.get(et);
-            for (EventHandler<? super Event> handler : handlers) {
-//                System.out.println("Removed event handler for type " + et);
-                node.removeEventHandler(et, handler);
-            }
+        // the event types stay recorded, so that a child map that is detached
+        // from its parent does not install its handler on the node again
+        for (EventType<?> et : installedEventHandlers) {
+            removeEventHandler(et);
         }
     }
 
@@ -605,10 +669,16 @@ public class InputMap<N extends Node> implements EventHandler<Event> {
          * considered when input events are received, even if it is the most
          * specific mapping available.</p>
          */
-        private BooleanProperty disabled = new SimpleBooleanProperty(this, "disabled", false);
-        public final void setDisabled(boolean value) { disabled.set(value); }
-        public final boolean isDisabled() {return disabled.get(); }
-        public final BooleanProperty disabledProperty() { return disabled; }
+        private BooleanProperty disabled;
+        private boolean disabledValue = false;
+        public final void setDisabled(boolean value) {
+            if (disabled == null) disabledValue = value; else disabled.set(value);
+        }
+        public final boolean isDisabled() {return disabled == null ? disabledValue : disabled.get(); }
+        public final BooleanProperty disabledProperty() {
+            if (disabled == null) disabled = new SimpleBooleanProperty(this, "disabled", disabledValue);
+            return disabled;
+        }
 
 
         // --- auto consume
@@ -621,10 +691,16 @@ public class InputMap<N extends Node> implements EventHandler<Event> {
          * important that this autoConsume property be changed from the default
          * boolean true to instead be boolean false.
          */
-        private BooleanProperty autoConsume = new SimpleBooleanProperty(this, "autoConsume", true);
-        public final void setAutoConsume(boolean value) { autoConsume.set(value); }
-        public final boolean isAutoConsume() {return autoConsume.get(); }
-        public final BooleanProperty autoConsumeProperty() { return autoConsume; }
+        private BooleanProperty autoConsume;
+        private boolean autoConsumeValue = true;
+        public final void setAutoConsume(boolean value) {
+            if (autoConsume == null) autoConsumeValue = value; else autoConsume.set(value);
+        }
+        public final boolean isAutoConsume() {return autoConsume == null ? autoConsumeValue : autoConsume.get(); }
+        public final BooleanProperty autoConsumeProperty() {
+            if (autoConsume == null) autoConsume = new SimpleBooleanProperty(this, "autoConsume", autoConsumeValue);
+            return autoConsume;
+        }
 
 
 
@@ -662,14 +738,22 @@ public class InputMap<N extends Node> implements EventHandler<Event> {
          * before returning a boolean value, where boolean true means block
          * execution, and boolean false means to allow execution.
          */
-        private ObjectProperty<Predicate<? extends Event>> interceptor = new SimpleObjectProperty<>(this, "interceptor");
+        private ObjectProperty<Predicate<? extends Event>> interceptor;
+        private Predicate<? extends Event> interceptorValue;
         public final Predicate<? extends Event> getInterceptor() {
-            return interceptor.get();
+            return interceptor == null ? interceptorValue : interceptor.get();
         }
         public final void setInterceptor(Predicate<? extends Event> value) {
-            interceptor.set(value);
+            if (interceptor == null) {
+                interceptorValue = value;
+            } else {
+                interceptor.set(value);
+            }
         }
         public final ObjectProperty<Predicate<? extends Event>> interceptorProperty() {
+            if (interceptor == null) {
+                interceptor = new SimpleObjectProperty<>(this, "interceptor", interceptorValue);
+            }
             return interceptor;
         }
 
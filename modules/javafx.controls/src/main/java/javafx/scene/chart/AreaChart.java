@@ -35,6 +35,8 @@ import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.beans.NamedArg;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
@@ -58,7 +60,9 @@ import javafx.css.CssMetaData;
 import javafx.css.Styleable;
 import javafx.css.StyleableBooleanProperty;
 import javafx.css.StyleableProperty;
+import javafx.scene.chart.LineChart.DownsamplingPolicy;
 import javafx.scene.chart.LineChart.SortingPolicy;
+import com.sun.javafx.charts.Downsampler;
 
 /**
  * AreaChart - Plots the area between the line that connects the data points and
@@ -72,6 +76,9 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
     /** A multiplier for teh Y values that we store for each series, it is used to animate in a new series */
     private Map<Series<X,Y>, DoubleProperty> seriesYMultiplierMap = new HashMap<>();
 
+    /** Reused between layouts to build the series paths */
+    private final PathBuffer pathBuffer = new PathBuffer();
+
     // -------------- PUBLIC PROPERTIES ----------------------------------------
 
     /**
@@ -124,6 +131,33 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
     public final BooleanProperty createSymbolsProperty() { return createSymbols; }
 
 
+    /**
+     * The policy used to reduce the number of points drawn for series with many more points than the plot is wide.
+     * Symbols of {@link Data} items are not affected.
+     *
+     * @since 18
+     * @see DownsamplingPolicy
+     * @defaultValue DownsamplingPolicy#NONE
+     */
+    private ObjectProperty<DownsamplingPolicy> downsamplingPolicy =
+            new ObjectPropertyBase<DownsamplingPolicy>(DownsamplingPolicy.NONE) {
+        @Override protected void invalidated() {
+            requestChartLayout();
+        }
+
+        public Object getBean() {
+            return AreaChart.this;
+        }
+
+        public String getName() {
+            return "downsamplingPolicy";
+        }
+    };
+
+    public final DownsamplingPolicy getDownsamplingPolicy() { return downsamplingPolicy.getValue(); }
+    public final void setDownsamplingPolicy(DownsamplingPolicy value) { downsamplingPolicy.setValue(value); }
+    public final ObjectProperty<DownsamplingPolicy> downsamplingPolicyProperty() { return downsamplingPolicy; }
+
     // -------------- CONSTRUCTORS ----------------------------------------------
 
     /**
@@ -169,6 +203,7 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
                     if(xData != null) xData.add(data.getXValue());
                     if(yData != null) yData.add(data.getYValue());
                 }
+                addSampleRange(series, xData, yData);
             }
             if(xData != null && !(xData.size() == 1 && getXAxis().toNumericValue(xData.get(0)) == 0)) {
                 xa.invalidateRange(xData);
@@ -418,35 +453,33 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
 
     /** {@inheritDoc} */
     @Override protected void layoutPlotChildren() {
-        List<LineTo> constructedPath = new ArrayList<>(getDataSize());
         for (int seriesIndex=0; seriesIndex < getDataSize(); seriesIndex++) {
             Series<X, Y> series = getData().get(seriesIndex);
             DoubleProperty seriesYAnimMultiplier = seriesYMultiplierMap.get(series);
             final ObservableList<Node> children = ((Group) series.getNode()).getChildren();
             Path fillPath = (Path) children.get(0);
             Path linePath = (Path) children.get(1);
-            makePaths(this, series, constructedPath, fillPath, linePath,
-                      seriesYAnimMultiplier.get(), SortingPolicy.X_AXIS);
+            makePaths(this, series, pathBuffer, fillPath, linePath,
+                      seriesYAnimMultiplier.get(), SortingPolicy.X_AXIS, getDownsamplingPolicy());
         }
     }
 
     static <X,Y> void makePaths(XYChart<X, Y> chart, Series<X, Y> series,
-                                List<LineTo> constructedPath,
+                                PathBuffer buffer,
                                 Path fillPath, Path linePath,
-                                double yAnimMultiplier, SortingPolicy sortAxis)
+                                double yAnimMultiplier, SortingPolicy sortAxis,
+                                DownsamplingPolicy downsampling)
     {
         final Axis<X> axisX = chart.getXAxis();
         final Axis<Y> axisY = chart.getYAxis();
         final double hlw = linePath.getStrokeWidth() / 2.0;
         final boolean sortX = (sortAxis == SortingPolicy.X_AXIS);
         final boolean sortY = (sortAxis == SortingPolicy.Y_AXIS);
-        final double dataXMin = sortX ? -hlw : Double.NEGATIVE_INFINITY;
-        final double dataXMax = sortX ? axisX.getWidth() + hlw : Double.POSITIVE_INFINITY;
-        final double dataYMin = sortY ? -hlw : Double.NEGATIVE_INFINITY;
-        final double dataYMax = sortY ? axisY.getHeight() + hlw : Double.POSITIVE_INFINITY;
-        LineTo prevDataPoint = null;
-        LineTo nextDataPoint = null;
-        constructedPath.clear();
+        buffer.reset(sortX, sortY,
+                     sortX ? -hlw : Double.NEGATIVE_INFINITY,
+                     sortX ? axisX.getWidth() + hlw : Double.POSITIVE_INFINITY,
+                     sortY ? -hlw : Double.NEGATIVE_INFINITY,
+                     sortY ? axisY.getHeight() + hlw : Double.POSITIVE_INFINITY);
         for (Iterator<Data<X, Y>> it = chart.getDisplayedDataIterator(series); it.hasNext(); ) {
             Data<X, Y> item = it.next();
             double x = axisX.getDisplayPosition(item.getCurrentX());
@@ -464,65 +497,207 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
                 }
             }
             if (skip) continue;
-            if (x < dataXMin || y < dataYMin) {
-                if (prevDataPoint == null) {
-                    prevDataPoint = new LineTo(x, y);
-                } else if ((sortX && prevDataPoint.getX() <= x) ||
-                           (sortY && prevDataPoint.getY() <= y))
-                {
-                    prevDataPoint.setX(x);
-                    prevDataPoint.setY(y);
+            buffer.add(x, y);
+        }
+        if (series.hasSamples() && chart.canPlotSamples()) {
+            final Samples samples = series.getSamples();
+            final ValueAxis<?> valueAxisX = (ValueAxis<?>) axisX;
+            final ValueAxis<?> valueAxisY = (ValueAxis<?>) axisY;
+            for (int i = 0, n = samples.size(); i < n; i++) {
+                double x = valueAxisX.getDisplayPosition(samples.getX(i));
+                double y = valueAxisY.getDisplayPosition(samples.getY(i) * yAnimMultiplier);
+                if (Double.isNaN(x) || Double.isNaN(y)) continue;
+                buffer.add(x, y);
+            }
+        }
+
+        if (buffer.finish(sortX && downsampling != null ? downsampling : DownsamplingPolicy.NONE,
+                          axisX.getWidth()))
+        {
+            final double[] xs = buffer.x;
+            final double[] ys = buffer.y;
+            final int from = buffer.from;
+            final int to = buffer.to;
+
+            updateElements(linePath.getElements(), xs[from], ys[from], xs, ys, from, to, false, 0);
+
+            if (fillPath != null) {
+                double yOrigin = axisY.getDisplayPosition(axisY.toRealValue(0.0));
+                updateElements(fillPath.getElements(), xs[from], yOrigin, xs, ys, from, to, true, yOrigin);
+            }
+        }
+    }
+
+    /**
+     * Brings the given path elements to a MoveTo followed by a LineTo for every point, optionally closed down to
+     * the given y. Elements that are already in place are kept and only their coordinates are updated, so appending
+     * points to a series only adds to the tail of the path.
+     */
+    private static void updateElements(ObservableList<PathElement> elements, double moveX, double moveY,
+                                       double[] xs, double[] ys, int from, int to,
+                                       boolean close, double closeY)
+    {
+        final int size = elements.size();
+        if (size == 0 || !(elements.get(0) instanceof MoveTo)) {
+            List<PathElement> newElements = new ArrayList<>(to - from + 3);
+            newElements.add(new MoveTo(moveX, moveY));
+            addLines(newElements, xs, ys, from, to, close, closeY);
+            elements.setAll(newElements);
+            return;
+        }
+        final MoveTo moveTo = (MoveTo) elements.get(0);
+        if (moveTo.getX() != moveX) moveTo.setX(moveX);
+        if (moveTo.getY() != moveY) moveTo.setY(moveY);
+
+        final int lineCount = to - from + (close ? 1 : 0);
+        int i = 0;
+        for (; i < lineCount && i + 1 < size; i++) {
+            final PathElement element = elements.get(i + 1);
+            if (!(element instanceof LineTo)) break;
+            final LineTo lineTo = (LineTo) element;
+            final int point = Math.min(from + i, to - 1);
+            final double x = xs[point];
+            final double y = (from + i < to) ? ys[point] : closeY;
+            if (lineTo.getX() != x) lineTo.setX(x);
+            if (lineTo.getY() != y) lineTo.setY(y);
+        }
+        final int keep = i + 1;
+        if (i == lineCount) {
+            // all lines are in place, only the tail may need trimming or closing
+            final int expected = keep + (close ? 1 : 0);
+            if (size == expected && (!close || elements.get(keep) instanceof ClosePath)) {
+                return;
+            }
+        }
+        List<PathElement> tail = new ArrayList<>(lineCount - i + 1);
+        addLines(tail, xs, ys, from + i, to, close, closeY);
+        elements.remove(keep, size);
+        elements.addAll(tail);
+    }
+
+    private static void addLines(List<PathElement> elements, double[] xs, double[] ys, int start, int to,
+                                 boolean close, double closeY)
+    {
+        for (int j = start; j < to; j++) {
+            elements.add(new LineTo(xs[j], ys[j]));
+        }
+        if (close) {
+            if (start <= to) {
+                elements.add(new LineTo(xs[to - 1], closeY));
+            }
+            elements.add(new ClosePath());
+        }
+    }
+
+    /**
+     * Reusable primitive storage for the display positions of the points of a series path, with at most one point
+     * kept on either side of the visible range so that the path runs off the edges of the plot.
+     */
+    static final class PathBuffer {
+        double[] x = new double[16];
+        double[] y = new double[16];
+        int from;
+        int to;
+
+        private boolean sortX, sortY;
+        private double xMin, xMax, yMin, yMax;
+        private boolean hasPrev, hasNext;
+        private double prevX, prevY, nextX, nextY;
+
+        void reset(boolean sortX, boolean sortY, double xMin, double xMax, double yMin, double yMax) {
+            this.sortX = sortX;
+            this.sortY = sortY;
+            this.xMin = xMin;
+            this.xMax = xMax;
+            this.yMin = yMin;
+            this.yMax = yMax;
+            hasPrev = hasNext = false;
+            // slot 0 is kept for the point before the visible range
+            from = to = 1;
+        }
+
+        void add(double px, double py) {
+            if (px < xMin || py < yMin) {
+                if (!hasPrev || (sortX && prevX <= px) || (sortY && prevY <= py)) {
+                    hasPrev = true;
+                    prevX = px;
+                    prevY = py;
                 }
-            } else if (x <= dataXMax && y <= dataYMax) {
-                constructedPath.add(new LineTo(x, y));
+            } else if (px <= xMax && py <= yMax) {
+                ensureCapacity(to + 2);
+                x[to] = px;
+                y[to++] = py;
             } else {
-                if (nextDataPoint == null) {
-                    nextDataPoint = new LineTo(x, y);
-                } else if ((sortX && x <= nextDataPoint.getX()) ||
-                           (sortY && y <= nextDataPoint.getY()))
-                {
-                    nextDataPoint.setX(x);
-                    nextDataPoint.setY(y);
+                if (!hasNext || (sortX && px <= nextX) || (sortY && py <= nextY)) {
+                    hasNext = true;
+                    nextX = px;
+                    nextY = py;
                 }
             }
         }
 
-        if (!constructedPath.isEmpty() || prevDataPoint != null || nextDataPoint != null) {
+        /**
+         * Sorts the visible points, adds the points on either side and downsamples the result to the given pixel
+         * width. Returns false if there are no points at all.
+         */
+        boolean finish(DownsamplingPolicy downsampling, double width) {
             if (sortX) {
-                Collections.sort(constructedPath, (e1, e2) -> Double.compare(e1.getX(), e2.getX()));
+                sort(x, y);
             } else if (sortY) {
-                Collections.sort(constructedPath, (e1, e2) -> Double.compare(e1.getY(), e2.getY()));
-            } else {
-                // assert prevDataPoint == null && nextDataPoint == null
+                sort(y, x);
             }
-            if (prevDataPoint != null) {
-                constructedPath.add(0, prevDataPoint);
+            if (hasPrev) {
+                x[0] = prevX;
+                y[0] = prevY;
+                from = 0;
             }
-            if (nextDataPoint != null) {
-                constructedPath.add(nextDataPoint);
+            if (hasNext) {
+                ensureCapacity(to + 1);
+                x[to] = nextX;
+                y[to++] = nextY;
             }
+            if (from == to) return false;
+            final int threshold = Math.max(3, 2 * (int) Math.ceil(width));
+            if (to - from > threshold) {
+                if (downsampling == DownsamplingPolicy.MIN_MAX) {
+                    to = from + Downsampler.minMax(x, y, from, to);
+                } else if (downsampling == DownsamplingPolicy.LTTB) {
+                    to = from + Downsampler.lttb(x, y, from, to, threshold);
+                }
+            }
+            return true;
+        }
 
-            // assert !constructedPath.isEmpty()
-            LineTo first = constructedPath.get(0);
-            LineTo last = constructedPath.get(constructedPath.size()-1);
-
-            final double displayYPos = first.getY();
-
-            ObservableList<PathElement> lineElements = linePath.getElements();
-            lineElements.clear();
-            lineElements.add(new MoveTo(first.getX(), displayYPos));
-            lineElements.addAll(constructedPath);
-
-            if (fillPath != null) {
-                ObservableList<PathElement> fillElements = fillPath.getElements();
-                fillElements.clear();
-                double yOrigin = axisY.getDisplayPosition(axisY.toRealValue(0.0));
+        private void ensureCapacity(int capacity) {
+            if (capacity > x.length) {
+                int newCapacity = Math.max(capacity, x.length * 2);
+                x = Arrays.copyOf(x, newCapacity);
+                y = Arrays.copyOf(y, newCapacity);
+            }
+        }
 
-                fillElements.add(new MoveTo(first.getX(), yOrigin));
-                fillElements.addAll(constructedPath);
-                fillElements.add(new LineTo(last.getX(), yOrigin));
-                fillElements.add(new ClosePath());
+        // Stable sort of the visible points by the given key, skipped when they are already in order
+        private void sort(double[] key, double[] other) {
+            boolean sorted = true;
+            for (int i = from + 1; i < to; i++) {
+                if (key[i] < key[i - 1]) {
+                    sorted = false;
+                    break;
+                }
+            }
+            if (sorted) return;
+            final int n = to - from;
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) order[i] = from + i;
+            Arrays.sort(order, (a, b) -> Double.compare(key[a], key[b]));
+            double[] sortedKey = new double[n];
+            double[] sortedOther = new double[n];
+            for (int i = 0; i < n; i++) {
+                sortedKey[i] = key[order[i]];
+                sortedOther[i] = other[order[i]];
             }
+            System.arraycopy(sortedKey, 0, key, from, n);
+            System.arraycopy(sortedOther, 0, other, from, n);
         }
     }
 
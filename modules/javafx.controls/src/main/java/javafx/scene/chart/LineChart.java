@@ -50,7 +50,6 @@ import javafx.collections.ObservableList;
 import javafx.scene.AccessibleRole;
 import javafx.scene.Node;
 import javafx.scene.layout.StackPane;
-import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
 import javafx.scene.shape.PathElement;
@@ -81,6 +80,9 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
 
     /** A multiplier for the Y values that we store for each series, it is used to animate in a new series */
     private Map<Series<X,Y>, DoubleProperty> seriesYMultiplierMap = new HashMap<>();
+
+    /** Reused between layouts to build the series paths */
+    private final AreaChart.PathBuffer pathBuffer = new AreaChart.PathBuffer();
     private Timeline dataRemoveTimeline;
     private Series<X,Y> seriesOfDataRemoved = null;
     private Data<X,Y> dataItemBeingRemoved = null;
@@ -161,6 +163,34 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
     public final void setAxisSortingPolicy(SortingPolicy value) { axisSortingPolicy.setValue(value); }
     public final ObjectProperty<SortingPolicy> axisSortingPolicyProperty() { return axisSortingPolicy; }
 
+    /**
+     * The policy used to reduce the number of points drawn for series with many more points than the plot is wide.
+     * Points are only reduced when the data is sorted by {@link SortingPolicy#X_AXIS}. Symbols of {@link Data} items
+     * are not affected.
+     *
+     * @since 18
+     * @see DownsamplingPolicy
+     * @defaultValue DownsamplingPolicy#NONE
+     */
+    private ObjectProperty<DownsamplingPolicy> downsamplingPolicy =
+            new ObjectPropertyBase<DownsamplingPolicy>(DownsamplingPolicy.NONE) {
+        @Override protected void invalidated() {
+            requestChartLayout();
+        }
+
+        public Object getBean() {
+            return LineChart.this;
+        }
+
+        public String getName() {
+            return "downsamplingPolicy";
+        }
+    };
+
+    public final DownsamplingPolicy getDownsamplingPolicy() { return downsamplingPolicy.getValue(); }
+    public final void setDownsamplingPolicy(DownsamplingPolicy value) { downsamplingPolicy.setValue(value); }
+    public final ObjectProperty<DownsamplingPolicy> downsamplingPolicyProperty() { return downsamplingPolicy; }
+
     // -------------- CONSTRUCTORS ----------------------------------------------
 
     /**
@@ -201,6 +231,7 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
                     if(xData != null) xData.add(data.getXValue());
                     if(yData != null) yData.add(data.getYValue());
                 }
+                addSampleRange(series, xData, yData);
             }
             // RT-32838 No need to invalidate range if there is one data item - whose value is zero.
             if(xData != null && !(xData.size() == 1 && getXAxis().toNumericValue(xData.get(0)) == 0)) {
@@ -449,15 +480,15 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
 
     /** {@inheritDoc} */
     @Override protected void layoutPlotChildren() {
-        List<LineTo> constructedPath = new ArrayList<>(getDataSize());
         for (int seriesIndex=0; seriesIndex < getDataSize(); seriesIndex++) {
             Series<X,Y> series = getData().get(seriesIndex);
             final DoubleProperty seriesYAnimMultiplier = seriesYMultiplierMap.get(series);
             final Node seriesNode = series.getNode();
             if (seriesNode instanceof Path) {
                 AreaChart.makePaths(this, series,
-                                    constructedPath, null, (Path) seriesNode,
-                                    seriesYAnimMultiplier.get(), getAxisSortingPolicy());
+                                    pathBuffer, null, (Path) seriesNode,
+                                    seriesYAnimMultiplier.get(), getAxisSortingPolicy(),
+                                    getDownsamplingPolicy());
             }
         }
     }
@@ -606,4 +637,26 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
          */
         Y_AXIS
     }
+
+    /**
+     * This enum defines a policy for {@link LineChart#downsamplingPolicyProperty()} and
+     * {@link AreaChart#downsamplingPolicyProperty()}.
+     * @since 18
+     */
+    public static enum DownsamplingPolicy {
+        /**
+         * Every point is drawn.
+         */
+        NONE,
+        /**
+         * For every pixel column, only the first, the minimum, the maximum and the last point are drawn. The line
+         * covers the same pixels as with every point drawn.
+         */
+        MIN_MAX,
+        /**
+         * The points are reduced to about two per pixel column with the Largest-Triangle-Three-Buckets algorithm,
+         * which preserves the visual shape of the data.
+         */
+        LTTB
+    }
 }
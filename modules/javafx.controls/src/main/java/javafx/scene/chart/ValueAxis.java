@@ -462,7 +462,20 @@ public abstract class ValueAxis<T extends Number> extends Axis<T> {
      * @return display position
      */
     @Override public double getDisplayPosition(T value) {
-        return offset + ((value.doubleValue() - currentLowerBound.get()) * getScale());
+        return getDisplayPosition(value.doubleValue());
+    }
+
+    /**
+     * Gets the display position along this axis for a given numeric value, without boxing it into a data value.
+     * Charts use this to plot the {@link XYChart.Samples samples} of a series, so subclasses that override
+     * {@link #getDisplayPosition(Number)} need to override this method to match.
+     *
+     * @param value The numeric value to work out display position for
+     * @return display position
+     * @since 18
+     */
+    public double getDisplayPosition(double value) {
+        return offset + ((value - currentLowerBound.get()) * getScale());
     }
 
     /**
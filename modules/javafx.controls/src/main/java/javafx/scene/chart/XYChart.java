@@ -28,6 +28,7 @@ package javafx.scene.chart;
 
 import com.sun.javafx.charts.Legend;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
@@ -35,11 +36,14 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.beans.binding.StringBinding;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
@@ -512,6 +516,37 @@ public abstract class XYChart<X,Y> extends Chart {
         requestChartLayout();
     }
 
+    /** Called when the samples of a series have changed */
+    private void samplesChanged() {
+        invalidateRange();
+        requestChartLayout();
+    }
+
+    /**
+     * Samples are given in the numeric space of the axes and are only plotted when both axes are value axes.
+     */
+    boolean canPlotSamples() {
+        return getXAxis() instanceof ValueAxis && getYAxis() instanceof ValueAxis;
+    }
+
+    /**
+     * Adds the extremes of the samples of the given series to the lists used to auto-range the axes, so that they
+     * are covered without boxing every sample.
+     */
+    void addSampleRange(Series<X,Y> series, List<X> xData, List<Y> yData) {
+        if (!series.hasSamples() || !canPlotSamples()) return;
+        final Samples samples = series.getSamples();
+        if (Double.isNaN(samples.getMinX())) return;
+        if (xData != null) {
+            xData.add(getXAxis().toRealValue(samples.getMinX()));
+            xData.add(getXAxis().toRealValue(samples.getMaxX()));
+        }
+        if (yData != null) {
+            yData.add(getYAxis().toRealValue(samples.getMinY()));
+            yData.add(getYAxis().toRealValue(samples.getMaxY()));
+        }
+    }
+
     private <T> void dataValueChanged(Data<X,Y> item, T newValue, ObjectProperty<T> currentValueProperty) {
         if (currentValueProperty.get() != newValue) invalidateRange();
         dataItemChanged(item);
@@ -649,6 +684,7 @@ public abstract class XYChart<X,Y> extends Chart {
                     if(xData != null) xData.add(data.getXValue());
                     if(yData != null) yData.add(data.getYValue());
                 }
+                addSampleRange(series, xData, yData);
             }
             if(xData != null) xa.invalidateRange(xData);
             if(yData != null) ya.invalidateRange(yData);
@@ -1586,6 +1622,31 @@ public abstract class XYChart<X,Y> extends Chart {
         public final void setData(ObservableList<Data<X,Y>> value) { data.setValue(value); }
         public final ObjectProperty<ObservableList<Data<X,Y>>> dataProperty() { return data; }
 
+        private Samples samples;
+
+        /**
+         * Returns the primitive samples of this series, which are plotted in addition to its {@link #getData() data}.
+         * The buffer is created on first access.
+         *
+         * @return the samples of this series
+         * @since 18
+         */
+        public final Samples getSamples() {
+            if (samples == null) {
+                samples = new Samples();
+                samples.addListener(o -> {
+                    final XYChart<X,Y> chart = getChart();
+                    if (chart != null) chart.samplesChanged();
+                });
+            }
+            return samples;
+        }
+
+        /** Returns true if this series has any samples, without creating the buffer. */
+        boolean hasSamples() {
+            return samples != null && samples.size() > 0;
+        }
+
         // -------------- CONSTRUCTORS ----------------------------------------------
 
         /**
@@ -1650,4 +1711,357 @@ public abstract class XYChart<X,Y> extends Chart {
         }
     }
 
+    /**
+     * A buffer of x and y values held in primitive arrays, for series with more points than it is practical to
+     * represent with {@link Data} objects. Samples have no nodes of their own; they are included in the auto-ranging
+     * of both axes and are drawn as part of the series path by {@link LineChart} and {@link AreaChart}. Values are
+     * given in the numeric space of the axes, see {@link ValueAxis#getDisplayPosition(double)}. Points with a
+     * {@code NaN} value are skipped.
+     * <p>
+     * Samples are only plotted when both axes of the chart are {@link ValueAxis value axes}. They are ignored, for
+     * plotting and for auto-ranging, when either axis is a {@link CategoryAxis} or any other kind of axis, as those
+     * have no numeric space that a sample could be placed in without being converted into a data value first.
+     * <p>
+     * The buffer grows as needed unless it is given a {@link #setCapacity(int) capacity}, in which case it works as
+     * a ring buffer: once full, every sample added evicts the oldest one. Appending and evicting take constant time,
+     * and the minimum and maximum values used for auto-ranging are maintained incrementally, so a streaming chart
+     * whose x axis is auto-ranging, not animated and not forced to include zero scrolls along with the samples
+     * without the cost of removing {@code Data} items from the head of the series.
+     *
+     * @since 18
+     */
+    public static final class Samples implements Observable {
+
+        private static final InvalidationListener[] NO_LISTENERS = new InvalidationListener[0];
+
+        private double[] xValues = new double[16];
+        private double[] yValues = new double[16];
+        // physical index of the oldest sample
+        private int head;
+        private int size;
+        // running sequence number of the oldest sample, the deques below refer to samples by sequence number
+        private int headSeq;
+        private int capacity;
+        private final ExtremesDeque minX = new ExtremesDeque(false, false);
+        private final ExtremesDeque maxX = new ExtremesDeque(false, true);
+        private final ExtremesDeque minY = new ExtremesDeque(true, false);
+        private final ExtremesDeque maxY = new ExtremesDeque(true, true);
+        private InvalidationListener[] listeners = NO_LISTENERS;
+
+        Samples() {
+        }
+
+        /**
+         * Returns the number of samples.
+         * @return the number of samples
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the maximum number of samples kept, or 0 if the buffer grows as needed.
+         * @return the capacity
+         */
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * Sets the maximum number of samples kept. When the buffer is full, adding a sample evicts the oldest one.
+         * If there are more samples than the new capacity, the oldest ones are evicted. A capacity of 0 lets the
+         * buffer grow as needed.
+         *
+         * @param capacity the capacity, or 0 for an unbounded buffer
+         * @throws IllegalArgumentException if the capacity is negative
+         */
+        public void setCapacity(int capacity) {
+            if (capacity < 0) {
+                throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+            }
+            this.capacity = capacity;
+            if (capacity > 0 && size > capacity) {
+                evict(size - capacity);
+                fireInvalidated();
+            }
+            if (capacity > 0) {
+                resize(capacity);
+            }
+        }
+
+        /**
+         * Returns the x value of the sample at the given index, the oldest sample being at index 0.
+         * @param index the index of the sample
+         * @return the x value
+         * @throws IndexOutOfBoundsException if the index is out of range
+         */
+        public double getX(int index) {
+            Objects.checkIndex(index, size);
+            return xValues[physical(index)];
+        }
+
+        /**
+         * Returns the y value of the sample at the given index, the oldest sample being at index 0.
+         * @param index the index of the sample
+         * @return the y value
+         * @throws IndexOutOfBoundsException if the index is out of range
+         */
+        public double getY(int index) {
+            Objects.checkIndex(index, size);
+            return yValues[physical(index)];
+        }
+
+        /**
+         * Appends a sample, evicting the oldest one if the buffer is full.
+         * @param x the x value
+         * @param y the y value
+         */
+        public void add(double x, double y) {
+            store(x, y);
+            fireInvalidated();
+        }
+
+        /**
+         * Appends {@code length} samples taken from the given arrays starting at {@code offset}, evicting the
+         * oldest ones if the buffer is full.
+         * @param x the x values
+         * @param y the y values
+         * @param offset the index of the first value to append
+         * @param length the number of values to append
+         * @throws IndexOutOfBoundsException if the range is out of bounds of either array
+         */
+        public void addAll(double[] x, double[] y, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, x.length);
+            Objects.checkFromIndexSize(offset, length, y.length);
+            if (length == 0) return;
+            if (capacity > 0 && length > capacity) {
+                // only the last values fit, the others would be evicted right away
+                clearQuietly();
+                offset += length - capacity;
+                length = capacity;
+            }
+            for (int i = offset; i < offset + length; i++) {
+                store(x[i], y[i]);
+            }
+            fireInvalidated();
+        }
+
+        /**
+         * Replaces all samples with the values of the given arrays, which must have the same length. If the
+         * buffer has a capacity, only the last values that fit are kept.
+         * @param x the x values
+         * @param y the y values
+         * @throws IllegalArgumentException if the arrays have different lengths
+         */
+        public void setAll(double[] x, double[] y) {
+            if (x.length != y.length) {
+                throw new IllegalArgumentException("x and y arrays must have the same length");
+            }
+            clearQuietly();
+            int offset = (capacity > 0) ? Math.max(0, x.length - capacity) : 0;
+            for (int i = offset; i < x.length; i++) {
+                store(x[i], y[i]);
+            }
+            fireInvalidated();
+        }
+
+        /**
+         * Removes the given number of oldest samples.
+         * @param count the number of samples to remove
+         * @throws IndexOutOfBoundsException if count is negative or larger than the number of samples
+         */
+        public void removeFirst(int count) {
+            Objects.checkFromIndexSize(0, count, size);
+            if (count == 0) return;
+            evict(count);
+            fireInvalidated();
+        }
+
+        /**
+         * Removes all samples.
+         */
+        public void clear() {
+            if (size == 0) return;
+            clearQuietly();
+            fireInvalidated();
+        }
+
+        /**
+         * Returns the smallest x value, or {@code NaN} if there are no samples.
+         * @return the smallest x value
+         */
+        public double getMinX() {
+            return minX.peek();
+        }
+
+        /**
+         * Returns the largest x value, or {@code NaN} if there are no samples.
+         * @return the largest x value
+         */
+        public double getMaxX() {
+            return maxX.peek();
+        }
+
+        /**
+         * Returns the smallest y value, or {@code NaN} if there are no samples.
+         * @return the smallest y value
+         */
+        public double getMinY() {
+            return minY.peek();
+        }
+
+        /**
+         * Returns the largest y value, or {@code NaN} if there are no samples.
+         * @return the largest y value
+         */
+        public double getMaxY() {
+            return maxY.peek();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addListener(InvalidationListener listener) {
+            Objects.requireNonNull(listener);
+            listeners = Arrays.copyOf(listeners, listeners.length + 1);
+            listeners[listeners.length - 1] = listener;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void removeListener(InvalidationListener listener) {
+            for (int i = 0; i < listeners.length; i++) {
+                if (listeners[i].equals(listener)) {
+                    InvalidationListener[] newListeners = new InvalidationListener[listeners.length - 1];
+                    System.arraycopy(listeners, 0, newListeners, 0, i);
+                    System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+                    listeners = newListeners;
+                    return;
+                }
+            }
+        }
+
+        private int physical(int index) {
+            int i = head + index;
+            return (i >= xValues.length) ? i - xValues.length : i;
+        }
+
+        private void store(double x, double y) {
+            if (capacity > 0 && size == capacity) {
+                evict(1);
+            } else if (size == xValues.length) {
+                resize(Math.max(size + 1, size + (size >> 1)));
+            }
+            final int index = physical(size);
+            final int seq = headSeq + size;
+            xValues[index] = x;
+            yValues[index] = y;
+            size++;
+            if (Double.isNaN(x) || Double.isNaN(y)) return;
+            minX.push(seq, x);
+            maxX.push(seq, x);
+            minY.push(seq, y);
+            maxY.push(seq, y);
+        }
+
+        private void evict(int count) {
+            for (int i = 0; i < count; i++) {
+                minX.evict(headSeq);
+                maxX.evict(headSeq);
+                minY.evict(headSeq);
+                maxY.evict(headSeq);
+                headSeq++;
+            }
+            head = physical(count);
+            size -= count;
+        }
+
+        private void clearQuietly() {
+            headSeq += size;
+            head = 0;
+            size = 0;
+            minX.clear();
+            maxX.clear();
+            minY.clear();
+            maxY.clear();
+        }
+
+        // Copies the samples to arrays of the given length, with the oldest sample at index 0
+        private void resize(int length) {
+            if (length == xValues.length && head == 0) return;
+            double[] newX = new double[length];
+            double[] newY = new double[length];
+            int first = Math.min(size, xValues.length - head);
+            System.arraycopy(xValues, head, newX, 0, first);
+            System.arraycopy(yValues, head, newY, 0, first);
+            System.arraycopy(xValues, 0, newX, first, size - first);
+            System.arraycopy(yValues, 0, newY, first, size - first);
+            xValues = newX;
+            yValues = newY;
+            head = 0;
+        }
+
+        private void fireInvalidated() {
+            for (InvalidationListener listener : listeners) {
+                listener.invalidated(this);
+            }
+        }
+
+        /*
+         * Sequence numbers of the samples that may still become the minimum (or maximum) as older samples are
+         * evicted, oldest first, with their values strictly increasing (or decreasing) so that the extreme is
+         * always at the front. Every sample is pushed and popped at most once, so maintaining it takes amortized
+         * constant time per sample.
+         */
+        private final class ExtremesDeque {
+            private final boolean y;
+            private final boolean max;
+            private int[] items = new int[16];
+            private int head;
+            private int size;
+
+            ExtremesDeque(boolean y, boolean max) {
+                this.y = y;
+                this.max = max;
+            }
+
+            void push(int seq, double value) {
+                while (size > 0) {
+                    double last = valueAt(items[index(size - 1)]);
+                    if (max ? last > value : last < value) break;
+                    size--;
+                }
+                if (size == items.length) {
+                    int[] newItems = new int[items.length * 2];
+                    for (int i = 0; i < size; i++) newItems[i] = items[index(i)];
+                    items = newItems;
+                    head = 0;
+                }
+                items[index(size++)] = seq;
+            }
+
+            void evict(int seq) {
+                if (size > 0 && items[head] == seq) {
+                    head = index(1);
+                    size--;
+                }
+            }
+
+            double peek() {
+                return (size == 0) ? Double.NaN : valueAt(items[head]);
+            }
+
+            void clear() {
+                head = 0;
+                size = 0;
+            }
+
+            private int index(int i) {
+                int j = head + i;
+                return (j >= items.length) ? j - items.length : j;
+            }
+
+            private double valueAt(int seq) {
+                return (y ? yValues : xValues)[physical(seq - headSeq)];
+            }
+        }
+    }
+
 }
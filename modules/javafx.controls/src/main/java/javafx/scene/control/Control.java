@@ -28,12 +28,15 @@ package javafx.scene.control;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import com.sun.javafx.scene.control.ControlAcceleratorSupport;
 import javafx.application.Application;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.property.SimpleObjectProperty;
@@ -45,12 +48,14 @@ import javafx.event.EventHandler;
 import javafx.scene.AccessibleAction;
 import javafx.scene.AccessibleAttribute;
 import javafx.scene.Node;
+import javafx.scene.Parent;
 import javafx.scene.input.ContextMenuEvent;
 import javafx.scene.layout.Region;
 import com.sun.javafx.application.PlatformImpl;
 import javafx.css.CssMetaData;
 import com.sun.javafx.css.StyleManager;
 import com.sun.javafx.scene.NodeHelper;
+import com.sun.javafx.scene.TreeShowingExpression;
 import com.sun.javafx.scene.control.ControlHelper;
 import javafx.css.StyleableObjectProperty;
 import javafx.css.StyleableStringProperty;
@@ -100,6 +105,18 @@ public abstract class Control extends Region implements Skinnable {
         }
     }
 
+    // The default skin of a control is only created once the control is
+    // showing if javafx.scene.control.Control.deferSkinCreation is set to
+    // true. This avoids building skins for content that may never be shown,
+    // such as the content of unselected tabs, collapsed titled panes or
+    // windows that are not showing yet. Skins set through -fx-skin are not
+    // deferred. A control whose skin is deferred still computes its size
+    // when asked, unless it is inside a hidden parent: controls inside a
+    // hidden parent have no size until the parent is shown.
+    @SuppressWarnings("removal")
+    static boolean deferSkinCreation =
+            AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.scene.control.Control.deferSkinCreation"));
+
     /**
      * Utility for loading a class in a manner that will work with multiple
      * class loaders, as is typically found in OSGI modular applications.
@@ -257,6 +274,9 @@ public abstract class Control extends Region implements Skinnable {
             // result in reinstalling the skin
             currentSkinClassName = skin == null ? null : skin.getClass().getName();
 
+            // a skin set by the application or CSS replaces a deferred default skin
+            if (skin != null) stopSkinDeferral();
+
             // if someone calls setSkin, we need to make it look like they
             // called set on skinClassName in order to keep CSS from overwriting
             // the skin.
@@ -489,6 +509,7 @@ public abstract class Control extends Region implements Skinnable {
      * @return A double representing the minimum width of this control.
      */
     @Override protected double computeMinWidth(final double height) {
+        createDeferredSkin();
         if (skinBase != null) {
             return skinBase.computeMinWidth(height, snappedTopInset(), snappedRightInset(), snappedBottomInset(), snappedLeftInset());
         } else {
@@ -508,6 +529,7 @@ public abstract class Control extends Region implements Skinnable {
      * @return A double representing the minimum height of this control.
      */
     @Override protected double computeMinHeight(final double width) {
+        createDeferredSkin();
         if (skinBase != null) {
             return skinBase.computeMinHeight(width, snappedTopInset(), snappedRightInset(), snappedBottomInset(), snappedLeftInset());
         } else {
@@ -527,6 +549,7 @@ public abstract class Control extends Region implements Skinnable {
      * @return A double representing the maximum width of this control.
      */
     @Override protected double computeMaxWidth(double height) {
+        createDeferredSkin();
         if (skinBase != null) {
             return skinBase.computeMaxWidth(height, snappedTopInset(), snappedRightInset(), snappedBottomInset(), snappedLeftInset());
         } else {
@@ -546,6 +569,7 @@ public abstract class Control extends Region implements Skinnable {
      * @return A double representing the maximum height of this control.
      */
     @Override protected double computeMaxHeight(double width) {
+        createDeferredSkin();
         if (skinBase != null) {
             return skinBase.computeMaxHeight(width, snappedTopInset(), snappedRightInset(), snappedBottomInset(), snappedLeftInset());
         } else {
@@ -556,6 +580,7 @@ public abstract class Control extends Region implements Skinnable {
 
     /** {@inheritDoc} */
     @Override protected double computePrefWidth(double height) {
+        createDeferredSkin();
         if (skinBase != null) {
             return skinBase.computePrefWidth(height, snappedTopInset(), snappedRightInset(), snappedBottomInset(), snappedLeftInset());
         } else {
@@ -566,6 +591,7 @@ public abstract class Control extends Region implements Skinnable {
 
     /** {@inheritDoc} */
     @Override protected double computePrefHeight(double width) {
+        createDeferredSkin();
         if (skinBase != null) {
             return skinBase.computePrefHeight(width, snappedTopInset(), snappedRightInset(), snappedBottomInset(), snappedLeftInset());
         } else {
@@ -576,6 +602,7 @@ public abstract class Control extends Region implements Skinnable {
 
     /** {@inheritDoc} */
     @Override public double getBaselineOffset() {
+        createDeferredSkin();
         if (skinBase != null) {
             return skinBase.computeBaselineOffset(snappedTopInset(), snappedRightInset(), snappedBottomInset(), snappedLeftInset());
         } else {
@@ -883,36 +910,93 @@ public abstract class Control extends Region implements Skinnable {
      * Note: This method MUST only be called via its accessor method.
      */
     private boolean skinCreationLocked = false;
+
+    // observes whether the control is showing while the creation of its
+    // default skin is deferred, null otherwise
+    private TreeShowingExpression skinDeferral;
+
     private void doProcessCSS() {
 
         ControlHelper.superProcessCSS(this);
 
         if (getSkin() == null) {
-            if (skinCreationLocked) {
+            if (skinCreationLocked || isDefaultSkinDeferred()) {
                 return;
             }
 
-            try {
-                skinCreationLocked = true;
+            installDefaultSkin();
+        }
+    }
 
-                // try to create default skin
-                final Skin<?> defaultSkin = createDefaultSkin();
-                if (defaultSkin != null) {
-                    skinProperty().set(defaultSkin);
-                    ControlHelper.superProcessCSS(this);
-                } else {
-                    final String msg = "The -fx-skin property has not been defined in CSS for " + this +
-                            " and createDefaultSkin() returned null.";
-                    final List<CssParser.ParseError> errors = StyleManager.getErrors();
-                    if (errors != null) {
-                        CssParser.ParseError error = new CssParser.ParseError(msg);
-                        errors.add(error); // RT-19884
-                    }
-                    Logging.getControlsLogger().severe(msg);
+    private void installDefaultSkin() {
+        try {
+            skinCreationLocked = true;
+
+            // try to create default skin
+            final Skin<?> defaultSkin = createDefaultSkin();
+            if (defaultSkin != null) {
+                skinProperty().set(defaultSkin);
+                ControlHelper.superProcessCSS(this);
+            } else {
+                final String msg = "The -fx-skin property has not been defined in CSS for " + this +
+                        " and createDefaultSkin() returned null.";
+                final List<CssParser.ParseError> errors = StyleManager.getErrors();
+                if (errors != null) {
+                    CssParser.ParseError error = new CssParser.ParseError(msg);
+                    errors.add(error); // RT-19884
                 }
-            } finally {
-                skinCreationLocked = false;
+                Logging.getControlsLogger().severe(msg);
             }
+        } finally {
+            skinCreationLocked = false;
+        }
+    }
+
+    /*
+     * Returns true if the creation of the default skin is deferred because
+     * deferSkinCreation is enabled and the control is not showing. The skin
+     * is created by the next CSS pass after the control starts showing. If
+     * the size of the control is requested before that, for instance to size
+     * a window before it is shown or by the parent of a control that is
+     * invisible itself, the skin is created right away. Controls inside a
+     * hidden parent, such as the content of an unselected tab, have no size
+     * until the parent becomes visible, at which point the skin is created
+     * and the layout is requested again. Otherwise measuring the hidden
+     * content would create all of its skins.
+     */
+    private boolean isDefaultSkinDeferred() {
+        if (!deferSkinCreation || NodeHelper.isTreeShowing(this)) {
+            stopSkinDeferral();
+            return false;
+        }
+        if (skinDeferral == null) {
+            skinDeferral = new TreeShowingExpression(this);
+            skinDeferral.addListener((InvalidationListener) o -> {
+                // get() validates the expression again so that we hear about
+                // the next change as well
+                if (skinDeferral != null && skinDeferral.get()) {
+                    stopSkinDeferral();
+                    NodeHelper.reapplyCSS(Control.this);
+                }
+            });
+        }
+        return true;
+    }
+
+    private void createDeferredSkin() {
+        Parent parent = getParent();
+        if (skinDeferral != null && (parent == null || NodeHelper.isTreeVisible(parent))) {
+            stopSkinDeferral();
+            if (getSkin() == null && !skinCreationLocked) {
+                installDefaultSkin();
+            }
+        }
+    }
+
+    private void stopSkinDeferral() {
+        if (skinDeferral != null) {
+            skinDeferral.dispose();
+            skinDeferral = null;
         }
     }
 
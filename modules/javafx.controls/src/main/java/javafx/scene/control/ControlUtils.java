@@ -25,6 +25,7 @@
 
 package javafx.scene.control;
 
+import com.sun.javafx.scene.control.SelectedCellsMap;
 import com.sun.javafx.scene.control.skin.Utils;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
@@ -33,6 +34,7 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -165,17 +167,35 @@ class ControlUtils {
             // ensuring that the selectedIndices bitset is correctly updated.
 
             sm.startAtomic();
-            final List<Integer> removed = c.getRemoved().stream()
-                    .map(TablePositionBase::getRow)
-                    .distinct()
-                    .peek(sm.selectedIndices::clear)
-                    .collect(Collectors.toList());
-
-            final int addedSize = (int)c.getAddedSubList().stream()
-                    .map(TablePositionBase::getRow)
-                    .distinct()
-                    .peek(sm.selectedIndices::set)
-                    .count();
+            final List<Integer> removed;
+            if (c.getRemoved() instanceof SelectedCellsMap.RangeList) {
+                // a range selection covers all rows up to its row count, so
+                // there is no need to create its positions
+                int rowCount = ((SelectedCellsMap.RangeList<?>) c.getRemoved()).getRowCount();
+                BitSet rows = new BitSet();
+                rows.set(0, rowCount);
+                sm.selectedIndices.set(0, rowCount, false);
+                removed = sm.new SelectedIndicesList(rows);
+            } else {
+                removed = c.getRemoved().stream()
+                        .map(TablePositionBase::getRow)
+                        .distinct()
+                        .peek(sm.selectedIndices::clear)
+                        .collect(Collectors.toList());
+            }
+
+            final int addedSize;
+            if (c.getAddedSubList() instanceof SelectedCellsMap.RangeList) {
+                int rowCount = ((SelectedCellsMap.RangeList<?>) c.getAddedSubList()).getRowCount();
+                sm.selectedIndices.set(0, rowCount, true);
+                addedSize = rowCount;
+            } else {
+                addedSize = (int)c.getAddedSubList().stream()
+                        .map(TablePositionBase::getRow)
+                        .distinct()
+                        .peek(sm.selectedIndices::set)
+                        .count();
+            }
             sm.stopAtomic();
 
             final int to = c.getFrom() + addedSize;
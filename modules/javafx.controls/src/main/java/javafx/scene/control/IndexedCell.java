@@ -25,6 +25,14 @@
 
 package javafx.scene.control;
 
+import com.sun.javafx.scene.NodeHelper;
+import com.sun.javafx.scene.control.CellContentLoader;
+import com.sun.javafx.scene.control.Logging;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
 import javafx.css.PseudoClass;
 import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.beans.property.ReadOnlyIntegerWrapper;
@@ -46,6 +54,32 @@ import javafx.beans.property.ReadOnlyIntegerWrapper;
  * highlighting colors, but this can be overridden using two pseudo class states
  * provided by {@code IndexedCell}: "even" and "odd".
  *
+ * <p>Content that is expensive to produce, such as a decoded image or the
+ * result of a lookup, can be loaded in the background with
+ * {@link #loadContentAsync(Callable, Consumer)}, so that it does not hold up
+ * scrolling. The cell shows a placeholder in the meantime:
+ *
+ * <pre><code>
+ * listView.setCellFactory(lv -&gt; new ListCell&lt;Photo&gt;() {
+ *     private final ImageView imageView = new ImageView();
+ *
+ *     {@literal @}Override protected void updateItem(Photo photo, boolean empty) {
+ *         super.updateItem(photo, empty);
+ *         imageView.setImage(null);
+ *         if (empty || photo == null) {
+ *             setText(null);
+ *             setGraphic(null);
+ *         } else {
+ *             setText("Loading...");
+ *             setGraphic(imageView);
+ *             loadContentAsync(() -&gt; photo.loadThumbnail(), image -&gt; {
+ *                 setText(photo.getName());
+ *                 imageView.setImage(image);
+ *             });
+ *         }
+ *     }
+ * });</code></pre>
+ *
  * @param <T> The type of the item contained within the Cell.
  * @since JavaFX 2.0
  */
@@ -117,9 +151,75 @@ public class IndexedCell<T> extends Cell<T> {
     public void updateIndex(int i) {
         final int oldIndex = index.get();
         index.set(i);
+        if (oldIndex != i) {
+            // the content being loaded is for the old index
+            cancelContentLoad();
+        }
         indexChanged(oldIndex, i);
     }
 
+    /**
+     * Loads content for this cell on a background thread, and passes it to
+     * {@code onLoaded} on the JavaFX Application Thread. This is intended to
+     * be called from {@link #updateItem(Object, boolean) updateItem}, after
+     * setting up a placeholder that {@code onLoaded} replaces.
+     * <p>
+     * The content is only passed on if this cell still represents the same
+     * index and item once it has been loaded. The request is cancelled when
+     * the index of the cell changes, when a newer request is made, or when
+     * {@link #cancelContentLoad()} is called. While the cell is not visible,
+     * for example because it has been scrolled out of view, the request is
+     * suspended, and it is made again if the cell is shown for the same index.
+     * If {@code loader} throws an exception, {@code onLoaded} is not called
+     * and the exception is logged.
+     *
+     * @param <V> the type of the content
+     * @param loader computes the content; called on a background thread
+     * @param onLoaded receives the content; called on the JavaFX Application
+     *      Thread
+     * @throws NullPointerException if {@code loader} or {@code onLoaded} is
+     *      null
+     * @since 18
+     */
+    protected final <V> void loadContentAsync(Callable<? extends V> loader, Consumer<? super V> onLoaded) {
+        if (loader == null || onLoaded == null) {
+            throw new NullPointerException();
+        }
+        cancelContentLoad();
+        if (treeVisibleListener == null) {
+            treeVisibleListener = o -> treeVisibilityChanged();
+            NodeHelper.treeVisibleProperty(this).addListener(treeVisibleListener);
+        }
+        contentRequest = new ContentRequest<>(getIndex(), loader, onLoaded);
+        if (NodeHelper.treeVisibleProperty(this).get()) {
+            contentRequest.submit();
+        }
+    }
+
+    /**
+     * Cancels the content loading requested by
+     * {@link #loadContentAsync(Callable, Consumer)}, if it has not finished
+     * yet. The content will not be passed to this cell.
+     *
+     * @since 18
+     */
+    protected final void cancelContentLoad() {
+        if (contentRequest != null) {
+            contentRequest.cancel();
+            contentRequest = null;
+        }
+    }
+
+    private void treeVisibilityChanged() {
+        if (contentRequest != null) {
+            if (NodeHelper.treeVisibleProperty(this).get()) {
+                contentRequest.submit();
+            } else {
+                contentRequest.cancel();
+            }
+        }
+    }
+
     /**
      * This method is called whenever the index is changed, regardless of whether
      * the new index is the same as the old index.
@@ -130,6 +230,69 @@ public class IndexedCell<T> extends Cell<T> {
         // no-op
     }
 
+    /* *************************************************************************
+     *                                                                         *
+     * Asynchronous content loading                                            *
+     *                                                                         *
+     **************************************************************************/
+
+    private ContentRequest<?> contentRequest;
+    private InvalidationListener treeVisibleListener;
+
+    private final class ContentRequest<V> {
+        private final int index;
+        private final T item;
+        private final Callable<? extends V> loader;
+        private final Consumer<? super V> onLoaded;
+        private Future<?> future;
+        // incremented on each submission, so that a result loaded before the
+        // request was suspended is ignored
+        private int generation;
+
+        ContentRequest(int index, Callable<? extends V> loader, Consumer<? super V> onLoaded) {
+            this.index = index;
+            this.item = getItem();
+            this.loader = loader;
+            this.onLoaded = onLoaded;
+        }
+
+        void submit() {
+            if (future == null) {
+                final int gen = ++generation;
+                future = CellContentLoader.submit(() -> load(gen));
+            }
+        }
+
+        void cancel() {
+            if (future != null) {
+                CellContentLoader.cancel(future);
+                future = null;
+            }
+        }
+
+        private void load(int gen) {
+            final V value;
+            try {
+                value = loader.call();
+            } catch (Exception e) {
+                if (!Thread.currentThread().isInterrupted()) {
+                    Logging.getControlsLogger().warning("Failed to load content of " + IndexedCell.this, e);
+                }
+                return;
+            }
+            Platform.runLater(() -> deliver(gen, value));
+        }
+
+        private void deliver(int gen, V value) {
+            if (contentRequest == this && future != null && generation == gen
+                    && getIndex() == index && getItem() == item) {
+                future = null;
+                contentRequest = null;
+                onLoaded.accept(value);
+            }
+        }
+    }
+
     /* *************************************************************************
      *                                                                         *
      * Stylesheet Handling                                                     *
@@ -264,8 +264,8 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
 
             selectedIndices.reset();
             selectedIndices.callObservers(new MultipleAdditionAndRemovedChange<>(
-                    added.stream().boxed().collect(Collectors.toList()),
-                    removed.stream().boxed().collect(Collectors.toList()),
+                    new SelectedIndicesList(added),
+                    new SelectedIndicesList(removed),
                     selectedIndices
             ));
         }
@@ -634,15 +634,38 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
      *                                                                     *
      **********************************************************************/
 
+    /*
+     * The selected indices, as a list view over a BitSet. As the selection
+     * may well cover millions of rows (e.g. after selectAll()), the list does
+     * not hold boxed indices: its size is cached, and a rank index (the number
+     * of set bits before each block of words) is built lazily after changes,
+     * so that get(int) and indexOf(Object) are O(log n) rather than walking
+     * all the selected indices. Large removals are reported with a view over
+     * a copy of the removed bits rather than a list of the removed indices.
+     */
     class SelectedIndicesList extends ReadOnlyUnbackedObservableList<Integer> {
+        // the number of words in each block of the rank index
+        private static final int RANK_BLOCK_WORDS = 8;
+
         private final BitSet bitset;
 
         private int lastGetIndex = -1;
         private int lastGetValue = -1;
 
+        // the cached number of set bits, or -1 if it needs to be recomputed
+        private int size = -1;
+
+        // a copy of the words of the bitset, and the number of set bits before
+        // each block of RANK_BLOCK_WORDS words, or null if they need rebuilding
+        private long[] words;
+        private int[] blockRanks;
+
         // Fix for RT-20945 (and numerous other issues!)
         private int atomicityCount = 0;
 
+        // the number of changes in progress that were started on this list
+        private int changeDepth = 0;
+
 //        @Override
 //        public void callObservers(Change<Integer> c) {
 //            throw new RuntimeException("callObservers unavailable");
@@ -674,7 +697,9 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
                 throw new IndexOutOfBoundsException(index + " >= " + itemCount);
             }
 
-            if (index == (lastGetIndex + 1) && lastGetValue < itemCount) {
+            if (index == lastGetIndex) {
+                return lastGetValue;
+            } else if (index == (lastGetIndex + 1) && lastGetValue < itemCount) {
                 // we're iterating forward in order, short circuit for
                 // performance reasons (RT-39776)
                 lastGetIndex++;
@@ -687,28 +712,96 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
                 lastGetValue = bitset.previousSetBit(lastGetValue - 1);
                 return lastGetValue;
             } else {
-                for (lastGetIndex = 0, lastGetValue = bitset.nextSetBit(0);
-                     lastGetValue >= 0 || lastGetIndex == index;
-                     lastGetIndex++, lastGetValue = bitset.nextSetBit(lastGetValue + 1)) {
-                    if (lastGetIndex == index) {
-                        return lastGetValue;
-                    }
+                lastGetIndex = index;
+                lastGetValue = select(index);
+                return lastGetValue;
+            }
+        }
+
+        // Returns the index of the set bit with the given rank
+        private int select(int rank) {
+            buildRankIndex();
+
+            // find the last block that starts with at most rank set bits
+            int lo = 0, hi = blockRanks.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (blockRanks[mid] <= rank) {
+                    lo = mid;
+                } else {
+                    hi = mid - 1;
                 }
             }
 
+            int remaining = rank - blockRanks[lo];
+            for (int w = lo * RANK_BLOCK_WORDS; w < words.length; w++) {
+                long word = words[w];
+                int count = Long.bitCount(word);
+                if (remaining < count) {
+                    for (int i = 0; i < remaining; i++) {
+                        word &= word - 1;
+                    }
+                    return (w << 6) + Long.numberOfTrailingZeros(word);
+                }
+                remaining -= count;
+            }
             return -1;
         }
 
+        // Returns the number of set bits before the given index
+        private int rank(int index) {
+            buildRankIndex();
+
+            int w = index >>> 6;
+            if (w >= words.length) {
+                return size();
+            }
+            int block = w / RANK_BLOCK_WORDS;
+            int rank = blockRanks[block];
+            for (int i = block * RANK_BLOCK_WORDS; i < w; i++) {
+                rank += Long.bitCount(words[i]);
+            }
+            return rank + Long.bitCount(words[w] & ((1L << (index & 63)) - 1));
+        }
+
+        private void buildRankIndex() {
+            if (blockRanks != null) return;
+
+            words = bitset.toLongArray();
+            blockRanks = new int[Math.max(1, (words.length + RANK_BLOCK_WORDS - 1) / RANK_BLOCK_WORDS)];
+            int rank = 0;
+            for (int w = 0; w < words.length; w++) {
+                if (w % RANK_BLOCK_WORDS == 0) {
+                    blockRanks[w / RANK_BLOCK_WORDS] = rank;
+                }
+                rank += Long.bitCount(words[w]);
+            }
+            size = rank;
+        }
+
+        // Must be called whenever the bitset is modified
+        private void invalidate() {
+            size = -1;
+            words = null;
+            blockRanks = null;
+            reset();
+        }
+
         public void set(int index) {
             if (!isValidIndex(index) || isSelected(index)) {
                 return;
             }
 
-            _beginChange();
             bitset.set(index);
-            int indicesIndex = indexOf(index);
-            _nextAdd(indicesIndex, indicesIndex + 1);
-            _endChange();
+            invalidate();
+
+            // the position is only needed if the change is reported
+            if (!isAtomic()) {
+                _beginChange();
+                int indicesIndex = indexOf(index);
+                _nextAdd(indicesIndex, indicesIndex + 1);
+                _endChange();
+            }
         }
 
         private boolean isValidIndex(int index) {
@@ -724,17 +817,46 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
         }
 
         public void set(int index, int end, boolean isSet) {
-            _beginChange();
+            if (end <= index) return;
+
+            // only the indices that change are reported
+            BitSet changed = bitset.get(index, end);
             if (isSet) {
+                changed.flip(0, end - index);
+            }
+            if (changed.isEmpty()) return;
+
+            if (isAtomic()) {
                 bitset.set(index, end, isSet);
-                int indicesIndex = indexOf(index);
-                int span = end - index;
-                _nextAdd(indicesIndex, indicesIndex + span);
+                invalidate();
+                return;
+            }
+
+            if (isSet) {
+                bitset.set(index, end, true);
+                invalidate();
+
+                // report each run of newly set indices as a single addition
+                _beginChange();
+                for (int i = changed.nextSetBit(0); i >= 0; ) {
+                    int runEnd = changed.nextClearBit(i);
+                    int indicesIndex = rank(index + i);
+                    _nextAdd(indicesIndex, indicesIndex + runEnd - i);
+                    i = changed.nextSetBit(runEnd);
+                }
+                _endChange();
             } else {
-                // TODO handle remove
-                bitset.set(index, end, isSet);
+                int indicesIndex = rank(index);
+                BitSet removed = (BitSet) bitset.clone();
+                removed.clear(0, index);
+                removed.clear(end, Math.max(end, removed.length()));
+
+                bitset.clear(index, end);
+                invalidate();
+
+                // the removed indices are contiguous in this list
+                fireRemove(indicesIndex, new SelectedIndicesList(removed));
             }
-            _endChange();
         }
 
         public void set(int index, int... indices) {
@@ -800,21 +922,45 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
         }
 
         public void clear() {
-            _beginChange();
-            List<Integer> removed = bitset.stream().boxed().collect(Collectors.toList());
+            if (bitset.isEmpty()) return;
+
+            if (isAtomic()) {
+                bitset.clear();
+                invalidate();
+                return;
+            }
+
+            // report the removed indices with a view over a copy of them,
+            // rather than boxing every one of them
+            BitSet removed = (BitSet) bitset.clone();
             bitset.clear();
-            _nextRemove(0, removed);
-            _endChange();
+            invalidate();
+            fireRemove(0, new SelectedIndicesList(removed));
         }
 
         public void clear(int index) {
             if (!bitset.get(index)) return;
 
-            int indicesIndex = indexOf(index);
-            _beginChange();
+            // the position is only needed if the change is reported
+            int indicesIndex = isAtomic() ? -1 : indexOf(index);
             bitset.clear(index);
-            _nextRemove(indicesIndex, index);
-            _endChange();
+            invalidate();
+
+            if (indicesIndex >= 0) {
+                _beginChange();
+                _nextRemove(indicesIndex, index);
+                _endChange();
+            }
+        }
+
+        private void fireRemove(int from, List<Integer> removed) {
+            if (changeDepth == 0) {
+                // fire the change directly, as the change builder would copy
+                // the removed indices one at a time
+                callObservers(new NonIterableChange.GenericAddRemoveChange<>(from, from, removed, this));
+            } else {
+                _nextRemove(from, removed);
+            }
         }
 
 //        public void clearAndSelect(int index) {
@@ -867,7 +1013,10 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
 
         /** Returns number of true bits in BitSet */
         @Override public int size() {
-            return bitset.cardinality();
+            if (size < 0) {
+                size = bitset.cardinality();
+            }
+            return size;
         }
 
         /** Returns the number of bits reserved in the BitSet */
@@ -876,14 +1025,24 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
         }
 
         @Override public int indexOf(Object obj) {
-            reset();
-            return super.indexOf(obj);
+            // the list holds Integers, so equals() never matches any other Number
+            if (obj instanceof Integer) {
+                int index = (Integer) obj;
+                if (index >= 0 && bitset.get(index)) {
+                    return rank(index);
+                }
+            }
+            return -1;
+        }
+
+        @Override public int lastIndexOf(Object obj) {
+            // the indices are distinct
+            return indexOf(obj);
         }
 
         @Override public boolean contains(Object o) {
-            if (o instanceof Number) {
-                Number n = (Number) o;
-                int index = n.intValue();
+            if (o instanceof Integer) {
+                int index = (Integer) o;
 
                 return index >= 0 && index < bitset.length() &&
                         bitset.get(index);
@@ -899,12 +1058,14 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
 
         @Override public void _beginChange() {
             if (!isAtomic()) {
+                changeDepth++;
                 super._beginChange();
             }
         }
 
         @Override public void _endChange() {
             if (!isAtomic()) {
+                changeDepth = Math.max(0, changeDepth - 1);
                 super._endChange();
             }
         }
@@ -49,6 +49,8 @@ import javafx.css.StyleableProperty;
 import com.sun.javafx.binding.ExpressionHelper;
 import com.sun.javafx.collections.ListListenerHelper;
 import com.sun.javafx.collections.NonIterableChange;
+import com.sun.javafx.scene.control.ParagraphTree;
+import com.sun.javafx.scene.control.TextAreaHelper;
 import javafx.css.converter.SizeConverter;
 import javafx.scene.control.skin.TextAreaSkin;
 
@@ -84,59 +86,62 @@ import javafx.scene.AccessibleRole;
  * @since JavaFX 2.0
  */
 public class TextArea extends TextInputControl {
+    static {
+        TextAreaHelper.setTextAreaAccessor(new TextAreaHelper.TextAreaAccessor() {
+            @Override public int getParagraphAt(TextArea textArea, int offset) {
+                return ((TextAreaContent)textArea.getContent()).paragraphs.paragraphAt(offset);
+            }
+
+            @Override public int getParagraphStart(TextArea textArea, int index) {
+                return ((TextAreaContent)textArea.getContent()).paragraphs.paragraphStart(index);
+            }
+        });
+    }
+
     // Text area content model
     private static final class TextAreaContent implements Content {
         private ExpressionHelper<String> helper = null;
-        private ArrayList<StringBuilder> paragraphs = new ArrayList<StringBuilder>();
+        // The paragraphs are either StringBuilders, or TextSlices of inserted
+        // text which are only copied into StringBuilders once edited
+        private ParagraphTree paragraphs = new ParagraphTree(new StringBuilder(DEFAULT_PARAGRAPH_CAPACITY));
         private int contentLength = 0;
+        // The whole text, created on demand
+        private String text = "";
         private ParagraphList paragraphList = new ParagraphList();
         private ListListenerHelper<CharSequence> listenerHelper;
 
         private TextAreaContent() {
-            paragraphs.add(new StringBuilder(DEFAULT_PARAGRAPH_CAPACITY));
             paragraphList.content = this;
         }
 
         @Override public String get(int start, int end) {
-            int length = end - start;
-            StringBuilder textBuilder = new StringBuilder(length);
-
-            int paragraphCount = paragraphs.size();
-
-            int paragraphIndex = 0;
-            int offset = start;
-
-            while (paragraphIndex < paragraphCount) {
-                StringBuilder paragraph = paragraphs.get(paragraphIndex);
-                int count = paragraph.length() + 1;
-
-                if (offset < count) {
-                    break;
+            if (start == 0 && end == contentLength) {
+                if (text == null) {
+                    text = get0(start, end);
                 }
-
-                offset -= count;
-                paragraphIndex++;
+                return text;
             }
+            return get0(start, end);
+        }
 
-            // Read characters until end is reached, appending to text builder
-            // and moving to next paragraph as needed
-            StringBuilder paragraph = paragraphs.get(paragraphIndex);
-
-            int i = 0;
-            while (i < length) {
-                if (offset == paragraph.length()
-                    && i < contentLength) {
-                    textBuilder.append('\n');
-                    paragraph = paragraphs.get(++paragraphIndex);
-                    offset = 0;
-                } else {
-                    textBuilder.append(paragraph.charAt(offset++));
-                }
+        private String get0(int start, int end) {
+            StringBuilder textBuilder = new StringBuilder(end - start);
+            paragraphs.appendTo(textBuilder, start, end);
+            return textBuilder.toString();
+        }
 
-                i++;
+        // Gets the paragraph at the given index, copying it into a
+        // StringBuilder so that it can be edited if needed
+        private StringBuilder editableParagraph(int paragraphIndex) {
+            CharSequence paragraph = paragraphs.get(paragraphIndex);
+            if (paragraph instanceof StringBuilder) {
+                return (StringBuilder)paragraph;
             }
-
-            return textBuilder.toString();
+            StringBuilder sb = new StringBuilder(Math.max(paragraph.length() + DEFAULT_PARAGRAPH_CAPACITY,
+                    DEFAULT_PARAGRAPH_CAPACITY));
+            sb.append(paragraph);
+            paragraphs.set(paragraphIndex, sb);
+            return sb;
         }
 
         @Override
@@ -153,42 +158,33 @@ public class TextArea extends TextInputControl {
             text = TextInputControl.filterInput(text, false, false);
             int length = text.length();
             if (length > 0) {
-                // Split the text into lines
-                ArrayList<StringBuilder> lines = new ArrayList<StringBuilder>();
+                // Split the text into lines, which refer to the text rather
+                // than copy it
+                ArrayList<CharSequence> lines = new ArrayList<CharSequence>();
 
-                StringBuilder line = new StringBuilder(DEFAULT_PARAGRAPH_CAPACITY);
+                int lineStart = 0;
                 for (int i = 0; i < length; i++) {
-                    char c = text.charAt(i);
-
-                    if (c == '\n') {
-                        lines.add(line);
-                        line = new StringBuilder(DEFAULT_PARAGRAPH_CAPACITY);
-                    } else {
-                        line.append(c);
+                    if (text.charAt(i) == '\n') {
+                        lines.add(new TextSlice(text, lineStart, i));
+                        lineStart = i + 1;
                     }
                 }
 
-                lines.add(line);
+                lines.add(new TextSlice(text, lineStart, length));
 
                 // Merge the text into the existing content
-                // Merge the text into the existing content
-                int paragraphIndex = paragraphs.size();
-                int offset = contentLength + 1;
-
-                StringBuilder paragraph = null;
-
-                do {
-                    paragraph = paragraphs.get(--paragraphIndex);
-                    offset -= paragraph.length() + 1;
-                } while (index < offset);
-
-                int start = index - offset;
+                boolean wasEmpty = (contentLength == 0);
+                this.text = null;
+                int paragraphIndex = paragraphs.paragraphAt(index);
+                int start = index - paragraphs.paragraphStart(paragraphIndex);
+                StringBuilder paragraph = editableParagraph(paragraphIndex);
 
                 int n = lines.size();
                 if (n == 1) {
                     // The text contains only a single line; insert it into the
                     // intersecting paragraph
-                    paragraph.insert(start, line);
+                    paragraph.insert(start, text);
+                    paragraphs.lengthChanged(paragraphIndex);
                     fireParagraphListChangeEvent(paragraphIndex, paragraphIndex + 1,
                         Collections.singletonList((CharSequence)paragraph));
                 } else {
@@ -200,9 +196,13 @@ public class TextArea extends TextInputControl {
 
                     // Append the first line to the intersecting paragraph and
                     // append the trailing text to the last line
-                    StringBuilder first = lines.get(0);
-                    paragraph.insert(start, first);
-                    line.append(trailingText);
+                    paragraph.insert(start, lines.get(0));
+                    paragraphs.lengthChanged(paragraphIndex);
+                    if (trailingText.length() > 0) {
+                        StringBuilder line = new StringBuilder(lines.get(n - 1));
+                        line.append(trailingText);
+                        lines.set(n - 1, line);
+                    }
                     fireParagraphListChangeEvent(paragraphIndex, paragraphIndex + 1,
                         Collections.singletonList((CharSequence)paragraph));
 
@@ -213,6 +213,9 @@ public class TextArea extends TextInputControl {
                 }
 
                 // Update content length
+                if (wasEmpty) {
+                    this.text = text;
+                }
                 contentLength += length;
                 if (notifyListeners) {
                     ExpressionHelper.fireValueChangedEvent(helper);
@@ -233,66 +236,50 @@ public class TextArea extends TextInputControl {
             int length = end - start;
 
             if (length > 0) {
-                // Identify the trailing paragraph index
-                int paragraphIndex = paragraphs.size();
-                int offset = contentLength + 1;
-
-                StringBuilder paragraph = null;
-
-                do {
-                    paragraph = paragraphs.get(--paragraphIndex);
-                    offset -= paragraph.length() + 1;
-                } while (end < offset);
-
-                int trailingParagraphIndex = paragraphIndex;
-                int trailingOffset = offset;
-                StringBuilder trailingParagraph = paragraph;
-
-                // Identify the leading paragraph index
-                paragraphIndex++;
-                offset += paragraph.length() + 1;
-
-                do {
-                    paragraph = paragraphs.get(--paragraphIndex);
-                    offset -= paragraph.length() + 1;
-                } while (start < offset);
+                text = null;
 
-                int leadingParagraphIndex = paragraphIndex;
-                int leadingOffset = offset;
-                StringBuilder leadingParagraph = paragraph;
+                // Identify the leading and trailing paragraphs
+                int trailingParagraphIndex = paragraphs.paragraphAt(end);
+                int trailingOffset = paragraphs.paragraphStart(trailingParagraphIndex);
+                int leadingParagraphIndex = paragraphs.paragraphAt(start);
+                int leadingOffset = paragraphs.paragraphStart(leadingParagraphIndex);
 
                 // Remove the text
                 if (leadingParagraphIndex == trailingParagraphIndex) {
                     // The removal affects only a single paragraph
+                    StringBuilder leadingParagraph = editableParagraph(leadingParagraphIndex);
                     leadingParagraph.delete(start - leadingOffset,
                         end - leadingOffset);
+                    paragraphs.lengthChanged(leadingParagraphIndex);
 
                     fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex + 1,
                         Collections.singletonList((CharSequence)leadingParagraph));
                 } else {
                     // The removal spans paragraphs; remove any intervening paragraphs and
                     // merge the leading and trailing segments
+                    CharSequence leadingParagraph = paragraphs.get(leadingParagraphIndex);
                     CharSequence leadingSegment = leadingParagraph.subSequence(0,
                         start - leadingOffset);
                     int trailingSegmentLength = (start + length) - trailingOffset;
 
+                    StringBuilder trailingParagraph = editableParagraph(trailingParagraphIndex);
                     trailingParagraph.delete(0, trailingSegmentLength);
+                    paragraphs.lengthChanged(trailingParagraphIndex);
                     fireParagraphListChangeEvent(trailingParagraphIndex, trailingParagraphIndex + 1,
                         Collections.singletonList((CharSequence)trailingParagraph));
 
                     if (trailingParagraphIndex - leadingParagraphIndex > 0) {
-                        List<CharSequence> removed = new ArrayList<CharSequence>(paragraphs.subList(leadingParagraphIndex,
-                            trailingParagraphIndex));
-                        paragraphs.subList(leadingParagraphIndex,
-                            trailingParagraphIndex).clear();
+                        List<CharSequence> removed = paragraphs.remove(leadingParagraphIndex,
+                            trailingParagraphIndex);
                         fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex,
                             removed);
                     }
 
                     // Trailing paragraph is now at the former leading paragraph's index
                     trailingParagraph.insert(0, leadingSegment);
+                    paragraphs.lengthChanged(leadingParagraphIndex);
                     fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex + 1,
-                        Collections.singletonList((CharSequence)leadingParagraph));
+                        Collections.singletonList(leadingParagraph));
                 }
 
                 // Update content length
@@ -337,6 +324,42 @@ public class TextArea extends TextInputControl {
         }
     }
 
+    // A paragraph of inserted text, referring to the text instead of holding
+    // a copy of it
+    private static final class TextSlice implements CharSequence {
+        private final String text;
+        private final int start;
+        private final int end;
+
+        private TextSlice(String text, int start, int end) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override public int length() {
+            return end - start;
+        }
+
+        @Override public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException();
+            }
+            return text.charAt(start + index);
+        }
+
+        @Override public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length() || start > end) {
+                throw new IndexOutOfBoundsException();
+            }
+            return text.substring(this.start + start, this.start + end);
+        }
+
+        @Override public String toString() {
+            return text.substring(start, end);
+        }
+    }
+
     // Observable list of paragraphs
     private static final class ParagraphList extends AbstractList<CharSequence>
             implements ObservableList<CharSequence> {
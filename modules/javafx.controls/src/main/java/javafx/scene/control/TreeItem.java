@@ -404,6 +404,19 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
     // when all children are collapsed.
     int previousExpandedDescendentCount = 1;
 
+    // The running totals of the expanded descendent counts of the children,
+    // such that childCountPrefix[i] is the number of rows shown for the
+    // children up to and including child i. This is updated along with
+    // expandedDescendentCount, and allows for the row of a child, or the child
+    // at a row, to be found without iterating over the children. It is null
+    // when this TreeItem is collapsed or a leaf.
+    private int[] childCountPrefix;
+
+    // The index of this TreeItem in the children of its parent, the last time
+    // the parent updated its expanded descendent count. This is only a hint,
+    // as this TreeItem may have been moved since.
+    int indexInParentHint = -1;
+
     Comparator<TreeItem<T>> lastComparator = null;
     TreeSortMode lastSortMode = null;
 
@@ -906,16 +919,36 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
         return expandedDescendentCount;
     }
 
+    // Returns the running totals of the expanded descendent counts of the
+    // children, or null if this TreeItem is collapsed or a leaf. The values are
+    // only valid as long as the expanded descendent count is.
+    int[] getChildCountPrefix(boolean reset) {
+        getExpandedDescendentCount(reset);
+        return childCountPrefix;
+    }
+
     private void updateExpandedDescendentCount(boolean reset) {
         previousExpandedDescendentCount = expandedDescendentCount;
         expandedDescendentCount = 1;
 
         ignoreSortUpdate = true;
         if (!isLeaf() && isExpanded()) {
-            for (TreeItem<T> child : getChildren()) {
-                if (child == null) continue;
-                expandedDescendentCount += child.isExpanded() ? child.getExpandedDescendentCount(reset) : 1;
+            List<TreeItem<T>> children = getChildren();
+            int[] prefix = childCountPrefix;
+            if (prefix == null || prefix.length != children.size()) {
+                prefix = new int[children.size()];
             }
+            int i = 0;
+            for (TreeItem<T> child : children) {
+                if (child != null) {
+                    expandedDescendentCount += child.isExpanded() ? child.getExpandedDescendentCount(reset) : 1;
+                    child.indexInParentHint = i;
+                }
+                prefix[i++] = expandedDescendentCount - 1;
+            }
+            childCountPrefix = prefix;
+        } else {
+            childCountPrefix = null;
         }
         ignoreSortUpdate = false;
     }
@@ -68,6 +68,17 @@ class TreeUtil {
 
         int idx = itemIndex - 1;
 
+        // if the parent keeps the running totals of its children counts, we
+        // can find the child containing the item with a binary search
+        int[] prefix = parent.getChildCountPrefix(false);
+        if (prefix != null && prefix.length == children.size()) {
+            int i = findChild(prefix, idx);
+            if (i == prefix.length) return null;
+            TreeItem<T> child = children.get(i);
+            int childIdx = idx - (i == 0 ? 0 : prefix[i - 1]);
+            return childIdx == 0 ? child : getItem(child, childIdx, treeItemCountDirty);
+        }
+
         TreeItem<T> child;
         for (int i = 0, max = children.size(); i < max; i++) {
             child = children.get(i);
@@ -93,6 +104,22 @@ class TreeUtil {
         return null;
     }
 
+    // Returns the index of the first child for which the running total of the
+    // children counts is greater than the given index.
+    private static int findChild(int[] prefix, int idx) {
+        int low = 0;
+        int high = prefix.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prefix[mid] > idx) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
     static <T> int getRow(TreeItem<T> item, TreeItem<T> root, boolean treeItemCountDirty, boolean isShowRoot) {
         if (item == null) {
             return -1;
@@ -116,6 +143,32 @@ class TreeUtil {
 
             siblings = p.children;
 
+            // if the parent keeps the running totals of its children counts,
+            // and the root is not one of the siblings, the number of rows
+            // before this item is simply read from them
+            int[] prefix = !treeItemCountDirty && root.getParent() != p ? p.getChildCountPrefix(false) : null;
+            if (prefix != null && prefix.length == siblings.size()) {
+                int itemIndex = i.indexInParentHint;
+                if (itemIndex < 0 || itemIndex >= siblings.size() || siblings.get(itemIndex) != i) {
+                    itemIndex = siblings.indexOf(i);
+                }
+                if (itemIndex > 0) {
+                    row += prefix[itemIndex - 1];
+                }
+
+                i = p;
+                p = p.getParent();
+
+                // we are at the root, does the root match the given root?
+                // if not, the item does not exist in the current tree.
+                if (p == null && !i.equals(root)) {
+                    return -1;
+                }
+
+                row++;
+                continue;
+            }
+
             // work up each sibling, from the current item
             int itemIndex = siblings.indexOf(i);
             for (int pos = itemIndex - 1; pos > -1; pos--) {
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.control.skin;
+
+import java.util.List;
+import javafx.scene.control.TableColumnBase;
+
+/**
+ * The horizontal offsets of the visible leaf columns of a table, as a prefix
+ * sum of their widths, so that the columns that intersect a range of x
+ * coordinates can be found with a binary search rather than by walking all
+ * columns. A single instance is shared by all rows of a table, and rebuilt
+ * when the columns or their widths change.
+ */
+// NOT PUBLIC API
+final class TableColumnOffsets {
+
+    private static final double[] EMPTY = { 0 };
+
+    // offsets[i] is the start of column i, offsets[count] the total width
+    private double[] offsets = EMPTY;
+    private int count;
+    private boolean valid;
+
+    void invalidate() {
+        valid = false;
+    }
+
+    boolean isValid() {
+        return valid;
+    }
+
+    void update(List<? extends TableColumnBase<?,?>> columns) {
+        count = columns.size();
+        if (offsets.length < count + 1) {
+            offsets = new double[count + 1];
+        }
+        double x = 0;
+        for (int i = 0; i < count; i++) {
+            offsets[i] = x;
+            x += columns.get(i).getWidth();
+        }
+        offsets[count] = x;
+        valid = true;
+    }
+
+    int getColumnCount() {
+        return count;
+    }
+
+    /**
+     * Returns the start of the given column; for {@code count} this is the
+     * total width of all columns.
+     */
+    double getOffset(int column) {
+        return offsets[column];
+    }
+
+    double getTotalWidth() {
+        return offsets[count];
+    }
+
+    /**
+     * Returns the index of the first column that ends after {@code x}, or the
+     * column count if there is none.
+     */
+    int firstColumnEndingAfter(double x) {
+        // the first i in [0, count) with offsets[i + 1] > x
+        int lo = 0, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (offsets[mid + 1] > x) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the index of the first column that starts at or after {@code x},
+     * or the column count if there is none.
+     */
+    int firstColumnStartingFrom(double x) {
+        int lo = 0, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (offsets[mid] >= x) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+}
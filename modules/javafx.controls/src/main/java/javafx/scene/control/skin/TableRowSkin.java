@@ -123,6 +123,9 @@ public class TableRowSkin<T> extends TableRowSkinBase<T, TableRow<T>, TableCell<
                 registerChangeListener(fixedCellSizeProperty, e -> {
                     fixedCellSize = fixedCellSizeProperty.get();
                     fixedCellSizeEnabled = fixedCellSize > 0;
+                    // the cells that are created depend on this
+                    isDirty = true;
+                    getSkinnable().requestLayout();
                 });
                 fixedCellSize = fixedCellSizeProperty.get();
                 fixedCellSizeEnabled = fixedCellSize > 0;
@@ -220,6 +223,11 @@ public class TableRowSkin<T> extends TableRowSkinBase<T, TableRow<T>, TableCell<
         return cell;
     }
 
+    /** {@inheritDoc} */
+    @Override double getTableFixedCellSize() {
+        return getTableView() == null ? -1 : getTableView().getFixedCellSize();
+    }
+
     /** {@inheritDoc} */
     @Override protected ObservableList<TableColumn<T, ?>> getVisibleLeafColumns() {
         return getTableView() == null ? FXCollections.emptyObservableList() : getTableView().getVisibleLeafColumns();
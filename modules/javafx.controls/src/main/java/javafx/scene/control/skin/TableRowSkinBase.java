@@ -39,7 +39,6 @@ import javafx.collections.ObservableList;
 import javafx.collections.WeakListChangeListener;
 import javafx.css.StyleOrigin;
 import javafx.css.StyleableObjectProperty;
-import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -126,7 +125,15 @@ public abstract class TableRowSkinBase<T,
     WeakHashMap<TableColumnBase, Reference<R>> cellsMap;
 
     // This observableArrayList contains the currently visible table cells for this row.
+    // When the fixed cell size is enabled, it only contains the cells for the
+    // columns from virtualColumnStart (inclusive) to virtualColumnEnd (exclusive)
+    // that intersect the viewport, plus one column on either side of it.
     final List<R> cells = new ArrayList<>();
+    private int virtualColumnStart = 0;
+    private int virtualColumnEnd = 0;
+
+    // used to lay out rows that are not in a TableViewSkinBase
+    private TableColumnOffsets ownColumnOffsets;
 
     private int fullRefreshCounter = DEFAULT_FULL_REFRESH_COUNTER;
 
@@ -155,6 +162,11 @@ public abstract class TableRowSkinBase<T,
         super(control);
         getSkinnable().setPickOnBounds(false);
 
+        // we need to know this before creating the cells, so that we only
+        // create those that are in view
+        fixedCellSize = getTableFixedCellSize();
+        fixedCellSizeEnabled = fixedCellSize > 0;
+
         recreateCells();
         updateCells(true);
 
@@ -339,116 +351,116 @@ public abstract class TableRowSkinBase<T,
         int index = control.getIndex();
         if (index < 0/* || row >= itemsProperty().get().size()*/) return;
 
-        for (int column = 0, max = cells.size(); column < max; column++) {
-            R tableCell = cells.get(column);
-            TableColumnBase<T, ?> tableColumn = getTableColumn(tableCell);
+        int firstColumn = 0;
+        if (fixedCellSizeEnabled) {
+            // we only have cells for the columns that are in view, which
+            // change as the table is scrolled horizontally or resized
+            TableColumnOffsets offsets = getColumnOffsets();
+            if (computeVirtualColumnStart(offsets) != virtualColumnStart
+                    || computeVirtualColumnEnd(offsets) != virtualColumnEnd) {
+                updateCells(false);
+            }
+            firstColumn = virtualColumnStart;
+            x += offsets.getOffset(Math.min(firstColumn, offsets.getColumnCount()));
+        }
 
-            boolean isVisible = true;
-            if (fixedCellSizeEnabled) {
-                // we determine if the cell is visible, and if not we have the
-                // ability to take it out of the scenegraph to help improve
-                // performance. However, we only do this when there is a
-                // fixed cell length specified in the TableView. This is because
-                // when we have a fixed cell length it is possible to know with
-                // certainty the height of each TableCell - it is the fixed value
-                // provided by the developer, and this means that we do not have
-                // to concern ourselves with the possibility that the height
-                // may be variable and / or dynamic.
-                isVisible = isColumnPartiallyOrFullyVisible(tableColumn);
+        for (int i = 0, max = cells.size(); i < max; i++) {
+            final int column = firstColumn + i;
+            R tableCell = cells.get(i);
 
+            if (fixedCellSizeEnabled) {
+                // we only create cells for the columns that are at least
+                // partially visible, and take the others out of the
+                // scenegraph to help improve performance. However, we only do
+                // this when there is a fixed cell length specified in the
+                // TableView. This is because when we have a fixed cell length
+                // it is possible to know with certainty the height of each
+                // TableCell - it is the fixed value provided by the developer,
+                // and this means that we do not have to concern ourselves with
+                // the possibility that the height may be variable and / or
+                // dynamic.
                 height = fixedCellSize;
             } else {
                 height = Math.max(controlHeight, tableCell.prefHeight(-1));
                 height = snapSizeY(height) - snapSizeY(verticalPadding);
             }
 
-            if (isVisible) {
-                if (fixedCellSizeEnabled && tableCell.getParent() == null) {
-                    getChildren().add(tableCell);
-                }
+            if (fixedCellSizeEnabled && tableCell.getParent() == null) {
+                getChildren().add(tableCell);
+            }
 
-                width = tableCell.prefWidth(height) - snapSizeX(horizontalPadding);
-
-                // Added for RT-32700, and then updated for RT-34074.
-                // We change the alignment from CENTER_LEFT to TOP_LEFT if the
-                // height of the row is greater than the default size, and if
-                // the alignment is the default alignment.
-                // What I would rather do is only change the alignment if the
-                // alignment has not been manually changed, but for now this will
-                // do.
-                final boolean centreContent = h <= 24.0;
-
-                // if the style origin is null then the property has not been
-                // set (or it has been reset to its default), which means that
-                // we can set it without overwriting someone elses settings.
-                final StyleOrigin origin = ((StyleableObjectProperty<?>) tableCell.alignmentProperty()).getStyleOrigin();
-                if (! centreContent && origin == null) {
-                    tableCell.setAlignment(Pos.TOP_LEFT);
-                }
-                // --- end of RT-32700 fix
-
-                ///////////////////////////////////////////
-                // further indentation code starts here
-                ///////////////////////////////////////////
-                if (indentationRequired && column == indentationColumnIndex) {
-                    if (disclosureVisible) {
-                        double ph = disclosureNode.prefHeight(disclosureWidth);
-
-                        if (width > 0 && width < (disclosureWidth + leftMargin)) {
-                            fadeOut(disclosureNode);
-                        } else {
-                            fadeIn(disclosureNode);
-                            disclosureNode.resize(disclosureWidth, ph);
-
-                            disclosureNode.relocate(x + leftMargin,
-                                    centreContent ? (h / 2.0 - ph / 2.0) :
-                                            (y + tableCell.getPadding().getTop()));
-                            disclosureNode.toFront();
-                        }
+            width = tableCell.prefWidth(height) - snapSizeX(horizontalPadding);
+
+            // Added for RT-32700, and then updated for RT-34074.
+            // We change the alignment from CENTER_LEFT to TOP_LEFT if the
+            // height of the row is greater than the default size, and if
+            // the alignment is the default alignment.
+            // What I would rather do is only change the alignment if the
+            // alignment has not been manually changed, but for now this will
+            // do.
+            final boolean centreContent = h <= 24.0;
+
+            // if the style origin is null then the property has not been
+            // set (or it has been reset to its default), which means that
+            // we can set it without overwriting someone elses settings.
+            final StyleOrigin origin = ((StyleableObjectProperty<?>) tableCell.alignmentProperty()).getStyleOrigin();
+            if (! centreContent && origin == null) {
+                tableCell.setAlignment(Pos.TOP_LEFT);
+            }
+            // --- end of RT-32700 fix
+
+            ///////////////////////////////////////////
+            // further indentation code starts here
+            ///////////////////////////////////////////
+            if (indentationRequired && column == indentationColumnIndex) {
+                if (disclosureVisible) {
+                    double ph = disclosureNode.prefHeight(disclosureWidth);
+
+                    if (width > 0 && width < (disclosureWidth + leftMargin)) {
+                        fadeOut(disclosureNode);
+                    } else {
+                        fadeIn(disclosureNode);
+                        disclosureNode.resize(disclosureWidth, ph);
+
+                        disclosureNode.relocate(x + leftMargin,
+                                centreContent ? (h / 2.0 - ph / 2.0) :
+                                        (y + tableCell.getPadding().getTop()));
+                        disclosureNode.toFront();
                     }
+                }
 
-                    // determine starting point of the graphic or cell node, and the
-                    // remaining width available to them
-                    ObjectProperty<Node> graphicProperty = graphicProperty();
-                    Node graphic = graphicProperty == null ? null : graphicProperty.get();
+                // determine starting point of the graphic or cell node, and the
+                // remaining width available to them
+                ObjectProperty<Node> graphicProperty = graphicProperty();
+                Node graphic = graphicProperty == null ? null : graphicProperty.get();
 
-                    if (graphic != null) {
-                        graphicWidth = graphic.prefWidth(-1) + 3;
-                        double ph = graphic.prefHeight(graphicWidth);
+                if (graphic != null) {
+                    graphicWidth = graphic.prefWidth(-1) + 3;
+                    double ph = graphic.prefHeight(graphicWidth);
 
-                        if (width > 0 && width < disclosureWidth + leftMargin + graphicWidth) {
-                            fadeOut(graphic);
-                        } else {
-                            fadeIn(graphic);
+                    if (width > 0 && width < disclosureWidth + leftMargin + graphicWidth) {
+                        fadeOut(graphic);
+                    } else {
+                        fadeIn(graphic);
 
-                            graphic.relocate(x + leftMargin + disclosureWidth,
-                                    centreContent ? (h / 2.0 - ph / 2.0) :
-                                            (y + tableCell.getPadding().getTop()));
+                        graphic.relocate(x + leftMargin + disclosureWidth,
+                                centreContent ? (h / 2.0 - ph / 2.0) :
+                                        (y + tableCell.getPadding().getTop()));
 
-                            graphic.toFront();
-                        }
+                        graphic.toFront();
                     }
                 }
-                ///////////////////////////////////////////
-                // further indentation code ends here
-                ///////////////////////////////////////////
-
-                tableCell.resize(width, height);
-                tableCell.relocate(x, snappedTopInset());
+            }
+            ///////////////////////////////////////////
+            // further indentation code ends here
+            ///////////////////////////////////////////
 
-                // Request layout is here as (partial) fix for RT-28684.
-                // This does not appear to impact performance...
-                tableCell.requestLayout();
-            } else {
-                width = snapSizeX(tableCell.prefWidth(-1)) - snapSizeX(horizontalPadding);
+            tableCell.resize(width, height);
+            tableCell.relocate(x, snappedTopInset());
 
-                if (fixedCellSizeEnabled) {
-                    // we only add/remove to the scenegraph if the fixed cell
-                    // length support is enabled - otherwise we keep all
-                    // TableCells in the scenegraph
-                    getChildren().remove(tableCell);
-                }
-            }
+            // Request layout is here as (partial) fix for RT-28684.
+            // This does not appear to impact performance...
+            tableCell.requestLayout();
 
             x += width;
         }
@@ -495,6 +507,38 @@ public abstract class TableRowSkinBase<T,
         return true;
     }
 
+    /**
+     * Returns the fixed cell size of the table this row belongs to, or a value
+     * less than or equal to zero if there is none.
+     */
+    double getTableFixedCellSize() {
+        return -1;
+    }
+
+    /**
+     * Returns the offsets of the visible leaf columns, shared with the other
+     * rows of the table where possible.
+     */
+    @SuppressWarnings("unchecked")
+    TableColumnOffsets getColumnOffsets() {
+        VirtualFlow<C> flow = getVirtualFlow();
+        Parent parent = flow == null ? null : flow.getParent();
+        if (parent instanceof Control && ((Control) parent).getSkin() instanceof TableViewSkinBase) {
+            TableColumnOffsets offsets = ((TableViewSkinBase<?,?,?,?,?>) ((Control) parent).getSkin()).getColumnOffsets();
+            // the row can be notified of removed or hidden columns before
+            // the table skin has invalidated the shared offsets
+            if (offsets.getColumnCount() != getVisibleLeafColumns().size()) {
+                offsets.update((List<? extends TableColumnBase<?,?>>) getVisibleLeafColumns());
+            }
+            return offsets;
+        }
+        if (ownColumnOffsets == null) {
+            ownColumnOffsets = new TableColumnOffsets();
+        }
+        ownColumnOffsets.update((List<? extends TableColumnBase<?,?>>) getVisibleLeafColumns());
+        return ownColumnOffsets;
+    }
+
     void updateCells(boolean resetChildren) {
         // To avoid a potential memory leak (when the TableColumns in the
         // TableView are created/inserted/removed/deleted, we have a 'refresh
@@ -516,7 +560,18 @@ public abstract class TableRowSkinBase<T,
         final int skinnableIndex = skinnable.getIndex();
         final List<? extends TableColumnBase/*<T,?>*/> visibleLeafColumns = getVisibleLeafColumns();
 
-        for (int i = 0, max = visibleLeafColumns.size(); i < max; i++) {
+        // with a fixed cell size, only the columns in view get a cell
+        int start = 0;
+        int end = visibleLeafColumns.size();
+        if (fixedCellSizeEnabled) {
+            TableColumnOffsets offsets = getColumnOffsets();
+            start = computeVirtualColumnStart(offsets);
+            end = computeVirtualColumnEnd(offsets);
+        }
+        virtualColumnStart = start;
+        virtualColumnEnd = end;
+
+        for (int i = start; i < end; i++) {
             TableColumnBase<T,?> col = visibleLeafColumns.get(i);
 
             R cell = null;
@@ -542,13 +597,13 @@ public abstract class TableRowSkinBase<T,
 
         // update children of each row
         if (fixedCellSizeEnabled) {
-            // we leave the adding / removing up to the layoutChildren method mostly, but here we remove any children
-            // cells that refer to columns that are removed or not visible.
+            // we leave the adding up to the layoutChildren method, but here we remove any children
+            // cells that refer to columns that are removed, not visible or out of view.
+            Set<R> inView = Collections.newSetFromMap(new IdentityHashMap<>(cells.size()));
+            inView.addAll(cells);
             List<Node> toRemove = new ArrayList<>();
             for (Node cell : getChildren()) {
-                if (!(cell instanceof IndexedCell)) continue;
-                TableColumnBase<T, ?> tableColumn = getTableColumn((R) cell);
-                if (!getVisibleLeafColumns().contains(tableColumn)) {
+                if (cell instanceof IndexedCell && !inView.contains(cell)) {
                     toRemove.add(cell);
                 }
             }
@@ -571,6 +626,10 @@ public abstract class TableRowSkinBase<T,
 
     /** {@inheritDoc} */
     @Override protected double computePrefWidth(double height, double topInset, double rightInset, double bottomInset, double leftInset) {
+        if (fixedCellSizeEnabled) {
+            // not all columns have a cell
+            return getColumnOffsets().getTotalWidth();
+        }
         double prefWidth = 0.0;
         for (R cell : cells) {
             prefWidth += cell.prefWidth(height);
@@ -663,27 +722,36 @@ public abstract class TableRowSkinBase<T,
      *                                                                         *
      **************************************************************************/
 
-    private boolean isColumnPartiallyOrFullyVisible(TableColumnBase col) {
-        if (col == null || !col.isVisible()) return false;
+    // The column before the first column that is at least partially visible,
+    // so that a column scrolled into view from either side already has a cell
+    private int computeVirtualColumnStart(TableColumnOffsets offsets) {
+        return Math.max(0, offsets.firstColumnEndingAfter(getScrollX()) - 1);
+    }
+
+    // The column after the last column that is at least partially visible
+    private int computeVirtualColumnEnd(TableColumnOffsets offsets) {
+        double scrollX = getScrollX();
+        int start = offsets.firstColumnEndingAfter(scrollX);
 
+        // determine the width of the table. The row itself is as wide as all
+        // its columns, so use the width of the viewport if there is one.
         final VirtualFlow<?> virtualFlow = getVirtualFlow();
-        double scrollX = virtualFlow == null ? 0.0 : virtualFlow.getHbar().getValue();
-
-        // work out where this column header is, and it's width (start -> end)
-        double start = 0;
-        final ObservableList<? extends TableColumnBase> visibleLeafColumns = getVisibleLeafColumns();
-        for (int i = 0, max = visibleLeafColumns.size(); i < max; i++) {
-            TableColumnBase<?,?> c = visibleLeafColumns.get(i);
-            if (c.equals(col)) break;
-            start += c.getWidth();
+        double headerWidth;
+        if (virtualFlow != null && virtualFlow.clipView.getWidth() > 0) {
+            headerWidth = virtualFlow.clipView.getWidth();
+        } else {
+            headerWidth = getSkinnable().getWidth() - (snappedLeftInset() + snappedRightInset());
         }
-        double end = start + col.getWidth();
 
-        // determine the width of the table
-        final Insets padding = getSkinnable().getPadding();
-        double headerWidth = getSkinnable().getWidth() - padding.getLeft() + padding.getRight();
+        // a cell is always created for at least one column, so that the row
+        // has a height before it is first laid out
+        return Math.min(offsets.getColumnCount(), 1 + Math.max(start + 1,
+                offsets.firstColumnStartingFrom(headerWidth + scrollX)));
+    }
 
-        return (start >= scrollX || end > scrollX) && (start < (headerWidth + scrollX) || end <= (headerWidth + scrollX));
+    private double getScrollX() {
+        final VirtualFlow<?> virtualFlow = getVirtualFlow();
+        return virtualFlow == null ? 0.0 : virtualFlow.getHbar().getValue();
     }
 
     private void requestCellUpdate() {
@@ -724,6 +792,10 @@ public abstract class TableRowSkinBase<T,
         fullRefreshCounter = DEFAULT_FULL_REFRESH_COUNTER;
         getChildren().clear();
 
+        // with a fixed cell size, cells are created as their columns come
+        // into view
+        if (fixedCellSizeEnabled) return;
+
         for (TableColumnBase col : columns) {
             if (cellsMap.containsKey(col)) {
                 continue;
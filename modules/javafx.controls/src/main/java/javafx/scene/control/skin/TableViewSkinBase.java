@@ -148,6 +148,9 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
 
     private int visibleColCount;
 
+    // the offsets of the visible leaf columns, shared by all rows
+    private final TableColumnOffsets columnOffsets = new TableColumnOffsets();
+
     boolean needCellsRecreated = true;
     boolean needCellsReconfigured = false;
 
@@ -212,6 +215,7 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
     };
 
     private ListChangeListener<TC> visibleLeafColumnsListener = c -> {
+        columnOffsets.invalidate();
         updateVisibleColumnCount();
         while (c.next()) {
             updateVisibleLeafColumnWidthListeners(c.getAddedSubList(), c.getRemoved());
@@ -219,6 +223,8 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
     };
 
     private InvalidationListener widthListener = observable -> {
+        columnOffsets.invalidate();
+
         // This forces the horizontal scrollbar to show when the column
         // resizing occurs. It is not ideal, but will work for now.
 
@@ -574,6 +580,24 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
 
     void horizontalScroll() {
         tableHeaderRow.updateScrollX();
+
+        // with a fixed cell size the rows only have cells for the columns in
+        // view, so they need to be laid out again to bring in the new ones
+        if (flow.getFixedCellSize() > 0) {
+            flow.requestCellLayout();
+        }
+    }
+
+    /**
+     * Returns the offsets of the visible leaf columns, rebuilding them if the
+     * columns or their widths have changed.
+     */
+    @SuppressWarnings("unchecked")
+    TableColumnOffsets getColumnOffsets() {
+        if (!columnOffsets.isValid()) {
+            columnOffsets.update((List<? extends TableColumnBase<?,?>>) getVisibleLeafColumns());
+        }
+        return columnOffsets;
     }
 
     /**
@@ -25,8 +25,11 @@
 
 package javafx.scene.control.skin;
 
+import com.sun.javafx.scene.control.CellSizeCache;
+import com.sun.javafx.scene.control.TextAreaHelper;
 import com.sun.javafx.scene.control.behavior.TextAreaBehavior;
 import com.sun.javafx.scene.control.skin.Utils;
+import com.sun.javafx.scene.text.HitInfoHelper;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
@@ -56,10 +59,13 @@ import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.Region;
 import javafx.scene.shape.Path;
 import javafx.scene.shape.PathElement;
+import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import javafx.scene.text.HitInfo;
 import javafx.util.Duration;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.List;
 
 import static com.sun.javafx.PlatformUtil.isMac;
@@ -81,6 +87,15 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
     /** A shared helper object, used only by downLines(). */
     private static final Path tmpCaretPath = new Path();
 
+    // If javafx.scene.control.TextArea.virtualized is set, the text node holds
+    // only the paragraphs in and around the viewport instead of the whole text,
+    // so that the cost of laying out a text area does not grow with the length
+    // of its text. Paragraphs that have not been laid out yet count as the
+    // average height of those that have.
+    @SuppressWarnings("removal")
+    static boolean virtualize =
+            AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.scene.control.TextArea.virtualized"));
+
 
 
     /* ************************************************************************
@@ -94,6 +109,26 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
     // *** NOTE: Multiple node mode is not yet fully implemented *** //
     private static final boolean USE_MULTIPLE_NODES = false;
 
+    private final boolean virtualized = virtualize;
+
+    // The heights of the paragraphs that have been laid out in virtualized
+    // mode, for the wrapping width and font they were measured with
+    private final CellSizeCache paragraphHeights = new CellSizeCache();
+    private double heightsWrappingWidth = -1;
+    private Font heightsFont;
+    private double maxParagraphWidth;
+
+    // The paragraphs held by the text node in virtualized mode, from
+    // windowFirst (inclusive) to windowEnd (exclusive), and the offsets of
+    // their text in the content. Always 0 when not virtualized.
+    private int windowFirst;
+    private int windowEnd;
+    private int windowStart;
+    private int windowLength;
+    private boolean windowDirty = true;
+    private int laidOutCaretPosition = -1;
+    private boolean revealCaret;
+
     private final TextAreaBehavior behavior;
 
     private double computedMinWidth = Double.NEGATIVE_INFINITY;
@@ -185,7 +220,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
         forwardBiasProperty().addListener(observable -> {
             if (control.getWidth() > 0) {
-                updateTextNodeCaretPos(control.getCaretPosition());
+                updateTextNodeCaretPos(control.getCaretPosition() - windowStart);
             }
         });
 
@@ -248,7 +283,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
         // Add initial text content
         for (int i = 0, n = USE_MULTIPLE_NODES ? control.getParagraphs().size() : 1; i < n; i++) {
-            CharSequence paragraph = (n == 1) ? control.textProperty().getValueSafe() : control.getParagraphs().get(i);
+            CharSequence paragraph = (n == 1) ? (virtualized ? "" : control.textProperty().getValueSafe()) : control.getParagraphs().get(i);
             addParagraphNode(i, paragraph.toString());
         }
 
@@ -305,6 +340,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             double vValue = (newValue < getScrollTopMax())
                                ? (newValue / getScrollTopMax()) : 1.0;
             scrollPane.setVvalue(vValue);
+            if (virtualized) {
+                // lay out the paragraphs that have scrolled into view
+                contentView.requestLayout();
+            }
         });
 
         registerChangeListener(control.scrollLeftProperty(), e -> {
@@ -319,7 +358,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 while (change.next()) {
                     int from = change.getFrom();
                     int to = change.getTo();
-                    List<? extends CharSequence> removed = (List<? extends CharSequence>) change.getRemoved();
+                    List<?> removed = change.getRemoved();
                     if (from < to) {
 
                         if (removed.isEmpty()) {
@@ -341,6 +380,27 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                     }
                 }
             });
+        } else if (virtualized) {
+            // Keep the measured heights of the paragraphs that did not move,
+            // without ever materializing the whole text
+            registerListChangeListener(control.getParagraphs(), change -> {
+                while (change.next()) {
+                    int from = change.getFrom();
+                    int removedSize = change.getRemovedSize();
+                    int addedSize = change.getAddedSize();
+                    if (removedSize == addedSize) {
+                        paragraphHeights.invalidate(from, from + addedSize);
+                    } else {
+                        // the paragraphs after the change have moved
+                        int size = change.getList().size();
+                        paragraphHeights.setSize(size);
+                        paragraphHeights.invalidate(Math.min(from, size), size);
+                    }
+                }
+                windowDirty = true;
+                invalidateMetrics();
+                contentView.requestLayout();
+            });
         } else {
             registerInvalidationListener(control.textProperty(), e -> {
                 invalidateMetrics();
@@ -352,9 +412,8 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         usePromptText = new BooleanBinding() {
             { bind(control.textProperty(), control.promptTextProperty()); }
             @Override protected boolean computeValue() {
-                String txt = control.getText();
                 String promptTxt = control.getPromptText();
-                return ((txt == null || txt.isEmpty()) &&
+                return (control.getLength() == 0 &&
                         promptTxt != null && !promptTxt.isEmpty());
             }
         };
@@ -400,7 +459,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 Point2D tp = textNode.localToScene(0, 0);
                 Point2D p = new Point2D(e.getSceneX() - tp.getX() - pressX + caretHandle.getWidth() / 2,
                                         e.getSceneY() - tp.getY() - pressY - 6);
-                HitInfo hit = textNode.hitTest(translateCaretPosition(p));
+                HitInfo hit = toContentHitInfo(textNode.hitTest(translateCaretPosition(p)));
                 positionCaret(hit, false);
                 e.consume();
             });
@@ -411,7 +470,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 Point2D tp = textNode.localToScene(0, 0);
                 Point2D p = new Point2D(e.getSceneX() - tp.getX() - pressX + selectionHandle1.getWidth() / 2,
                                         e.getSceneY() - tp.getY() - pressY + selectionHandle1.getHeight() + 5);
-                HitInfo hit = textNode.hitTest(translateCaretPosition(p));
+                HitInfo hit = toContentHitInfo(textNode.hitTest(translateCaretPosition(p)));
                 if (control1.getAnchor() < control1.getCaretPosition()) {
                     // Swap caret and anchor
                     control1.selectRange(control1.getCaretPosition(), control1.getAnchor());
@@ -432,7 +491,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 Point2D tp = textNode.localToScene(0, 0);
                 Point2D p = new Point2D(e.getSceneX() - tp.getX() - pressX + selectionHandle2.getWidth() / 2,
                                         e.getSceneY() - tp.getY() - pressY - 6);
-                HitInfo hit = textNode.hitTest(translateCaretPosition(p));
+                HitInfo hit = toContentHitInfo(textNode.hitTest(translateCaretPosition(p)));
                 if (control1.getAnchor() > control1.getCaretPosition()) {
                     // Swap caret and anchor
                     control1.selectRange(control1.getCaretPosition(), control1.getAnchor());
@@ -492,7 +551,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         Text textNode = getTextNode();
         Point2D p = new Point2D(x - textNode.getLayoutX(), y - getTextTranslateY());
         HitInfo hit = textNode.hitTest(translateCaretPosition(p));
-        return hit;
+        return toContentHitInfo(hit);
     };
 
     /** {@inheritDoc} */
@@ -571,6 +630,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             moveRight = !moveRight;
         }
 
+        ensureCaretLaidOut();
         Text textNode = getTextNode();
         Bounds caretBounds = caretPath.getLayoutBounds();
         if (caretPath.getElements().size() == 4) {
@@ -588,7 +648,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         if ((moveRight && charShape.getLayoutBounds().getMaxX() > caretBounds.getMaxX()) ||
                 (!moveRight && charShape.getLayoutBounds().getMinX() < caretBounds.getMinX())) {
             leading = !leading;
-            positionCaret(hit.getInsertionIndex(), leading, false, false);
+            positionCaret(hit.getInsertionIndex() + windowStart, leading, false, false);
         } else {
             // We're at beginning or end of line. Try moving up / down.
             int dot = textArea.getCaretPosition();
@@ -607,6 +667,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
     }
 
     private void downLines(int nLines, boolean select, boolean extendSelection) {
+        ensureCaretLaidOut();
         Text textNode = getTextNode();
         Bounds caretBounds = caretPath.getLayoutBounds();
 
@@ -645,7 +706,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 (nLines > 0 && foundLineMidY > caretBounds.getMaxY()) ||
                 (nLines < 0 && foundLineMidY < caretBounds.getMinY())) {
 
-            positionCaret(hit.getInsertionIndex(), hit.isLeading(), select, extendSelection);
+            positionCaret(hit.getInsertionIndex() + windowStart, hit.isLeading(), select, extendSelection);
             targetCaretX = x;
         }
     }
@@ -741,7 +802,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     /** {@inheritDoc} */
     @Override protected PathElement[] getUnderlineShape(int start, int end) {
-        int pStart = 0;
+        int pStart = windowStart;
         for (Node node : paragraphNodes.getChildren()) {
             Text p = (Text)node;
             int pEnd = pStart + p.textProperty().getValueSafe().length();
@@ -755,7 +816,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     /** {@inheritDoc} */
     @Override protected PathElement[] getRangeShape(int start, int end) {
-        int pStart = 0;
+        int pStart = windowStart;
         for (Node node : paragraphNodes.getChildren()) {
             Text p = (Text)node;
             int pEnd = pStart + p.textProperty().getValueSafe().length();
@@ -769,7 +830,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     /** {@inheritDoc} */
     @Override protected void addHighlight(List<? extends Node> nodes, int start) {
-        int pStart = 0;
+        int pStart = windowStart;
         Text paragraphNode = null;
         for (Node node : paragraphNodes.getChildren()) {
             Text p = (Text)node;
@@ -824,6 +885,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             case BOUNDS_FOR_RANGE:
             case OFFSET_AT_POINT:
                 Text text = getTextNode();
+                if (virtualized) {
+                    return queryWindowAccessibleAttribute(text, attribute, parameters);
+                }
                 return text.queryAccessibleAttribute(attribute, parameters);
             default: return super.queryAccessibleAttribute(attribute, parameters);
         }
@@ -852,7 +916,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         int n = paragraphNodes.getChildren().size();
 
         int paragraphIndex = 0;
-        int offset = index;
+        int offset = index - windowStart;
 
         String paragraph = null;
         while (paragraphIndex < n) {
@@ -889,10 +953,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 Text lastParagraphView = (Text)paragraphNodes.getChildren().get(lastParagraphIndex);
 
                 index = getNextInsertionPoint(lastParagraphView, x, -1, VerticalDirection.UP)
-                        + (textArea.getLength() - lastParagraphView.getText().length());
+                        + (virtualized ? windowStart : textArea.getLength() - lastParagraphView.getText().length());
             } else {
                 // Select the character at x in the row at y
-                int paragraphOffset = 0;
+                int paragraphOffset = windowStart;
                 for (int i = 0; i < n; i++) {
                     Text paragraphNode = (Text)paragraphNodes.getChildren().get(i);
 
@@ -929,7 +993,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         boolean isNewLine =
                 (pos > 0 &&
                         pos <= getSkinnable().getLength() &&
-                        getSkinnable().getText().codePointAt(pos-1) == 0x0a);
+                        getSkinnable().getText(pos - 1, pos).charAt(0) == '\n');
 
         // special handling for a new line
         if (!leading && isNewLine) {
@@ -954,14 +1018,23 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
     @Override public Rectangle2D getCharacterBounds(int index) {
         TextArea textArea = getSkinnable();
 
-        int paragraphIndex = paragraphNodes.getChildren().size();
-        int paragraphOffset = textArea.getLength() + 1;
-
         Text paragraphNode = null;
-        do {
-            paragraphNode = (Text)paragraphNodes.getChildren().get(--paragraphIndex);
-            paragraphOffset -= paragraphNode.getText().length() + 1;
-        } while (index < paragraphOffset);
+        int paragraphOffset;
+        if (virtualized) {
+            if (!isLaidOut(index)) {
+                return getEstimatedCharacterBounds(index);
+            }
+            paragraphNode = getTextNode();
+            paragraphOffset = windowStart;
+        } else {
+            int paragraphIndex = paragraphNodes.getChildren().size();
+            paragraphOffset = textArea.getLength() + 1;
+
+            do {
+                paragraphNode = (Text)paragraphNodes.getChildren().get(--paragraphIndex);
+                paragraphOffset -= paragraphNode.getText().length() + 1;
+            } while (index < paragraphOffset);
+        }
 
         int characterIndex = index - paragraphOffset;
         boolean terminator = false;
@@ -1058,6 +1131,130 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         return Math.max(0, contentView.getWidth() - scrollPane.getViewportBounds().getWidth());
     }
 
+    private double getParagraphHeightEstimate() {
+        return paragraphHeights.getAverage(lineHeight);
+    }
+
+    /*
+     * Chooses the paragraphs that the text node holds in virtualized mode:
+     * those in the viewport, plus a viewport's worth above and below it so
+     * that moving the caret by a page stays within the laid out text. Only
+     * these paragraphs are measured; the others keep their measured height,
+     * or count as the estimate.
+     */
+    private void updateWindow(double wrappingWidth) {
+        TextArea textArea = getSkinnable();
+        Text textNode = getTextNode();
+        List<CharSequence> paragraphs = textArea.getParagraphs();
+        int count = paragraphs.size();
+        if (paragraphHeights.size() != count) {
+            paragraphHeights.setSize(count);
+        }
+
+        double width = textArea.isWrapText() ? wrappingWidth : 0;
+        Font font = textArea.getFont();
+        if (width != heightsWrappingWidth || font != heightsFont) {
+            paragraphHeights.clear();
+            heightsWrappingWidth = width;
+            heightsFont = font;
+            maxParagraphWidth = 0;
+        }
+
+        double estimate = getParagraphHeightEstimate();
+        Bounds viewportBounds = scrollPane.getViewportBounds();
+        double viewportHeight = (viewportBounds != null) ? viewportBounds.getHeight() : 0;
+        double top = textArea.getScrollTop() - contentView.snappedTopInset();
+        double bottom = top + 2 * viewportHeight;
+
+        int first = paragraphHeights.indexAt(top - viewportHeight, estimate);
+        int end = first;
+        double y = paragraphHeights.offsetOf(first, estimate);
+        double oldMaxParagraphWidth = maxParagraphWidth;
+        while (end < count && (end == first || y < bottom)) {
+            double height = paragraphHeights.get(end);
+            if (height < 0) {
+                String paragraph = paragraphs.get(end).toString();
+                height = Utils.computeTextHeight(font, paragraph, width, textNode.getBoundsType());
+                paragraphHeights.set(end, height);
+                if (width == 0) {
+                    maxParagraphWidth = Math.max(maxParagraphWidth, Utils.computeTextWidth(font, paragraph, 0));
+                }
+            }
+            y += height;
+            end++;
+        }
+
+        if (windowDirty || first != windowFirst || end != windowEnd) {
+            int start = TextAreaHelper.getParagraphStart(textArea, first);
+            int last = TextAreaHelper.getParagraphStart(textArea, end - 1) + paragraphs.get(end - 1).length();
+            windowFirst = first;
+            windowEnd = end;
+            windowStart = start;
+            windowLength = last - start;
+            windowDirty = false;
+            textNode.setText(textArea.getText(start, last));
+        }
+        textNode.setWrappingWidth(width);
+        textNode.setLayoutY(contentView.snappedTopInset() + paragraphHeights.offsetOf(first, getParagraphHeightEstimate()));
+
+        if (maxParagraphWidth > oldMaxParagraphWidth) {
+            // a wider paragraph has scrolled into view
+            invalidateMetrics();
+            contentView.requestLayout();
+        }
+    }
+
+    // Whether the given offset is held by the text node, which in
+    // virtualized mode holds only the paragraphs around the viewport
+    private boolean isLaidOut(int index) {
+        return !virtualized || (index >= windowStart && index <= windowStart + windowLength);
+    }
+
+    // In virtualized mode, lays out the paragraph holding the caret before
+    // the caret is moved relative to its current shape
+    private void ensureCaretLaidOut() {
+        if (virtualized && !isLaidOut(getSkinnable().getCaretPosition())) {
+            revealCaret = true;
+            contentView.layoutChildren();
+        }
+    }
+
+    // Maps a hit on the text node to the content, which in virtualized mode
+    // starts windowStart characters before the text of the text node
+    private HitInfo toContentHitInfo(HitInfo hit) {
+        return (windowStart == 0) ? hit
+                : HitInfoHelper.offsetHitInfo(hit, windowStart, getSkinnable().getText());
+    }
+
+    // The bounds of a character whose paragraph is not laid out, placed at
+    // the estimated top of the paragraph
+    private Rectangle2D getEstimatedCharacterBounds(int index) {
+        TextArea textArea = getSkinnable();
+        int paragraphIndex = TextAreaHelper.getParagraphAt(textArea, index);
+        double x = contentView.snappedLeftInset() - textArea.getScrollLeft();
+        double y = contentView.snappedTopInset()
+                + paragraphHeights.offsetOf(paragraphIndex, getParagraphHeightEstimate())
+                - textArea.getScrollTop();
+        return new Rectangle2D(x, y, 0, lineHeight);
+    }
+
+    // In virtualized mode the offsets of the text node are moved by
+    // windowStart, and lines are counted from the first laid out paragraph
+    private Object queryWindowAccessibleAttribute(Text text, AccessibleAttribute attribute, Object... parameters) {
+        switch (attribute) {
+            case LINE_FOR_OFFSET:
+                return text.queryAccessibleAttribute(attribute, (Integer)parameters[0] - windowStart);
+            case BOUNDS_FOR_RANGE:
+                return text.queryAccessibleAttribute(attribute,
+                        Math.max(0, (Integer)parameters[0] - windowStart),
+                        Math.min(windowLength, (Integer)parameters[1] - windowStart));
+            default: {
+                Object result = text.queryAccessibleAttribute(attribute, parameters);
+                return (result instanceof Integer) ? (Integer)result + windowStart : result;
+            }
+        }
+    }
+
     private int getInsertionPoint(Text paragraphNode, double x, double y) {
         HitInfo hitInfo = paragraphNode.hitTest(new Point2D(x, y));
         return hitInfo.getInsertionIndex();
@@ -1074,6 +1271,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         Bounds bounds = caretPath.getLayoutBounds();
         double x = bounds.getMinX() - textArea.getScrollLeft();
         double y = bounds.getMinY() - textArea.getScrollTop();
+        if (virtualized) {
+            // the text node starts at the first laid out paragraph
+            y += getTextNode().getLayoutY() - contentView.snappedTopInset();
+        }
         double w = bounds.getWidth();
         double h = bounds.getHeight();
 
@@ -1156,7 +1357,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
     }
 
     private double getTextTranslateY() {
-        return contentView.snappedTopInset();
+        return virtualized ? getTextNode().getLayoutY() : contentView.snappedTopInset();
     }
 
     private double getTextLeft() {
@@ -1238,11 +1439,15 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             if (computedPrefWidth < 0) {
                 double prefWidth = 0;
 
-                for (Node node : paragraphNodes.getChildren()) {
-                    Text paragraphNode = (Text)node;
-                    prefWidth = Math.max(prefWidth,
-                            Utils.computeTextWidth(paragraphNode.getFont(),
-                                    paragraphNode.getText(), 0));
+                if (virtualized) {
+                    prefWidth = maxParagraphWidth;
+                } else {
+                    for (Node node : paragraphNodes.getChildren()) {
+                        Text paragraphNode = (Text)node;
+                        prefWidth = Math.max(prefWidth,
+                                Utils.computeTextWidth(paragraphNode.getFont(),
+                                        paragraphNode.getText(), 0));
+                    }
                 }
 
                 prefWidth += snappedLeftInset() + snappedRightInset();
@@ -1269,13 +1474,18 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
                 double prefHeight = 0;
 
-                for (Node node : paragraphNodes.getChildren()) {
-                    Text paragraphNode = (Text)node;
-                    prefHeight += Utils.computeTextHeight(
-                            paragraphNode.getFont(),
-                            paragraphNode.getText(),
-                            wrappingWidth,
-                            paragraphNode.getBoundsType());
+                if (virtualized) {
+                    prefHeight = paragraphHeights.offsetOf(getSkinnable().getParagraphs().size(),
+                            getParagraphHeightEstimate());
+                } else {
+                    for (Node node : paragraphNodes.getChildren()) {
+                        Text paragraphNode = (Text)node;
+                        prefHeight += Utils.computeTextHeight(
+                                paragraphNode.getFont(),
+                                paragraphNode.getText(),
+                                wrappingWidth,
+                                paragraphNode.getBoundsType());
+                    }
                 }
 
                 prefHeight += snappedTopInset() + snappedBottomInset();
@@ -1316,16 +1526,35 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
             final List<Node> paragraphNodesChildren = paragraphNodes.getChildren();
 
-            for (int i = 0; i < paragraphNodesChildren.size(); i++) {
-                Node node = paragraphNodesChildren.get(i);
-                Text paragraphNode = (Text)node;
-                paragraphNode.setWrappingWidth(wrappingWidth);
+            // In virtualized mode, jump to the caret if it has been moved to
+            // a paragraph that is not laid out
+            int caretPos = textArea.getCaretPosition();
+            int anchorPos = textArea.getAnchor();
+            boolean textChanged = windowDirty;
+            boolean caretMoved = caretPos != laidOutCaretPosition || revealCaret;
+
+            if (virtualized) {
+                updateWindow(wrappingWidth);
+                if (!isLaidOut(caretPos) && caretMoved) {
+                    int caretParagraph = TextAreaHelper.getParagraphAt(textArea, caretPos);
+                    textArea.setScrollTop(paragraphHeights.offsetOf(caretParagraph, getParagraphHeightEstimate()));
+                    updateWindow(wrappingWidth);
+                }
+                getTextNode().setLayoutX(leftPadding);
+                laidOutCaretPosition = caretPos;
+                revealCaret = false;
+            } else {
+                for (int i = 0; i < paragraphNodesChildren.size(); i++) {
+                    Node node = paragraphNodesChildren.get(i);
+                    Text paragraphNode = (Text)node;
+                    paragraphNode.setWrappingWidth(wrappingWidth);
 
-                Bounds bounds = paragraphNode.getBoundsInLocal();
-                paragraphNode.setLayoutX(leftPadding);
-                paragraphNode.setLayoutY(y);
+                    Bounds bounds = paragraphNode.getBoundsInLocal();
+                    paragraphNode.setLayoutX(leftPadding);
+                    paragraphNode.setLayoutY(y);
 
-                y += bounds.getHeight();
+                    y += bounds.getHeight();
+                }
             }
 
             if (promptNode != null) {
@@ -1340,9 +1569,6 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
             selectionHighlightGroup.getChildren().clear();
 
-            int caretPos = textArea.getCaretPosition();
-            int anchorPos = textArea.getAnchor();
-
             if (SHOW_HANDLES) {
                 // Install and resize the handles for caret and anchor.
                 if (selection.getLength() > 0) {
@@ -1357,14 +1583,19 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
                 // Position the handle for the anchor. This could be handle1 or handle2.
                 // Do this before positioning the actual caret.
-                if (selection.getLength() > 0) {
+                if (selection.getLength() > 0 && isLaidOut(anchorPos)) {
                     int paragraphIndex = paragraphNodesChildren.size();
                     int paragraphOffset = textArea.getLength() + 1;
                     Text paragraphNode = null;
-                    do {
-                        paragraphNode = (Text)paragraphNodesChildren.get(--paragraphIndex);
-                        paragraphOffset -= paragraphNode.getText().length() + 1;
-                    } while (anchorPos < paragraphOffset);
+                    if (virtualized) {
+                        paragraphNode = getTextNode();
+                        paragraphOffset = windowStart;
+                    } else {
+                        do {
+                            paragraphNode = (Text)paragraphNodesChildren.get(--paragraphIndex);
+                            paragraphOffset -= paragraphNode.getText().length() + 1;
+                        } while (anchorPos < paragraphOffset);
+                    }
 
                     updateTextNodeCaretPos(anchorPos - paragraphOffset);
                     caretPath.getElements().clear();
@@ -1383,16 +1614,24 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 }
             }
 
-            {
+            if (!isLaidOut(caretPos)) {
+                // The caret has been scrolled away from
+                caretPath.getElements().clear();
+            } else {
                 // Position caret
                 int paragraphIndex = paragraphNodesChildren.size();
                 int paragraphOffset = textArea.getLength() + 1;
 
                 Text paragraphNode = null;
-                do {
-                    paragraphNode = (Text)paragraphNodesChildren.get(--paragraphIndex);
-                    paragraphOffset -= paragraphNode.getText().length() + 1;
-                } while (caretPos < paragraphOffset);
+                if (virtualized) {
+                    paragraphNode = getTextNode();
+                    paragraphOffset = windowStart;
+                } else {
+                    do {
+                        paragraphNode = (Text)paragraphNodesChildren.get(--paragraphIndex);
+                        paragraphOffset -= paragraphNode.getText().length() + 1;
+                    } while (caretPos < paragraphOffset);
+                }
 
                 updateTextNodeCaretPos(caretPos - paragraphOffset);
 
@@ -1405,14 +1644,18 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 paragraphNode.setLayoutX(2 * paragraphNode.getLayoutX() - paragraphNode.getBoundsInParent().getMinX());
 
                 caretPath.setLayoutY(paragraphNode.getLayoutY());
-                if (oldCaretBounds == null || !oldCaretBounds.equals(caretPath.getBoundsInParent())) {
+                // In virtualized mode the caret also moves when the estimated
+                // heights of the paragraphs above it are measured, which must
+                // not scroll the viewport back to it
+                boolean caretChanged = oldCaretBounds == null || !oldCaretBounds.equals(caretPath.getBoundsInParent());
+                if (virtualized ? caretMoved || (textChanged && caretChanged) : caretChanged) {
                     scrollCaretToVisible();
                 }
             }
 
             // Update selection fg and bg
-            int start = selection.getStart();
-            int end = selection.getEnd();
+            int start = Math.max(0, selection.getStart() - windowStart);
+            int end = Math.max(0, selection.getEnd() - windowStart);
             for (int i = 0, max = paragraphNodesChildren.size(); i < max; i++) {
                 Node paragraphNode = paragraphNodesChildren.get(i);
                 Text textNode = (Text)paragraphNode;
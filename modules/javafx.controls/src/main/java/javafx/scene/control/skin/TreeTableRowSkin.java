@@ -143,6 +143,9 @@ public class TreeTableRowSkin<T> extends TableRowSkinBase<TreeItem<T>, TreeTable
                 registerChangeListener(fixedCellSizeProperty, e -> {
                     fixedCellSize = fixedCellSizeProperty.get();
                     fixedCellSizeEnabled = fixedCellSize > 0;
+                    // the cells that are created depend on this
+                    isDirty = true;
+                    getSkinnable().requestLayout();
                 });
                 fixedCellSize = fixedCellSizeProperty.get();
                 fixedCellSizeEnabled = fixedCellSize > 0;
@@ -314,6 +317,11 @@ public class TreeTableRowSkin<T> extends TableRowSkinBase<TreeItem<T>, TreeTable
         return getTreeTableView().isShowRoot();
     }
 
+    /** {@inheritDoc} */
+    @Override double getTableFixedCellSize() {
+        return getTreeTableView() == null ? -1 : getTreeTableView().getFixedCellSize();
+    }
+
     /** {@inheritDoc} */
     @Override protected ObservableList<TreeTableColumn<T, ?>> getVisibleLeafColumns() {
         return getTreeTableView() == null ? FXCollections.emptyObservableList() : getTreeTableView().getVisibleLeafColumns();
@@ -26,6 +26,7 @@
 package javafx.scene.control.skin;
 
 import com.sun.javafx.scene.ParentHelper;
+import com.sun.javafx.scene.control.CellSizeCache;
 import com.sun.javafx.scene.control.Logging;
 import com.sun.javafx.scene.control.Properties;
 import com.sun.javafx.scene.control.VirtualScrollBar;
@@ -58,6 +59,7 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Cell;
+import javafx.scene.control.IndexRange;
 import javafx.scene.control.IndexedCell;
 import javafx.scene.control.ScrollBar;
 import javafx.scene.input.MouseEvent;
@@ -73,6 +75,7 @@ import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Implementation of a virtualized container using a cell based mechanism. This
@@ -117,6 +120,19 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      */
     private static final int DEFAULT_IMPROVEMENT = 2;
 
+    /**
+     * The number of scroll steps ahead for which rows are prefetched: at the
+     * current scroll speed, the prefetched rows come into view within this
+     * many steps.
+     */
+    private static final int PREFETCH_PULSES = 10;
+
+    /**
+     * The maximum number of rows prefetched, as a multiple of the number of
+     * rows in the viewport.
+     */
+    private static final int MAX_PREFETCH_PAGES = 4;
+
 
 
     /* *************************************************************************
@@ -273,15 +289,22 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     double estimatedSize = -1d;
 
     /**
-     * A list containing the cached version of the calculated size (height for
-     * vertical, width for horizontal) for a (fictive or real) cell for
-     * each element of the backing data.
-     * This list is used to calculate the estimatedSize.
-     * The list is not expected to be complete, but it is always up to date.
-     * When the size of the items in the backing list changes, this list is
+     * The cached version of the calculated size (height for vertical, width
+     * for horizontal) for a (fictive or real) cell for each element of the
+     * backing data.
+     * This cache is used to calculate the estimatedSize, and to map between
+     * offsets and indices.
+     * The cache is not expected to be complete, but it is always up to date.
+     * When the size of the items in the backing list changes, this cache is
      * cleared.
      */
-    private ArrayList<Double> itemSizeCache = new ArrayList<>();
+    private final CellSizeCache itemSizeCache = new CellSizeCache();
+
+    // the absoluteOffset at the end of the previous layout pass, and the last
+    // range passed to the prefetch handler
+    private double lastPrefetchOffset = 0d;
+    private int lastPrefetchStart = -1;
+    private int lastPrefetchEnd = -1;
 
     // used for panning the virtual flow
     private double lastX;
@@ -997,6 +1020,51 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     }
 
 
+    // --- Prefetch handler
+    private ObjectProperty<Consumer<IndexRange>> prefetchHandler;
+
+    /**
+     * Sets the handler that is told which rows are likely to come into view
+     * next.
+     * @param value the prefetch handler
+     * @since 18
+     */
+    public final void setPrefetchHandler(Consumer<IndexRange> value) {
+        prefetchHandlerProperty().set(value);
+    }
+
+    /**
+     * Returns the handler that is told which rows are likely to come into view
+     * next.
+     * @return the prefetch handler
+     * @since 18
+     */
+    public final Consumer<IndexRange> getPrefetchHandler() {
+        return prefetchHandler == null ? null : prefetchHandler.get();
+    }
+
+    /**
+     * A handler that is told which rows are likely to come into view next, so
+     * that their content can be prepared ahead of time, for example by
+     * loading it into a cache that the cells then read from.
+     * <p>
+     * While the {@code VirtualFlow} is being scrolled, the handler is called
+     * after each scroll step or layout pass with the range of rows just
+     * outside the viewport in the direction of scrolling. The faster the
+     * scrolling, the more rows the range covers, up to a few viewports' worth.
+     * The handler is not called again for the same range, nor while the
+     * position does not change.
+     * @return the prefetch handler property
+     * @since 18
+     */
+    public final ObjectProperty<Consumer<IndexRange>> prefetchHandlerProperty() {
+        if (prefetchHandler == null) {
+            prefetchHandler = new SimpleObjectProperty<>(this, "prefetchHandler");
+        }
+        return prefetchHandler;
+    }
+
+
 
     /* *************************************************************************
      *                                                                         *
@@ -1342,6 +1410,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         lastPosition = getPosition();
         recalculateEstimatedSize();
         cleanPile();
+        prefetch();
     }
 
     /** {@inheritDoc} */
@@ -1720,6 +1789,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         // Finally, update the scroll bars
         updateScrollBarsAndCells(false);
         lastPosition = getPosition();
+        prefetch();
 
         // notify
         return answer;
@@ -2830,17 +2900,14 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      * performance.
      */
     private double computeViewportOffset(double position) {
-        double p = com.sun.javafx.util.Utils.clamp(0, position, 1);
-        double bound = 0d;
-        double estSize = estimatedSize / getCellCount();
+        int cellCount = getCellCount();
+        if (cellCount <= 0) return 0d;
+        syncItemSizeCache();
+        double estSize = estimatedSize / cellCount;
 
-        for (int i = 0; i < getCellCount(); i++) {
-            double h = getCellSize(i);
-            if (h < 0) h = estSize;
-            if (bound + h > absoluteOffset) {
-                return absoluteOffset - bound;
-            }
-            bound += h;
+        int index = itemSizeCache.indexAt(absoluteOffset, estSize);
+        if (itemSizeCache.offsetOf(index + 1, estSize) > absoluteOffset) {
+            return absoluteOffset - itemSizeCache.offsetOf(index, estSize);
         }
         return 0d;
     }
@@ -2850,14 +2917,9 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         if (cellCount <= 0) {
             setPosition(0.0f);
         } else {
-            double targetOffset = 0;
+            syncItemSizeCache();
             double estSize = estimatedSize/cellCount;
-            for (int i = 0; i < index; i++) {
-                double cz = getCellSize(i);
-                if (cz < 0) cz = estSize;
-                targetOffset = targetOffset+ cz;
-            }
-            this.absoluteOffset = targetOffset;
+            this.absoluteOffset = itemSizeCache.offsetOf(index, estSize);
             adjustPosition();
         }
 
@@ -2910,18 +2972,11 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     }
 
     private int computeCurrentIndex() {
-        double total = 0;
         int currentCellCount = getCellCount();
+        if (currentCellCount <= 0) return 0;
+        syncItemSizeCache();
         double estSize = estimatedSize / currentCellCount;
-        for (int i = 0; i < currentCellCount; i++) {
-            double nextSize = getCellSize(i);
-            if (nextSize < 0) nextSize = estSize;
-            total = total + nextSize;
-            if (total > absoluteOffset) {
-                return i;
-            }
-        }
-        return currentCellCount == 0 ? 0 : currentCellCount - 1;
+        return itemSizeCache.indexAt(absoluteOffset, estSize);
     }
 
     /**
@@ -2952,14 +3007,11 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     }
 
     private double getOrCreateCellSize (int idx, boolean create) {
-        // is the current cache long enough to contain idx?
-        if (itemSizeCache.size() > idx) {
-            // is there a non-null value stored in the cache?
-            if (itemSizeCache.get(idx) != null) {
-                return itemSizeCache.get(idx);
-            }
+        // is there a value stored in the cache?
+        if (itemSizeCache.isKnown(idx)) {
+            return itemSizeCache.get(idx);
         }
-        if (!create) return -1;
+        if (!create || idx < 0) return -1;
         boolean doRelease = false;
 
         // Do we have a visible cell for this index?
@@ -2969,8 +3021,8 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
             doRelease = true;
         }
         // Make sure we have enough space in the cache to store this index
-        while (idx >= itemSizeCache.size()) {
-            itemSizeCache.add(itemSizeCache.size(), null);
+        if (idx >= itemSizeCache.size()) {
+            itemSizeCache.setSize(Math.max(idx + 1, getCellCount()));
         }
 
         // if we have a valid cell, we can populate the cache
@@ -2996,14 +3048,25 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      */
     void updateCellSize(T cell) {
         int cellIndex = cell.getIndex();
-        if (itemSizeCache.size() > cellIndex) {
-        if (isVertical()) {
-            double newh = cell.getLayoutBounds().getHeight();
-            itemSizeCache.set(cellIndex, newh);
-          } else {
-            double newh = cell.getLayoutBounds().getWidth();
-            itemSizeCache.set(cellIndex, newh);
-          }
+        if (cellIndex >= 0 && itemSizeCache.getExtent() > cellIndex) {
+            if (isVertical()) {
+                double newh = cell.getLayoutBounds().getHeight();
+                itemSizeCache.set(cellIndex, newh);
+            } else {
+                double newh = cell.getLayoutBounds().getWidth();
+                itemSizeCache.set(cellIndex, newh);
+            }
+        }
+    }
+
+    /**
+     * Make sure the cache has an entry for every item. Sizes that are already
+     * known are kept.
+     */
+    private void syncItemSizeCache() {
+        int cellCount = getCellCount();
+        if (itemSizeCache.size() != cellCount) {
+            itemSizeCache.setSize(cellCount);
         }
     }
 
@@ -3017,30 +3080,80 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 
     private void recalculateAndImproveEstimatedSize(int improve) {
         int itemCount = getCellCount();
-        int cacheCount = itemSizeCache.size();
+        syncItemSizeCache();
         int added = 0;
-        while ((itemCount > itemSizeCache.size()) && (added < improve)) {
-            getOrCreateCellSize(itemSizeCache.size());
+        // measure the items after those measured so far, and any that have
+        // been invalidated
+        int next = itemSizeCache.nextUnknown(itemSizeCache.getExtent());
+        while ((next >= 0) && (added < improve)) {
+            getOrCreateCellSize(next);
+            next = itemSizeCache.nextUnknown(next + 1);
             added++;
         }
-        cacheCount = itemSizeCache.size();
-        int cnt = 0;
-        double tot = 0d;
-        for (int i = 0; (i < itemCount && i < cacheCount); i++) {
-            Double il = itemSizeCache.get(i);
-            if (il != null) {
-                tot = tot + il;
-                cnt++;
-            }
-        }
+        // the known sizes are totalled by the cache, so this does not depend
+        // on the number of items
+        int cnt = itemSizeCache.getKnownCount();
+        double tot = itemSizeCache.getKnownTotal();
         this.estimatedSize = cnt == 0 ? 1d: tot * itemCount / cnt;
     }
 
+    /**
+     * Tell the prefetch handler which rows lie ahead of the viewport, based on
+     * how far the viewport moved since the previous layout pass or scroll.
+     */
+    private void prefetch() {
+        double delta = absoluteOffset - lastPrefetchOffset;
+        lastPrefetchOffset = absoluteOffset;
+        Consumer<IndexRange> handler = getPrefetchHandler();
+        int cellCount = getCellCount();
+        if (handler == null || delta == 0 || cells.isEmpty() || cellCount <= 0) return;
+
+        double cellLength = estimatedSize / cellCount;
+        int maxCount = cells.size() * MAX_PREFETCH_PAGES;
+        int count = cellLength <= 0 ? maxCount :
+                (int) Math.min(maxCount, Math.ceil(Math.abs(delta) * PREFETCH_PULSES / cellLength));
+        int start, end;
+        if (delta > 0) {
+            start = Math.min(cellCount, cells.getLast().getIndex() + 1);
+            end = (int) Math.min(cellCount, (long) start + count);
+        } else {
+            end = Math.max(0, cells.getFirst().getIndex());
+            start = Math.max(0, end - count);
+        }
+        if (start >= end || (start == lastPrefetchStart && end == lastPrefetchEnd)) return;
+        lastPrefetchStart = start;
+        lastPrefetchEnd = end;
+        handler.accept(new IndexRange(start, end));
+    }
+
     private void resetSizeEstimates() {
         itemSizeCache.clear();
         this.estimatedSize = 1d;
     }
 
+    /**
+     * Informs the {@code VirtualFlow} that the sizes of the cells from {@code from} (inclusive) to {@code to}
+     * (exclusive) may have changed, for example because the items they show were updated. The cached sizes of
+     * these cells are discarded, and will be measured again when they are needed; the sizes of the other cells are
+     * kept.
+     *
+     * @param from the index of the first cell whose size may have changed
+     * @param to the index after the last cell whose size may have changed
+     * @throws IndexOutOfBoundsException if the range is not within the cell count
+     * @since 18
+     */
+    protected void invalidateCellSizes(int from, int to) {
+        int cellCount = getCellCount();
+        if (from < 0 || to > cellCount || from > to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ") in " + cellCount);
+        }
+        syncItemSizeCache();
+        itemSizeCache.invalidate(from, to);
+        // the visible cells may still have their old size, so rebuild them
+        // before anything is measured again
+        rebuildCells();
+    }
+
 //    /**
 //     * Adjust the position based on a chunk of pixels. The position is based
 //     * on the start of the scrollbar position.
@@ -57,4 +57,8 @@ public class ControlShim extends Control {
         return c.computePrefHeight(width);
     }
 
+    public static void setDeferSkinCreation(boolean value) {
+        Control.deferSkinCreation = value;
+    }
+
 }
@@ -91,6 +91,14 @@ public class TextInputSkinShim {
         skin.setHandlePressed(pressed);
     }
 
+    /**
+     * Sets whether TextAreaSkins created from now on lay out only the
+     * paragraphs around their viewport.
+     */
+    public static void setVirtualize(boolean value) {
+        TextAreaSkin.virtualize = value;
+    }
+
 //---------- TextInputControl
 
     /**
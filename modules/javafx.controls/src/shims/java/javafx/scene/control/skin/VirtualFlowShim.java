@@ -98,6 +98,15 @@ public class VirtualFlowShim<T extends IndexedCell> extends VirtualFlow<T> {
         return super.accumCell;
     }
 
+    public double get_estimatedSize() {
+        return super.estimatedSize;
+    }
+
+    @Override
+    public void invalidateCellSizes(int from, int to) {
+        super.invalidateCellSizes(from, to);
+    }
+
     @Override
     public boolean addTrailingCells(boolean fillEmptyCells) {
         return super.addTrailingCells(fillEmptyCells);
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.charts;
+
+import com.sun.javafx.charts.Downsampler;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DownsamplerTest {
+
+    @Test
+    public void minMaxKeepsFirstMinMaxAndLastOfEveryColumn() {
+        double[] x = {0.1, 0.2, 0.3, 0.4, 0.5, 1.1, 2.5, 2.6};
+        double[] y = {5,   9,   1,   4,   6,   3,   7,   8};
+        int count = Downsampler.minMax(x, y, 0, x.length);
+        assertEquals(7, count);
+        double[] ex = {0.1, 0.2, 0.3, 0.5, 1.1, 2.5, 2.6};
+        double[] ey = {5,   9,   1,   6,   3,   7,   8};
+        for (int i = 0; i < count; i++) {
+            assertEquals(ex[i], x[i], 0);
+            assertEquals(ey[i], y[i], 0);
+        }
+    }
+
+    @Test
+    public void minMaxKeepsColumnExtremes() {
+        final int n = 10_000;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i / 100.0;
+            y[i] = Math.sin(i);
+        }
+        double[] original = y.clone();
+        int count = Downsampler.minMax(x, y, 0, n);
+        assertTrue(count <= 4 * 100);
+        for (int column = 0; column < 100; column++) {
+            double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+            for (int i = column * 100; i < (column + 1) * 100; i++) {
+                min = Math.min(min, original[i]);
+                max = Math.max(max, original[i]);
+            }
+            double keptMin = Double.POSITIVE_INFINITY, keptMax = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                if (Math.floor(x[i]) == column) {
+                    keptMin = Math.min(keptMin, y[i]);
+                    keptMax = Math.max(keptMax, y[i]);
+                }
+            }
+            assertEquals(min, keptMin, 0);
+            assertEquals(max, keptMax, 0);
+        }
+    }
+
+    @Test
+    public void lttbReducesToThreshold() {
+        final int n = 1000;
+        double[] x = new double[n + 2];
+        double[] y = new double[n + 2];
+        for (int i = 0; i < n; i++) {
+            x[i + 1] = i;
+            y[i + 1] = i == 500 ? 100 : 0;
+        }
+        int count = Downsampler.lttb(x, y, 1, n + 1, 10);
+        assertEquals(10, count);
+        // first and last point are kept
+        assertEquals(0, x[1], 0);
+        assertEquals(n - 1, x[count], 0);
+        // the spike is kept
+        boolean spike = false;
+        for (int i = 1; i <= count; i++) {
+            if (y[i] == 100) spike = true;
+            if (i > 1) assertTrue(x[i] > x[i - 1]);
+        }
+        assertTrue(spike);
+    }
+
+    @Test
+    public void lttbKeepsPointsBelowThreshold() {
+        double[] x = {0, 1, 2, 3};
+        double[] y = {0, 1, 0, 1};
+        assertEquals(4, Downsampler.lttb(x, y, 0, 4, 10));
+        assertEquals(4, Downsampler.lttb(x, y, 0, 4, 2));
+    }
+}
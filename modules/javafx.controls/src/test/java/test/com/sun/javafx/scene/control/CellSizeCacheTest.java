@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.scene.control;
+
+import com.sun.javafx.scene.control.CellSizeCache;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CellSizeCacheTest {
+
+    private CellSizeCache cache;
+    // the reference model, NaN for unknown sizes
+    private double[] sizes;
+
+    @Before
+    public void setup() {
+        cache = new CellSizeCache();
+        sizes = new double[0];
+    }
+
+    private void setSize(int size) {
+        int old = sizes.length;
+        sizes = Arrays.copyOf(sizes, size);
+        if (size > old) {
+            Arrays.fill(sizes, old, size, Double.NaN);
+        }
+        cache.setSize(size);
+    }
+
+    private void set(int index, double size) {
+        sizes[index] = size;
+        cache.set(index, size);
+    }
+
+    private void invalidate(int from, int to) {
+        Arrays.fill(sizes, from, to, Double.NaN);
+        cache.invalidate(from, to);
+    }
+
+    private double size(int index, double estimate) {
+        return index >= sizes.length || Double.isNaN(sizes[index]) ? estimate : sizes[index];
+    }
+
+    private void assertCache(double estimate) {
+        assertEquals(sizes.length, cache.size());
+        int known = 0;
+        double total = 0;
+        double offset = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            boolean isKnown = !Double.isNaN(sizes[i]);
+            assertEquals(isKnown, cache.isKnown(i));
+            assertEquals(isKnown ? sizes[i] : -1, cache.get(i), 0);
+            assertEquals(offset, cache.offsetOf(i, estimate), 1e-6);
+            double s = size(i, estimate);
+            if (s > 0) {
+                assertEquals(i, cache.indexAt(offset, estimate));
+                assertEquals(i, cache.indexAt(offset + s / 2, estimate));
+            }
+            offset += s;
+            if (isKnown) {
+                known++;
+                total += sizes[i];
+            }
+        }
+        assertEquals(known, cache.getKnownCount());
+        assertEquals(total, cache.getKnownTotal(), 1e-6);
+        assertEquals(offset, cache.offsetOf(sizes.length, estimate), 1e-6);
+        assertEquals(offset + 2 * estimate, cache.offsetOf(sizes.length + 2, estimate), 1e-6);
+        assertEquals(Math.max(0, sizes.length - 1), cache.indexAt(offset + 1000, estimate));
+    }
+
+    private int nextUnknown(int from) {
+        for (int i = Math.max(0, from); i < sizes.length; i++) {
+            if (Double.isNaN(sizes[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void testEmpty() {
+        assertCache(10);
+        assertEquals(0, cache.indexAt(50, 10));
+        assertEquals(-1, cache.nextUnknown(0));
+        assertEquals(1, cache.getAverage(1), 0);
+    }
+
+    @Test
+    public void testUnknownSizesUseEstimate() {
+        setSize(10);
+        assertCache(20);
+        assertEquals(100, cache.offsetOf(5, 20), 0);
+        assertEquals(5, cache.indexAt(100, 20));
+        assertEquals(4, cache.indexAt(99.5, 20));
+    }
+
+    @Test
+    public void testSetAndReplace() {
+        setSize(10);
+        set(3, 50);
+        set(0, 10);
+        assertCache(20);
+        set(3, 5);
+        assertCache(20);
+        assertEquals(7.5, cache.getAverage(1), 0);
+        assertEquals(4, cache.getExtent());
+    }
+
+    @Test
+    public void testExactOffsetsOnceMeasured() {
+        setSize(100);
+        double offset = 0;
+        for (int i = 0; i < 100; i++) {
+            set(i, 10 + i % 7);
+            offset += 10 + i % 7;
+        }
+        assertEquals(-1, cache.nextUnknown(0));
+        // the estimate no longer matters
+        assertEquals(offset, cache.offsetOf(100, 1000), 0);
+        assertCache(1000);
+    }
+
+    @Test
+    public void testInvalidateRange() {
+        setSize(200);
+        for (int i = 0; i < 200; i++) {
+            set(i, i + 1);
+        }
+        invalidate(10, 13);
+        assertCache(4);
+        assertEquals(10, cache.getExtent());
+        assertEquals(10, cache.nextUnknown(0));
+        assertEquals(12, cache.nextUnknown(12));
+        assertEquals(-1, cache.nextUnknown(13));
+        // large ranges are handled by a rebuild
+        invalidate(50, 150);
+        assertCache(4);
+        assertEquals(50, cache.nextUnknown(13));
+    }
+
+    @Test
+    public void testResizeKeepsSizes() {
+        setSize(10);
+        set(2, 7);
+        set(9, 3);
+        setSize(1000);
+        assertCache(2);
+        setSize(5);
+        assertCache(2);
+        assertEquals(5, cache.getExtent());
+    }
+
+    @Test
+    public void testResizeAfterShrinking() {
+        setSize(64);
+        for (int i = 0; i < 64; i++) {
+            set(i, 1 + i % 5);
+        }
+        // the nodes past the end are left stale by the shrink and recomputed
+        // when the cache grows again
+        setSize(37);
+        set(36, 9);
+        assertCache(3);
+        for (int n = 38; n <= 130; n++) {
+            setSize(n);
+            set(n - 1, n % 7);
+            assertCache(3);
+        }
+        setSize(1);
+        setSize(200);
+        assertCache(3);
+    }
+
+    @Test
+    public void testClear() {
+        setSize(10);
+        set(2, 7);
+        cache.clear();
+        Arrays.fill(sizes, Double.NaN);
+        assertCache(2);
+        assertEquals(0, cache.getExtent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeSizeThrows() {
+        setSize(1);
+        cache.set(0, -1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetOutOfRangeThrows() {
+        setSize(1);
+        cache.set(1, 1);
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(5);
+        setSize(50);
+        for (int i = 0; i < 2000; i++) {
+            int op = random.nextInt(10);
+            if (op < 6) {
+                set(random.nextInt(sizes.length), random.nextInt(40));
+            } else if (op < 8) {
+                int from = random.nextInt(sizes.length + 1);
+                int to = from + random.nextInt(sizes.length - from + 1);
+                invalidate(from, to);
+            } else if (op < 9) {
+                setSize(1 + random.nextInt(150));
+            } else {
+                int from = random.nextInt(sizes.length + 1);
+                assertEquals(nextUnknown(from), cache.nextUnknown(from));
+            }
+            if (i % 50 == 0) {
+                assertCache(1 + random.nextInt(30));
+            }
+        }
+        assertCache(12.5);
+    }
+
+    @Test
+    public void testMillionItems() {
+        int n = 1_000_000;
+        cache.setSize(n);
+        for (int i = 0; i < n; i += 3) {
+            cache.set(i, 20);
+        }
+        assertFalse(cache.isKnown(1));
+        assertTrue(cache.isKnown(999_999));
+        // 333,334 known items of 20 and 666,666 unknown items of 30
+        assertEquals(333_334 * 20 + 666_666 * 30, cache.offsetOf(n, 30), 0);
+        assertEquals(30 * 20 + 60 * 30, cache.offsetOf(90, 30), 0);
+        assertEquals(90, cache.indexAt(30 * 20 + 60 * 30, 30));
+        assertEquals(1, cache.nextUnknown(0));
+        assertEquals(999_997, cache.nextUnknown(999_996));
+        assertEquals(-1, cache.nextUnknown(999_999));
+    }
+}
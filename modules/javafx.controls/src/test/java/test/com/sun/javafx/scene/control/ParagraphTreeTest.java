@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.com.sun.javafx.scene.control;
+
+import com.sun.javafx.scene.control.ParagraphTree;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParagraphTreeTest {
+
+    private ParagraphTree tree;
+    // the reference model
+    private List<StringBuilder> paragraphs;
+
+    @Before
+    public void setup() {
+        paragraphs = new ArrayList<>();
+        paragraphs.add(new StringBuilder());
+        tree = new ParagraphTree(paragraphs.get(0));
+    }
+
+    private String text() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < paragraphs.size(); i++) {
+            if (i > 0) sb.append('\n');
+            sb.append(paragraphs.get(i));
+        }
+        return sb.toString();
+    }
+
+    private void assertTree() {
+        String text = text();
+        assertEquals(paragraphs.size(), tree.size());
+        assertEquals(text.length(), tree.length());
+        int start = 0;
+        for (int i = 0; i < paragraphs.size(); i++) {
+            assertEquals(paragraphs.get(i).toString(), tree.get(i).toString());
+            assertEquals(start, tree.paragraphStart(i));
+            assertEquals(i, tree.paragraphAt(start));
+            assertEquals(i, tree.paragraphAt(start + paragraphs.get(i).length()));
+            start += paragraphs.get(i).length() + 1;
+        }
+        StringBuilder sb = new StringBuilder();
+        tree.appendTo(sb, 0, text.length());
+        assertEquals(text, sb.toString());
+    }
+
+    private void addAll(int index, String... strings) {
+        List<StringBuilder> added = new ArrayList<>();
+        for (String s : strings) {
+            added.add(new StringBuilder(s));
+        }
+        paragraphs.addAll(index, added);
+        tree.addAll(index, added);
+    }
+
+    @Test
+    public void testEmpty() {
+        assertTree();
+        assertEquals(0, tree.paragraphAt(0));
+    }
+
+    @Test
+    public void testAddAll() {
+        addAll(1, "a", "bc", "", "def");
+        assertTree();
+        addAll(0, "x");
+        addAll(3, "yy", "zzz");
+        assertTree();
+    }
+
+    @Test
+    public void testRemove() {
+        addAll(1, "a", "bc", "", "def", "g");
+        List<CharSequence> removed = tree.remove(1, 4);
+        assertEquals(Arrays.asList("a", "bc", ""), Arrays.asList(
+                removed.get(0).toString(), removed.get(1).toString(), removed.get(2).toString()));
+        paragraphs.subList(1, 4).clear();
+        assertTree();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRemoveAll() {
+        addAll(1, "a");
+        tree.remove(0, 2);
+    }
+
+    @Test
+    public void testLengthChanged() {
+        addAll(1, "a", "bc", "def");
+        ((StringBuilder) tree.get(2)).append("xyz");
+        tree.lengthChanged(2);
+        assertTree();
+    }
+
+    @Test
+    public void testAppendToRange() {
+        addAll(0, "abc", "", "de");
+        String text = text();
+        for (int start = 0; start <= text.length(); start++) {
+            for (int end = start; end <= text.length(); end++) {
+                StringBuilder sb = new StringBuilder();
+                tree.appendTo(sb, start, end);
+                assertEquals(text.substring(start, end), sb.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testRandomEdits() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            int op = random.nextInt(3);
+            if (op == 0) {
+                int index = random.nextInt(paragraphs.size() + 1);
+                int n = 1 + random.nextInt(5);
+                String[] strings = new String[n];
+                for (int j = 0; j < n; j++) {
+                    strings[j] = "p" + random.nextInt(1000);
+                }
+                addAll(index, strings);
+            } else if (op == 1 && paragraphs.size() > 1) {
+                int from = random.nextInt(paragraphs.size());
+                int to = Math.min(paragraphs.size(), from + 1 + random.nextInt(4));
+                if (to - from < paragraphs.size()) {
+                    tree.remove(from, to);
+                    paragraphs.subList(from, to).clear();
+                }
+            } else {
+                int index = random.nextInt(paragraphs.size());
+                ((StringBuilder) tree.get(index)).append('x');
+                tree.lengthChanged(index);
+            }
+        }
+        assertTree();
+    }
+
+    @Test
+    public void testMillionParagraphs() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            lines.add("line " + i);
+        }
+        tree.addAll(1, lines);
+        assertEquals(1_000_001, tree.size());
+        int index = tree.paragraphAt(tree.paragraphStart(765_432) + 3);
+        assertEquals(765_432, index);
+        assertEquals("line 765431", tree.get(index).toString());
+        tree.remove(10, 999_990);
+        assertEquals(21, tree.size());
+        assertEquals("line 999989", tree.get(10).toString());
+    }
+}
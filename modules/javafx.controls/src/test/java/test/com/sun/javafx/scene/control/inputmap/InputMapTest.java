@@ -24,6 +24,7 @@
  */
 package test.com.sun.javafx.scene.control.inputmap;
 
+import com.sun.javafx.scene.control.inputmap.InputMap;
 import javafx.event.Event;
 import javafx.event.EventType;
 import javafx.scene.Node;
@@ -37,6 +38,7 @@ import javafx.scene.shape.Rectangle;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -61,6 +63,85 @@ public class InputMapTest {
         // no-op
     }
 
+    /***************************************************************************
+     *
+     * Lazily populated mappings
+     *
+     **************************************************************************/
+
+    private int populated;
+    private int fired;
+
+    private InputMap<Node> createLazyInputMap(Rectangle node) {
+        InputMap<Node> inputMap = new InputMap<>(node);
+        inputMap.populateLazily(List.of(KeyEvent.KEY_PRESSED), () -> {
+            populated++;
+            inputMap.getMappings().add(new InputMap.KeyMapping(ENTER, e -> fired++));
+        });
+        return inputMap;
+    }
+
+    private static KeyEvent keyPressed(Node target, KeyCode keyCode) {
+        return new KeyEvent(null, target, KeyEvent.KEY_PRESSED, "", "", keyCode,
+                false, false, false, false);
+    }
+
+    @Test public void testPopulateLazily_notPopulatedUntilUsed() {
+        populated = 0;
+        InputMap<Node> inputMap = createLazyInputMap(new Rectangle());
+        assertEquals(0, populated);
+        assertTrue(inputMap.hasPendingMappings());
+
+        assertEquals(1, inputMap.getMappings().size());
+        assertEquals(1, populated);
+        assertFalse(inputMap.hasPendingMappings());
+
+        inputMap.getMappings();
+        assertEquals(1, populated);
+    }
+
+    @Test public void testPopulateLazily_populatedByFirstEvent() {
+        populated = 0;
+        fired = 0;
+        Rectangle node = new Rectangle();
+        createLazyInputMap(node);
+
+        Event.fireEvent(node, keyPressed(node, ENTER));
+        assertEquals(1, populated);
+        assertEquals(1, fired);
+
+        Event.fireEvent(node, keyPressed(node, ENTER));
+        assertEquals(1, populated);
+        assertEquals(2, fired);
+    }
+
+    @Test public void testPopulateLazily_chainsPendingPopulators() {
+        populated = 0;
+        InputMap<Node> inputMap = createLazyInputMap(new Rectangle());
+        inputMap.populateLazily(List.of(KeyEvent.KEY_RELEASED), () -> {
+            populated++;
+            inputMap.getMappings().add(new InputMap.KeyMapping(SPACE, KeyEvent.KEY_RELEASED, e -> {}));
+        });
+        assertEquals(0, populated);
+
+        assertEquals(2, inputMap.getMappings().size());
+        assertEquals(2, populated);
+    }
+
+    @Test public void testPopulateLazily_disposeDiscardsPendingMappings() {
+        populated = 0;
+        fired = 0;
+        Rectangle node = new Rectangle();
+        InputMap<Node> inputMap = createLazyInputMap(node);
+        inputMap.dispose();
+        assertFalse(inputMap.hasPendingMappings());
+
+        Event.fireEvent(node, keyPressed(node, ENTER));
+        assertEquals(0, populated);
+        assertEquals(0, fired);
+        assertTrue(inputMap.getMappings().isEmpty());
+    }
+
 //    private Thread.UncaughtExceptionHandler exceptionHandler;
 //    private int exceptionCount;
 //
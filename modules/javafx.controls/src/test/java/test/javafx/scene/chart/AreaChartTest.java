@@ -25,6 +25,8 @@
 
 package test.javafx.scene.chart;
 
+import java.util.ArrayList;
+import java.util.List;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.Group;
@@ -33,11 +35,16 @@ import javafx.scene.chart.AreaChart;
 import javafx.scene.chart.Axis;
 import javafx.scene.chart.CategoryAxis;
 import javafx.scene.chart.Chart;
+import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
 import javafx.scene.chart.XYChartShim;
+import javafx.scene.shape.ClosePath;
 import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -151,4 +158,45 @@ public class AreaChartTest extends XYChartTestBase {
          pulse();
          assertEquals(5, countSymbols(ac, "chart-area-symbol"));
      }
+
+    @Test public void testAppendingSamplesUpdatesFillPathTail() {
+        startApp();
+        final XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.getSamples().setAll(new double[] {0, 1, 2}, new double[] {1, 2, 1});
+        ac.getData().add(series);
+        pulse();
+        Path fillPath = (Path) ((Group) series.getNode()).getChildren().get(0);
+        ObservableList<PathElement> elements = fillPath.getElements();
+        // MoveTo, 3 points, back down to the origin and ClosePath
+        assertEquals(6, elements.size());
+        List<PathElement> before = new ArrayList<>(elements.subList(0, 4));
+
+        series.getSamples().add(3, 2);
+        pulse();
+        assertEquals(7, elements.size());
+        for (int i = 0; i < before.size(); i++) {
+            assertSame(before.get(i), elements.get(i));
+        }
+        assertTrue(elements.get(6) instanceof ClosePath);
+    }
+
+    @Test public void testDownsamplingLimitsFillPathToPlotWidth() {
+        startApp();
+        final int n = 50_000;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+            y[i] = 1 + (i % 13);
+        }
+        final XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.getSamples().setAll(x, y);
+        ac.setDownsamplingPolicy(LineChart.DownsamplingPolicy.LTTB);
+        ac.getData().add(series);
+        pulse();
+        Path fillPath = (Path) ((Group) series.getNode()).getChildren().get(0);
+        double width = ac.getXAxis().getWidth();
+        assertTrue(fillPath.getElements().size() <= 2 * (Math.ceil(width) + 1) + 3);
+        assertTrue(fillPath.getElements().get(fillPath.getElements().size() - 1) instanceof ClosePath);
+    }
 }
@@ -25,15 +25,22 @@
 
 package test.javafx.scene.chart;
 
+import java.util.ArrayList;
+import java.util.List;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
+import javafx.scene.chart.CategoryAxis;
 import javafx.scene.chart.Chart;
 import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
 import javafx.scene.chart.XYChartShim;
+import javafx.scene.shape.LineTo;
 import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -159,4 +166,163 @@ public class LineChartTest extends XYChartTestBase {
         int nodesPerSeries = 4; // 3 symbols + 1 path
         checkSeriesRemoveAnimatedStyleClasses(lineChart, nodesPerSeries, 900);
     }
+
+    private Path getSeriesLine(XYChart.Series<Number, Number> series) {
+        return (Path) series.getNode();
+    }
+
+    @Test
+    public void testSamplesArePlottedAndAutoRanged() {
+        startApp();
+        final XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.getSamples().setAll(new double[] {0, 100, 200}, new double[] {5, -50, 500});
+        lineChart.getData().add(series);
+        pulse();
+        assertEquals(4, getSeriesLine(series).getElements().size());
+        NumberAxis xAxis = (NumberAxis) lineChart.getXAxis();
+        NumberAxis yAxis = (NumberAxis) lineChart.getYAxis();
+        assertTrue(xAxis.getUpperBound() >= 200);
+        assertTrue(yAxis.getLowerBound() <= -50);
+        assertTrue(yAxis.getUpperBound() >= 500);
+
+        series.getSamples().add(300, 1000);
+        pulse();
+        assertEquals(5, getSeriesLine(series).getElements().size());
+        assertTrue(xAxis.getUpperBound() >= 300);
+        assertTrue(yAxis.getUpperBound() >= 1000);
+    }
+
+    @Test
+    public void testAppendingSamplesKeepsExistingPathElements() {
+        startApp();
+        final XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.getSamples().setAll(new double[] {0, 1, 2}, new double[] {0, 1, 0});
+        lineChart.getData().add(series);
+        pulse();
+        ObservableList<PathElement> elements = getSeriesLine(series).getElements();
+        List<PathElement> before = new ArrayList<>(elements);
+
+        series.getSamples().add(3, 1);
+        pulse();
+        assertEquals(5, elements.size());
+        for (int i = 0; i < before.size(); i++) {
+            assertSame(before.get(i), elements.get(i));
+        }
+    }
+
+    private void checkDownsampling(LineChart.DownsamplingPolicy policy, int pointsPerPixel) {
+        startApp();
+        final int n = 100_000;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+            y[i] = Math.sin(i / 100.0) + (i % 7) * 0.1;
+        }
+        final XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.getSamples().setAll(x, y);
+        lineChart.getData().add(series);
+        pulse();
+        assertEquals(n + 1, getSeriesLine(series).getElements().size());
+
+        lineChart.setDownsamplingPolicy(policy);
+        pulse();
+        double width = lineChart.getXAxis().getWidth();
+        int size = getSeriesLine(series).getElements().size();
+        assertTrue("path has " + size + " elements for width " + width,
+                size <= pointsPerPixel * (Math.ceil(width) + 1) + 1);
+        assertTrue(size > width);
+
+        lineChart.setDownsamplingPolicy(LineChart.DownsamplingPolicy.NONE);
+        pulse();
+        assertEquals(n + 1, getSeriesLine(series).getElements().size());
+    }
+
+    @Test
+    public void testLTTBDownsamplingLimitsPathToPlotWidth() {
+        checkDownsampling(LineChart.DownsamplingPolicy.LTTB, 2);
+    }
+
+    @Test
+    public void testMinMaxDownsamplingLimitsPathToPlotWidth() {
+        checkDownsampling(LineChart.DownsamplingPolicy.MIN_MAX, 4);
+    }
+
+    @Test
+    public void testNoDownsamplingWhenNotSortedByX() {
+        startApp();
+        lineChart.setAxisSortingPolicy(LineChart.SortingPolicy.NONE);
+        lineChart.setDownsamplingPolicy(LineChart.DownsamplingPolicy.LTTB);
+        final int n = 10_000;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+            y[i] = i % 10;
+        }
+        final XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.getSamples().setAll(x, y);
+        lineChart.getData().add(series);
+        pulse();
+        assertEquals(n + 1, getSeriesLine(series).getElements().size());
+    }
+
+    @Test
+    public void testStreamingSamplesScrollXAxis() {
+        startApp();
+        lineChart.setAnimated(false);
+        NumberAxis xAxis = (NumberAxis) lineChart.getXAxis();
+        xAxis.setForceZeroInRange(false);
+        final XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.getSamples().setCapacity(100);
+        lineChart.getData().add(series);
+        for (int frame = 0; frame < 10; frame++) {
+            for (int i = 0; i < 100; i++) {
+                series.getSamples().add(frame * 100 + i, i % 10);
+            }
+            pulse();
+            assertEquals(101, getSeriesLine(series).getElements().size());
+            assertTrue(xAxis.getLowerBound() <= frame * 100);
+            assertTrue(xAxis.getUpperBound() >= frame * 100 + 99);
+        }
+        assertTrue(xAxis.getLowerBound() >= 800);
+    }
+
+    @Test
+    public void testUnsortedSamplesArePlottedInOrderOfX() {
+        startApp();
+        final XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.getSamples().setAll(new double[] {30, 10, 20, 10}, new double[] {1, 2, 3, 4});
+        lineChart.getData().add(series);
+        pulse();
+        NumberAxis xAxis = (NumberAxis) lineChart.getXAxis();
+        NumberAxis yAxis = (NumberAxis) lineChart.getYAxis();
+        ObservableList<PathElement> elements = getSeriesLine(series).getElements();
+        assertEquals(5, elements.size());
+        double[] expectedX = {10, 10, 20, 30};
+        // points with the same x stay in the order they were added in
+        double[] expectedY = {2, 4, 3, 1};
+        for (int i = 0; i < expectedX.length; i++) {
+            LineTo lineTo = (LineTo) elements.get(i + 1);
+            assertEquals(xAxis.getDisplayPosition(expectedX[i]), lineTo.getX(), 1e-9);
+            assertEquals(yAxis.getDisplayPosition(expectedY[i]), lineTo.getY(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testSamplesAreIgnoredOnCategoryAxis() {
+        startApp();
+        final LineChart<String, Number> categoryChart = new LineChart<>(new CategoryAxis(), new NumberAxis());
+        categoryChart.setAnimated(false);
+        getTestScene().setRoot(categoryChart);
+        final XYChart.Series<String, Number> series = new XYChart.Series<>();
+        series.getData().add(new XYChart.Data<>("A", 1));
+        series.getData().add(new XYChart.Data<>("B", 2));
+        series.getSamples().setAll(new double[] {0, 1, 2}, new double[] {100, 200, 300});
+        categoryChart.getData().add(series);
+        pulse();
+        // only the two data items are plotted and auto-ranged
+        assertEquals(3, ((Path) series.getNode()).getElements().size());
+        assertTrue(((NumberAxis) categoryChart.getYAxis()).getUpperBound() < 100);
+    }
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.chart;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javafx.scene.chart.XYChart;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class XYChartSamplesTest {
+
+    private XYChart.Samples samples;
+    private int invalidations;
+
+    @Before public void setup() {
+        samples = new XYChart.Series<Number, Number>().getSamples();
+        samples.addListener(o -> invalidations++);
+    }
+
+    private void assertSamples(double[]... expected) {
+        assertEquals(expected.length, samples.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i][0], samples.getX(i), 0);
+            assertEquals(expected[i][1], samples.getY(i), 0);
+        }
+    }
+
+    @Test public void emptySamplesHaveNoBounds() {
+        assertEquals(0, samples.size());
+        assertTrue(Double.isNaN(samples.getMinX()));
+        assertTrue(Double.isNaN(samples.getMaxY()));
+    }
+
+    @Test public void addGrowsUnboundedBuffer() {
+        for (int i = 0; i < 100; i++) {
+            samples.add(i, -i);
+        }
+        assertEquals(100, samples.size());
+        assertEquals(100, invalidations);
+        assertEquals(0, samples.getMinX(), 0);
+        assertEquals(99, samples.getMaxX(), 0);
+        assertEquals(-99, samples.getMinY(), 0);
+        assertEquals(0, samples.getMaxY(), 0);
+    }
+
+    @Test public void addToFullBufferEvictsOldest() {
+        samples.setCapacity(3);
+        samples.add(1, 10);
+        samples.add(2, 20);
+        samples.add(3, 30);
+        samples.add(4, 5);
+        assertSamples(new double[] {2, 20}, new double[] {3, 30}, new double[] {4, 5});
+        assertEquals(2, samples.getMinX(), 0);
+        assertEquals(5, samples.getMinY(), 0);
+        assertEquals(30, samples.getMaxY(), 0);
+        samples.add(5, 6);
+        samples.add(6, 7);
+        assertSamples(new double[] {4, 5}, new double[] {5, 6}, new double[] {6, 7});
+        assertEquals(7, samples.getMaxY(), 0);
+    }
+
+    @Test public void addAllKeepsLastValuesThatFit() {
+        samples.setCapacity(2);
+        samples.addAll(new double[] {1, 2, 3, 4}, new double[] {1, 2, 3, 4}, 0, 4);
+        assertSamples(new double[] {3, 3}, new double[] {4, 4});
+        assertEquals(1, invalidations);
+        samples.setAll(new double[] {7, 8, 9}, new double[] {0, 1, 2});
+        assertSamples(new double[] {8, 1}, new double[] {9, 2});
+    }
+
+    @Test public void reducingCapacityEvictsOldest() {
+        samples.setAll(new double[] {1, 2, 3, 4}, new double[] {4, 3, 2, 1});
+        samples.setCapacity(2);
+        assertSamples(new double[] {3, 2}, new double[] {4, 1});
+        assertEquals(2, samples.getMaxY(), 0);
+    }
+
+    @Test public void removeFirstEvictsOldest() {
+        samples.setAll(new double[] {1, 2, 3}, new double[] {3, 2, 1});
+        samples.removeFirst(2);
+        assertSamples(new double[] {3, 1});
+        assertEquals(3, samples.getMinX(), 0);
+        assertEquals(1, samples.getMaxY(), 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void removeFirstMoreThanSizeThrows() {
+        samples.add(1, 1);
+        samples.removeFirst(2);
+    }
+
+    @Test public void nanSamplesAreKeptButIgnoredForBounds() {
+        samples.add(1, Double.NaN);
+        assertEquals(1, samples.size());
+        assertTrue(Double.isNaN(samples.getMinX()));
+        samples.add(2, 2);
+        assertEquals(2, samples.getMinX(), 0);
+    }
+
+    @Test public void boundsMatchSlidingWindow() {
+        Random random = new Random(7);
+        samples.setCapacity(50);
+        ArrayDeque<double[]> reference = new ArrayDeque<>();
+        for (int i = 0; i < 5000; i++) {
+            double x = i + random.nextGaussian();
+            double y = random.nextInt(20);
+            if (random.nextInt(10) == 0) {
+                int count = Math.min(reference.size(), random.nextInt(5));
+                samples.removeFirst(count);
+                for (int j = 0; j < count; j++) reference.removeFirst();
+            }
+            samples.add(x, y);
+            reference.addLast(new double[] {x, y});
+            if (reference.size() > 50) reference.removeFirst();
+
+            List<double[]> values = new ArrayList<>(reference);
+            assertEquals(values.size(), samples.size());
+            double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+            for (double[] v : values) {
+                minX = Math.min(minX, v[0]);
+                maxX = Math.max(maxX, v[0]);
+                minY = Math.min(minY, v[1]);
+                maxY = Math.max(maxY, v[1]);
+            }
+            assertEquals(minX, samples.getMinX(), 0);
+            assertEquals(maxX, samples.getMaxX(), 0);
+            assertEquals(minY, samples.getMinY(), 0);
+            assertEquals(maxY, samples.getMaxY(), 0);
+            assertEquals(values.get(0)[0], samples.getX(0), 0);
+            assertEquals(values.get(values.size() - 1)[1], samples.getY(samples.size() - 1), 0);
+        }
+    }
+}
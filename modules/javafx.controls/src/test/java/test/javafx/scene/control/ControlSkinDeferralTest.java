@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.control;
+
+import com.sun.javafx.tk.Toolkit;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.ControlShim;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TitledPane;
+import javafx.scene.control.skin.ButtonSkin;
+import javafx.scene.layout.VBox;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests deferring the creation of the default skin until a control is showing.
+ */
+public class ControlSkinDeferralTest {
+
+    private StageLoader stageLoader;
+
+    @Before public void setup() {
+        ControlShim.setDeferSkinCreation(true);
+    }
+
+    @After public void cleanup() {
+        ControlShim.setDeferSkinCreation(false);
+        if (stageLoader != null) {
+            stageLoader.dispose();
+        }
+    }
+
+    @Test public void testSkinCreatedWhenNotDeferred() {
+        ControlShim.setDeferSkinCreation(false);
+        Button button = new Button("button");
+        Group root = new Group(button);
+        new Scene(root);
+        root.applyCss();
+        assertNotNull(button.getSkin());
+    }
+
+    @Test public void testSkinNotCreatedInSceneWithoutWindow() {
+        Button button = new Button("button");
+        Group root = new Group(button);
+        new Scene(root);
+        root.applyCss();
+        assertNull(button.getSkin());
+    }
+
+    @Test public void testSkinCreatedWhenShowing() {
+        Button button = new Button("button");
+        stageLoader = new StageLoader(button);
+        assertNotNull(button.getSkin());
+    }
+
+    @Test public void testSkinCreatedWhenWindowStartsShowing() {
+        Button button = new Button("button");
+        Group root = new Group(button);
+        Scene scene = new Scene(root);
+        root.applyCss();
+        assertNull(button.getSkin());
+
+        stageLoader = new StageLoader(scene);
+        assertNotNull(button.getSkin());
+    }
+
+    @Test public void testInvisibleControlIsMeasured() {
+        Button button = new Button("button");
+        button.setVisible(false);
+        Button reference = new Button("button");
+        VBox root = new VBox(button, reference);
+        stageLoader = new StageLoader(root);
+        assertNotNull(reference.getSkin());
+
+        // the hidden button still takes its room in the VBox
+        assertNotNull(button.getSkin());
+        assertEquals(reference.prefWidth(-1), button.prefWidth(-1), 0);
+        assertEquals(reference.prefHeight(-1), button.prefHeight(-1), 0);
+        assertEquals(button.getHeight(), reference.getLayoutY(), 0);
+    }
+
+    @Test public void testControlInHiddenParentHasNoSizeUntilShown() {
+        Button button = new Button("button");
+        VBox hidden = new VBox(button);
+        hidden.setVisible(false);
+        stageLoader = new StageLoader(new Group(hidden));
+        assertNull(button.getSkin());
+        assertEquals(0, button.prefWidth(-1), 0);
+        assertEquals(0, hidden.prefWidth(-1), 0);
+        assertNull(button.getSkin());
+
+        hidden.setVisible(true);
+        Toolkit.getToolkit().firePulse();
+        assertNotNull(button.getSkin());
+        assertTrue(button.prefWidth(-1) > 0);
+        assertEquals(button.prefWidth(-1), button.getWidth(), 0);
+        assertEquals(button.prefWidth(-1), hidden.getWidth(), 0);
+    }
+
+    @Test public void testSkinOfUnselectedTabContentCreatedWhenSelected() {
+        TextField textField = new TextField();
+        Tab first = new Tab("first", new Button("button"));
+        Tab second = new Tab("second", textField);
+        TabPane tabPane = new TabPane(first, second);
+        tabPane.setPrefSize(200, 200);
+        stageLoader = new StageLoader(tabPane);
+        Toolkit.getToolkit().firePulse();
+        assertNull(textField.getSkin());
+
+        tabPane.getSelectionModel().select(second);
+        Toolkit.getToolkit().firePulse();
+        assertNotNull(textField.getSkin());
+    }
+
+    @Test public void testSkinOfCollapsedTitledPaneContentCreatedWhenExpanded() {
+        TextField textField = new TextField();
+        TitledPane titledPane = new TitledPane("title", new VBox(textField));
+        titledPane.setAnimated(false);
+        titledPane.setExpanded(false);
+        titledPane.setPrefSize(200, 200);
+        stageLoader = new StageLoader(titledPane);
+        Toolkit.getToolkit().firePulse();
+        assertNull(textField.getSkin());
+
+        titledPane.setExpanded(true);
+        Toolkit.getToolkit().firePulse();
+        assertNotNull(textField.getSkin());
+    }
+
+    @Test public void testSkinCreatedWhenVisibleAndMeasured() {
+        Button button = new Button("button");
+        Group root = new Group(button);
+        new Scene(root);
+        root.applyCss();
+        assertNull(button.getSkin());
+
+        assertTrue(button.prefWidth(-1) > 0);
+        assertTrue(button.getSkin() instanceof ButtonSkin);
+
+        ControlShim.setDeferSkinCreation(false);
+        Button reference = new Button("button");
+        root.getChildren().add(reference);
+        root.applyCss();
+        assertEquals(reference.prefWidth(-1), button.prefWidth(-1), 0);
+        assertEquals(reference.prefHeight(-1), button.prefHeight(-1), 0);
+    }
+
+    @Test public void testExplicitSkinIsNotDeferred() {
+        Button button = new Button("button");
+        ButtonSkin skin = new ButtonSkin(button);
+        button.setSkin(skin);
+        Group root = new Group(button);
+        new Scene(root);
+        root.applyCss();
+        assertSame(skin, button.getSkin());
+    }
+}
@@ -25,8 +25,14 @@
 
 package test.javafx.scene.control;
 
+import com.sun.javafx.scene.control.CellContentLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 import javafx.scene.control.IndexedCell;
 import javafx.scene.control.IndexedCell;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -94,4 +100,149 @@ public class IndexedCellTest {
         assertPseudoClassExists(cell, "even");
         assertPseudoClassDoesNotExist(cell, "odd");
     }
+
+    /* *************************************************************************
+     *                                                                         *
+     * Asynchronous content loading                                            *
+     *                                                                         *
+     **************************************************************************/
+
+    // the content loading tasks that have been submitted but not run yet
+    private final List<Runnable> pendingLoads = new ArrayList<>();
+
+    private static class LoadingCell extends IndexedCell<String> {
+        <V> void load(Callable<? extends V> loader, Consumer<? super V> onLoaded) {
+            loadContentAsync(loader, onLoaded);
+        }
+
+        void cancel() {
+            cancelContentLoad();
+        }
+
+        void update(String item) {
+            updateItem(item, item == null);
+        }
+    }
+
+    private LoadingCell createLoadingCell() {
+        CellContentLoader.setExecutor(pendingLoads::add);
+        return new LoadingCell();
+    }
+
+    private void runPendingLoads() {
+        List<Runnable> loads = new ArrayList<>(pendingLoads);
+        pendingLoads.clear();
+        loads.forEach(Runnable::run);
+    }
+
+    @After public void cleanup() {
+        CellContentLoader.setExecutor(null);
+    }
+
+    @Test public void loadedContentIsPassedToCell() {
+        LoadingCell loadingCell = createLoadingCell();
+        List<String> loaded = new ArrayList<>();
+        loadingCell.updateIndex(3);
+        loadingCell.load(() -> "content", loaded::add);
+        assertEquals(1, pendingLoads.size());
+        assertTrue(loaded.isEmpty());
+
+        runPendingLoads();
+        assertEquals(List.of("content"), loaded);
+    }
+
+    @Test public void loadIsCancelledWhenIndexChanges() {
+        LoadingCell loadingCell = createLoadingCell();
+        List<String> loaded = new ArrayList<>();
+        loadingCell.updateIndex(3);
+        loadingCell.load(() -> "3", loaded::add);
+        loadingCell.updateIndex(4);
+        runPendingLoads();
+        assertTrue(loaded.isEmpty());
+    }
+
+    @Test public void loadIsNotCancelledWhenIndexIsUpdatedToSameValue() {
+        LoadingCell loadingCell = createLoadingCell();
+        List<String> loaded = new ArrayList<>();
+        loadingCell.updateIndex(3);
+        loadingCell.load(() -> "3", loaded::add);
+        loadingCell.updateIndex(3);
+        runPendingLoads();
+        assertEquals(List.of("3"), loaded);
+    }
+
+    @Test public void loadIsNotPassedToCellWhenItemChanges() {
+        LoadingCell loadingCell = createLoadingCell();
+        List<String> loaded = new ArrayList<>();
+        loadingCell.updateIndex(3);
+        loadingCell.update("a");
+        loadingCell.load(() -> "a", loaded::add);
+        // the item at the same index is replaced
+        loadingCell.update("b");
+        runPendingLoads();
+        assertTrue(loaded.isEmpty());
+    }
+
+    @Test public void newerLoadReplacesOlderLoad() {
+        LoadingCell loadingCell = createLoadingCell();
+        List<String> loaded = new ArrayList<>();
+        loadingCell.updateIndex(3);
+        loadingCell.load(() -> "old", loaded::add);
+        loadingCell.load(() -> "new", loaded::add);
+        runPendingLoads();
+        assertEquals(List.of("new"), loaded);
+    }
+
+    @Test public void cancelledLoadIsNotPassedToCell() {
+        LoadingCell loadingCell = createLoadingCell();
+        List<String> loaded = new ArrayList<>();
+        loadingCell.updateIndex(3);
+        loadingCell.load(() -> "3", loaded::add);
+        loadingCell.cancel();
+        runPendingLoads();
+        assertTrue(loaded.isEmpty());
+    }
+
+    @Test public void loadIsSuspendedWhileCellIsHidden() {
+        LoadingCell loadingCell = createLoadingCell();
+        List<String> loaded = new ArrayList<>();
+        loadingCell.updateIndex(3);
+        loadingCell.setVisible(false);
+        loadingCell.load(() -> "3", loaded::add);
+        assertTrue(pendingLoads.isEmpty());
+
+        loadingCell.setVisible(true);
+        assertEquals(1, pendingLoads.size());
+        runPendingLoads();
+        assertEquals(List.of("3"), loaded);
+    }
+
+    @Test public void loadIsResubmittedWhenHiddenCellIsShownAgain() {
+        LoadingCell loadingCell = createLoadingCell();
+        List<String> loaded = new ArrayList<>();
+        loadingCell.updateIndex(3);
+        loadingCell.load(() -> "3", loaded::add);
+        loadingCell.setVisible(false);
+        loadingCell.setVisible(true);
+        assertEquals(2, pendingLoads.size());
+        // only the second submission is delivered
+        runPendingLoads();
+        assertEquals(List.of("3"), loaded);
+    }
+
+    @Test public void failedLoadIsNotPassedToCell() {
+        LoadingCell loadingCell = createLoadingCell();
+        List<String> loaded = new ArrayList<>();
+        loadingCell.updateIndex(3);
+        loadingCell.<String>load(() -> {
+            throw new Exception("expected");
+        }, loaded::add);
+        runPendingLoads();
+        assertTrue(loaded.isEmpty());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void loadWithNullLoaderThrows() {
+        createLoadingCell().load(null, value -> {});
+    }
 }
@@ -2185,4 +2185,58 @@ public class ListViewTest {
             }
         }
     }
+
+    @Test public void testSelectAllOnLargeList() {
+        final int itemCount = 1_000_000;
+        ListView<String> listView = new ListView<>(FXCollections.observableArrayList(Collections.nCopies(itemCount, "item")));
+        MultipleSelectionModel<String> sm = listView.getSelectionModel();
+        sm.setSelectionMode(SelectionMode.MULTIPLE);
+
+        List<Integer> removed = new ArrayList<>();
+        int[] added = new int[1];
+        sm.getSelectedIndices().addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                added[0] += c.getAddedSize();
+                if (c.wasRemoved()) {
+                    removed.add(c.getRemovedSize());
+                }
+            }
+        });
+
+        sm.selectAll();
+        assertEquals(itemCount, added[0]);
+        assertEquals(itemCount, sm.getSelectedIndices().size());
+        assertEquals(123_456, (int) sm.getSelectedIndices().get(123_456));
+        assertEquals(987_654, (int) sm.getSelectedIndices().get(987_654));
+        assertEquals(123_456, sm.getSelectedIndices().indexOf(123_456));
+
+        sm.clearSelection(5);
+        assertEquals(itemCount - 1, sm.getSelectedIndices().size());
+        assertEquals(6, (int) sm.getSelectedIndices().get(5));
+        assertEquals(-1, sm.getSelectedIndices().indexOf(5));
+        assertEquals(4, sm.getSelectedIndices().indexOf(4));
+        assertEquals(5, sm.getSelectedIndices().indexOf(6));
+
+        removed.clear();
+        sm.clearSelection();
+        assertTrue(sm.getSelectedIndices().isEmpty());
+        assertEquals(Arrays.asList(itemCount - 1), removed);
+    }
+
+    @Test public void testSelectedIndicesOnlyMatchIntegers() {
+        ListView<String> listView = new ListView<>(FXCollections.observableArrayList("a", "b", "c"));
+        MultipleSelectionModel<String> sm = listView.getSelectionModel();
+        sm.setSelectionMode(SelectionMode.MULTIPLE);
+        sm.selectIndices(0, 2);
+
+        ObservableList<Integer> indices = sm.getSelectedIndices();
+        assertEquals(1, indices.indexOf(2));
+        assertTrue(indices.contains(2));
+        // consistent with List.equals: an index is never equal to a Long or a Double
+        assertEquals(-1, indices.indexOf(2L));
+        assertEquals(-1, indices.lastIndexOf(2.0));
+        assertFalse(indices.contains(2L));
+        assertFalse(indices.contains(2.7));
+        assertEquals(List.of(0, 2), indices);
+    }
 }
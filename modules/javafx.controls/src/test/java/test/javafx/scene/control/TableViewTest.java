@@ -5584,4 +5584,74 @@ public class TableViewTest {
 
         sl.dispose();
     }
+
+    @Test public void testSelectAllRowsOnLargeTable() {
+        final int rowCount = 1_000_000;
+        TableView<String> table = new TableView<>(FXCollections.observableArrayList(Collections.nCopies(rowCount, "row")));
+        table.getColumns().addAll(new TableColumn<String, String>("A"), new TableColumn<String, String>("B"));
+        TableView.TableViewSelectionModel<String> sm = table.getSelectionModel();
+        sm.setSelectionMode(SelectionMode.MULTIPLE);
+
+        AtomicInteger added = new AtomicInteger();
+        sm.getSelectedCells().addListener((ListChangeListener<TablePosition>) c -> {
+            while (c.next()) {
+                added.addAndGet(c.getAddedSize());
+            }
+        });
+
+        sm.selectAll();
+        assertEquals(rowCount, added.get());
+        assertEquals(rowCount, sm.getSelectedCells().size());
+        assertEquals(rowCount, sm.getSelectedIndices().size());
+        assertEquals(765_432, (int) sm.getSelectedIndices().get(765_432));
+        assertEquals(765_432, sm.getSelectedCells().get(765_432).getRow());
+        assertEquals(765_432, sm.getSelectedIndices().indexOf(765_432));
+        assertTrue(sm.isSelected(rowCount - 1));
+
+        sm.clearSelection(10);
+        assertFalse(sm.isSelected(10));
+        assertTrue(sm.isSelected(11));
+        assertEquals(rowCount - 1, sm.getSelectedCells().size());
+        assertEquals(rowCount - 1, sm.getSelectedIndices().size());
+        assertEquals(11, (int) sm.getSelectedIndices().get(10));
+
+        sm.selectAll();
+        sm.clearSelection();
+        assertTrue(sm.getSelectedCells().isEmpty());
+        assertTrue(sm.getSelectedIndices().isEmpty());
+        assertFalse(sm.isSelected(0));
+    }
+
+    @Test public void testSelectAllCellsOnLargeTable() {
+        final int rowCount = 100_000;
+        TableView<String> table = new TableView<>(FXCollections.observableArrayList(Collections.nCopies(rowCount, "row")));
+        TableColumn<String, String> a = new TableColumn<>("A");
+        TableColumn<String, String> b = new TableColumn<>("B");
+        TableColumn<String, String> c = new TableColumn<>("C");
+        table.getColumns().addAll(a, b, c);
+        TableView.TableViewSelectionModel<String> sm = table.getSelectionModel();
+        sm.setSelectionMode(SelectionMode.MULTIPLE);
+        sm.setCellSelectionEnabled(true);
+
+        sm.selectAll();
+        assertEquals(rowCount * 3, sm.getSelectedCells().size());
+        assertEquals(rowCount, sm.getSelectedIndices().size());
+
+        TablePosition pos = sm.getSelectedCells().get(3 * 4321 + 2);
+        assertEquals(4321, pos.getRow());
+        assertEquals(c, pos.getTableColumn());
+        assertTrue(sm.isSelected(4321, b));
+        assertTrue(sm.isSelected(4321, null));
+        assertEquals(rowCount - 1, sm.getSelectedIndex());
+        assertEquals(c, sm.getSelectedCells().get(sm.getSelectedCells().size() - 1).getTableColumn());
+
+        sm.clearSelection(4321, b);
+        assertFalse(sm.isSelected(4321, b));
+        assertTrue(sm.isSelected(4321, a));
+        assertEquals(rowCount * 3 - 1, sm.getSelectedCells().size());
+
+        sm.clearSelection();
+        assertTrue(sm.getSelectedCells().isEmpty());
+        assertTrue(sm.getSelectedIndices().isEmpty());
+    }
 }
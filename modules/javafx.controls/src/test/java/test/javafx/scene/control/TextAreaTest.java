@@ -422,6 +422,42 @@ public class TextAreaTest {
         assertEquals(dummyTxtArea.getParagraphs().get(1).toString(), "another");
     }
 
+    @Test public void setTextDoesNotCopyText() {
+        String text = "dummy\nanother\nthird";
+        dummyTxtArea.setText(text);
+        assertSame(text, dummyTxtArea.getText());
+    }
+
+    @Test public void editLargeTextAndCheckText() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            sb.append("line ").append(i).append('\n');
+        }
+        String text = sb.toString();
+        dummyTxtArea.setText(text);
+        assertEquals(100_001, dummyTxtArea.getParagraphs().size());
+        assertEquals("line 54321", dummyTxtArea.getParagraphs().get(54_321).toString());
+
+        // insert within a paragraph, then across paragraphs
+        int pos = text.indexOf("line 500\n") + 2;
+        dummyTxtArea.insertText(pos, "xx\nyy");
+        text = text.substring(0, pos) + "xx\nyy" + text.substring(pos);
+        assertEquals(text, dummyTxtArea.getText());
+        assertEquals(100_002, dummyTxtArea.getParagraphs().size());
+        assertEquals("lixx", dummyTxtArea.getParagraphs().get(500).toString());
+        assertEquals("yyne 500", dummyTxtArea.getParagraphs().get(501).toString());
+
+        // delete across many paragraphs
+        int start = text.indexOf("line 1000\n") + 4;
+        int end = text.indexOf("line 90000\n") + 4;
+        dummyTxtArea.deleteText(start, end);
+        text = text.substring(0, start) + text.substring(end);
+        assertEquals(text, dummyTxtArea.getText());
+        assertEquals(text.split("\n", -1).length, dummyTxtArea.getParagraphs().size());
+        assertEquals("line 90000", dummyTxtArea.getParagraphs().get(1001).toString());
+        assertEquals(text.substring(start - 10, start + 10), dummyTxtArea.getText(start - 10, start + 10));
+    }
+
     @Test public void appendNormalTextAndCheckText() {
         dummyTxtArea.appendText("another");
         assertEquals(dummyTxtArea.getText(), "dummyanother");
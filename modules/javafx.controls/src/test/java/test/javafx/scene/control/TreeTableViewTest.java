@@ -6662,4 +6662,36 @@ public class TreeTableViewTest {
         observer.check1();
         observer.checkAddRemove(0, treeTableView.getSelectionModel().getSelectedItems(), List.of(c1, c2, c3), 1, 1);
     }
+
+    @Test public void testSelectAllCellsOnLargeTreeTable() {
+        final int childCount = 100_000;
+        TreeItem<String> root = new TreeItem<>("root");
+        root.setExpanded(true);
+        List<TreeItem<String>> children = new ArrayList<>(childCount);
+        for (int i = 0; i < childCount; i++) {
+            children.add(new TreeItem<>("child"));
+        }
+        root.getChildren().setAll(children);
+
+        TreeTableView<String> table = new TreeTableView<>(root);
+        TreeTableColumn<String, String> a = new TreeTableColumn<>("A");
+        TreeTableColumn<String, String> b = new TreeTableColumn<>("B");
+        table.getColumns().addAll(a, b);
+        TreeTableView.TreeTableViewSelectionModel<String> sm = table.getSelectionModel();
+        sm.setSelectionMode(SelectionMode.MULTIPLE);
+        sm.setCellSelectionEnabled(true);
+
+        sm.selectAll();
+        assertEquals((childCount + 1) * 2, sm.getSelectedCells().size());
+        assertEquals(childCount + 1, sm.getSelectedIndices().size());
+
+        TreeTablePosition<String, ?> pos = sm.getSelectedCells().get(2 * 1234 + 1);
+        assertEquals(1234, pos.getRow());
+        assertEquals(b, pos.getTableColumn());
+        assertTrue(sm.isSelected(childCount, a));
+
+        sm.clearSelection();
+        assertTrue(sm.getSelectedCells().isEmpty());
+        assertTrue(sm.getSelectedIndices().isEmpty());
+    }
 }
@@ -3777,6 +3777,104 @@ public class TreeViewTest {
         }
     }
 
+    private static TreeItem<String> createWideTree(int width, int depth) {
+        TreeItem<String> root = new TreeItem<>("root");
+        root.setExpanded(true);
+        addChildren(root, width, depth);
+        return root;
+    }
+
+    private static void addChildren(TreeItem<String> parent, int width, int depth) {
+        List<TreeItem<String>> children = new ArrayList<>(width);
+        for (int i = 0; i < width; i++) {
+            TreeItem<String> child = new TreeItem<>(parent.getValue() + "." + i);
+            if (depth > 1) {
+                child.setExpanded(i % 3 != 1);
+                addChildren(child, width, depth - 1);
+            }
+            children.add(child);
+        }
+        parent.getChildren().setAll(children);
+    }
+
+    private void assertRowsMatchItems() {
+        // walk the tree in row order and check that each row maps to its item
+        List<TreeItem<String>> rows = new ArrayList<>();
+        collectRows(treeView.getRoot(), rows);
+        if (!treeView.isShowRoot()) rows.remove(0);
+        assertEquals(rows.size(), treeView.getExpandedItemCount());
+        for (int row = 0; row < rows.size(); row++) {
+            assertSame(rows.get(row), treeView.getTreeItem(row));
+            assertEquals(row, treeView.getRow(rows.get(row)));
+        }
+        assertNull(treeView.getTreeItem(rows.size()));
+    }
+
+    private static void collectRows(TreeItem<String> item, List<TreeItem<String>> rows) {
+        rows.add(item);
+        if (item.isExpanded()) {
+            for (TreeItem<String> child : item.getChildren()) {
+                collectRows(child, rows);
+            }
+        }
+    }
+
+    @Test
+    public void testRowLookupInWideTree() {
+        treeView.setRoot(createWideTree(12, 3));
+        assertRowsMatchItems();
+        treeView.setShowRoot(false);
+        assertRowsMatchItems();
+    }
+
+    @Test
+    public void testRowLookupAfterExpandCollapseAndChildChanges() {
+        TreeItem<String> root = createWideTree(8, 3);
+        treeView.setRoot(root);
+        assertRowsMatchItems();
+
+        root.getChildren().get(1).setExpanded(true);
+        assertRowsMatchItems();
+        root.getChildren().get(0).getChildren().get(3).setExpanded(false);
+        assertRowsMatchItems();
+        root.getChildren().get(2).getChildren().add(0, new TreeItem<>("added"));
+        assertRowsMatchItems();
+        root.getChildren().remove(4);
+        assertRowsMatchItems();
+        root.getChildren().get(5).getChildren().clear();
+        assertRowsMatchItems();
+        FXCollections.reverse(root.getChildren());
+        assertRowsMatchItems();
+    }
+
+    @Test
+    public void testRowLookupInMillionNodeTree() {
+        TreeItem<String> root = new TreeItem<>("root");
+        root.setExpanded(true);
+        List<TreeItem<String>> children = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            TreeItem<String> child = new TreeItem<>("child " + i);
+            child.setExpanded(true);
+            List<TreeItem<String>> grandChildren = new ArrayList<>();
+            for (int j = 0; j < 1000; j++) {
+                grandChildren.add(new TreeItem<>("leaf " + i + "." + j));
+            }
+            child.getChildren().setAll(grandChildren);
+            children.add(child);
+        }
+        root.getChildren().setAll(children);
+        treeView.setRoot(root);
+
+        assertEquals(1 + 1000 * 1001, treeView.getExpandedItemCount());
+        for (int row = 1; row < treeView.getExpandedItemCount(); row += 997) {
+            TreeItem<String> item = treeView.getTreeItem(row);
+            int i = (row - 1) / 1001;
+            int j = (row - 1) % 1001 - 1;
+            assertEquals(j < 0 ? "child " + i : "leaf " + i + "." + j, item.getValue());
+            assertEquals(row, treeView.getRow(item));
+        }
+    }
+
     public static class MisbehavingOnCancelTreeCell<S> extends TreeCell<S> {
 
         @Override
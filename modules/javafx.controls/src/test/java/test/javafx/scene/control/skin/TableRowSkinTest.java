@@ -28,9 +28,14 @@ package test.javafx.scene.control.skin;
 import com.sun.javafx.tk.Toolkit;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -39,6 +44,7 @@ import test.com.sun.javafx.scene.control.infrastructure.VirtualFlowTestUtils;
 import test.com.sun.javafx.scene.control.test.Person;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class TableRowSkinTest {
 
@@ -94,6 +100,45 @@ public class TableRowSkinTest {
         invisibleColumnsShouldRemoveCorrespondingCellsInRowImpl();
     }
 
+    @Test
+    public void onlyColumnsInViewHaveCellsInRowFixedCellSize() {
+        addColumns(2000);
+        tableView.setPrefWidth(400);
+        tableView.setFixedCellSize(24);
+        Toolkit.getToolkit().firePulse();
+
+        int cellCount = getCellCount(VirtualFlowTestUtils.getCell(tableView, 0));
+        assertTrue("Expected far fewer cells than columns, got " + cellCount, cellCount < 100);
+        assertTrue(hasCellForColumn(VirtualFlowTestUtils.getCell(tableView, 0), 0));
+    }
+
+    @Test
+    public void columnsScrolledIntoViewHaveCellsInRowFixedCellSize() {
+        addColumns(2000);
+        tableView.setPrefWidth(400);
+        tableView.setFixedCellSize(24);
+        Toolkit.getToolkit().firePulse();
+
+        ScrollBar hbar = VirtualFlowTestUtils.getVirtualFlowHorizontalScrollbar(tableView);
+        hbar.setValue(hbar.getMax());
+        Toolkit.getToolkit().firePulse();
+
+        IndexedCell<?> row = VirtualFlowTestUtils.getCell(tableView, 0);
+        int lastColumn = tableView.getVisibleLeafColumns().size() - 1;
+        assertTrue(hasCellForColumn(row, lastColumn));
+        assertTrue(!hasCellForColumn(row, 0));
+        assertTrue(getCellCount(row) < 100);
+    }
+
+    @Test
+    public void allColumnsHaveCellsInRowWithoutFixedCellSize() {
+        addColumns(200);
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(tableView.getVisibleLeafColumns().size(),
+                getCellCount(VirtualFlowTestUtils.getCell(tableView, 0)));
+    }
+
     @After
     public void after() {
         stageLoader.dispose();
@@ -122,4 +167,25 @@ public class TableRowSkinTest {
                 VirtualFlowTestUtils.getCell(tableView, 0).getChildrenUnmodifiable().size());
     }
 
+    private void addColumns(int count) {
+        List<TableColumn<Person, String>> columns = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TableColumn<Person, String> column = new TableColumn<>("Column " + i);
+            column.setCellValueFactory(new PropertyValueFactory<>("firstName"));
+            columns.add(column);
+        }
+        tableView.getColumns().addAll(columns);
+    }
+
+    private static int getCellCount(IndexedCell<?> row) {
+        return (int) row.getChildrenUnmodifiable().stream()
+                .filter(n -> n instanceof TableCell)
+                .count();
+    }
+
+    private boolean hasCellForColumn(IndexedCell<?> row, int columnIndex) {
+        TableColumn<Person, ?> column = tableView.getVisibleLeafColumn(columnIndex);
+        return row.getChildrenUnmodifiable().stream()
+                .anyMatch(n -> n instanceof TableCell && ((TableCell<?, ?>) n).getTableColumn() == column);
+    }
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.control.skin;
+
+import com.sun.javafx.tk.Toolkit;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.skin.TextAreaSkin;
+import javafx.scene.control.skin.TextInputSkinShim;
+import javafx.scene.text.HitInfo;
+import javafx.scene.text.Text;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the virtualized mode of TextAreaSkin, in which the text node holds only
+ * the paragraphs around the viewport.
+ */
+public class TextAreaSkinVirtualizationTest {
+
+    private static final int PARAGRAPH_COUNT = 10000;
+
+    private TextArea textArea;
+    private StageLoader stageLoader;
+
+    @Before public void setup() {
+        TextInputSkinShim.setVirtualize(true);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < PARAGRAPH_COUNT; i++) {
+            if (i > 0) {
+                sb.append('\n');
+            }
+            sb.append("paragraph ").append(i);
+        }
+        textArea = new TextArea(sb.toString());
+        textArea.setSkin(new TextAreaSkin(textArea));
+        textArea.setPrefSize(300, 200);
+        stageLoader = new StageLoader(textArea);
+        layout();
+    }
+
+    @After public void cleanup() {
+        TextInputSkinShim.setVirtualize(false);
+        if (stageLoader != null) {
+            stageLoader.dispose();
+        }
+    }
+
+    private void layout() {
+        // a second pulse lays out the paragraphs scrolled to in the first
+        Toolkit.getToolkit().firePulse();
+        Toolkit.getToolkit().firePulse();
+    }
+
+    private String laidOutText() {
+        return TextInputSkinShim.getTextNode(textArea).getText();
+    }
+
+    private static int paragraphCount(String text) {
+        return text.split("\n", -1).length;
+    }
+
+    private int firstLaidOutParagraph() {
+        String text = laidOutText();
+        int end = text.indexOf('\n');
+        String first = (end < 0) ? text : text.substring(0, end);
+        return Integer.parseInt(first.substring("paragraph ".length()));
+    }
+
+    @Test public void textNodeHoldsOnlyParagraphsAroundViewport() {
+        String text = laidOutText();
+        assertTrue(text.startsWith("paragraph 0\nparagraph 1\n"));
+        assertTrue(paragraphCount(text) < PARAGRAPH_COUNT / 10);
+    }
+
+    @Test public void contentIsSizedForAllParagraphs() {
+        ScrollPane scrollPane = TextInputSkinShim.getScrollPane(textArea);
+        Text textNode = TextInputSkinShim.getTextNode(textArea);
+        double laidOutHeight = textNode.getLayoutBounds().getHeight();
+        int laidOutParagraphs = paragraphCount(laidOutText());
+        double contentHeight = scrollPane.getContent().prefHeight(-1);
+        assertTrue(contentHeight >= laidOutHeight / laidOutParagraphs * PARAGRAPH_COUNT);
+    }
+
+    @Test public void scrollingLaysOutOtherParagraphs() {
+        ScrollPane scrollPane = TextInputSkinShim.getScrollPane(textArea);
+        double contentHeight = scrollPane.getContent().prefHeight(-1);
+        textArea.setScrollTop(contentHeight / 2);
+        layout();
+
+        int first = firstLaidOutParagraph();
+        assertTrue(first > 0);
+        assertTrue(first < PARAGRAPH_COUNT / 2);
+        assertTrue(first + paragraphCount(laidOutText()) > PARAGRAPH_COUNT / 2);
+        assertFalse(laidOutText().startsWith("paragraph 0\n"));
+    }
+
+    @Test public void movingCaretLaysOutItsParagraph() {
+        textArea.positionCaret(textArea.getLength());
+        layout();
+
+        assertTrue(laidOutText().endsWith("paragraph " + (PARAGRAPH_COUNT - 1)));
+        assertTrue(textArea.getScrollTop() > 0);
+    }
+
+    @Test public void editsAreLaidOut() {
+        textArea.insertText(0, "edited ");
+        layout();
+        assertTrue(laidOutText().startsWith("edited paragraph 0\n"));
+
+        textArea.deleteText(0, "edited paragraph 0\n".length());
+        layout();
+        assertTrue(laidOutText().startsWith("paragraph 1\n"));
+    }
+
+    @Test public void hitTestMapsToContent() {
+        textArea.setScrollTop(TextInputSkinShim.getScrollPane(textArea).getContent().prefHeight(-1) / 2);
+        layout();
+
+        TextAreaSkin skin = (TextAreaSkin) textArea.getSkin();
+        Text textNode = TextInputSkinShim.getTextNode(textArea);
+        int first = firstLaidOutParagraph();
+        HitInfo hit = skin.getIndex(textNode.getLayoutX() + 1, textNode.getLayoutY() + 1);
+
+        assertEquals(paragraphStart(first), hit.getInsertionIndex());
+    }
+
+    @Test public void selectionIsMappedToLaidOutText() {
+        textArea.setScrollTop(TextInputSkinShim.getScrollPane(textArea).getContent().prefHeight(-1) / 2);
+        layout();
+
+        int middle = firstLaidOutParagraph() + paragraphCount(laidOutText()) / 2;
+        int start = paragraphStart(middle);
+        textArea.selectRange(start + 1, start + 4);
+        layout();
+
+        Text textNode = TextInputSkinShim.getTextNode(textArea);
+        int windowStart = paragraphStart(firstLaidOutParagraph());
+        assertEquals(start + 1 - windowStart, textNode.getSelectionStart());
+        assertEquals(start + 4 - windowStart, textNode.getSelectionEnd());
+    }
+
+    private int paragraphStart(int paragraph) {
+        return paragraph == 0 ? 0 : textArea.getText().indexOf("\nparagraph " + paragraph + "\n") + 1;
+    }
+}
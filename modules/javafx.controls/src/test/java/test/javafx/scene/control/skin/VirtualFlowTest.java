@@ -38,6 +38,7 @@ import java.util.LinkedList;
 
 import javafx.beans.InvalidationListener;
 import javafx.event.Event;
+import javafx.scene.control.IndexRange;
 import javafx.scene.control.IndexedCell;
 import javafx.scene.Node;
 import javafx.scene.Scene;
@@ -1177,6 +1178,137 @@ public class VirtualFlowTest {
         }
     }
 
+    private double[] variableCellHeights;
+
+    private void createVariableHeightFlow(int cellCount) {
+        variableCellHeights = new double[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            variableCellHeights[i] = i < cellCount / 2 ? 25 : 75;
+        }
+        flow = new VirtualFlowShim();
+        flow.setVertical(true);
+        flow.setCellFactory(p -> new CellStub(flow) {
+            @Override
+            protected double computeMinHeight(double width) {
+                return computePrefHeight(width);
+            }
+
+            @Override
+            protected double computeMaxHeight(double width) {
+                return computePrefHeight(width);
+            }
+
+            @Override
+            protected double computePrefHeight(double width) {
+                int index = getIndex();
+                return index >= 0 && index < variableCellHeights.length ? variableCellHeights[index] : 25;
+            }
+        });
+        flow.setCellCount(cellCount);
+        flow.resize(300, 300);
+        pulse();
+    }
+
+    // each layout pass measures a few more cells, until all are known
+    private void measureAllCells() {
+        for (int i = 0; i < variableCellHeights.length; i++) {
+            flow.requestLayout();
+            pulse();
+        }
+    }
+
+    @Test
+    public void testEstimatedSizeBecomesExactOnceCellsAreMeasured() {
+        createVariableHeightFlow(100);
+        // only the first half, all 25 tall, has been measured so far
+        assertTrue(flow.get_estimatedSize() < 100 * 50);
+
+        measureAllCells();
+        assertEquals(50 * 25 + 50 * 75, flow.get_estimatedSize(), 0);
+    }
+
+    @Test
+    public void testScrollToIsExactOnceCellsAreMeasured() {
+        createVariableHeightFlow(100);
+        measureAllCells();
+
+        flow.scrollTo(60);
+        pulse();
+        double offset = 50 * 25 + 10 * 75;
+        assertEquals(offset / (flow.get_estimatedSize() - 300), flow.getPosition(), 1e-9);
+        IndexedCell cell = flow.getVisibleCell(60);
+        assertEquals(0, flow.getCellPosition(cell), 1e-9);
+    }
+
+    @Test
+    public void testInvalidateCellSizes() {
+        createVariableHeightFlow(100);
+        measureAllCells();
+        assertEquals(5000, flow.get_estimatedSize(), 0);
+
+        for (int i = 0; i < 50; i++) {
+            variableCellHeights[i] = 50;
+        }
+        // the cells would do this themselves when their content changes
+        for (int i = 0; i < VirtualFlowShim.cells_size(flow.cells); i++) {
+            VirtualFlowShim.<IndexedCell>cells_get(flow.cells, i).requestLayout();
+        }
+        flow.get_accumCell().requestLayout();
+        flow.invalidateCellSizes(0, 50);
+        measureAllCells();
+        assertEquals(50 * 50 + 50 * 75, flow.get_estimatedSize(), 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidateCellSizesOutOfRange() {
+        flow.invalidateCellSizes(50, 101);
+    }
+
+    @Test
+    public void testScrollToInMillionCellFlow() {
+        createVariableHeightFlow(1_000_000);
+        flow.scrollTo(999_990);
+        pulse();
+        assertNotNull(flow.getVisibleCell(999_990));
+        flow.scrollTo(500_000);
+        pulse();
+        assertNotNull(flow.getVisibleCell(500_000));
+    }
+
+    @Test
+    public void testPrefetchFollowsScrollDirectionAndSpeed() {
+        List<IndexRange> ranges = new ArrayList<>();
+        flow.setPrefetchHandler(ranges::add);
+        pulse();
+        // nothing is prefetched until the flow is scrolled
+        assertTrue(ranges.isEmpty());
+
+        flow.scrollPixels(25);
+        pulse();
+        assertEquals(1, ranges.size());
+        int last = flow.getLastVisibleCell().getIndex();
+        // ten cells ahead at one cell per pulse
+        assertEquals(new IndexRange(last + 1, last + 11), ranges.get(0));
+
+        flow.scrollPixels(100);
+        pulse();
+        assertEquals(2, ranges.size());
+        last = flow.getLastVisibleCell().getIndex();
+        assertEquals(last + 1, ranges.get(1).getStart());
+        assertTrue(ranges.get(1).getLength() > 10);
+
+        flow.scrollPixels(-50);
+        pulse();
+        assertEquals(3, ranges.size());
+        int first = flow.getFirstVisibleCell().getIndex();
+        assertEquals(new IndexRange(0, first), ranges.get(2));
+
+        // no movement, no prefetch
+        flow.requestLayout();
+        pulse();
+        assertEquals(3, ranges.size());
+    }
+
     @Test
     // see JDK-8252811
     public void testSheetChildrenRemainsConstant() {
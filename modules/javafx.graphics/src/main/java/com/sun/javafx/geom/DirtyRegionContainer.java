@@ -191,6 +191,62 @@ public final class DirtyRegionContainer {
         emptyIndex = 0;
     }
 
+    /**
+     * Gets the sum of the areas of the dirty regions.
+     * @return the total area of the dirty regions
+     */
+    public double getArea() {
+        double area = 0;
+        for (int i = 0; i < emptyIndex; i++) {
+            RectBounds r = dirtyRegions[i];
+            area += (double) r.getWidth() * r.getHeight();
+        }
+        return area;
+    }
+
+    /**
+     * Merges the dirty regions for which painting one region covering both
+     * is estimated to be cheaper than painting them separately. The cost of
+     * painting a set of regions is modelled as their total area plus a fixed
+     * overhead per region, which accounts for finding the render root and
+     * traversing the scene graph once more for each region. Regions are
+     * merged greedily, the pair adding the least area first, until merging
+     * any pair would add at least {@code regionOverhead} to the area.
+     *
+     * @param regionOverhead the cost of a region, expressed as an area
+     */
+    public void optimize(float regionOverhead) {
+        while (emptyIndex > 1) {
+            int i0 = -1, i1 = -1;
+            float minCost = regionOverhead;
+            for (int i = 0; i < emptyIndex - 1; i++) {
+                for (int j = i + 1; j < emptyIndex; j++) {
+                    float cost = mergeCost(i, j);
+                    if (cost < minCost) {
+                        minCost = cost;
+                        i0 = i;
+                        i1 = j;
+                    }
+                }
+            }
+            if (i0 < 0) {
+                return;
+            }
+            // remove both regions, then add back their union, which also
+            // merges it with any other region it now overlaps
+            RectBounds union = dirtyRegions[i1];
+            union.unionWith(dirtyRegions[i0]);
+            dirtyRegions[i1] = dirtyRegions[emptyIndex - 1];
+            dirtyRegions[emptyIndex - 1] = union;
+            emptyIndex--;
+            RectBounds tmp = dirtyRegions[i0];
+            dirtyRegions[i0] = dirtyRegions[emptyIndex - 1];
+            dirtyRegions[emptyIndex - 1] = tmp;
+            emptyIndex--;
+            addDirtyRegion(union);
+        }
+    }
+
     private RectBounds compress(final RectBounds region) {
         compress_heap();
         addDirtyRegion(region);
@@ -327,7 +383,7 @@ public final class DirtyRegionContainer {
         // If so, we can recompute it and push it down (as the new merged region can be
         // only greater than the original region)
         while (((1 << temp[1] | 1 << temp[2]) & invalidMask) > 0) {
-            temp[0] = unifiedRegionArea(resolveMap(map, temp[1]), resolveMap(map, temp[2]));
+            temp[0] = (int) mergeCost(resolveMap(map, temp[1]), resolveMap(map, temp[2]));
             siftDown(0);
             if (heap[0] == temp) {
                 break;
@@ -355,7 +411,13 @@ public final class DirtyRegionContainer {
         return idx;
     }
 
-    private int unifiedRegionArea(int i0, int i1) {
+    /**
+     * Gets the area that would be painted in addition to the two regions if
+     * they were merged, which is a better measure of the cost of a merge than
+     * the area of the union: merging two large adjacent regions is cheap
+     * while merging two small distant ones is expensive.
+     */
+    private float mergeCost(int i0, int i1) {
         RectBounds r0 = dirtyRegions[i0];
         RectBounds r1 = dirtyRegions[i1];
         float minX, minY, maxX, maxY;
@@ -364,7 +426,9 @@ public final class DirtyRegionContainer {
         maxX = r0.getMaxX() > r1.getMaxX() ? r0.getMaxX() : r1.getMaxX();
         maxY = r0.getMaxY() > r1.getMaxY() ? r0.getMaxY() : r1.getMaxY();
 
-        return (int) ((maxX - minX) * (maxY - minY));
+        return (maxX - minX) * (maxY - minY)
+                - r0.getWidth() * r0.getHeight()
+                - r1.getWidth() * r1.getHeight();
     }
     /***************************************************************************
      * Heap-based compressing algorithm
@@ -380,7 +444,7 @@ public final class DirtyRegionContainer {
         int k = 0;
         for (int i = 0; i < dirtyRegions.length - 1; ++i) {
             for (int j = i + 1; j < dirtyRegions.length; ++j) {
-                heap[k][0] = unifiedRegionArea(i, j);
+                heap[k][0] = (int) mergeCost(i, j);
                 heap[k][1] = i;
                 heap[k++][2] = j;
             }
@@ -403,7 +467,7 @@ public final class DirtyRegionContainer {
 //            int i0 = random(dirtyRegions.length);
 //            int i1 = random(dirtyRegions.length);
 //            if (i1 == i0) i1 = (i0 + random(dirtyRegions.length / 2) + 1) % dirtyRegions.length;
-//            heap[i][0] = unifiedRegionArea(i0, i1);
+//            heap[i][0] = (int) mergeCost(i0, i1);
 //            heap[i][1] = i0;
 //            heap[i][2] = i1;
 //        }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.iio;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An encoder for images stored in a given format.
+ */
+public interface ImageEncoder {
+    /**
+     * Gets a description of the image format supported by this encoder.
+     *
+     * @return a description of the image format handled by this encoder.
+     */
+    ImageFormatDescription getFormatDescription();
+
+    /**
+     * Encodes an image and writes it to a stream. Encoders may read and
+     * compress bands of rows of the image on several threads at the same
+     * time, so the pixels of the source should not change until this method
+     * returns. The stream is not closed.
+     *
+     * @param source the pixels of the image to encode.
+     * @param output the stream to write the encoded image to.
+     * @throws IOException if the image could not be written.
+     */
+    void encode(PixelSource source, OutputStream output) throws IOException;
+
+    /**
+     * Supplies the pixels of an image to an encoder, a band of rows at a
+     * time.
+     */
+    interface PixelSource {
+        /**
+         * Gets the width of the image in pixels.
+         *
+         * @return the image width.
+         */
+        int getWidth();
+
+        /**
+         * Gets the height of the image in pixels.
+         *
+         * @return the image height.
+         */
+        int getHeight();
+
+        /**
+         * Copies a band of rows of the image into an array as
+         * non-premultiplied ARGB values, with the rows packed one after
+         * another. This method may be called from several threads at the
+         * same time.
+         *
+         * @param y the index of the first row of the band.
+         * @param h the number of rows in the band.
+         * @param pixels the array to copy the pixels to, at least
+         * {@code getWidth() * h} long.
+         */
+        void getArgb(int y, int h, int[] pixels);
+    }
+}
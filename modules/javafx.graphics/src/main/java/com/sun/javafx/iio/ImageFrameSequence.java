@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.iio;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * The frames of an image, as loaded by {@code ImageStorage.loadSequence}.
+ * Either all frames are decoded up front, or the sequence is streamed: only
+ * the first frame is kept and the others are decoded from the encoded image
+ * data when they are requested. Streamed frames are decoded in order, so
+ * requesting a frame before the one requested last starts decoding over
+ * from the first frame.
+ *
+ * A sequence is thread-safe, but each consumer that requests the frames in
+ * its own order should use its own {@link #copy() copy} of the sequence.
+ */
+public final class ImageFrameSequence {
+    private final ImageFrame[] frames;
+    private final ImageMetadata[] metadata;
+    private final byte[] data;
+    private final int width, height;
+    private final boolean preserveAspectRatio;
+    private final float pixelScale;
+    private final boolean smooth;
+
+    // the loader decoding the streamed frames and the index of its next frame
+    private ImageLoader loader;
+    private int nextIndex;
+
+    ImageFrameSequence(ImageFrame[] frames, ImageMetadata[] metadata, byte[] data,
+            int width, int height, boolean preserveAspectRatio,
+            float pixelScale, boolean smooth) {
+        this.frames = frames;
+        this.metadata = metadata;
+        this.data = data;
+        this.width = width;
+        this.height = height;
+        this.preserveAspectRatio = preserveAspectRatio;
+        this.pixelScale = pixelScale;
+        this.smooth = smooth;
+    }
+
+    /**
+     * Returns a new sequence of the same frames, which decodes streamed
+     * frames independently of this one.
+     */
+    public ImageFrameSequence copy() {
+        return new ImageFrameSequence(frames, metadata, data, width, height,
+                preserveAspectRatio, pixelScale, smooth);
+    }
+
+    // all frames, or the first frame if streamed
+    ImageFrame[] getFrames() {
+        return frames;
+    }
+
+    /**
+     * Returns whether frames after the first one are decoded when they are
+     * requested.
+     */
+    public boolean isStreamed() {
+        return data != null;
+    }
+
+    public int getFrameCount() {
+        return metadata.length;
+    }
+
+    /**
+     * Returns the metadata of the frame at the given index, which is known
+     * without decoding the frame.
+     */
+    public ImageMetadata getMetadata(int index) {
+        return metadata[index];
+    }
+
+    /**
+     * Returns the frame at the given index, decoding it if the sequence is
+     * streamed.
+     */
+    public ImageFrame getFrame(int index) throws ImageStorageException {
+        if (index < 0 || index >= metadata.length) {
+            throw new IndexOutOfBoundsException("frame index: " + index);
+        }
+        if (index < frames.length) {
+            return frames[index];
+        }
+        return decodeFrame(index);
+    }
+
+    private synchronized ImageFrame decodeFrame(int index) throws ImageStorageException {
+        try {
+            if (loader == null || index < nextIndex) {
+                dispose();
+                loader = ImageStorage.getLoaderBySignature(new ByteArrayInputStream(data), null);
+                nextIndex = 0;
+            }
+            ImageFrame frame = null;
+            while (nextIndex <= index) {
+                frame = loader.load(nextIndex++, width, height, preserveAspectRatio, smooth);
+                if (frame == null) {
+                    throw new ImageStorageException("Missing image frame " + (nextIndex - 1));
+                }
+            }
+            frame.setPixelScale(pixelScale);
+            return frame;
+        } catch (IOException e) {
+            dispose();
+            throw new ImageStorageException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Releases the loader decoding streamed frames. Frames requested later
+     * are decoded from the first frame again.
+     */
+    public synchronized void dispose() {
+        if (loader != null) {
+            loader.dispose();
+            loader = null;
+        }
+    }
+}
@@ -54,4 +54,30 @@ public interface ImageLoadListener {
      */
     public void imageLoadMetaData(ImageLoader loader, ImageMetadata metadata);
 
+    /**
+     * Returns whether this listener wants to receive the partially decoded
+     * image through {@link #imageLoadUpdate}. Loaders may need to do extra
+     * work to provide it, so it is only provided if a listener asks for it.
+     *
+     * @return <code>true</code> if this listener receives image updates.
+     */
+    public default boolean receivesImageLoadUpdates() {
+        return false;
+    }
+
+    /**
+     * Invoked when rows of the loading image have been decoded. The loader
+     * continues to write the image data of <code>frame</code> after this
+     * method returns, so the listener must copy the rows it needs before
+     * returning. The rows of an interlaced image are updated once for each
+     * pass, the earlier passes filling the pixels still to be decoded with
+     * nearby decoded pixels.
+     *
+     * @param loader the <code>ImageLoader</code> used to load the image.
+     * @param frame the image being decoded, at the size it is loaded.
+     * @param y the first row updated since the last invocation.
+     * @param height the number of rows updated.
+     */
+    public default void imageLoadUpdate(ImageLoader loader, ImageFrame frame, int y, int height) {
+    }
 }
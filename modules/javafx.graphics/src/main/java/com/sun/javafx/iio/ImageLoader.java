@@ -76,4 +76,28 @@ public interface ImageLoader {
      */
     public ImageFrame load(int imageIndex, int width, int height,
             boolean preserveAspectRatio, boolean smooth) throws IOException;
+
+    /**
+     * Loads a rectangular region of the image at a given index in an image
+     * stream and scales it to the desired size. This allows viewers to show
+     * parts of images that are too large to be loaded as a whole. If no image
+     * exists at that index <code>null</code> will be returned.
+     *
+     * @param imageIndex the zero-relative index of the image to load.
+     * @param x the x coordinate of the region in the image.
+     * @param y the y coordinate of the region in the image.
+     * @param w the width of the region.
+     * @param h the height of the region.
+     * @param width the desired width of the loaded region; if non-positive,
+     * the width of the region will be used.
+     * @param height the desired height of the loaded region; if non-positive,
+     * the height of the region will be used.
+     * @param smooth whether to use a smooth downscaling algorithm.
+     * @return the region of the image at the specified index or
+     * <code>null</code> on error.
+     * @throws IllegalArgumentException if the region is empty or does not
+     * lie within the image.
+     */
+    public ImageFrame loadRegion(int imageIndex, int x, int y, int w, int h,
+            int width, int height, boolean smooth) throws IOException;
 }
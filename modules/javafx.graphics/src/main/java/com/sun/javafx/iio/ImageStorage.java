@@ -26,26 +26,35 @@
 package com.sun.javafx.iio;
 
 import com.sun.javafx.PlatformUtil;
+import com.sun.javafx.iio.ImageEncoder.PixelSource;
 import com.sun.javafx.iio.ImageFormatDescription.Signature;
 import com.sun.javafx.iio.bmp.BMPImageLoaderFactory;
+import com.sun.javafx.iio.common.ImageEncoderImpl;
 import com.sun.javafx.iio.common.ImageTools;
 import com.sun.javafx.iio.gif.GIFImageLoaderFactory;
 import com.sun.javafx.iio.ios.IosImageLoaderFactory;
+import com.sun.javafx.iio.jpeg.JPEGImageEncoder;
 import com.sun.javafx.iio.jpeg.JPEGImageLoaderFactory;
+import com.sun.javafx.iio.png.PNGImageEncoder;
 import com.sun.javafx.iio.png.PNGImageLoaderFactory;
 import com.sun.javafx.util.DataURI;
 
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.SequenceInputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * A convenience class for simple image loading. Factories for creating loaders
- * for image formats must be registered with this class.
+ * A convenience class for simple image loading and writing. Factories for
+ * creating loaders for image formats must be registered with this class.
  */
 public class ImageStorage {
 
@@ -123,6 +132,14 @@ public class ImageStorage {
 
     private static int maxSignatureLength;
 
+    /**
+     * The encoders of the formats images can be written in.
+     */
+    private static final ImageEncoder[] encoders = {
+        new PNGImageEncoder(),
+        new JPEGImageEncoder()
+    };
+
     static {
         if (isIOS) {
             //On iOS we have single factory/ native loader
@@ -257,19 +274,44 @@ public class ImageStorage {
     public static ImageFrame[] loadAll(InputStream input, ImageLoadListener listener,
             double width, double height, boolean preserveAspectRatio,
             float pixelScale, boolean smooth) throws ImageStorageException {
+        ImageFrameSequence images = loadSequence(input, listener, width, height,
+                preserveAspectRatio, pixelScale, smooth, 0);
+        return images != null ? images.getFrames() : null;
+    }
+
+    /**
+     * Load all images present in the specified stream. If the images of an
+     * animated GIF or PNG image take up more than the given number of bytes,
+     * only the first image is decoded up front and the others are decoded
+     * when they are requested. For more details refer to
+     * {@link #loadAll(InputStream, ImageLoadListener, double, double, boolean, float, boolean)}.
+     *
+     * @param maxBytes the number of bytes of decoded images above which the
+     * images are streamed, images are never streamed if this is not positive.
+     * @return the sequence of all images in the specified source or
+     * <code>null</code> on error.
+     */
+    public static ImageFrameSequence loadSequence(InputStream input, ImageLoadListener listener,
+            double width, double height, boolean preserveAspectRatio,
+            float pixelScale, boolean smooth, long maxBytes) throws ImageStorageException {
         ImageLoader loader = null;
-        ImageFrame[] images = null;
+        ImageFrameSequence images = null;
 
         try {
+            RecordingInputStream recording = null;
             if (isIOS) {
                 // no extension/signature recognition done here,
                 // we always want the iOS native loader
                 loader = IosImageLoaderFactory.getInstance().createImageLoader(input);
             } else {
+                if (maxBytes > 0) {
+                    input = recording = new RecordingInputStream(input);
+                }
                 loader = getLoaderBySignature(input, listener);
             }
             if (loader != null) {
-                images = loadAll(loader, width, height, preserveAspectRatio, pixelScale, smooth);
+                images = loadSequence(loader, recording, width, height,
+                        preserveAspectRatio, pixelScale, smooth, maxBytes);
             } else {
                 throw new ImageStorageException("No loader for image data");
             }
@@ -292,14 +334,28 @@ public class ImageStorage {
     public static ImageFrame[] loadAll(String input, ImageLoadListener listener,
             double width, double height, boolean preserveAspectRatio,
             float devPixelScale, boolean smooth) throws ImageStorageException {
+        ImageFrameSequence images = loadSequence(input, listener, width, height,
+                preserveAspectRatio, devPixelScale, smooth, 0);
+        return images != null ? images.getFrames() : null;
+    }
+
+    /**
+     * Load all images present in the specified input, streaming the images of
+     * large animations. For more details refer to
+     * {@link #loadSequence(InputStream, ImageLoadListener, double, double, boolean, float, boolean, long)}.
+     */
+    public static ImageFrameSequence loadSequence(String input, ImageLoadListener listener,
+            double width, double height, boolean preserveAspectRatio,
+            float devPixelScale, boolean smooth, long maxBytes) throws ImageStorageException {
 
         if (input == null || input.isEmpty()) {
             throw new ImageStorageException("URL can't be null or empty");
         }
 
-        ImageFrame[] images = null;
+        ImageFrameSequence images = null;
         InputStream theStream = null;
         ImageLoader loader = null;
+        RecordingInputStream recording = null;
 
         try {
             float imgPixelScale = 1.0f;
@@ -334,6 +390,9 @@ public class ImageStorage {
 
                 if (isIOS) {
                     loader = IosImageLoaderFactory.getInstance().createImageLoader(theStream);
+                } else if (maxBytes > 0) {
+                    recording = new RecordingInputStream(theStream);
+                    loader = getLoaderBySignature(recording, listener);
                 } else {
                     loader = getLoaderBySignature(theStream, listener);
                 }
@@ -342,7 +401,8 @@ public class ImageStorage {
             }
 
             if (loader != null) {
-                images = loadAll(loader, width, height, preserveAspectRatio, imgPixelScale, smooth);
+                images = loadSequence(loader, recording, width, height,
+                        preserveAspectRatio, imgPixelScale, smooth, maxBytes);
             } else {
                 throw new ImageStorageException("No loader for image data");
             }
@@ -361,6 +421,108 @@ public class ImageStorage {
         return images;
     }
 
+    /**
+     * Load a rectangular region of the first image in the specified stream
+     * and scale it to the given size. Loaders which support it decode only
+     * the rows of the image up to the end of the region, and scale rows as
+     * they are decoded. For more details refer to
+     * {@link ImageLoader#loadRegion(int, int, int, int, int, int, int, boolean)}.
+     *
+     * @throws IllegalArgumentException if the region is empty or does not
+     * lie within the image.
+     */
+    public static ImageFrame loadRegion(InputStream input, ImageLoadListener listener,
+            int x, int y, int w, int h, int width, int height,
+            boolean smooth) throws ImageStorageException {
+        ImageLoader loader = null;
+
+        try {
+            if (isIOS) {
+                loader = IosImageLoaderFactory.getInstance().createImageLoader(input);
+            } else {
+                loader = getLoaderBySignature(input, listener);
+            }
+            if (loader == null) {
+                throw new ImageStorageException("No loader for image data");
+            }
+            return loader.loadRegion(0, x, y, w, h, width, height, smooth);
+        } catch (IOException e) {
+            throw new ImageStorageException(e.getMessage(), e);
+        } finally {
+            if (loader != null) {
+                loader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Gets the encoder for a given image format.
+     *
+     * @param format the format name or file extension of the format, for
+     * example "png" or "jpg", in any case.
+     * @return the encoder or <code>null</code> if images can't be written in
+     * the format.
+     */
+    public static ImageEncoder getEncoder(String format) {
+        String name = format.toLowerCase(Locale.ROOT);
+        for (ImageEncoder encoder : encoders) {
+            ImageFormatDescription desc = encoder.getFormatDescription();
+            if (desc.getFormatName().toLowerCase(Locale.ROOT).equals(name)
+                    || desc.getExtensions().contains(name)) {
+                return encoder;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes an image in a given format to a stream. The stream is not
+     * closed.
+     *
+     * @param source the pixels of the image.
+     * @param format the format name or file extension of the format.
+     * @param output the stream to write the image to.
+     * @throws IllegalArgumentException if images can't be written in the
+     * format.
+     */
+    public static void writeImage(PixelSource source, String format,
+            OutputStream output) throws ImageStorageException {
+        try {
+            findEncoder(format).encode(source, output);
+        } catch (ImageStorageException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new ImageStorageException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes an image in a given format to a stream on a background thread.
+     * The image is encoded on several threads, directly from the source, so
+     * its pixels should not change until the returned future completes. The
+     * stream is not closed.
+     *
+     * @param source the pixels of the image.
+     * @param format the format name or file extension of the format.
+     * @param output the stream to write the image to.
+     * @return a future which is completed once the image has been written,
+     * or completed exceptionally if writing it fails.
+     * @throws IllegalArgumentException if images can't be written in the
+     * format.
+     */
+    public static CompletableFuture<Void> writeImageAsync(PixelSource source,
+            String format, OutputStream output) {
+        return ImageEncoderImpl.encodeAsync(findEncoder(format), source, output);
+    }
+
+    private static ImageEncoder findEncoder(String format) {
+        ImageEncoder encoder = getEncoder(format);
+        if (encoder == null) {
+            throw new IllegalArgumentException("Unsupported image format: " + format);
+        }
+        return encoder;
+    }
+
     private static synchronized int getMaxSignatureLength() {
         if (maxSignatureLength < 0) {
             maxSignatureLength = 0;
@@ -376,15 +538,21 @@ public class ImageStorage {
         return maxSignatureLength;
     }
 
-    private static ImageFrame[] loadAll(ImageLoader loader,
+    private static ImageFrameSequence loadSequence(ImageLoader loader,
+            RecordingInputStream recording,
             double width, double height, boolean preserveAspectRatio,
-            float pixelScale, boolean smooth) throws ImageStorageException {
-        ImageFrame[] images = null;
+            float pixelScale, boolean smooth, long maxBytes) throws ImageStorageException {
         ArrayList<ImageFrame> list = new ArrayList<ImageFrame>();
+        ArrayList<ImageMetadata> metadata = new ArrayList<ImageMetadata>();
         int imageIndex = 0;
         ImageFrame image = null;
         int imgw = (int) Math.round(width * pixelScale);
         int imgh = (int) Math.round(height * pixelScale);
+        long bytes = 0;
+        boolean streamed = false;
+        if (recording != null) {
+            recording.stopUnlessAnimated(loader);
+        }
         do {
             try {
                 image = loader.load(imageIndex++, imgw, imgh, preserveAspectRatio, smooth);
@@ -398,17 +566,31 @@ public class ImageStorage {
             }
             if (image != null) {
                 image.setPixelScale(pixelScale);
-                list.add(image);
+                metadata.add(image.getMetadata());
+                bytes += (long) image.getStride() * image.getHeight();
+                if (!streamed && imageIndex > 1 && bytes > maxBytes
+                        && recording != null && recording.isRecording()) {
+                    // only the first image is kept, the others are decoded
+                    // again from the recorded data when they are requested
+                    streamed = true;
+                    list.subList(1, list.size()).clear();
+                }
+                if (!streamed) {
+                    list.add(image);
+                }
             } else {
                 break;
             }
         } while (true);
         int numImages = list.size();
-        if (numImages > 0) {
-            images = new ImageFrame[numImages];
-            list.toArray(images);
+        if (numImages == 0) {
+            return null;
         }
-        return images;
+        ImageFrame[] images = new ImageFrame[numImages];
+        list.toArray(images);
+        return new ImageFrameSequence(images, metadata.toArray(new ImageMetadata[0]),
+                streamed ? recording.toByteArray() : null,
+                imgw, imgh, preserveAspectRatio, pixelScale, smooth);
     }
 
 //    private static ImageLoader getLoaderByExtension(String input, ImageLoadListener listener) {
@@ -433,7 +615,7 @@ public class ImageStorage {
 //        return loader;
 //    }
 
-    private static ImageLoader getLoaderBySignature(InputStream stream, ImageLoadListener listener) throws IOException {
+    static ImageLoader getLoaderBySignature(InputStream stream, ImageLoadListener listener) throws IOException {
         byte[] header = new byte[getMaxSignatureLength()];
         ImageTools.readFully(stream, header);
 
@@ -455,6 +637,111 @@ public class ImageStorage {
         return null;
     }
 
+    /*
+     * Records the data read from an image stream, so that the images of an
+     * animation can be decoded again from it. Recording stops once the first
+     * image of the stream turns out not to be part of an animation.
+     */
+    private static final class RecordingInputStream extends FilterInputStream {
+        private byte[] buffer = new byte[8192];
+        private int count;
+
+        RecordingInputStream(InputStream in) {
+            super(in);
+        }
+
+        boolean isRecording() {
+            return buffer != null;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, count);
+        }
+
+        void stop() {
+            buffer = null;
+        }
+
+        // only GIF and PNG images may be animated, and their loaders report
+        // the delay of the images of an animation before decoding them
+        void stopUnlessAnimated(ImageLoader loader) {
+            String format = loader.getFormatDescription().getFormatName();
+            if (!"GIF".equals(format) && !"PNG".equals(format)) {
+                stop();
+                return;
+            }
+            loader.addListener(new ImageLoadListener() {
+                private boolean firstImage = true;
+
+                @Override
+                public void imageLoadProgress(ImageLoader loader, float percentageComplete) {
+                }
+
+                @Override
+                public void imageLoadWarning(ImageLoader loader, String message) {
+                }
+
+                @Override
+                public void imageLoadMetaData(ImageLoader loader, ImageMetadata metadata) {
+                    if (firstImage && metadata.delayTime == null) {
+                        stop();
+                    }
+                    firstImage = false;
+                }
+            });
+        }
+
+        private void record(byte[] b, int off, int len) {
+            if (buffer == null || len <= 0) {
+                return;
+            }
+            if (count + len > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(count + len, buffer.length * 2));
+            }
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                record(new byte[] {(byte) b}, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            record(b, off, n);
+            return n;
+        }
+
+        // skipped data is read, so that it is recorded as well
+        @Override
+        public long skip(long n) throws IOException {
+            if (buffer == null) {
+                return in.skip(n);
+            }
+            byte[] skipped = new byte[(int) Math.min(n, 8192)];
+            long total = 0;
+            while (total < n) {
+                int r = read(skipped, 0, (int) Math.min(n - total, skipped.length));
+                if (r < 0) {
+                    break;
+                }
+                total += r;
+            }
+            return total;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
     private ImageStorage() {
     }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.iio.common;
+
+import com.sun.javafx.iio.ImageEncoder;
+import com.sun.javafx.iio.ImageFormatDescription;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Base class of the image encoders. Encoders split an image into strips of
+ * rows which are encoded independently on the threads of a shared pool and
+ * then written to the stream in order.
+ */
+public abstract class ImageEncoderImpl implements ImageEncoder {
+
+    /**
+     * The approximate number of bytes of pixel data in a strip.
+     */
+    protected static final int STRIP_SIZE = 256 * 1024;
+
+    private static final int THREAD_COUNT =
+            Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    private static final ThreadPoolExecutor executor = createExecutor();
+
+    protected ImageFormatDescription formatDescription;
+
+    protected ImageEncoderImpl(ImageFormatDescription formatDescription) {
+        if (formatDescription == null) {
+            throw new IllegalArgumentException("formatDescription == null!");
+        }
+
+        this.formatDescription = formatDescription;
+    }
+
+    public final ImageFormatDescription getFormatDescription() {
+        return formatDescription;
+    }
+
+    /**
+     * Encodes an image on a thread of the encoder pool.
+     *
+     * @param encoder the encoder to use.
+     * @param source the pixels of the image to encode.
+     * @param output the stream to write the encoded image to, which is not
+     * closed.
+     * @return a future which is completed once the image has been written,
+     * or completed exceptionally if encoding fails.
+     */
+    public static CompletableFuture<Void> encodeAsync(ImageEncoder encoder,
+            PixelSource source, OutputStream output) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                encoder.encode(source, output);
+                result.complete(null);
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Writes an encoded strip of an image.
+     */
+    protected interface StripWriter<T> {
+        void write(int index, T strip) throws IOException;
+    }
+
+    /**
+     * Encodes strips of an image on the threads of the encoder pool and
+     * passes them to a writer in order. Only a few strips per thread are
+     * encoded ahead of the writer so that the memory used is bounded. The
+     * calling thread encodes a strip itself when no pool thread has started
+     * it yet, so encoding never waits for a busy pool.
+     *
+     * @param count the number of strips.
+     * @param encoder encodes the strip with a given index.
+     * @param writer writes the encoded strips.
+     */
+    protected static <T> void encodeStrips(int count, IntFunction<T> encoder,
+            StripWriter<T> writer) throws IOException {
+        if (count == 1) {
+            writer.write(0, encoder.apply(0));
+            return;
+        }
+
+        int ahead = 2 * THREAD_COUNT;
+        ArrayDeque<FutureTask<T>> pending = new ArrayDeque<>(ahead);
+        int next = 0;
+        try {
+            for (int i = 0; i < count; i++) {
+                while (next < count && next < i + ahead) {
+                    int index = next++;
+                    FutureTask<T> task = new FutureTask<>(() -> encoder.apply(index));
+                    pending.add(task);
+                    executor.execute(task);
+                }
+                FutureTask<T> task = pending.remove();
+                task.run();
+                writer.write(i, getStrip(task));
+            }
+        } finally {
+            for (FutureTask<T> task : pending) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    private static <T> T getStrip(FutureTask<T> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                THREAD_COUNT, THREAD_COUNT, 1, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            @SuppressWarnings("removal")
+            Thread t = AccessController.doPrivileged((PrivilegedAction<Thread>) () -> {
+                Thread th = new Thread(r, "Image Encoder");
+                th.setDaemon(true);
+                return th;
+            });
+            return t;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
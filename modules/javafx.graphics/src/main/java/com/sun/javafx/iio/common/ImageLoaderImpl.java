@@ -26,9 +26,11 @@
 package com.sun.javafx.iio.common;
 
 import com.sun.javafx.iio.ImageFormatDescription;
+import com.sun.javafx.iio.ImageFrame;
 import com.sun.javafx.iio.ImageLoadListener;
 import com.sun.javafx.iio.ImageLoader;
 import com.sun.javafx.iio.ImageMetadata;
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Iterator;
 
@@ -63,6 +65,25 @@ public abstract class ImageLoaderImpl implements ImageLoader {
         }
     }
 
+    /**
+     * Loads the whole image and crops the region from it. Loaders which can
+     * decode a region without decoding the whole image override this method.
+     */
+    public ImageFrame loadRegion(int imageIndex, int x, int y, int w, int h,
+            int width, int height, boolean smooth) throws IOException {
+        ImageFrame image = load(imageIndex, 0, 0, false, smooth);
+        if (image == null) {
+            return null;
+        }
+        ImageTools.checkRegion(image.getWidth(), image.getHeight(), x, y, w, h);
+        int[] outWH = ImageTools.computeDimensions(w, h, width, height, false);
+        ImageFrame region = ImageTools.cropImageFrame(image, x, y, w, h);
+        if (outWH[0] != w || outWH[1] != h) {
+            region = ImageTools.scaleImageFrame(region, outWH[0], outWH[1], smooth);
+        }
+        return region;
+    }
+
     protected void emitWarning(String warning) {
         if(listeners != null && !listeners.isEmpty()) {
             Iterator<ImageLoadListener> iter = listeners.iterator();
@@ -88,6 +109,29 @@ public abstract class ImageLoaderImpl implements ImageLoader {
         }
     }
 
+    protected boolean hasImageLoadUpdateListeners() {
+        if (listeners != null) {
+            for (ImageLoadListener l : listeners) {
+                if (l.receivesImageLoadUpdates()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    protected void updateImageData(ImageFrame frame, int y, int height) {
+        if (listeners != null && !listeners.isEmpty()) {
+            Iterator<ImageLoadListener> iter = listeners.iterator();
+            while (iter.hasNext()) {
+                ImageLoadListener l = iter.next();
+                if (l.receivesImageLoadUpdates()) {
+                    l.imageLoadUpdate(this, frame, y, height);
+                }
+            }
+        }
+    }
+
     protected void updateImageMetadata(ImageMetadata metadata) {
         if(listeners != null && !listeners.isEmpty()) {
             Iterator<ImageLoadListener> iter = listeners.iterator();
@@ -729,6 +729,44 @@ public class ImageTools {
 
         return scaler.getDestination();
     }
+
+    /**
+     * Checks that a region is not empty and lies within an image.
+     *
+     * @throws IllegalArgumentException if it does not
+     */
+    public static void checkRegion(int imageWidth, int imageHeight,
+            int x, int y, int w, int h)
+    {
+        if (w <= 0 || h <= 0 || x < 0 || y < 0 ||
+                x > imageWidth - w || y > imageHeight - h) {
+            throw new IllegalArgumentException("Region " + x + ", " + y + ", " +
+                    w + "x" + h + " is not within the image bounds " +
+                    imageWidth + "x" + imageHeight);
+        }
+    }
+
+    /**
+     * Copies a region of an image into a new image.
+     */
+    public static ImageFrame cropImageFrame(ImageFrame src,
+            int x, int y, int w, int h)
+    {
+        if (x == 0 && y == 0 && w == src.getWidth() && h == src.getHeight()) {
+            return src;
+        }
+        int numBands = ImageStorage.getNumBands(src.getImageType());
+        ByteBuffer srcBuf = ((ByteBuffer) src.getImageData()).duplicate();
+        int srcStride = src.getStride();
+        int dstStride = w * numBands;
+        byte[] dst = new byte[dstStride * h];
+        for (int row = 0; row < h; row++) {
+            srcBuf.position((y + row) * srcStride + x * numBands);
+            srcBuf.get(dst, row * dstStride, dstStride);
+        }
+        return new ImageFrame(src.getImageType(), ByteBuffer.wrap(dst),
+                w, h, dstStride, src.getPalette(), src.getMetadata());
+    }
 //    public static final java.awt.image.BufferedImage getAsBufferedImage(Image prismImage) {
 //        java.awt.image.BufferedImage image = null;
 //
@@ -0,0 +1,549 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.iio.jpeg;
+
+import com.sun.javafx.iio.ImageStorageException;
+import com.sun.javafx.iio.common.ImageEncoderImpl;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Encodes images as baseline JFIF JPEG images with YCbCr components that
+ * are not subsampled. The alpha channel is dropped.
+ *
+ * <p>The image is divided into strips of rows of 8x8 blocks which are
+ * entropy coded independently on several threads, separated by restart
+ * markers. The standard quantization tables of the JPEG specification are
+ * scaled by the quality the same way as libjpeg does, and the standard
+ * Huffman tables are used.</p>
+ */
+public final class JPEGImageEncoder extends ImageEncoderImpl {
+
+    public static final float DEFAULT_QUALITY = 0.9f;
+
+    private static final int SOI = 0xD8;
+    private static final int EOI = 0xD9;
+    private static final int APP0 = 0xE0;
+    private static final int DQT = 0xDB;
+    private static final int SOF0 = 0xC0;
+    private static final int DHT = 0xC4;
+    private static final int DRI = 0xDD;
+    private static final int SOS = 0xDA;
+    private static final int RST0 = 0xD0;
+
+    private static final int MAX_SIZE = 65535;
+
+    private static final int[] ZIGZAG = {
+         0,  1,  8, 16,  9,  2,  3, 10,
+        17, 24, 32, 25, 18, 11,  4,  5,
+        12, 19, 26, 33, 40, 48, 41, 34,
+        27, 20, 13,  6,  7, 14, 21, 28,
+        35, 42, 49, 56, 57, 50, 43, 36,
+        29, 22, 15, 23, 30, 37, 44, 51,
+        58, 59, 52, 45, 38, 31, 39, 46,
+        53, 60, 61, 54, 47, 55, 62, 63
+    };
+
+    private static final int[] LUMINANCE_QUANTIZATION = {
+        16, 11, 10, 16,  24,  40,  51,  61,
+        12, 12, 14, 19,  26,  58,  60,  55,
+        14, 13, 16, 24,  40,  57,  69,  56,
+        14, 17, 22, 29,  51,  87,  80,  62,
+        18, 22, 37, 56,  68, 109, 103,  77,
+        24, 35, 55, 64,  81, 104, 113,  92,
+        49, 64, 78, 87, 103, 121, 120, 101,
+        72, 92, 95, 98, 112, 100, 103,  99
+    };
+
+    private static final int[] CHROMINANCE_QUANTIZATION = {
+        17, 18, 24, 47, 99, 99, 99, 99,
+        18, 21, 26, 66, 99, 99, 99, 99,
+        24, 26, 56, 99, 99, 99, 99, 99,
+        47, 66, 99, 99, 99, 99, 99, 99,
+        99, 99, 99, 99, 99, 99, 99, 99,
+        99, 99, 99, 99, 99, 99, 99, 99,
+        99, 99, 99, 99, 99, 99, 99, 99,
+        99, 99, 99, 99, 99, 99, 99, 99
+    };
+
+    private static final int[] DC_LUMINANCE_BITS = {
+        0, 1, 5, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0
+    };
+    private static final int[] DC_LUMINANCE_VALUES = {
+        0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11
+    };
+    private static final int[] DC_CHROMINANCE_BITS = {
+        0, 3, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0
+    };
+    private static final int[] DC_CHROMINANCE_VALUES = DC_LUMINANCE_VALUES;
+
+    private static final int[] AC_LUMINANCE_BITS = {
+        0, 2, 1, 3, 3, 2, 4, 3, 5, 5, 4, 4, 0, 0, 1, 0x7d
+    };
+    private static final int[] AC_LUMINANCE_VALUES = {
+        0x01, 0x02, 0x03, 0x00, 0x04, 0x11, 0x05, 0x12,
+        0x21, 0x31, 0x41, 0x06, 0x13, 0x51, 0x61, 0x07,
+        0x22, 0x71, 0x14, 0x32, 0x81, 0x91, 0xa1, 0x08,
+        0x23, 0x42, 0xb1, 0xc1, 0x15, 0x52, 0xd1, 0xf0,
+        0x24, 0x33, 0x62, 0x72, 0x82, 0x09, 0x0a, 0x16,
+        0x17, 0x18, 0x19, 0x1a, 0x25, 0x26, 0x27, 0x28,
+        0x29, 0x2a, 0x34, 0x35, 0x36, 0x37, 0x38, 0x39,
+        0x3a, 0x43, 0x44, 0x45, 0x46, 0x47, 0x48, 0x49,
+        0x4a, 0x53, 0x54, 0x55, 0x56, 0x57, 0x58, 0x59,
+        0x5a, 0x63, 0x64, 0x65, 0x66, 0x67, 0x68, 0x69,
+        0x6a, 0x73, 0x74, 0x75, 0x76, 0x77, 0x78, 0x79,
+        0x7a, 0x83, 0x84, 0x85, 0x86, 0x87, 0x88, 0x89,
+        0x8a, 0x92, 0x93, 0x94, 0x95, 0x96, 0x97, 0x98,
+        0x99, 0x9a, 0xa2, 0xa3, 0xa4, 0xa5, 0xa6, 0xa7,
+        0xa8, 0xa9, 0xaa, 0xb2, 0xb3, 0xb4, 0xb5, 0xb6,
+        0xb7, 0xb8, 0xb9, 0xba, 0xc2, 0xc3, 0xc4, 0xc5,
+        0xc6, 0xc7, 0xc8, 0xc9, 0xca, 0xd2, 0xd3, 0xd4,
+        0xd5, 0xd6, 0xd7, 0xd8, 0xd9, 0xda, 0xe1, 0xe2,
+        0xe3, 0xe4, 0xe5, 0xe6, 0xe7, 0xe8, 0xe9, 0xea,
+        0xf1, 0xf2, 0xf3, 0xf4, 0xf5, 0xf6, 0xf7, 0xf8,
+        0xf9, 0xfa
+    };
+
+    private static final int[] AC_CHROMINANCE_BITS = {
+        0, 2, 1, 2, 4, 4, 3, 4, 7, 5, 4, 4, 0, 1, 2, 0x77
+    };
+    private static final int[] AC_CHROMINANCE_VALUES = {
+        0x00, 0x01, 0x02, 0x03, 0x11, 0x04, 0x05, 0x21,
+        0x31, 0x06, 0x12, 0x41, 0x51, 0x07, 0x61, 0x71,
+        0x13, 0x22, 0x32, 0x81, 0x08, 0x14, 0x42, 0x91,
+        0xa1, 0xb1, 0xc1, 0x09, 0x23, 0x33, 0x52, 0xf0,
+        0x15, 0x62, 0x72, 0xd1, 0x0a, 0x16, 0x24, 0x34,
+        0xe1, 0x25, 0xf1, 0x17, 0x18, 0x19, 0x1a, 0x26,
+        0x27, 0x28, 0x29, 0x2a, 0x35, 0x36, 0x37, 0x38,
+        0x39, 0x3a, 0x43, 0x44, 0x45, 0x46, 0x47, 0x48,
+        0x49, 0x4a, 0x53, 0x54, 0x55, 0x56, 0x57, 0x58,
+        0x59, 0x5a, 0x63, 0x64, 0x65, 0x66, 0x67, 0x68,
+        0x69, 0x6a, 0x73, 0x74, 0x75, 0x76, 0x77, 0x78,
+        0x79, 0x7a, 0x82, 0x83, 0x84, 0x85, 0x86, 0x87,
+        0x88, 0x89, 0x8a, 0x92, 0x93, 0x94, 0x95, 0x96,
+        0x97, 0x98, 0x99, 0x9a, 0xa2, 0xa3, 0xa4, 0xa5,
+        0xa6, 0xa7, 0xa8, 0xa9, 0xaa, 0xb2, 0xb3, 0xb4,
+        0xb5, 0xb6, 0xb7, 0xb8, 0xb9, 0xba, 0xc2, 0xc3,
+        0xc4, 0xc5, 0xc6, 0xc7, 0xc8, 0xc9, 0xca, 0xd2,
+        0xd3, 0xd4, 0xd5, 0xd6, 0xd7, 0xd8, 0xd9, 0xda,
+        0xe2, 0xe3, 0xe4, 0xe5, 0xe6, 0xe7, 0xe8, 0xe9,
+        0xea, 0xf2, 0xf3, 0xf4, 0xf5, 0xf6, 0xf7, 0xf8,
+        0xf9, 0xfa
+    };
+
+    // scale factors of the AAN forward DCT, cos(k * PI / 16) * sqrt(2)
+    // for k > 0
+    private static final double[] AAN_SCALE = {
+        1.0, 1.387039845, 1.306562965, 1.175875602,
+        1.0, 0.785694958, 0.541196100, 0.275899379
+    };
+
+    private static final HuffmanTable DC_LUMINANCE =
+            new HuffmanTable(DC_LUMINANCE_BITS, DC_LUMINANCE_VALUES);
+    private static final HuffmanTable DC_CHROMINANCE =
+            new HuffmanTable(DC_CHROMINANCE_BITS, DC_CHROMINANCE_VALUES);
+    private static final HuffmanTable AC_LUMINANCE =
+            new HuffmanTable(AC_LUMINANCE_BITS, AC_LUMINANCE_VALUES);
+    private static final HuffmanTable AC_CHROMINANCE =
+            new HuffmanTable(AC_CHROMINANCE_BITS, AC_CHROMINANCE_VALUES);
+
+    private final int[] luminanceTable;
+    private final int[] chrominanceTable;
+    private final float[] luminanceDivisors;
+    private final float[] chrominanceDivisors;
+
+    public JPEGImageEncoder() {
+        this(DEFAULT_QUALITY);
+    }
+
+    /**
+     * Creates an encoder which compresses images with a given quality.
+     *
+     * @param quality the quality from 0 to 1, where 1 is the best quality.
+     */
+    public JPEGImageEncoder(float quality) {
+        super(JPEGDescriptor.getInstance());
+        if (!(quality >= 0f && quality <= 1f)) {
+            throw new IllegalArgumentException("Invalid quality: " + quality);
+        }
+        int q = Math.max(1, Math.round(quality * 100));
+        int scale = q < 50 ? 5000 / q : 200 - q * 2;
+        luminanceTable = scaleTable(LUMINANCE_QUANTIZATION, scale);
+        chrominanceTable = scaleTable(CHROMINANCE_QUANTIZATION, scale);
+        luminanceDivisors = computeDivisors(luminanceTable);
+        chrominanceDivisors = computeDivisors(chrominanceTable);
+    }
+
+    private static int[] scaleTable(int[] table, int scale) {
+        int[] scaled = new int[64];
+        for (int i = 0; i < 64; i++) {
+            scaled[i] = Math.max(1, Math.min(255, (table[i] * scale + 50) / 100));
+        }
+        return scaled;
+    }
+
+    private static float[] computeDivisors(int[] table) {
+        float[] divisors = new float[64];
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                divisors[row * 8 + col] = (float) (1.0 /
+                        (table[row * 8 + col] * AAN_SCALE[row] * AAN_SCALE[col] * 8.0));
+            }
+        }
+        return divisors;
+    }
+
+    @Override
+    public void encode(PixelSource source, OutputStream output) throws IOException {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid image size: " + width + "x" + height);
+        }
+        if (width > MAX_SIZE || height > MAX_SIZE) {
+            throw new ImageStorageException("Image too large for JPEG: " + width + "x" + height);
+        }
+
+        int blocksPerRow = (width + 7) / 8;
+        int blockRows = (height + 7) / 8;
+        // the restart interval is counted in blocks and may not exceed 65535
+        int stripBlockRows = Math.max(1, Math.min(STRIP_SIZE / (width * 4 * 8),
+                                                  MAX_SIZE / blocksPerRow));
+        int stripCount = (blockRows + stripBlockRows - 1) / stripBlockRows;
+
+        DataOutputStream out = new DataOutputStream(output);
+        writeMarker(out, SOI);
+        writeHeaders(out, width, height);
+        if (stripCount > 1) {
+            writeMarker(out, DRI);
+            out.writeShort(4);
+            out.writeShort(stripBlockRows * blocksPerRow);
+        }
+        writeScanHeader(out);
+
+        encodeStrips(stripCount,
+                index -> encodeStrip(source, index * stripBlockRows * 8,
+                        Math.min(stripBlockRows, blockRows - index * stripBlockRows)),
+                (index, strip) -> {
+                    out.write(strip.data, 0, strip.length);
+                    if (index < stripCount - 1) {
+                        writeMarker(out, RST0 + (index & 7));
+                    }
+                });
+
+        writeMarker(out, EOI);
+        out.flush();
+    }
+
+    private void writeHeaders(DataOutputStream out, int width, int height) throws IOException {
+        writeMarker(out, APP0);
+        out.writeShort(16);
+        out.writeBytes("JFIF");
+        out.writeByte(0);
+        out.writeShort(0x0101); // version 1.01
+        out.writeByte(0);       // no units, aspect ratio only
+        out.writeShort(1);
+        out.writeShort(1);
+        out.writeShort(0);      // no thumbnail
+
+        writeMarker(out, DQT);
+        out.writeShort(2 + 2 * 65);
+        out.writeByte(0);
+        for (int i = 0; i < 64; i++) {
+            out.writeByte(luminanceTable[ZIGZAG[i]]);
+        }
+        out.writeByte(1);
+        for (int i = 0; i < 64; i++) {
+            out.writeByte(chrominanceTable[ZIGZAG[i]]);
+        }
+
+        writeMarker(out, SOF0);
+        out.writeShort(8 + 3 * 3);
+        out.writeByte(8);
+        out.writeShort(height);
+        out.writeShort(width);
+        out.writeByte(3);
+        for (int c = 1; c <= 3; c++) {
+            out.writeByte(c);
+            out.writeByte(0x11);            // no subsampling
+            out.writeByte(c == 1 ? 0 : 1);  // quantization table
+        }
+
+        writeMarker(out, DHT);
+        out.writeShort(2 + DC_LUMINANCE.getLength() + AC_LUMINANCE.getLength()
+                + DC_CHROMINANCE.getLength() + AC_CHROMINANCE.getLength());
+        DC_LUMINANCE.write(out, 0x00);
+        AC_LUMINANCE.write(out, 0x10);
+        DC_CHROMINANCE.write(out, 0x01);
+        AC_CHROMINANCE.write(out, 0x11);
+    }
+
+    private static void writeScanHeader(DataOutputStream out) throws IOException {
+        writeMarker(out, SOS);
+        out.writeShort(6 + 2 * 3);
+        out.writeByte(3);
+        for (int c = 1; c <= 3; c++) {
+            out.writeByte(c);
+            out.writeByte(c == 1 ? 0x00 : 0x11); // DC and AC tables
+        }
+        out.writeByte(0);  // spectral selection start
+        out.writeByte(63); // spectral selection end
+        out.writeByte(0);  // successive approximation
+    }
+
+    private static void writeMarker(DataOutputStream out, int marker) throws IOException {
+        out.writeByte(0xFF);
+        out.writeByte(marker);
+    }
+
+    private BitWriter encodeStrip(PixelSource source, int y, int blockRows) {
+        int width = source.getWidth();
+        int rows = Math.min(blockRows * 8, source.getHeight() - y);
+        int[] argb = new int[rows * width];
+        source.getArgb(y, rows, argb);
+
+        BitWriter bits = new BitWriter(Math.max(256, rows * width / 2));
+        float[] yBlock = new float[64];
+        float[] cbBlock = new float[64];
+        float[] crBlock = new float[64];
+        int[] coefficients = new int[64];
+        int yPred = 0, cbPred = 0, crPred = 0;
+
+        for (int by = 0; by < blockRows; by++) {
+            for (int bx = 0; bx < width; bx += 8) {
+                // edge blocks are padded by repeating the last row and column
+                for (int j = 0; j < 8; j++) {
+                    int row = Math.min(by * 8 + j, rows - 1);
+                    for (int i = 0; i < 8; i++) {
+                        int p = argb[row * width + Math.min(bx + i, width - 1)];
+                        float r = (p >> 16) & 0xff;
+                        float g = (p >> 8) & 0xff;
+                        float b = p & 0xff;
+                        int k = j * 8 + i;
+                        yBlock[k] = 0.299f * r + 0.587f * g + 0.114f * b - 128f;
+                        cbBlock[k] = -0.168736f * r - 0.331264f * g + 0.5f * b;
+                        crBlock[k] = 0.5f * r - 0.418688f * g - 0.081312f * b;
+                    }
+                }
+                quantize(yBlock, luminanceDivisors, coefficients);
+                yPred = encodeBlock(bits, coefficients, yPred, DC_LUMINANCE, AC_LUMINANCE);
+                quantize(cbBlock, chrominanceDivisors, coefficients);
+                cbPred = encodeBlock(bits, coefficients, cbPred, DC_CHROMINANCE, AC_CHROMINANCE);
+                quantize(crBlock, chrominanceDivisors, coefficients);
+                crPred = encodeBlock(bits, coefficients, crPred, DC_CHROMINANCE, AC_CHROMINANCE);
+            }
+        }
+        bits.flush();
+        return bits;
+    }
+
+    /**
+     * Transforms a block with the floating point AAN forward DCT and
+     * quantizes the coefficients, with the scale factors of the DCT folded
+     * into the divisors.
+     */
+    private static void quantize(float[] block, float[] divisors, int[] coefficients) {
+        for (int pass = 0; pass < 2; pass++) {
+            // rows in the first pass, columns in the second one
+            int step = pass == 0 ? 1 : 8;
+            int next = pass == 0 ? 8 : 1;
+            for (int n = 0, o = 0; n < 8; n++, o += next) {
+                float d0 = block[o];
+                float d1 = block[o + step];
+                float d2 = block[o + 2 * step];
+                float d3 = block[o + 3 * step];
+                float d4 = block[o + 4 * step];
+                float d5 = block[o + 5 * step];
+                float d6 = block[o + 6 * step];
+                float d7 = block[o + 7 * step];
+
+                float tmp0 = d0 + d7;
+                float tmp7 = d0 - d7;
+                float tmp1 = d1 + d6;
+                float tmp6 = d1 - d6;
+                float tmp2 = d2 + d5;
+                float tmp5 = d2 - d5;
+                float tmp3 = d3 + d4;
+                float tmp4 = d3 - d4;
+
+                // even part
+                float tmp10 = tmp0 + tmp3;
+                float tmp13 = tmp0 - tmp3;
+                float tmp11 = tmp1 + tmp2;
+                float tmp12 = tmp1 - tmp2;
+
+                block[o] = tmp10 + tmp11;
+                block[o + 4 * step] = tmp10 - tmp11;
+
+                float z1 = (tmp12 + tmp13) * 0.707106781f;
+                block[o + 2 * step] = tmp13 + z1;
+                block[o + 6 * step] = tmp13 - z1;
+
+                // odd part
+                tmp10 = tmp4 + tmp5;
+                tmp11 = tmp5 + tmp6;
+                tmp12 = tmp6 + tmp7;
+
+                float z5 = (tmp10 - tmp12) * 0.382683433f;
+                float z2 = 0.541196100f * tmp10 + z5;
+                float z4 = 1.306562965f * tmp12 + z5;
+                float z3 = tmp11 * 0.707106781f;
+
+                float z11 = tmp7 + z3;
+                float z13 = tmp7 - z3;
+
+                block[o + 5 * step] = z13 + z2;
+                block[o + 3 * step] = z13 - z2;
+                block[o + step] = z11 + z4;
+                block[o + 7 * step] = z11 - z4;
+            }
+        }
+        for (int i = 0; i < 64; i++) {
+            coefficients[i] = Math.round(block[i] * divisors[i]);
+        }
+    }
+
+    private static int encodeBlock(BitWriter bits, int[] coefficients, int pred,
+                                   HuffmanTable dcTable, HuffmanTable acTable) {
+        int dc = coefficients[0];
+        int diff = dc - pred;
+        int size = bitLength(diff);
+        dcTable.write(bits, size);
+        if (size != 0) {
+            bits.write(diff < 0 ? diff - 1 : diff, size);
+        }
+
+        int run = 0;
+        for (int k = 1; k < 64; k++) {
+            int v = coefficients[ZIGZAG[k]];
+            if (v == 0) {
+                run++;
+                continue;
+            }
+            while (run > 15) {
+                acTable.write(bits, 0xF0);
+                run -= 16;
+            }
+            size = bitLength(v);
+            acTable.write(bits, (run << 4) | size);
+            bits.write(v < 0 ? v - 1 : v, size);
+            run = 0;
+        }
+        if (run > 0) {
+            acTable.write(bits, 0x00);
+        }
+        return dc;
+    }
+
+    private static int bitLength(int v) {
+        return 32 - Integer.numberOfLeadingZeros(Math.abs(v));
+    }
+
+    private static final class HuffmanTable {
+        private final int[] bits;
+        private final int[] values;
+        private final int[] codes = new int[256];
+        private final int[] sizes = new int[256];
+
+        HuffmanTable(int[] bits, int[] values) {
+            this.bits = bits;
+            this.values = values;
+            int code = 0;
+            int k = 0;
+            for (int length = 1; length <= 16; length++) {
+                for (int i = 0; i < bits[length - 1]; i++) {
+                    codes[values[k]] = code++;
+                    sizes[values[k]] = length;
+                    k++;
+                }
+                code <<= 1;
+            }
+        }
+
+        int getLength() {
+            return 1 + 16 + values.length;
+        }
+
+        void write(DataOutputStream out, int tableClassAndId) throws IOException {
+            out.writeByte(tableClassAndId);
+            for (int b : bits) {
+                out.writeByte(b);
+            }
+            for (int v : values) {
+                out.writeByte(v);
+            }
+        }
+
+        void write(BitWriter out, int symbol) {
+            out.write(codes[symbol], sizes[symbol]);
+        }
+    }
+
+    /**
+     * Collects entropy coded data, inserting a zero byte after each 0xFF
+     * byte.
+     */
+    private static final class BitWriter {
+        byte[] data;
+        int length;
+        private int buffer;
+        private int count;
+
+        BitWriter(int capacity) {
+            data = new byte[capacity];
+        }
+
+        void write(int value, int size) {
+            buffer = (buffer << size) | (value & ((1 << size) - 1));
+            count += size;
+            while (count >= 8) {
+                count -= 8;
+                writeByte((buffer >> count) & 0xff);
+            }
+        }
+
+        /**
+         * Pads the last byte with one bits.
+         */
+        void flush() {
+            if (count > 0) {
+                write(0x7f, 8 - count);
+            }
+        }
+
+        private void writeByte(int b) {
+            if (length + 2 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[length++] = (byte) b;
+            if (b == 0xff) {
+                data[length++] = 0;
+            }
+        }
+    }
+}
@@ -43,12 +43,17 @@ import java.io.InputStream;
  * this point be positioned at the first byte of the data field after the last
  * IDAT chunk (which could be the first byte of the CRC code if the length is
  * zero).</p>
+ *
+ * <p>The stream may instead expose the fdAT chunks holding the image data of
+ * a later frame of an animated PNG, without their sequence numbers.</p>
  */
 public class PNGIDATChunkInputStream extends InputStream {
 
     static final int IDAT_TYPE = 0x49444154;
+    static final int fdAT_TYPE = 0x66644154;
 
     private DataInputStream source;
+    private final int dataChunkType;
     private int numBytesAvailable = 0;
     private boolean foundAllIDATChunks = false;
     private int nextChunkLength = 0;
@@ -63,11 +68,36 @@ public class PNGIDATChunkInputStream extends InputStream {
      * IDAT chunk.
      */
     PNGIDATChunkInputStream(DataInputStream input, int firstIDATChunkLength) throws IOException {
-        if (firstIDATChunkLength < 0) {
+        this(input, firstIDATChunkLength, IDAT_TYPE);
+    }
+
+    /**
+     * Create the stream of the data of the chunks of the given type.
+     *
+     * @param input stream positioned at the beginning of the data field of the
+     * first chunk.
+     * @param firstChunkLength the length of the data field of the first chunk.
+     * @param chunkType either IDAT or fdAT.
+     */
+    PNGIDATChunkInputStream(DataInputStream input, int firstChunkLength, int chunkType) throws IOException {
+        if (firstChunkLength < 0) {
             throw new IOException("Invalid chunk length");
         }
         this.source = input;
-        this.numBytesAvailable = firstIDATChunkLength;
+        this.dataChunkType = chunkType;
+        this.numBytesAvailable = dataLength(firstChunkLength);
+    }
+
+    // fdAT chunks start with a sequence number before the image data
+    private int dataLength(int chunkLength) throws IOException {
+        if (dataChunkType != fdAT_TYPE) {
+            return chunkLength;
+        }
+        if (chunkLength < 4) {
+            throw new IOException("Invalid chunk length");
+        }
+        ImageTools.skipFully(source, 4);
+        return chunkLength - 4;
     }
 
     private void nextChunk() throws IOException {
@@ -78,8 +108,8 @@ public class PNGIDATChunkInputStream extends InputStream {
                 throw new IOException("Invalid chunk length");
             }
             int chunkType = source.readInt();
-            if (chunkType == IDAT_TYPE) {
-                numBytesAvailable += chunkLength;
+            if (chunkType == dataChunkType) {
+                numBytesAvailable += dataLength(chunkLength);
             } else {
                 foundAllIDATChunks = true;
                 nextChunkLength = chunkLength;
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.iio.png;
+
+import com.sun.javafx.iio.common.ImageEncoderImpl;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Encodes images as 8 bit RGBA PNG images.
+ *
+ * <p>The rows are filtered and deflated in strips on several threads. Each
+ * strip except the last one ends with a sync flush, so the compressed
+ * strips can be concatenated into a single zlib stream, and the checksum of
+ * the stream is combined from the checksums of the strips. The encoded
+ * strips are written as one IDAT chunk each.</p>
+ */
+public final class PNGImageEncoder extends ImageEncoderImpl {
+
+    private static final byte[] SIGNATURE = {
+        (byte) 137, 80, 78, 71, 13, 10, 26, 10
+    };
+
+    private static final int IHDR_TYPE = 0x49484452;
+    private static final int IDAT_TYPE = 0x49444154;
+    private static final int IEND_TYPE = 0x49454e44;
+
+    private static final int PNG_COLOR_RGB_ALPHA = 6;
+
+    private static final int PNG_FILTER_NONE = 0;
+    private static final int PNG_FILTER_SUB = 1;
+    private static final int PNG_FILTER_UP = 2;
+    private static final int PNG_FILTER_AVERAGE = 3;
+    private static final int PNG_FILTER_PAETH = 4;
+
+    private static final int BYTES_PER_PIXEL = 4;
+
+    // a zlib header for a deflate stream with a 32K window, default level
+    private static final byte[] ZLIB_HEADER = { 0x78, (byte) 0x9c };
+
+    private static final int ADLER_BASE = 65521;
+
+    private final int compressionLevel;
+
+    public PNGImageEncoder() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Creates an encoder which compresses image data at a given level.
+     *
+     * @param compressionLevel the compression level, from 0 to 9, or
+     * {@code Deflater.DEFAULT_COMPRESSION}.
+     */
+    public PNGImageEncoder(int compressionLevel) {
+        super(PNGDescriptor.getInstance());
+        if ((compressionLevel < 0 || compressionLevel > 9)
+                && compressionLevel != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + compressionLevel);
+        }
+        this.compressionLevel = compressionLevel;
+    }
+
+    private static final class Strip {
+        final byte[] data;
+        final int length;
+        final int rawLength;
+        final int adler;
+
+        Strip(byte[] data, int length, int rawLength, int adler) {
+            this.data = data;
+            this.length = length;
+            this.rawLength = rawLength;
+            this.adler = adler;
+        }
+    }
+
+    @Override
+    public void encode(PixelSource source, OutputStream output) throws IOException {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid image size: " + width + "x" + height);
+        }
+
+        long rowBytes = 1 + (long) width * BYTES_PER_PIXEL;
+        if (rowBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Image too wide: " + width);
+        }
+        int stripRows = (int) Math.max(1, STRIP_SIZE / rowBytes);
+        int stripCount = (height + stripRows - 1) / stripRows;
+
+        DataOutputStream out = new DataOutputStream(output);
+        out.write(SIGNATURE);
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+        DataOutputStream headerOut = new DataOutputStream(header);
+        headerOut.writeInt(width);
+        headerOut.writeInt(height);
+        headerOut.writeByte(8);
+        headerOut.writeByte(PNG_COLOR_RGB_ALPHA);
+        headerOut.writeByte(0); // compression method
+        headerOut.writeByte(0); // filter method
+        headerOut.writeByte(0); // no interlace
+        writeChunk(out, IHDR_TYPE, header.toByteArray(), header.size(), null, null);
+
+        int[] adler = { 1 };
+        encodeStrips(stripCount,
+                index -> encodeStrip(source, index * stripRows,
+                        Math.min(stripRows, height - index * stripRows),
+                        index == stripCount - 1),
+                (index, strip) -> {
+                    adler[0] = combineAdler32(adler[0], strip.adler, strip.rawLength);
+                    byte[] trailer = null;
+                    if (index == stripCount - 1) {
+                        int a = adler[0];
+                        trailer = new byte[] {
+                            (byte) (a >>> 24), (byte) (a >>> 16), (byte) (a >>> 8), (byte) a
+                        };
+                    }
+                    writeChunk(out, IDAT_TYPE, strip.data, strip.length,
+                               index == 0 ? ZLIB_HEADER : null, trailer);
+                });
+
+        writeChunk(out, IEND_TYPE, new byte[0], 0, null, null);
+        out.flush();
+    }
+
+    private Strip encodeStrip(PixelSource source, int y, int h, boolean last) {
+        int width = source.getWidth();
+        int rowBytes = width * BYTES_PER_PIXEL;
+
+        // fetch the row above the strip as well, the filters refer to it
+        int firstRow = y > 0 ? y - 1 : y;
+        int rows = h + (y - firstRow);
+        int[] argb = new int[rows * width];
+        source.getArgb(firstRow, rows, argb);
+
+        byte[] prev = new byte[rowBytes];
+        byte[] cur = new byte[rowBytes];
+        byte[][] filtered = new byte[5][rowBytes];
+        byte[] raw = new byte[h * (rowBytes + 1)];
+
+        int row = 0;
+        if (y > 0) {
+            toRGBA(argb, 0, width, prev);
+            row = 1;
+        }
+        int rawOffset = 0;
+        for (; row < rows; row++) {
+            toRGBA(argb, row * width, width, cur);
+            int filter = filterRow(cur, prev, filtered);
+            raw[rawOffset++] = (byte) filter;
+            System.arraycopy(filter == PNG_FILTER_NONE ? cur : filtered[filter], 0,
+                             raw, rawOffset, rowBytes);
+            rawOffset += rowBytes;
+            byte[] t = prev;
+            prev = cur;
+            cur = t;
+        }
+
+        Adler32 adler = new Adler32();
+        adler.update(raw, 0, raw.length);
+
+        Deflater deflater = new Deflater(compressionLevel, true);
+        try {
+            deflater.setInput(raw);
+            byte[] data = new byte[Math.max(64, raw.length / 4)];
+            int length = 0;
+            if (last) {
+                deflater.finish();
+            }
+            while (true) {
+                if (length == data.length) {
+                    data = Arrays.copyOf(data, data.length * 2);
+                }
+                int n = deflater.deflate(data, length, data.length - length,
+                        last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+                length += n;
+                if (last ? deflater.finished() : length < data.length) {
+                    break;
+                }
+            }
+            return new Strip(data, length, raw.length, (int) adler.getValue());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void toRGBA(int[] argb, int offset, int width, byte[] rgba) {
+        for (int x = 0, i = 0; x < width; x++) {
+            int p = argb[offset + x];
+            rgba[i++] = (byte) (p >> 16);
+            rgba[i++] = (byte) (p >> 8);
+            rgba[i++] = (byte) p;
+            rgba[i++] = (byte) (p >> 24);
+        }
+    }
+
+    /**
+     * Filters a row with each filter type and picks the one whose output has
+     * the smallest sum of absolute values, as suggested by the PNG
+     * specification.
+     *
+     * @return the filter type, the filtered row is in filtered[type] unless
+     * the type is PNG_FILTER_NONE
+     */
+    private static int filterRow(byte[] cur, byte[] prev, byte[][] filtered) {
+        int length = cur.length;
+        byte[] sub = filtered[PNG_FILTER_SUB];
+        byte[] up = filtered[PNG_FILTER_UP];
+        byte[] avg = filtered[PNG_FILTER_AVERAGE];
+        byte[] paeth = filtered[PNG_FILTER_PAETH];
+
+        long sumNone = 0, sumSub = 0, sumUp = 0, sumAvg = 0, sumPaeth = 0;
+        for (int i = 0; i < length; i++) {
+            int x = cur[i] & 0xff;
+            int a = i >= BYTES_PER_PIXEL ? cur[i - BYTES_PER_PIXEL] & 0xff : 0;
+            int b = prev[i] & 0xff;
+            int c = i >= BYTES_PER_PIXEL ? prev[i - BYTES_PER_PIXEL] & 0xff : 0;
+
+            byte v;
+            sumNone += Math.abs((byte) x);
+            v = (byte) (x - a);
+            sub[i] = v;
+            sumSub += Math.abs(v);
+            v = (byte) (x - b);
+            up[i] = v;
+            sumUp += Math.abs(v);
+            v = (byte) (x - ((a + b) >> 1));
+            avg[i] = v;
+            sumAvg += Math.abs(v);
+            v = (byte) (x - paethPredictor(a, b, c));
+            paeth[i] = v;
+            sumPaeth += Math.abs(v);
+        }
+
+        int filter = PNG_FILTER_NONE;
+        long min = sumNone;
+        if (sumSub < min) {
+            filter = PNG_FILTER_SUB;
+            min = sumSub;
+        }
+        if (sumUp < min) {
+            filter = PNG_FILTER_UP;
+            min = sumUp;
+        }
+        if (sumAvg < min) {
+            filter = PNG_FILTER_AVERAGE;
+            min = sumAvg;
+        }
+        if (sumPaeth < min) {
+            filter = PNG_FILTER_PAETH;
+        }
+        return filter;
+    }
+
+    private static int paethPredictor(int a, int b, int c) {
+        int p = a + b - c;
+        int pa = Math.abs(p - a);
+        int pb = Math.abs(p - b);
+        int pc = Math.abs(p - c);
+        if (pa <= pb && pa <= pc) {
+            return a;
+        }
+        return pb <= pc ? b : c;
+    }
+
+    /**
+     * Computes the Adler-32 checksum of two concatenated blocks of data from
+     * the checksums of the blocks, the same way as zlib's adler32_combine.
+     */
+    static int combineAdler32(int adler1, int adler2, long length2) {
+        long rem = length2 % ADLER_BASE;
+        long sum1 = adler1 & 0xffff;
+        long sum2 = (rem * sum1) % ADLER_BASE;
+        sum1 += (adler2 & 0xffff) + ADLER_BASE - 1;
+        sum2 += ((adler1 >>> 16) & 0xffff) + ((adler2 >>> 16) & 0xffff) + ADLER_BASE - rem;
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum2 >= (ADLER_BASE << 1)) {
+            sum2 -= (ADLER_BASE << 1);
+        }
+        if (sum2 >= ADLER_BASE) {
+            sum2 -= ADLER_BASE;
+        }
+        return (int) (sum1 | (sum2 << 16));
+    }
+
+    private static void writeChunk(DataOutputStream out, int type,
+            byte[] data, int length, byte[] prefix, byte[] suffix) throws IOException {
+        int prefixLength = prefix == null ? 0 : prefix.length;
+        int suffixLength = suffix == null ? 0 : suffix.length;
+        out.writeInt(prefixLength + length + suffixLength);
+        out.writeInt(type);
+
+        CRC32 crc = new CRC32();
+        crc.update(type >>> 24);
+        crc.update(type >>> 16);
+        crc.update(type >>> 8);
+        crc.update(type);
+        if (prefix != null) {
+            out.write(prefix);
+            crc.update(prefix);
+        }
+        out.write(data, 0, length);
+        crc.update(data, 0, length);
+        if (suffix != null) {
+            out.write(suffix);
+            crc.update(suffix);
+        }
+        out.writeInt((int) crc.getValue());
+    }
+}
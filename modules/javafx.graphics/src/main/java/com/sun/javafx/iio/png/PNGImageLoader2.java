@@ -26,6 +26,7 @@
 /*
  * loader implementation for PNG file format
  * specification http://www.w3.org/TR/PNG/
+ * animated PNG (APNG) https://wiki.mozilla.org/APNG_Specification
  */
 package com.sun.javafx.iio.png;
 
@@ -33,6 +34,8 @@ import com.sun.javafx.iio.*;
 import com.sun.javafx.iio.common.*;
 import java.io.*;
 import java.nio.ByteBuffer;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.Arrays;
 import java.util.zip.*;
 
@@ -48,6 +51,19 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
     static final int IEND_TYPE = 0x49454e44;
     // Ancillary chunks
     static final int tRNS_TYPE = 0x74524e53;
+    // Animation chunks
+    static final int acTL_TYPE = 0x6163544c;
+    static final int fcTL_TYPE = 0x6663544c;
+    static final int fdAT_TYPE = 0x66644154;
+    // disposal of the region of an animation frame before the next frame
+    static final int APNG_DISPOSE_OP_NONE = 0;
+    static final int APNG_DISPOSE_OP_BACKGROUND = 1;
+    static final int APNG_DISPOSE_OP_PREVIOUS = 2;
+    // blending of an animation frame with the previous frames
+    static final int APNG_BLEND_OP_SOURCE = 0;
+    static final int APNG_BLEND_OP_OVER = 1;
+    // the delay of animation frames without one, as for GIF
+    static final int DEFAULT_FRAME_DELAY = 1000 / 25;
     // color model
     static final int PNG_COLOR_GRAY = 0;
     static final int PNG_COLOR_RGB = 2;
@@ -62,6 +78,15 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
     static final int PNG_FILTER_UP = 2;
     static final int PNG_FILTER_AVERAGE = 3;
     static final int PNG_FILTER_PAETH = 4;
+
+    // the minimum amount of inflated image data for which inflating it is
+    // pipelined with decoding the scanlines
+    static final int PIPELINE_THRESHOLD = 1024 * 1024;
+
+    @SuppressWarnings("removal")
+    private static final boolean pipelined = AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> !"false".equals(System.getProperty("com.sun.javafx.iio.png.pipelined")))
+            && Runtime.getRuntime().availableProcessors() > 1;
     // data stream
     private final DataInputStream stream;
     private int width, height, bitDepth, colorType;
@@ -72,6 +97,16 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
     private int trnsR, trnsG, trnsB;
     // Palette data : r,g,b,[a]  -  alpha optional
     private byte palette[][];
+    // animation control, numFrames is 0 if the image is not animated
+    private int numFrames, numPlays;
+    // the control of the next animation frame, if frameControlRead
+    private boolean frameControlRead;
+    private int frameX, frameY, frameWidth, frameHeight, frameDelay;
+    private int disposeOp, blendOp;
+    // the animation frame being composed, RGBA
+    private byte canvas[];
+    // the header of the chunk after the image data of the last frame
+    private int pendingChunk[];
 
     public PNGImageLoader2(InputStream input) throws IOException {
         super(PNGDescriptor.getInstance());
@@ -141,6 +176,11 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
     }
 
     private int[] readChunk() throws IOException {
+        if (pendingChunk != null) {
+            int chunk[] = pendingChunk;
+            pendingChunk = null;
+            return chunk;
+        }
         return new int[]{stream.readInt(), stream.readInt()};
     }
 
@@ -266,6 +306,48 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         }
     }
 
+    private void parseAnimationControlChunk(int chunkLength) throws IOException {
+        if (chunkLength != 8) {
+            emitWarning("Invalid acTL chunk length, ignoring animation.");
+            skip(chunkLength);
+            return;
+        }
+        numFrames = Math.max(stream.readInt(), 0);
+        numPlays = Math.max(stream.readInt(), 0);
+    }
+
+    private void parseFrameControlChunk(int chunkLength) throws IOException {
+        if (numFrames == 0) {
+            // not an animated image
+            skip(chunkLength);
+            return;
+        }
+        if (chunkLength != 26) {
+            throw new IOException("Bad APNG frame control");
+        }
+        int sequenceNumber = stream.readInt();
+        frameWidth = stream.readInt();
+        frameHeight = stream.readInt();
+        frameX = stream.readInt();
+        frameY = stream.readInt();
+        int delayNum = stream.readUnsignedShort();
+        int delayDen = stream.readUnsignedShort();
+        disposeOp = stream.readByte();
+        blendOp = stream.readByte();
+
+        if (frameWidth <= 0 || frameHeight <= 0 || frameX < 0 || frameY < 0
+                || (long) frameX + frameWidth > width
+                || (long) frameY + frameHeight > height) {
+            throw new IOException("Wrong APNG frame size");
+        }
+
+        frameDelay = delayNum * 1000 / (delayDen == 0 ? 100 : delayDen);
+        if (frameDelay == 0) {
+            frameDelay = DEFAULT_FRAME_DELAY;
+        }
+        frameControlRead = true;
+    }
+
     // return sizeof first IDAT chunk or 0 of error
     private int parsePngMeta() throws IOException {
         while (true) {
@@ -285,6 +367,40 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
                 case tRNS_TYPE:
                     parseTransparencyChunk(chunk[0]);
                     break;
+                case acTL_TYPE:
+                    parseAnimationControlChunk(chunk[0]);
+                    break;
+                case fcTL_TYPE:
+                    parseFrameControlChunk(chunk[0]);
+                    break;
+                default:
+                    skip(chunk[0]);
+            }
+            int crc = stream.readInt();
+        }
+    }
+
+    // reads the chunks up to the image data of the next animation frame,
+    // returns the size of its first fdAT chunk or -1 if there are no more
+    private int findFrameData() throws IOException {
+        while (true) {
+            int chunk[] = readChunk();
+
+            if (chunk[0] < 0) {
+                throw new IOException("Invalid chunk length");
+            }
+            switch (chunk[1]) {
+                case fcTL_TYPE:
+                    parseFrameControlChunk(chunk[0]);
+                    break;
+                case fdAT_TYPE:
+                    if (frameControlRead) {
+                        return chunk[0];
+                    }
+                    skip(chunk[0]);
+                    break;
+                case IEND_TYPE:
+                    return -1;
                 default:
                     skip(chunk[0]);
             }
@@ -292,6 +408,15 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         }
     }
 
+    // reads the rest of the image data of a frame, the header of the chunk
+    // after the data is read as well and returned by the next readChunk()
+    private void finishImageData(PNGIDATChunkInputStream iDat) throws IOException {
+        byte buffer[] = new byte[4096];
+        while (iDat.read(buffer, 0, buffer.length) != -1) {
+        }
+        pendingChunk = new int[]{iDat.getNextChunkLength(), iDat.getNextChunkType()};
+    }
+
     public void dispose() {
     }
 
@@ -316,21 +441,21 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         }
     }
 
-    private void doSubFilter(byte line[], int bpp) {
+    private static void doSubFilter(byte line[], int bpp) {
         int l = line.length;
         for (int i = bpp; i != l; ++i) {
             line[i] = (byte) (line[i] + line[i - bpp]);
         }
     }
 
-    private void doUpFilter(byte line[], byte pline[]) {
+    private static void doUpFilter(byte line[], byte pline[]) {
         int l = line.length;
         for (int i = 0; i != l; ++i) {
             line[i] = (byte) (line[i] + pline[i]);
         }
     }
 
-    private void doAvrgFilter(byte line[], byte pline[], int bpp) {
+    private static void doAvrgFilter(byte line[], byte pline[], int bpp) {
         int l = line.length;
         for (int i = 0; i != bpp; ++i) {
             line[i] = (byte) (line[i] + (pline[i] & 0xFF) / 2);
@@ -349,7 +474,7 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         return (pa <= pb && pa <= pc) ? a : (pb <= pc) ? b : c;
     }
 
-    private void doPaethFilter(byte line[], byte pline[], int bpp) {
+    private static void doPaethFilter(byte line[], byte pline[], int bpp) {
         int l = line.length;
         for (int i = 0; i != bpp; ++i) {
             line[i] = (byte) (line[i] + pline[i]);
@@ -360,7 +485,7 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         }
     }
 
-    private void doFilter(byte line[], byte pline[], int fType, int bpp) {
+    static void doFilter(byte line[], byte pline[], int fType, int bpp) {
         switch (fType) {
             case PNG_FILTER_SUB:
                 doSubFilter(line, bpp);
@@ -529,7 +654,7 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         return start[mip] + pos * increment[mip];
     }
 
-    private void loadMip(byte image[], InputStream data, int mip) throws IOException {
+    private void loadMip(byte image[], InputStream data, int mip, boolean fillBlocks) throws IOException {
 
         int mipWidth = mipSize(width, mip, starting_x, increment_x);
         int mipHeight = mipSize(height, mip, starting_y, increment_y);
@@ -543,26 +668,14 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         int resultBpp = bpp(), srcBpp = numBandsPerColorType[colorType] * bytesPerColor();
 
         for (int y = 0; y != mipHeight; ++y) {
-            int filterByte = data.read();
-            if (filterByte == -1) {
-                throw new EOFException();
-            }
-
-            if (data.read(scanLine0) != scanLineSize) {
-                throw new EOFException();
-            }
-
-            doFilter(scanLine0, scanLine1, filterByte, srcBpp);
+            readScanLine(data, scanLine0, scanLine1, srcBpp);
 
             int pos = (mipPos(y, mip, starting_y, increment_y) * width + starting_x[mip]) * resultBpp;
             int step = increment_x[mip];
 
-            if (bitDepth == 16) {
-                downsample16to8(scanLine0, image, pos, step, resultBpp);
-            } else if (bitDepth < 8) {
-                upsampleTo8(scanLine0, image, pos, mipWidth, step, resultBpp);
-            } else {
-                copy(scanLine0, image, pos, step, resultBpp);
+            convertScanLine(scanLine0, image, pos, mipWidth, step, resultBpp);
+            if (fillBlocks && mip < 6) {
+                fillMipBlocks(image, mip, y, resultBpp);
             }
 
             byte scanLineSwp[] = scanLine0;
@@ -571,15 +684,185 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         }
     }
 
-    private void load(byte image[], InputStream data) throws IOException {
+    /*
+     * Copies each pixel of row y of an interlaced pass over the block of
+     * pixels it stands for until the later passes decode them. The block of
+     * a pixel only covers pixels of later passes.
+     */
+    private void fillMipBlocks(byte image[], int mip, int y, int bpp) {
+        int py = mipPos(y, mip, starting_y, increment_y);
+        int blockWidth = increment_x[mip + 1];
+        int blockHeight = Math.min(increment_y[mip + 1], height - py);
+        int stride = width * bpp;
+
+        for (int px = starting_x[mip]; px < width; px += increment_x[mip]) {
+            int pos = py * stride + px * bpp;
+            int length = Math.min(blockWidth, width - px) * bpp;
+            for (int i = bpp; i < length; ++i) {
+                image[pos + i] = image[pos + i - bpp];
+            }
+            for (int row = 1; row < blockHeight; ++row) {
+                System.arraycopy(image, pos, image, pos + row * stride, length);
+            }
+        }
+    }
+
+    private void readScanLine(InputStream data, byte line[], byte pline[], int bpp) throws IOException {
+        int filterByte = data.read();
+        if (filterByte == -1) {
+            throw new EOFException();
+        }
+
+        if (data.read(line) != line.length) {
+            throw new EOFException();
+        }
+
+        doFilter(line, pline, filterByte, bpp);
+    }
+
+    private void convertScanLine(byte line[], byte image[], int pos, int w, int step, int resultBpp) {
+        if (bitDepth == 16) {
+            downsample16to8(line, image, pos, step, resultBpp);
+        } else if (bitDepth < 8) {
+            upsampleTo8(line, image, pos, w, step, resultBpp);
+        } else {
+            copy(line, image, pos, step, resultBpp);
+        }
+    }
+
+    /*
+     * Decodes the region x, y, w, h of a non-interlaced image one scanline at
+     * a time. Scanlines are scaled to rWidth x rHeight as they are decoded,
+     * so neither the whole image nor the whole region is held in memory at
+     * its source size.
+     */
+    private ImageFrame loadRows(InputStream data, int x, int y, int w, int h,
+            int rWidth, int rHeight, boolean smooth, ImageMetadata metadata) throws IOException {
+
+        int scanLineSize = (width * bitDepth * numBandsPerColorType[colorType] + 7) / 8;
+        byte scanLine0[] = new byte[scanLineSize];
+        byte scanLine1[] = new byte[scanLineSize];
+
+        int resultBpp = bpp(), srcBpp = numBandsPerColorType[colorType] * bytesPerColor();
+        boolean isPalette = colorType == PNG_COLOR_PALETTE;
+        int outBpp = isPalette ? (tRNS_present ? 4 : 3) : resultBpp;
+        int outStride = w * outBpp;
+
+        PushbroomScaler scaler = rWidth != w || rHeight != h
+                ? ScalerFactory.createScaler(w, h, outBpp, rWidth, rHeight, smooth)
+                : null;
+        byte outImage[] = scaler == null ? new byte[outStride * h] : null;
+
+        ImageStorage.ImageType type = isPalette
+                ? (tRNS_present ? ImageStorage.ImageType.RGBA : ImageStorage.ImageType.RGB)
+                : getType();
+        ImageFrame frame = scaler == null
+                ? new ImageFrame(type, ByteBuffer.wrap(outImage), w, h, outStride, null, metadata)
+                : null;
+        // rows can be shown as they are decoded if they are not scaled, and
+        // not composed with other frames of an animation
+        boolean progressive = frame != null && numFrames == 0 && hasImageLoadUpdateListeners();
+
+        // scanlines are converted into the output image directly if possible
+        boolean direct = scaler == null && !isPalette && x == 0 && w == width;
+        byte line[] = direct ? null : new byte[width * resultBpp];
+        byte paletteLine[] = isPalette ? new byte[outStride] : null;
+
+        // data that is inflated on a separate thread is also unfiltered on
+        // one, so that inflating, unfiltering and converting run in parallel
+        PNGUnfilterPipe unfiltered = data instanceof PNGInflaterPipe
+                ? new PNGUnfilterPipe(data, scanLineSize, y + h, srcBpp)
+                : null;
+        try {
+            for (int sy = 0; sy != y + h; ++sy) {
+                // every scanline must be defiltered, as the next one may depend on it
+                if (unfiltered != null) {
+                    scanLine0 = unfiltered.nextScanLine();
+                } else {
+                    readScanLine(data, scanLine0, scanLine1, srcBpp);
+                }
+
+                if (sy >= y) {
+                    if (direct) {
+                        convertScanLine(scanLine0, outImage, (sy - y) * outStride, width, 1, resultBpp);
+                    } else {
+                        convertScanLine(scanLine0, line, 0, width, 1, resultBpp);
+
+                        byte src[] = line;
+                        int srcOffset = x * resultBpp;
+                        if (isPalette) {
+                            decodePaletteLine(line, x, w, paletteLine);
+                            src = paletteLine;
+                            srcOffset = 0;
+                        }
+
+                        if (scaler != null) {
+                            if (scaler.putSourceScanline(src, srcOffset)) {
+                                break;
+                            }
+                        } else {
+                            System.arraycopy(src, srcOffset, outImage, (sy - y) * outStride, outStride);
+                        }
+                    }
+
+                    if (progressive) {
+                        updateImageData(frame, sy - y, 1);
+                    }
+                }
+
+                byte scanLineSwp[] = scanLine0;
+                scanLine0 = scanLine1;
+                scanLine1 = scanLineSwp;
+            }
+        } finally {
+            if (unfiltered != null) {
+                unfiltered.close();
+            }
+        }
+
+        if (frame != null) {
+            return frame;
+        }
+
+        return new ImageFrame(type, scaler.getDestination(), rWidth, rHeight, rWidth * outBpp, null, metadata);
+    }
+
+    /*
+     * Decodes the whole image into image. If progressiveFrame is not null,
+     * it wraps image and listeners are updated with it after each pass.
+     */
+    private void load(byte image[], InputStream data, ImageFrame progressiveFrame) throws IOException {
+        boolean progressive = progressiveFrame != null;
         if (isInterlaced) {
             for (int mip = 0; mip != 7; ++mip) {
                 if (width > starting_x[mip] && height > starting_y[mip]) {
-                    loadMip(image, data, mip);
+                    loadMip(image, data, mip, progressive);
+                    if (progressive) {
+                        updateImageData(progressiveFrame, 0, height);
+                    }
                 }
             }
         } else {
-            loadMip(image, data, 7);
+            loadMip(image, data, 7, false);
+        }
+    }
+
+    private void decodePaletteLine(byte srcLine[], int x, int w, byte dstLine[]) {
+        if (tRNS_present) {
+            for (int i = x, j = 0; i != x + w; j += 4, i++) {
+                int index = 0xFF & srcLine[i];
+                dstLine[j + 0] = palette[0][index];
+                dstLine[j + 1] = palette[1][index];
+                dstLine[j + 2] = palette[2][index];
+                dstLine[j + 3] = palette[3][index];
+            }
+        } else {
+            for (int i = x, j = 0; i != x + w; j += 3, i++) {
+                int index = 0xFF & srcLine[i];
+                dstLine[j + 0] = palette[0][index];
+                dstLine[j + 1] = palette[1][index];
+                dstLine[j + 2] = palette[2][index];
+            }
         }
     }
 
@@ -626,11 +909,26 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         return bitDepth == 16 ? 2 : 1;
     }
 
+    /*
+     * Returns the stream of inflated image data. The data of large images is
+     * inflated on a separate thread while their scanlines are decoded, unless
+     * com.sun.javafx.iio.png.pipelined is set to false. The stream must be
+     * closed before inf is ended.
+     */
+    private InputStream openImageData(InputStream iDat, Inflater inf) {
+        long dataSize = ((width * bitDepth * numBandsPerColorType[colorType] + 7) / 8 + 1L) * height;
+        if (pipelined && dataSize >= PIPELINE_THRESHOLD) {
+            return new PNGInflaterPipe(new InflaterInputStream(iDat, inf, 8192));
+        }
+        return new BufferedInputStream(new InflaterInputStream(iDat, inf));
+    }
+
     public ImageFrame load(int imageIndex, int rWidth, int rHeight,
             boolean preserveAspectRatio, boolean smooth) throws IOException {
 
         if (imageIndex != 0) {
-            return null;
+            return numFrames == 0 ? null
+                    : loadAnimationFrame(imageIndex, 0, rWidth, rHeight, preserveAspectRatio, smooth);
         }
 
         int dataSize = parsePngMeta();
@@ -640,6 +938,10 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
             return null;
         }
 
+        if (numFrames != 0) {
+            return loadAnimationFrame(0, dataSize, rWidth, rHeight, preserveAspectRatio, smooth);
+        }
+
         int[] outWH = ImageTools.computeDimensions(width, height, rWidth, rHeight, preserveAspectRatio);
         rWidth = outWH[0];
         rHeight = outWH[1];
@@ -648,26 +950,39 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
                 null, null, null, null, null, rWidth, rHeight, null, null, null);
         updateImageMetadata(metaData);
 
-        int bpp = bpp();
-        ByteBuffer bb = ByteBuffer.allocate(bpp * width * height);
-
         PNGIDATChunkInputStream iDat = new PNGIDATChunkInputStream(stream, dataSize);
         Inflater inf = new Inflater();
-        InputStream data = new BufferedInputStream(new InflaterInputStream(iDat, inf));
+        InputStream data = openImageData(iDat, inf);
 
-        try {
-            load(bb.array(), data);
-        } catch (IOException e) {
-            throw e;
-        } finally {
-            if (inf != null) {
+        if (!isInterlaced) {
+            try {
+                return loadRows(data, 0, 0, width, height, rWidth, rHeight, smooth, metaData);
+            } finally {
+                data.close();
                 inf.end();
             }
         }
 
+        // the passes of an interlaced image each cover the whole image, so
+        // it is decoded at its full size first
+        int bpp = bpp();
+        ByteBuffer bb = ByteBuffer.allocate(bpp * width * height);
         ImageFrame imgPNG = colorType == PNG_COLOR_PALETTE
-                ? decodePalette(bb.array(), metaData)
+                ? null
                 : new ImageFrame(getType(), bb, width, height, bpp * width, palette, metaData);
+        boolean progressive = imgPNG != null && width == rWidth && height == rHeight
+                && hasImageLoadUpdateListeners();
+
+        try {
+            load(bb.array(), data, progressive ? imgPNG : null);
+        } finally {
+            data.close();
+            inf.end();
+        }
+
+        if (colorType == PNG_COLOR_PALETTE) {
+            imgPNG = decodePalette(bb.array(), metaData);
+        }
 
         if (width != rWidth || height != rHeight) {
             imgPNG = ImageTools.scaleImageFrame(imgPNG, rWidth, rHeight, smooth);
@@ -675,4 +990,178 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
 
         return imgPNG;
     }
+
+    /*
+     * Loads the next frame of an animated image, composed with the previous
+     * frames. Frames must be loaded in order. dataSize is the size of the
+     * first IDAT chunk when the first frame is loaded.
+     */
+    private ImageFrame loadAnimationFrame(int imageIndex, int dataSize, int rWidth, int rHeight,
+            boolean preserveAspectRatio, boolean smooth) throws IOException {
+
+        if (imageIndex >= numFrames) {
+            return null;
+        }
+
+        int dataType = IDAT_TYPE;
+        if (imageIndex == 0 && !frameControlRead) {
+            // the default image is not part of the animation
+            finishImageData(new PNGIDATChunkInputStream(stream, dataSize));
+            dataSize = 0;
+        }
+        if (dataSize == 0) {
+            dataSize = findFrameData();
+            dataType = fdAT_TYPE;
+            if (dataSize < 0) {
+                emitWarning("Fewer frames in APNG than in its acTL chunk");
+                return null;
+            }
+        }
+
+        int[] outWH = ImageTools.computeDimensions(width, height, rWidth, rHeight, preserveAspectRatio);
+        rWidth = outWH[0];
+        rHeight = outWH[1];
+
+        ImageMetadata metaData = new ImageMetadata(null, true,
+                null, null, null, frameDelay, numPlays, rWidth, rHeight, null, null, null);
+        updateImageMetadata(metaData);
+
+        // the frame is decoded as an image of its own size, animation frames
+        // are usually small, so their data is not inflated on another thread
+        PNGIDATChunkInputStream iDat = new PNGIDATChunkInputStream(stream, dataSize, dataType);
+        Inflater inf = new Inflater();
+        InputStream data = new BufferedInputStream(new InflaterInputStream(iDat, inf));
+        int imageWidth = width, imageHeight = height;
+        ImageFrame frame;
+        width = frameWidth;
+        height = frameHeight;
+        try {
+            if (!isInterlaced) {
+                frame = loadRows(data, 0, 0, width, height, width, height, false, metaData);
+            } else {
+                int bpp = bpp();
+                ByteBuffer bb = ByteBuffer.allocate(bpp * width * height);
+                load(bb.array(), data, null);
+                frame = colorType == PNG_COLOR_PALETTE
+                        ? decodePalette(bb.array(), metaData)
+                        : new ImageFrame(getType(), bb, width, height, bpp * width, null, metaData);
+            }
+            finishImageData(iDat);
+        } finally {
+            width = imageWidth;
+            height = imageHeight;
+            data.close();
+            inf.end();
+        }
+
+        if (canvas == null) {
+            canvas = new byte[width * height * 4];
+        }
+        byte previous[] = disposeOp == APNG_DISPOSE_OP_PREVIOUS ? canvas.clone() : null;
+        blendFrame(frame);
+        ByteBuffer img = ByteBuffer.wrap(canvas.clone());
+        if (disposeOp == APNG_DISPOSE_OP_BACKGROUND) {
+            clearFrame();
+        } else if (disposeOp == APNG_DISPOSE_OP_PREVIOUS) {
+            canvas = previous;
+        }
+        frameControlRead = false;
+
+        if (width != rWidth || height != rHeight) {
+            img = ImageTools.scaleImage(img, width, height, 4, rWidth, rHeight, smooth);
+        }
+
+        return new ImageFrame(ImageStorage.ImageType.RGBA, img,
+                rWidth, rHeight, rWidth * 4, null, metaData);
+    }
+
+    // draws a decoded animation frame onto the canvas
+    private void blendFrame(ImageFrame frame) {
+        byte src[] = ((ByteBuffer) frame.getImageData()).array();
+        int bands = ImageStorage.getNumBands(frame.getImageType());
+        int srcStride = frame.getStride();
+        boolean over = blendOp == APNG_BLEND_OP_OVER;
+
+        for (int y = 0; y != frameHeight; ++y) {
+            int sPos = y * srcStride;
+            int dPos = ((frameY + y) * width + frameX) * 4;
+            for (int x = 0; x != frameWidth; ++x, sPos += bands, dPos += 4) {
+                int r, g, b, a;
+                if (bands < 3) {
+                    r = g = b = src[sPos] & 0xFF;
+                    a = bands == 2 ? src[sPos + 1] & 0xFF : 0xFF;
+                } else {
+                    r = src[sPos] & 0xFF;
+                    g = src[sPos + 1] & 0xFF;
+                    b = src[sPos + 2] & 0xFF;
+                    a = bands == 4 ? src[sPos + 3] & 0xFF : 0xFF;
+                }
+                if (over && a != 0xFF) {
+                    if (a == 0) {
+                        continue;
+                    }
+                    // non premultiplied source over destination
+                    int dstA = (canvas[dPos + 3] & 0xFF) * (0xFF - a) / 0xFF;
+                    int outA = a + dstA;
+                    r = (r * a + (canvas[dPos] & 0xFF) * dstA) / outA;
+                    g = (g * a + (canvas[dPos + 1] & 0xFF) * dstA) / outA;
+                    b = (b * a + (canvas[dPos + 2] & 0xFF) * dstA) / outA;
+                    a = outA;
+                }
+                canvas[dPos] = (byte) r;
+                canvas[dPos + 1] = (byte) g;
+                canvas[dPos + 2] = (byte) b;
+                canvas[dPos + 3] = (byte) a;
+            }
+        }
+    }
+
+    // clears the region of the last animation frame to transparent black
+    private void clearFrame() {
+        for (int y = 0; y != frameHeight; ++y) {
+            int pos = ((frameY + y) * width + frameX) * 4;
+            Arrays.fill(canvas, pos, pos + frameWidth * 4, (byte) 0);
+        }
+    }
+
+    @Override
+    public ImageFrame loadRegion(int imageIndex, int x, int y, int w, int h,
+            int rWidth, int rHeight, boolean smooth) throws IOException {
+
+        if (isInterlaced) {
+            return super.loadRegion(imageIndex, x, y, w, h, rWidth, rHeight, smooth);
+        }
+
+        if (imageIndex != 0) {
+            return null;
+        }
+
+        ImageTools.checkRegion(width, height, x, y, w, h);
+
+        int dataSize = parsePngMeta();
+
+        if (dataSize == 0) {
+            emitWarning("No image data in PNG");
+            return null;
+        }
+
+        int[] outWH = ImageTools.computeDimensions(w, h, rWidth, rHeight, false);
+        rWidth = outWH[0];
+        rHeight = outWH[1];
+
+        ImageMetadata metaData = new ImageMetadata(null, true,
+                null, null, null, null, null, rWidth, rHeight, null, null, null);
+        updateImageMetadata(metaData);
+
+        PNGIDATChunkInputStream iDat = new PNGIDATChunkInputStream(stream, dataSize);
+        Inflater inf = new Inflater();
+        InputStream data = openImageData(iDat, inf);
+
+        try {
+            return loadRows(data, x, y, w, h, rWidth, rHeight, smooth, metaData);
+        } finally {
+            data.close();
+            inf.end();
+        }
+    }
 }
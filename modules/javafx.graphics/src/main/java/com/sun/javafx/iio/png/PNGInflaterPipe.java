@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.iio.png;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A stream which reads the inflated image data of a PNG image ahead of its
+ * consumer on a separate thread.
+ *
+ * <p>Inflating the IDAT data is usually the single most expensive part of
+ * decoding a PNG image. Running it on its own thread lets the scanlines be
+ * unfiltered, by a {@link PNGUnfilterPipe}, and converted while the following
+ * blocks of data are inflated. The source stream is read in blocks of
+ * <code>BLOCK_SIZE</code> bytes by a producer task, which hands them to the
+ * consumer through a bounded queue. At most <code>BLOCK_COUNT</code> blocks
+ * exist at any time; they are recycled once the consumer has read them.</p>
+ *
+ * <p>Exceptions and errors thrown by the source stream are rethrown by the
+ * <code>read()</code> methods of this stream once all data read before them
+ * has been consumed. {@link #close()} stops the producer and waits for it to
+ * finish, after which the source stream and its <code>Inflater</code> are no
+ * longer in use and may be released.</p>
+ */
+public final class PNGInflaterPipe extends InputStream {
+
+    static final int BLOCK_SIZE = 64 * 1024;
+    static final int BLOCK_COUNT = 4;
+
+    // runs the producers of both stages of the pipeline
+    static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        @SuppressWarnings("removal")
+        Thread t = AccessController.doPrivileged((PrivilegedAction<Thread>) () -> {
+            Thread th = new Thread(r, "PNG Decoder");
+            th.setDaemon(true);
+            return th;
+        });
+        return t;
+    });
+
+    private static final class Block {
+        final byte data[];
+        final int length;
+        final Throwable exception;
+
+        Block(byte data[], int length, Throwable exception) {
+            this.data = data;
+            this.length = length;
+            this.exception = exception;
+        }
+    }
+
+    private final InputStream source;
+    private final BlockingQueue<byte[]> free = new ArrayBlockingQueue<>(BLOCK_COUNT);
+    // one slot more than there are blocks for the end of stream or error
+    private final BlockingQueue<Block> full = new ArrayBlockingQueue<>(BLOCK_COUNT + 1);
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile boolean closed;
+
+    private Block current;
+    private int position;
+    private boolean eof;
+
+    /**
+     * Creates the stream and starts reading the source stream.
+     *
+     * @param source the stream of inflated image data
+     */
+    public PNGInflaterPipe(InputStream source) {
+        this.source = source;
+        for (int i = 0; i != BLOCK_COUNT; ++i) {
+            free.add(new byte[BLOCK_SIZE]);
+        }
+        executor.execute(this::produce);
+    }
+
+    private void produce() {
+        try {
+            while (!closed) {
+                byte buffer[] = free.take();
+                if (closed) {
+                    break;
+                }
+
+                int length = 0;
+                while (length != buffer.length) {
+                    int n = source.read(buffer, length, buffer.length - length);
+                    if (n < 0) {
+                        break;
+                    }
+                    length += n;
+                }
+
+                full.put(new Block(buffer, length, null));
+                if (length != buffer.length) {
+                    full.put(new Block(null, -1, null));
+                    break;
+                }
+            }
+        } catch (Throwable t) {
+            // there is always room for this block, and the consumer waits
+            // for it even if t is an Error
+            full.offer(new Block(null, -1, t));
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    private boolean nextBlock() throws IOException {
+        if (current != null) {
+            free.offer(current.data);
+            current = null;
+        }
+
+        if (eof || closed) {
+            return false;
+        }
+
+        Block block;
+        try {
+            block = full.take();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        }
+
+        if (block.length < 0) {
+            eof = true;
+            if (block.exception != null) {
+                rethrow(block.exception);
+            }
+            return false;
+        }
+
+        current = block;
+        position = 0;
+        return true;
+    }
+
+    /*
+     * Rethrows an exception or error thrown by a producer on the consumer's
+     * thread. Exceptions other than IOExceptions are wrapped in one.
+     */
+    static void rethrow(Throwable t) throws IOException {
+        if (t instanceof IOException) {
+            throw (IOException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        }
+        throw new IOException(t);
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (current == null || position == current.length) {
+            if (!nextBlock()) {
+                return -1;
+            }
+        }
+
+        return current.data[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte b[], int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        // unlike most streams this one fills b as far as possible, which is
+        // what the loader expects when it reads whole scanlines
+        int count = 0;
+        while (count != len) {
+            if (current == null || position == current.length) {
+                if (!nextBlock()) {
+                    break;
+                }
+                continue;
+            }
+
+            int n = Math.min(len - count, current.length - position);
+            System.arraycopy(current.data, position, b, off + count, n);
+            position += n;
+            count += n;
+        }
+
+        return count == 0 && len != 0 ? -1 : count;
+    }
+
+    /**
+     * Stops reading the source stream and waits for the producer to finish.
+     * The source stream itself is not closed.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        // hand every block back so that a producer waiting for one can see
+        // that the stream was closed
+        if (current != null) {
+            free.offer(current.data);
+            current = null;
+        }
+        for (Block block; (block = full.poll()) != null;) {
+            if (block.data != null) {
+                free.offer(block.data);
+            }
+        }
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                finished.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.iio.png;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * A source of the unfiltered scanlines of a non-interlaced PNG image, which
+ * reads and unfilters them ahead of their consumer on a separate thread.
+ *
+ * <p>This is the second stage of the pipeline started by
+ * {@link PNGInflaterPipe}: the scanlines are unfiltered while the following
+ * data is inflated, and the consumer converts and scales them in turn while
+ * the following scanlines are unfiltered. Unfiltering a scanline depends on
+ * the previous one, so it cannot be split further. A producer task unfilters
+ * the scanlines in blocks of about <code>PNGInflaterPipe.BLOCK_SIZE</code>
+ * bytes, at least one scanline each, and hands them to the consumer through a
+ * bounded queue. At most <code>BLOCK_COUNT</code> blocks exist at any time;
+ * they are recycled once the consumer has read them.</p>
+ *
+ * <p>Exceptions and errors thrown while reading or unfiltering are rethrown
+ * by {@link #nextScanLine()} once the scanlines before them have been read.
+ * {@link #close()} stops the producer and waits for it to finish, after which
+ * the source stream is no longer in use.</p>
+ */
+public final class PNGUnfilterPipe {
+
+    static final int BLOCK_COUNT = 4;
+
+    private static final class Block {
+        final byte lines[][];
+        final int count;
+        final Throwable exception;
+
+        Block(byte lines[][], int count, Throwable exception) {
+            this.lines = lines;
+            this.count = count;
+            this.exception = exception;
+        }
+    }
+
+    private final InputStream source;
+    private final int height;
+    private final int bpp;
+    private final BlockingQueue<byte[][]> free = new ArrayBlockingQueue<>(BLOCK_COUNT);
+    // one slot more than there are blocks for an error
+    private final BlockingQueue<Block> full = new ArrayBlockingQueue<>(BLOCK_COUNT + 1);
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile boolean closed;
+
+    private Block current;
+    private int position;
+    private int linesRead;
+
+    /**
+     * Creates the pipe and starts unfiltering scanlines.
+     *
+     * @param source the stream of inflated image data, where each scanline
+     * is preceded by its filter type
+     * @param scanLineSize the size of a scanline in bytes, without its filter
+     * type
+     * @param height the number of scanlines to unfilter
+     * @param bpp the number of bytes per pixel, at least 1
+     */
+    public PNGUnfilterPipe(InputStream source, int scanLineSize, int height, int bpp) {
+        this.source = source;
+        this.height = height;
+        this.bpp = bpp;
+        int linesPerBlock = Math.max(1, Math.min(height, PNGInflaterPipe.BLOCK_SIZE / Math.max(1, scanLineSize)));
+        for (int i = 0; i != BLOCK_COUNT; ++i) {
+            free.add(new byte[linesPerBlock][scanLineSize]);
+        }
+        PNGInflaterPipe.executor.execute(this::produce);
+    }
+
+    private void produce() {
+        try {
+            // the last scanline of a block is copied, as the consumer may have
+            // handed the block back to be refilled before the next one is
+            // unfiltered
+            byte pline[] = null;
+            int lines = 0;
+            while (!closed && lines != height) {
+                byte buffer[][] = free.take();
+                if (closed) {
+                    break;
+                }
+                if (pline == null) {
+                    pline = new byte[buffer[0].length];
+                }
+
+                int count = Math.min(buffer.length, height - lines);
+                byte prev[] = pline;
+                for (int i = 0; i != count; ++i) {
+                    byte line[] = buffer[i];
+                    int filterType = readScanLine(line);
+                    PNGImageLoader2.doFilter(line, prev, filterType, bpp);
+                    prev = line;
+                }
+                System.arraycopy(prev, 0, pline, 0, pline.length);
+                lines += count;
+
+                full.put(new Block(buffer, count, null));
+            }
+        } catch (Throwable t) {
+            // there is always room for this block, and the consumer waits
+            // for it even if t is an Error
+            full.offer(new Block(null, -1, t));
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    // Reads a filtered scanline and returns its filter type
+    private int readScanLine(byte line[]) throws IOException {
+        int filterType = source.read();
+        if (filterType == -1) {
+            throw new EOFException();
+        }
+
+        int length = 0;
+        while (length != line.length) {
+            int n = source.read(line, length, line.length - length);
+            if (n < 0) {
+                throw new EOFException();
+            }
+            length += n;
+        }
+        return filterType;
+    }
+
+    /**
+     * Returns the next unfiltered scanline. The array is only valid until
+     * the next call of this method.
+     *
+     * @return the next scanline
+     * @throws EOFException if all scanlines have been read, or the image data
+     * ends before them
+     * @throws IOException if the image data cannot be read
+     */
+    public byte[] nextScanLine() throws IOException {
+        if (current != null && position == current.count) {
+            free.offer(current.lines);
+            current = null;
+        }
+
+        if (current == null) {
+            if (closed || linesRead == height) {
+                throw new EOFException();
+            }
+
+            Block block;
+            try {
+                block = full.take();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            if (block.exception != null) {
+                // no more scanlines follow
+                linesRead = height;
+                PNGInflaterPipe.rethrow(block.exception);
+            }
+
+            current = block;
+            position = 0;
+        }
+
+        ++linesRead;
+        return current.lines[position++];
+    }
+
+    /**
+     * Stops unfiltering scanlines and waits for the producer to finish. The
+     * source stream itself is not closed.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        // hand every block back so that a producer waiting for one can see
+        // that the pipe was closed
+        if (current != null) {
+            free.offer(current.lines);
+            current = null;
+        }
+        for (Block block; (block = full.poll()) != null;) {
+            if (block.lines != null) {
+                free.offer(block.lines);
+            }
+        }
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                finished.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
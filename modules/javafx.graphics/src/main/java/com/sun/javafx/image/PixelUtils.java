@@ -53,6 +53,22 @@ public class PixelUtils {
                          (xrgb      ) & 0xff);
     }
 
+    /**
+     * Non-premultiplied component values for each premultiplied component
+     * value (low 8 bits of the index) and alpha (high 8 bits of the index),
+     * used instead of dividing every component by its alpha.
+     */
+    private static final byte[] PRE_TO_NONPRE = new byte[256 * 256];
+    static {
+        for (int alpha = 1; alpha < 0xff; alpha++) {
+            int halfa = alpha >> 1;
+            for (int pre = 0; pre < 0x100; pre++) {
+                PRE_TO_NONPRE[(alpha << 8) | pre] = (byte)
+                    ((pre >= alpha) ? 0xff : (pre * 0xff + halfa) / alpha);
+            }
+        }
+    }
+
     public static int NonPretoPre(int nonpre, int alpha) {
         if (alpha == 0xff) return nonpre;
         if (alpha == 0x00) return 0;
@@ -61,32 +77,30 @@ public class PixelUtils {
 
     public static int PreToNonPre(int pre, int alpha) {
         if (alpha == 0xff || alpha == 0x00) return pre;
-        return (pre >= alpha) ? 0xff : (pre * 0xff + (alpha >> 1)) / alpha;
+        return (pre >= alpha) ? 0xff : PRE_TO_NONPRE[(alpha << 8) | pre] & 0xff;
     }
 
     public static int NonPretoPre(int nonpre) {
         int a = nonpre >>> 24;
         if (a == 0xff) return nonpre;
         if (a == 0x00) return 0;
-        int r = (nonpre >> 16) & 0xff;
-        int g = (nonpre >>  8) & 0xff;
-        int b = (nonpre      ) & 0xff;
-        r = (r * a + 0x7f) / 0xff;
-        g = (g * a + 0x7f) / 0xff;
-        b = (b * a + 0x7f) / 0xff;
-        return (a << 24) | (r << 16) | (g << 8) | b;
+        // Red and blue are multiplied together in separate 16 bit lanes and
+        // (x * a + 0x7f) / 0xff is computed as (t + (t >> 8)) >> 8 with
+        // t = x * a + 0x80, which gives the same result for all values.
+        int rb = (nonpre & 0xff00ff) * a + 0x800080;
+        int g  = (nonpre & 0x00ff00) * a + 0x008000;
+        rb = ((rb + ((rb >>> 8) & 0xff00ff)) >>> 8) & 0xff00ff;
+        g  = ((g  + ((g  >>> 8) & 0x00ff00)) >>> 8) & 0x00ff00;
+        return (a << 24) | rb | g;
     }
 
     public static int PretoNonPre(int pre) {
         int a = pre >>> 24;
         if (a == 0xff || a == 0x00) return pre;
-        int r = (pre >> 16) & 0xff;
-        int g = (pre >>  8) & 0xff;
-        int b = (pre      ) & 0xff;
-        int halfa = a >> 1;
-        r = (r >= a) ? 0xff : (r * 0xff + halfa) / a;
-        g = (g >= a) ? 0xff : (g * 0xff + halfa) / a;
-        b = (b >= a) ? 0xff : (b * 0xff + halfa) / a;
+        int offset = a << 8;
+        int r = PRE_TO_NONPRE[offset | ((pre >> 16) & 0xff)] & 0xff;
+        int g = PRE_TO_NONPRE[offset | ((pre >>  8) & 0xff)] & 0xff;
+        int b = PRE_TO_NONPRE[offset | ((pre      ) & 0xff)] & 0xff;
         return (a << 24) | (r << 16) | (g << 8) | b;
     }
 
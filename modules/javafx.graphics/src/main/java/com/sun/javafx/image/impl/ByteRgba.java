@@ -275,17 +275,8 @@ public class ByteRgba {
                     int g = srcarr[srcoff++] & 0xff;
                     int r = srcarr[srcoff++] & 0xff;
                     int a = srcarr[srcoff++] & 0xff;
-                    if (a < 0xff) {
-                        if (a == 0) {
-                            b = g = r = 0;
-                        } else {
-                            b = (b * a + 0x7f) / 0xff;
-                            g = (g * a + 0x7f) / 0xff;
-                            r = (r * a + 0x7f) / 0xff;
-                        }
-                    }
                     dstarr[dstoff++] =
-                        (a << 24) | (r << 16) | (g << 8) | b;
+                        PixelUtils.NonPretoPre((a << 24) | (r << 16) | (g << 8) | b);
                 }
                 dstoff += dstscanints;
                 srcoff += srcscanbytes;
@@ -305,16 +296,8 @@ public class ByteRgba {
                     int r = srcbuf.get(srcoff + 2) & 0xff;
                     int a = srcbuf.get(srcoff + 3) & 0xff;
                     srcoff += 4;
-                    if (a < 0xff) {
-                        if (a == 0) {
-                            b = g = r = 0;
-                        } else {
-                            b = (b * a + 0x7f) / 0xff;
-                            g = (g * a + 0x7f) / 0xff;
-                            r = (r * a + 0x7f) / 0xff;
-                        }
-                    }
-                    dstbuf.put(dstoff + x, (a << 24) | (r << 16) | (g << 8) | b);
+                    dstbuf.put(dstoff + x,
+                               PixelUtils.NonPretoPre((a << 24) | (r << 16) | (g << 8) | b));
                 }
                 dstoff += dstscanints;
                 srcoff += srcscanbytes;
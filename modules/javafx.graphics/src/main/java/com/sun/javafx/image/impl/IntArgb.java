@@ -137,17 +137,7 @@ public class IntArgb {
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
                     int pixel = srcarr[srcoff++];
-                    int a = pixel >>> 24;
-                    if (a < 0xff) {
-                        if (a == 0) {
-                            pixel = 0;
-                        } else {
-                            int r = (((pixel >> 16) & 0xff) * a + 0x7f) / 0xff;
-                            int g = (((pixel >>  8) & 0xff) * a + 0x7f) / 0xff;
-                            int b = (((pixel      ) & 0xff) * a + 0x7f) / 0xff;
-                            pixel = (a << 24) | (r << 16) | (g << 8) | b;
-                        }
-                    }
+                    pixel = PixelUtils.NonPretoPre(pixel);
                     dstarr[dstoff++] = pixel;
                 }
                 srcoff += srcscanints;
@@ -163,17 +153,7 @@ public class IntArgb {
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
                     int pixel = srcbuf.get(srcoff + x);
-                    int a = pixel >>> 24;
-                    if (a < 0xff) {
-                        if (a == 0) {
-                            pixel = 0;
-                        } else {
-                            int r = (((pixel >> 16) & 0xff) * a + 0x7f) / 0xff;
-                            int g = (((pixel >>  8) & 0xff) * a + 0x7f) / 0xff;
-                            int b = (((pixel      ) & 0xff) * a + 0x7f) / 0xff;
-                            pixel = (a << 24) | (r << 16) | (g << 8) | b;
-                        }
-                    }
+                    pixel = PixelUtils.NonPretoPre(pixel);
                     dstbuf.put(dstoff + x, pixel);
                 }
                 srcoff += srcscanints;
@@ -199,20 +179,11 @@ public class IntArgb {
             dstscanbytes -= w * 4;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
-                    int pixel = srcarr[srcoff++];
+                    int pixel = PixelUtils.NonPretoPre(srcarr[srcoff++]);
                     int a = pixel >>> 24;
                     int r = pixel >>  16;
                     int g = pixel >>   8;
                     int b = pixel       ;
-                    if (a < 0xff) {
-                        if (a == 0) {
-                            b = g = r = 0;
-                        } else {
-                            b = ((b & 0xff) * a + 0x7f) / 0xff;
-                            g = ((g & 0xff) * a + 0x7f) / 0xff;
-                            r = ((r & 0xff) * a + 0x7f) / 0xff;
-                        }
-                    }
                     dstarr[dstoff++] = (byte) b;
                     dstarr[dstoff++] = (byte) g;
                     dstarr[dstoff++] = (byte) r;
@@ -231,20 +202,11 @@ public class IntArgb {
             dstscanbytes -= w * 4;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
-                    int pixel = srcbuf.get(srcoff + x);
+                    int pixel = PixelUtils.NonPretoPre(srcbuf.get(srcoff + x));
                     int a = pixel >>> 24;
                     int r = pixel >>  16;
                     int g = pixel >>   8;
                     int b = pixel       ;
-                    if (a < 0xff) {
-                        if (a == 0) {
-                            b = g = r = 0;
-                        } else {
-                            b = ((b & 0xff) * a + 0x7f) / 0xff;
-                            g = ((g & 0xff) * a + 0x7f) / 0xff;
-                            r = ((r & 0xff) * a + 0x7f) / 0xff;
-                        }
-                    }
                     dstbuf.put(dstoff    , (byte) b);
                     dstbuf.put(dstoff + 1, (byte) g);
                     dstbuf.put(dstoff + 2, (byte) r);
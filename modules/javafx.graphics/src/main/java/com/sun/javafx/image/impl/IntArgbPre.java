@@ -138,14 +138,7 @@ public class IntArgbPre {
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
                     int pixel = srcarr[srcoff++];
-                    int a = pixel >>> 24;
-                    if (a > 0 && a < 0xff) {
-                        int halfa = a >> 1;
-                        int r = (((pixel >> 16) & 0xff) * 0xff + halfa) / a;
-                        int g = (((pixel >>  8) & 0xff) * 0xff + halfa) / a;
-                        int b = (((pixel      ) & 0xff) * 0xff + halfa) / a;
-                        pixel = (a << 24) | (r << 16) | (g << 8) | b;
-                    }
+                    pixel = PixelUtils.PretoNonPre(pixel);
                     dstarr[dstoff++] = pixel;
                 }
                 srcoff += srcscanints;
@@ -161,14 +154,7 @@ public class IntArgbPre {
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
                     int pixel = srcbuf.get(srcoff + x);
-                    int a = pixel >>> 24;
-                    if (a > 0 && a < 0xff) {
-                        int halfa = a >> 1;
-                        int r = (((pixel >> 16) & 0xff) * 0xff + halfa) / a;
-                        int g = (((pixel >>  8) & 0xff) * 0xff + halfa) / a;
-                        int b = (((pixel      ) & 0xff) * 0xff + halfa) / a;
-                        pixel = (a << 24) | (r << 16) | (g << 8) | b;
-                    }
+                    pixel = PixelUtils.PretoNonPre(pixel);
                     dstbuf.put(dstoff + x, pixel);
                 }
                 srcoff += srcscanints;
@@ -200,10 +186,9 @@ public class IntArgbPre {
                     int g = (pixel >>  8) & 0xff;
                     int b = (pixel      ) & 0xff;
                     if (a > 0 && a < 0xff) {
-                        int halfa = a >> 1;
-                        r = (r * 0xff + halfa) / a;
-                        g = (g * 0xff + halfa) / a;
-                        b = (b * 0xff + halfa) / a;
+                        r = PixelUtils.PreToNonPre(r, a);
+                        g = PixelUtils.PreToNonPre(g, a);
+                        b = PixelUtils.PreToNonPre(b, a);
                     }
                     dstarr[dstoff++] = (byte) b;
                     dstarr[dstoff++] = (byte) g;
@@ -229,10 +214,9 @@ public class IntArgbPre {
                     int g = (pixel >>  8) & 0xff;
                     int b = (pixel      ) & 0xff;
                     if (a > 0 && a < 0xff) {
-                        int halfa = a >> 1;
-                        r = (r * 0xff + halfa) / a;
-                        g = (g * 0xff + halfa) / a;
-                        b = (b * 0xff + halfa) / a;
+                        r = PixelUtils.PreToNonPre(r, a);
+                        g = PixelUtils.PreToNonPre(g, a);
+                        b = PixelUtils.PreToNonPre(b, a);
                     }
                     dstbuf.put(dstoff    , (byte) b);
                     dstbuf.put(dstoff + 1, (byte) g);
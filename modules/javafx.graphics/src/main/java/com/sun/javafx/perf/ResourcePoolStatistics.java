@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.perf;
+
+/**
+ * An immutable snapshot of the usage of a graphics resource pool, such as
+ * the pool that textures are allocated from.<p>
+ *
+ * This package is not exported, so applications get the statistics of the
+ * texture pool through {@link javafx.application.Platform#getTexturePoolStatistics()}.
+ * All amounts are in bytes and all counts are accumulated since the pool
+ * was created.
+ */
+public final class ResourcePoolStatistics {
+    private final long used;
+    private final long managed;
+    private final long target;
+    private final long max;
+    private final long evictionCount;
+    private final long evictedSize;
+    private final long allocationFailureCount;
+
+    public ResourcePoolStatistics(long used, long managed, long target, long max,
+                                  long evictionCount, long evictedSize,
+                                  long allocationFailureCount) {
+        this.used = used;
+        this.managed = managed;
+        this.target = target;
+        this.max = max;
+        this.evictionCount = evictionCount;
+        this.evictedSize = evictedSize;
+        this.allocationFailureCount = allocationFailureCount;
+    }
+
+    /**
+     * The amount of the pool holding any kind of resource, managed or not.
+     */
+    public long getUsed() {
+        return used;
+    }
+
+    /**
+     * The amount of the pool holding managed resources.
+     */
+    public long getManaged() {
+        return managed;
+    }
+
+    /**
+     * The amount of the pool that allocations try to stay under.
+     */
+    public long getTarget() {
+        return target;
+    }
+
+    /**
+     * The total size of the pool.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * The number of resources freed to make room for new resources.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * The total size of the resources freed to make room for new resources.
+     */
+    public long getEvictedSize() {
+        return evictedSize;
+    }
+
+    /**
+     * The number of times the pool could not make room for a new resource.
+     */
+    public long getAllocationFailureCount() {
+        return allocationFailureCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResourcePoolStatistics[used=%,d, managed=%,d, target=%,d, max=%,d, "
+                             + "evictions=%,d, evicted=%,d, allocation failures=%,d]",
+                             used, managed, target, max,
+                             evictionCount, evictedSize, allocationFailureCount);
+    }
+}
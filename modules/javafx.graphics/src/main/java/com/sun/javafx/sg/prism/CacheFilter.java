@@ -643,6 +643,7 @@ public class CacheFilter {
                     bounds.width, bounds.height);
             Texture cachedTex = ((PrDrawable) ret).getTextureObject();
             cachedTex.contentsUseful();
+            cachedTex.setEvictionPriority(Texture.EvictionPriority.CACHE);
         } catch (Throwable e) {
             ret = null;
         }
@@ -797,6 +798,9 @@ public class CacheFilter {
             tempTexture = g.getResourceFactory().
                 createRTTexture(drawable.getPhysicalWidth(), drawable.getPhysicalHeight(),
                                 Texture.WrapMode.CLAMP_NOT_NEEDED);
+            if (tempTexture != null) {
+                tempTexture.setEvictionPriority(Texture.EvictionPriority.CACHE);
+            }
         }
         final Graphics tempG = tempTexture.createGraphics();
         tempG.clear();
@@ -27,6 +27,7 @@ package com.sun.javafx.sg.prism;
 
 import java.lang.ref.WeakReference;
 import java.nio.BufferOverflowException;
+import java.nio.FloatBuffer;
 import java.util.Arrays;
 
 /**
@@ -232,6 +233,16 @@ public class GrowableDataBuffer {
         readobjpos = saveobjpos;
     }
 
+    /**
+     * Reset the read positions of both the byte-encoding buffer and the
+     * {@code Object} buffer to the start of the buffers, without clearing
+     * any data, so that the same sequence can be read again.
+     */
+    public void rewind() {
+        readvalpos = savevalpos = 0;
+        readobjpos = saveobjpos = 0;
+    }
+
     /**
      * Indicates whether or not there are values in the byte-encoding
      * buffer waiting to be read.
@@ -398,6 +409,45 @@ public class GrowableDataBuffer {
         putInt(Float.floatToIntBits(f));
     }
 
+    /**
+     * Encode a sequence of float values from an array and write them to
+     * the end of the byte-encoding array
+     *
+     * @param fa the array holding the float values to be written
+     * @param off the index of the first value to be written
+     * @param len the number of values to be written
+     */
+    public void putFloats(float[] fa, int off, int len) {
+        ensureWriteCapacity(len * 4);
+        for (int end = off + len; off < end; off++) {
+            int i = Float.floatToIntBits(fa[off]);
+            vals[writevalpos++] = (byte) (i >> 24);
+            vals[writevalpos++] = (byte) (i >> 16);
+            vals[writevalpos++] = (byte) (i >>  8);
+            vals[writevalpos++] = (byte) (i      );
+        }
+    }
+
+    /**
+     * Encode a sequence of float values from a {@code FloatBuffer} and
+     * write them to the end of the byte-encoding array.
+     * The position of the {@code FloatBuffer} is not modified.
+     *
+     * @param fb the buffer holding the float values to be written
+     * @param off the absolute index of the first value to be written
+     * @param len the number of values to be written
+     */
+    public void putFloats(FloatBuffer fb, int off, int len) {
+        ensureWriteCapacity(len * 4);
+        for (int end = off + len; off < end; off++) {
+            int i = Float.floatToIntBits(fb.get(off));
+            vals[writevalpos++] = (byte) (i >> 24);
+            vals[writevalpos++] = (byte) (i >> 16);
+            vals[writevalpos++] = (byte) (i >>  8);
+            vals[writevalpos++] = (byte) (i      );
+        }
+    }
+
     /**
      * Encode a double value and write it to the end of the byte-encoding array
      *
@@ -113,6 +113,9 @@ public class NGCanvas extends NGNode {
     public static final byte STROKE_ARC        = OP_BASE + 9;
     public static final byte FILL_TEXT         = OP_BASE + 10;
     public static final byte STROKE_TEXT       = OP_BASE + 11;
+    public static final byte FILL_RECTS        = OP_BASE + 12;
+    public static final byte STROKE_RECTS      = OP_BASE + 13;
+    public static final byte STROKE_LINES      = OP_BASE + 14;
 
     public static final byte                PATH_BASE = 40;
     public static final byte PATHSTART    = PATH_BASE + 0;
@@ -137,6 +140,13 @@ public class NGCanvas extends NGNode {
     public static final byte                   UTIL_BASE = 70;
     public static final byte RESET           = UTIL_BASE + 0;
     public static final byte SET_DIMS        = UTIL_BASE + 1;
+    public static final byte DISPLAY_LIST    = UTIL_BASE + 2;
+
+    /**
+     * The maximum number of separate damage regions tracked for the
+     * rendering commands sent to the canvas in a single synchronization.
+     */
+    public static final int MAX_DAMAGE_REGIONS = 4;
 
     public static final byte CAP_BUTT   = 0;
     public static final byte CAP_ROUND  = 1;
@@ -347,6 +357,7 @@ public class NGCanvas extends NGNode {
     private Rectangle clipRect;
     private Effect effect;
     private int arctype;
+    private LinkedList<SavedAttributes> attributesStack;
 
     static float TEMP_COORDS[] = new float[6];
     private static Arc2D TEMP_ARC = new Arc2D();
@@ -371,10 +382,18 @@ public class NGCanvas extends NGNode {
         textLayout = new PrismTextLayout();
         transform = new Affine2D();
         clipStack = new LinkedList<Path2D>();
+        attributesStack = new LinkedList<SavedAttributes>();
         initAttributes();
     }
 
     private void initAttributes() {
+        resetAttributes();
+        attributesStack.clear();
+        clipStack.clear();
+        resetClip(false);
+    }
+
+    private void resetAttributes() {
         globalAlpha = 1.0f;
         blendmode = Mode.SRC_OVER;
         fillPaint = Color.BLACK;
@@ -395,8 +414,60 @@ public class NGCanvas extends NGNode {
         align = ALIGN_LEFT;
         baseline = VPos.BASELINE.ordinal();
         transform.setToScale(highestPixelScale, highestPixelScale);
-        clipStack.clear();
-        resetClip(false);
+        inversedirty = true;
+        effect = null;
+    }
+
+    /**
+     * The rendering attributes saved while a display list is rendered.
+     * Display lists are recorded from the default attributes and restore
+     * their clips themselves, so the clip stack is not part of this state.
+     */
+    private final class SavedAttributes {
+        final float globalAlpha = NGCanvas.this.globalAlpha;
+        final Blend.Mode blendmode = NGCanvas.this.blendmode;
+        final Paint fillPaint = NGCanvas.this.fillPaint;
+        final Paint strokePaint = NGCanvas.this.strokePaint;
+        final float linewidth = NGCanvas.this.linewidth;
+        final int linecap = NGCanvas.this.linecap;
+        final int linejoin = NGCanvas.this.linejoin;
+        final float miterlimit = NGCanvas.this.miterlimit;
+        final double[] dashes = NGCanvas.this.dashes;
+        final float dashOffset = NGCanvas.this.dashOffset;
+        final BasicStroke stroke = NGCanvas.this.stroke;
+        final int windingRule = path.getWindingRule();
+        final PGFont pgfont = NGCanvas.this.pgfont;
+        final int smoothing = NGCanvas.this.smoothing;
+        final boolean imageSmoothing = NGCanvas.this.imageSmoothing;
+        final int align = NGCanvas.this.align;
+        final int baseline = NGCanvas.this.baseline;
+        final Affine2D transform = new Affine2D(NGCanvas.this.transform);
+        final Effect effect = NGCanvas.this.effect;
+        final int arctype = NGCanvas.this.arctype;
+
+        void restore() {
+            NGCanvas.this.globalAlpha = globalAlpha;
+            NGCanvas.this.blendmode = blendmode;
+            NGCanvas.this.fillPaint = fillPaint;
+            NGCanvas.this.strokePaint = strokePaint;
+            NGCanvas.this.linewidth = linewidth;
+            NGCanvas.this.linecap = linecap;
+            NGCanvas.this.linejoin = linejoin;
+            NGCanvas.this.miterlimit = miterlimit;
+            NGCanvas.this.dashes = dashes;
+            NGCanvas.this.dashOffset = dashOffset;
+            NGCanvas.this.stroke = stroke;
+            path.setWindingRule(windingRule);
+            NGCanvas.this.pgfont = pgfont;
+            NGCanvas.this.smoothing = smoothing;
+            NGCanvas.this.imageSmoothing = imageSmoothing;
+            NGCanvas.this.align = align;
+            NGCanvas.this.baseline = baseline;
+            NGCanvas.this.transform.setTransform(transform);
+            NGCanvas.this.inversedirty = true;
+            NGCanvas.this.effect = effect;
+            NGCanvas.this.arctype = arctype;
+        }
     }
 
     static final Affine2D TEMP_PATH_TX = new Affine2D();
@@ -841,6 +912,19 @@ public class NGCanvas extends NGNode {
                     this.cw = neww;
                     this.ch = newh;
                     break;
+                case DISPLAY_LIST:
+                {
+                    // Display lists are rendered from the stream they were
+                    // recorded in, starting from the default attributes, and
+                    // leave the attributes of this stream unchanged.
+                    GrowableDataBuffer list = (GrowableDataBuffer) buf.getObject();
+                    attributesStack.push(new SavedAttributes());
+                    resetAttributes();
+                    list.rewind();
+                    renderStream(list);
+                    attributesStack.pop().restore();
+                    break;
+                }
                 case PATHSTART:
                     path.reset();
                     break;
@@ -872,6 +956,9 @@ public class NGCanvas extends NGNode {
                 {
                     Path2D clippath = (Path2D) buf.getObject();
                     if (highestPixelScale != 1.0f) {
+                        // the same path may be sent again by a reset or
+                        // a display list, so it must not be scaled in place
+                        clippath = new Path2D(clippath);
                         TEMP_TX.setToScale(highestPixelScale, highestPixelScale);
                         clippath.transform(TEMP_TX);
                     }
@@ -1056,6 +1143,9 @@ public class NGCanvas extends NGNode {
                 case DRAW_SUBIMAGE:
                 case FILL_TEXT:
                 case STROKE_TEXT:
+                case FILL_RECTS:
+                case STROKE_RECTS:
+                case STROKE_LINES:
                 {
                     RenderBuf dest;
                     boolean tempvalidated;
@@ -1263,6 +1353,65 @@ public class NGCanvas extends NGNode {
                 }
                 break;
             }
+            case STROKE_RECTS:
+            case STROKE_LINES:
+                strokeBounds = true;
+            case FILL_RECTS:
+            {
+                int n = buf.getInt();
+                float minx = Float.POSITIVE_INFINITY;
+                float miny = Float.POSITIVE_INFINITY;
+                float maxx = Float.NEGATIVE_INFINITY;
+                float maxy = Float.NEGATIVE_INFINITY;
+                if (gr != null) {
+                    if (token == FILL_RECTS) {
+                        setupFill(gr);
+                    } else {
+                        setupStroke(gr);
+                    }
+                }
+                for (int i = 0; i < n; i++) {
+                    float x = buf.getFloat();
+                    float y = buf.getFloat();
+                    float v3 = buf.getFloat();
+                    float v4 = buf.getFloat();
+                    if (token == STROKE_LINES) {
+                        if (bounds != null) {
+                            minx = Math.min(minx, Math.min(x, v3));
+                            miny = Math.min(miny, Math.min(y, v4));
+                            maxx = Math.max(maxx, Math.max(x, v3));
+                            maxy = Math.max(maxy, Math.max(y, v4));
+                        }
+                        if (gr != null) {
+                            gr.drawLine(x, y, v3, v4);
+                        }
+                    } else {
+                        if (bounds != null) {
+                            minx = Math.min(minx, Math.min(x, x + v3));
+                            miny = Math.min(miny, Math.min(y, y + v4));
+                            maxx = Math.max(maxx, Math.max(x, x + v3));
+                            maxy = Math.max(maxy, Math.max(y, y + v4));
+                        }
+                        if (gr != null) {
+                            if (token == FILL_RECTS) {
+                                gr.fillRect(x, y, v3, v4);
+                            } else {
+                                gr.drawRect(x, y, v3, v4);
+                            }
+                        }
+                    }
+                }
+                if (bounds != null) {
+                    if (n > 0) {
+                        bounds.setBounds(minx, miny, maxx, maxy);
+                        transformBounds = true;
+                    } else {
+                        bounds.makeEmpty();
+                        strokeBounds = false;
+                    }
+                }
+                break;
+            }
             case STROKE_ROUND_RECT:
                 strokeBounds = true;
             case FILL_ROUND_RECT:
@@ -1542,6 +1691,15 @@ public class NGCanvas extends NGNode {
     // detects a full-canvas clear command even if it looks like it
     // is superfluous.
     public boolean updateRendering(GrowableDataBuffer buf) {
+        return updateRendering(buf, null);
+    }
+
+    // The damage, if not null, holds the regions of the canvas, in local
+    // coordinates, that the commands in the buffer can change, so that
+    // only those need to be repainted rather than the entire canvas.
+    public boolean updateRendering(GrowableDataBuffer buf,
+                                   DirtyRegionContainer damage)
+    {
         if (buf.isEmpty()) {
             GrowableDataBuffer.returnBuffer(buf);
             return (this.thebuf != null);
@@ -1555,7 +1713,11 @@ public class NGCanvas extends NGNode {
             this.thebuf.append(buf);
             retbuf = buf;
         }
-        geometryChanged();
+        if (damage == null) {
+            geometryChanged();
+        } else {
+            markContentDirty(damage);
+        }
         if (retbuf != null) {
             GrowableDataBuffer.returnBuffer(retbuf);
             return true;
@@ -165,6 +165,16 @@ public abstract class NGNode {
      */
     protected DirtyFlag dirty = DirtyFlag.DIRTY;
 
+    /**
+     * The regions, in local coordinates, of the content of this node that
+     * changed since it was last painted. They are only used when the node is
+     * dirty solely because of such content changes (see markContentDirty),
+     * as indicated by contentDirtyOnly, in which case only these regions are
+     * added to the dirty region instead of the whole node.
+     */
+    private DirtyRegionContainer contentDirtyRegions;
+    private boolean contentDirtyOnly;
+
     /**
      * The parent of the node. In the case of a normal render graph node,
      * this will be an NGGroup. However, if this node is being used as
@@ -809,8 +819,51 @@ public abstract class NGNode {
      * This method has no effect if the node is already dirty.
      */
     public final void markDirty() {
+        contentDirtyOnly = false;
+        if (dirty != DirtyFlag.DIRTY) {
+            dirty = DirtyFlag.DIRTY;
+            markTreeDirty();
+        }
+    }
+
+    private static final RectBounds TEMP_CONTENT_REGION = new RectBounds();
+
+    /**
+     * Marks the given regions of the content of this node dirty, and
+     * invalidates the cache. As long as nothing else makes this node dirty
+     * before it is painted, only these regions are added to the dirty region.
+     * Subclasses whose content changes but whose bounds don't, and which can
+     * tell which parts of the content changed, use this method instead of
+     * {@link #visualsChanged()}.
+     *
+     * @param regions the changed regions, in local coordinates, which are
+     *                copied and not modified
+     */
+    protected final void markContentDirty(DirtyRegionContainer regions) {
+        invalidateCache();
+        if (dirty == DirtyFlag.DIRTY && !contentDirtyOnly) {
+            // the whole node is already dirty
+            return;
+        }
+        if (dirty == DirtyFlag.DIRTY_BY_TRANSLATION) {
+            // the translation is handled through the whole node
+            markDirty();
+            return;
+        }
+        if (contentDirtyRegions == null) {
+            contentDirtyRegions = new DirtyRegionContainer(regions.maxSpace());
+        }
+        if (!contentDirtyOnly) {
+            contentDirtyRegions.reset();
+        }
+        RectBounds tmp = TEMP_CONTENT_REGION;
+        for (int i = 0; i < regions.size(); i++) {
+            tmp.deriveWithNewBounds(regions.getDirtyRegion(i));
+            contentDirtyRegions.addDirtyRegion(tmp);
+        }
         if (dirty != DirtyFlag.DIRTY) {
             dirty = DirtyFlag.DIRTY;
+            contentDirtyOnly = true;
             markTreeDirty();
         }
     }
@@ -865,6 +918,7 @@ public abstract class NGNode {
         while (p != null && p.dirty != DirtyFlag.DIRTY && (!p.childDirty || atClip || byTranslation)) {
             if (atClip) {
                 p.dirty = DirtyFlag.DIRTY;
+                p.contentDirtyOnly = false;
             } else if (!byTranslation) {
                 p.childDirty = true;
                 p.dirtyChildrenAccumulated++;
@@ -900,6 +954,7 @@ public abstract class NGNode {
      */
     protected void clearDirty() {
         dirty = DirtyFlag.CLEAN;
+        contentDirtyOnly = false;
         childDirty = false;
         dirtyBounds.makeEmpty();
         dirtyChildrenAccumulated = 0;
@@ -1053,6 +1108,13 @@ public abstract class NGNode {
                                   final BaseTransform tx,
                                   final GeneralTransform3D pvTx) {
 
+        if (contentDirtyOnly && dirtyBounds.isEmpty() &&
+            cacheFilter == null && effectFilter == null)
+        {
+            return accumulateContentDirtyRegions(clip, dirtyRegionTemp,
+                                                 dirtyRegionContainer, tx, pvTx);
+        }
+
         // Get the dirty bounds of this specific node in scene coordinates
         final BaseBounds bb = computeDirtyRegion(dirtyRegionTemp, tx, pvTx);
 
@@ -1088,6 +1150,40 @@ public abstract class NGNode {
         return DirtyRegionContainer.DTR_OK;
     }
 
+    /**
+     * Accumulates the content dirty regions of a node which is dirty only
+     * because of changes within its content (see markContentDirty). Each
+     * region is transformed and clipped like the whole node would be.
+     */
+    private int accumulateContentDirtyRegions(final RectBounds clip,
+                                              final RectBounds dirtyRegionTemp,
+                                              final DirtyRegionContainer dirtyRegionContainer,
+                                              final BaseTransform tx,
+                                              final GeneralTransform3D pvTx) {
+        for (int i = 0; i < contentDirtyRegions.size(); i++) {
+            BaseBounds bb = dirtyRegionTemp.deriveWithNewBounds(contentDirtyRegions.getDirtyRegion(i));
+            bb = transform.transform(bb, bb);
+            bb.intersectWith(transformedBounds);
+            if (!bb.isEmpty()) {
+                bb = computePadding(bb);
+                bb = tx.transform(bb, bb);
+                bb = pvTx.transform(bb, bb);
+            }
+            if (bb != dirtyRegionTemp) {
+                bb.flattenInto(dirtyRegionTemp);
+            }
+            if (dirtyRegionTemp.isEmpty() || clip.disjoint(dirtyRegionTemp)) {
+                continue;
+            }
+            if (dirtyRegionTemp.contains(clip)) {
+                return DirtyRegionContainer.DTR_CONTAINS_CLIP;
+            }
+            dirtyRegionTemp.intersectWith(clip);
+            dirtyRegionContainer.addDirtyRegion(dirtyRegionTemp);
+        }
+        return DirtyRegionContainer.DTR_OK;
+    }
+
     /**
      * Accumulates the dirty region of an NGGroup. This is implemented here as opposed to
      * using polymorphism because we wanted to centralize all of the dirty region
@@ -1189,6 +1285,7 @@ public abstract class NGNode {
             for (int i = removed.size() - 1; i >= 0; --i) {
                 removedChild = removed.get(i);
                 removedChild.dirty = DirtyFlag.DIRTY;
+                removedChild.contentDirtyOnly = false;
                     status = removedChild.accumulateDirtyRegions(myClip,
                             dirtyRegionTemp,regionPool, dirtyRegionContainer, renderTx, pvTx);
                     if (status == DirtyRegionContainer.DTR_CONTAINS_CLIP) {
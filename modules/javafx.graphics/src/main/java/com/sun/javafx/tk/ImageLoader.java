@@ -34,4 +34,33 @@ public interface ImageLoader {
     public int getLoopCount();
     public double getWidth();
     public double getHeight();
+
+    /**
+     * Returns a new source of the frames of this animated image which decodes
+     * them as they are shown, or null if all frames are decoded up front and
+     * returned by {@link #getFrame(int)}. Each image that shows the animation
+     * uses its own source.
+     */
+    public default FrameSource openFrameSource() {
+        return null;
+    }
+
+    /**
+     * The frames of an animated image, decoded as they are shown while only
+     * a few of them are kept in memory.
+     */
+    public interface FrameSource {
+        /**
+         * Returns the frame at the given index, or null if it is not decoded
+         * yet. This never decodes the frame on the calling thread; instead
+         * the frame and those after it are decoded in the background, in the
+         * order in which they are shown.
+         */
+        public PlatformImage getFrame(int index);
+
+        /**
+         * Releases the decoded frames.
+         */
+        public void dispose();
+    }
 }
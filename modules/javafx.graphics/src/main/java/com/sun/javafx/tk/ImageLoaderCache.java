@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.tk;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToLongFunction;
+
+/**
+ * A process-wide cache of decoded images, keyed by the URL and the
+ * parameters the image was requested with. Images showing the same URL at the
+ * same size share the decoded frames, and thereby any texture created for
+ * them, instead of loading and decoding the image again.
+ *
+ * The cache holds at most a given number of bytes of decoded pixels and
+ * evicts the least recently used images first. Concurrent requests for an
+ * image that is still loading wait for that load instead of starting their
+ * own. Only images that loaded without error are cached.
+ *
+ * This class is thread-safe.
+ */
+public final class ImageLoaderCache {
+
+    /**
+     * Loads an image that is not in the cache.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        ImageLoader load() throws IOException;
+    }
+
+    private static final class Key {
+        private final String url;
+        private final double width;
+        private final double height;
+        private final boolean preserveRatio;
+        private final float pixelScale;
+        private final boolean smooth;
+        private final int hash;
+
+        Key(String url, double width, double height, boolean preserveRatio,
+            float pixelScale, boolean smooth) {
+            this.url = url;
+            this.width = width;
+            this.height = height;
+            this.preserveRatio = preserveRatio;
+            this.pixelScale = pixelScale;
+            this.smooth = smooth;
+            this.hash = Objects.hash(url, width, height, preserveRatio, pixelScale, smooth);
+        }
+
+        @Override public int hashCode() {
+            return hash;
+        }
+
+        @Override public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return url.equals(other.url)
+                    && Double.compare(width, other.width) == 0
+                    && Double.compare(height, other.height) == 0
+                    && preserveRatio == other.preserveRatio
+                    && Float.compare(pixelScale, other.pixelScale) == 0
+                    && smooth == other.smooth;
+        }
+    }
+
+    private static final class Entry {
+        final ImageLoader image;
+        final long bytes;
+
+        Entry(ImageLoader image, long bytes) {
+            this.image = image;
+            this.bytes = bytes;
+        }
+    }
+
+    private final long maxBytes;
+    private final ToLongFunction<ImageLoader> sizer;
+
+    // access ordered, the eldest entry is the least recently used one
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Key, CompletableFuture<ImageLoader>> pending = new HashMap<>();
+    private long bytes;
+
+    private long hitCount;
+    private long missCount;
+    private long joinCount;
+    private long evictionCount;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxBytes the number of bytes of decoded images the cache may
+     * hold, caching is disabled if this is not positive
+     * @param sizer returns the number of bytes of the decoded frames of an
+     * image
+     */
+    public ImageLoaderCache(long maxBytes, ToLongFunction<ImageLoader> sizer) {
+        this.maxBytes = maxBytes;
+        this.sizer = sizer;
+    }
+
+    /**
+     * Returns the cached image for the given URL and parameters, waits for it
+     * if it is being loaded, or loads it with the given loader.
+     */
+    public ImageLoader get(String url, double width, double height,
+                           boolean preserveRatio, float pixelScale,
+                           boolean smooth, Loader loader) throws IOException {
+        if (maxBytes <= 0 || url == null) {
+            return loader.load();
+        }
+
+        final Key key = new Key(url, width, height, preserveRatio, pixelScale, smooth);
+        final CompletableFuture<ImageLoader> future;
+        final boolean loading;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hitCount++;
+                return entry.image;
+            }
+            CompletableFuture<ImageLoader> inFlight = pending.get(key);
+            if (inFlight != null) {
+                joinCount++;
+                future = inFlight;
+                loading = false;
+            } else {
+                missCount++;
+                future = new CompletableFuture<>();
+                pending.put(key, future);
+                loading = true;
+            }
+        }
+
+        if (!loading) {
+            ImageLoader image = future.join();
+            // the load we waited for failed, try again on our own
+            return image != null && image.getException() == null ? image : loader.load();
+        }
+
+        ImageLoader image = null;
+        try {
+            image = loader.load();
+            return image;
+        } finally {
+            synchronized (this) {
+                pending.remove(key);
+                if (image != null && image.getException() == null) {
+                    put(key, image);
+                }
+            }
+            future.complete(image);
+        }
+    }
+
+    /**
+     * Removes all images from the cache. Loads in progress are not affected.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    /** Returns the number of images in the cache. */
+    public synchronized int getImageCount() {
+        return entries.size();
+    }
+
+    /** Returns the number of bytes of the decoded images in the cache. */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /** Returns the maximum number of bytes the cache holds. */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /** Returns how often a request was served from the cache. */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /** Returns how often a request had to load the image. */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /** Returns how often a request waited for a load that was in progress. */
+    public synchronized long getJoinCount() {
+        return joinCount;
+    }
+
+    /** Returns how often an image was evicted to stay within the budget. */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override public synchronized String toString() {
+        return "ImageLoaderCache[images=" + entries.size()
+                + ", bytes=" + bytes + "/" + maxBytes
+                + ", hits=" + hitCount + ", misses=" + missCount
+                + ", joins=" + joinCount + ", evictions=" + evictionCount + "]";
+    }
+
+    private void put(Key key, ImageLoader image) {
+        long size = sizer.applyAsLong(image);
+        if (size > maxBytes) {
+            return;
+        }
+        Entry old = entries.put(key, new Entry(image, size));
+        if (old != null) {
+            bytes -= old.bytes;
+        }
+        bytes += size;
+
+        Iterator<Entry> it = entries.values().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            bytes -= it.next().bytes;
+            it.remove();
+            evictionCount++;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.tk;
+
+import com.sun.javafx.geom.Rectangle;
+
+/**
+ * Receives the partially decoded image of an image that is loaded in the
+ * background. If the listener passed to {@link Toolkit#loadImageAsync}
+ * implements this interface, it is notified on the FX application thread
+ * while the image is decoded, at most about once per pulse. The complete
+ * image is delivered through <code>onCompletion</code> as usual.
+ */
+public interface PartialImageListener {
+
+    /**
+     * Invoked when more of the image has been decoded.
+     *
+     * @param image the partially decoded image, the same instance for every
+     *        invocation during a load
+     * @param width the width of the image
+     * @param height the height of the image
+     * @param dirtyRegion the region of the image updated since the last
+     *        invocation
+     */
+    public void onPartialImage(PlatformImage image, double width, double height,
+                               Rectangle dirtyRegion);
+}
@@ -79,6 +79,7 @@ import com.sun.javafx.embed.HostInterface;
 import com.sun.javafx.geom.Path2D;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.perf.PerformanceTracker;
+import com.sun.javafx.perf.ResourcePoolStatistics;
 import com.sun.javafx.runtime.VersionInfo;
 import com.sun.javafx.runtime.async.AsyncOperation;
 import com.sun.javafx.runtime.async.AsyncOperationListener;
@@ -624,6 +625,14 @@ public abstract class Toolkit {
     public abstract PerformanceTracker getPerformanceTracker();
     public abstract PerformanceTracker createPerformanceTracker();
 
+    /**
+     * Takes a snapshot of the statistics of the pool that textures are
+     * allocated from, or returns null if this toolkit has no such pool.
+     */
+    public ResourcePoolStatistics getTexturePoolStatistics() {
+        return null;
+    }
+
     //to be used for testing only
     public abstract void waitFor(Task t);
 
@@ -27,16 +27,24 @@ package com.sun.javafx.tk.quantum;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import com.sun.javafx.iio.ImageFrame;
+import com.sun.javafx.iio.ImageFrameSequence;
 import com.sun.javafx.iio.ImageLoadListener;
 import com.sun.javafx.iio.ImageLoader;
 import com.sun.javafx.iio.ImageMetadata;
 import com.sun.javafx.iio.ImageStorage;
 import com.sun.javafx.iio.ImageStorageException;
+import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.runtime.async.AbstractRemoteResource;
 import com.sun.javafx.runtime.async.AsyncOperationListener;
+import com.sun.javafx.tk.ImageLoaderCache;
+import com.sun.javafx.tk.PartialImageListener;
 import com.sun.javafx.tk.PlatformImage;
+import com.sun.javafx.tk.Toolkit;
 import com.sun.prism.Image;
 import com.sun.prism.impl.PrismSettings;
 import java.lang.reflect.UndeclaredThrowableException;
@@ -47,36 +55,93 @@ import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import com.sun.javafx.logging.PlatformLogger;
+import javafx.application.Platform;
 
 class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
 
     private static PlatformLogger imageioLogger = null;
 
+    // shares decoded images between Image instances loading the same URL
+    private static final ImageLoaderCache cache =
+            new ImageLoaderCache(PrismSettings.imageCacheSize, PrismImageLoader2::getDecodedSize);
+
+    // all frames, or only the first frame of a streamed animation
     private Image[] images;
+    // the frames of a streamed animation, null if all frames are decoded
+    private ImageFrameSequence sequence;
     private int[] delayTimes;
     private int loopCount;
     private double width;
     private double height;
     private float pixelScale;
     private Exception exception;
+    private final ImagePreview preview;
 
     public PrismImageLoader2(String url, double width, double height,
                              boolean preserveRatio, float pixelScale,
                              boolean smooth)
     {
+        this.preview = null;
         loadAll(url, width, height, preserveRatio, pixelScale, smooth);
     }
 
     public PrismImageLoader2(InputStream stream, double width, double height,
                              boolean preserveRatio, boolean smooth)
     {
+        this(stream, width, height, preserveRatio, smooth, null);
+    }
+
+    PrismImageLoader2(InputStream stream, double width, double height,
+                      boolean preserveRatio, boolean smooth, ImagePreview preview)
+    {
+        this.preview = preview;
         loadAll(stream, width, height, preserveRatio, smooth);
     }
 
+    /**
+     * Loads the image at the given URL, or returns the shared result of an
+     * earlier or concurrent load of the same URL with the same parameters.
+     */
+    static com.sun.javafx.tk.ImageLoader load(String url, double width, double height,
+                                              boolean preserveRatio, float pixelScale,
+                                              boolean smooth)
+    {
+        try {
+            return cache.get(url, width, height, preserveRatio, getImagePixelScale(pixelScale), smooth,
+                    () -> new PrismImageLoader2(url, width, height, preserveRatio, pixelScale, smooth));
+        } catch (IOException e) {
+            // the loader reports errors through getException() instead
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the image cache shared by all URL based image loads.
+     */
+    static ImageLoaderCache getCache() {
+        return cache;
+    }
+
+    // The pixel scale of the loaded image, ImageStorage loads the @2x
+    // variant of an image for any device scale of 1.5 or higher
+    private static float getImagePixelScale(float devPixelScale) {
+        return devPixelScale >= 1.5f ? 2.0f : 1.0f;
+    }
+
+    private static long getDecodedSize(com.sun.javafx.tk.ImageLoader loader) {
+        Image[] images = ((PrismImageLoader2) loader).images;
+        long size = 0;
+        for (int i = 0; i < images.length; i++) {
+            size += (long) images[i].getScanlineStride() * images[i].getHeight();
+        }
+        return size;
+    }
+
     public double getWidth() {
         return width;
     }
@@ -89,14 +154,33 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
         if (images == null) {
             return 0;
         }
-        return images.length;
+        return delayTimes.length;
     }
 
     public PlatformImage getFrame(int index) {
         if (images == null) {
             return null;
         }
-        return images[index];
+        if (index < images.length) {
+            return images[index];
+        }
+        return decodeFrame(sequence, index);
+    }
+
+    @Override
+    public FrameSource openFrameSource() {
+        return sequence != null ? new FrameStream(this, sequence.copy()) : null;
+    }
+
+    // decodes a frame of a streamed animation, the first frame is shown
+    // instead of a frame that cannot be decoded
+    private Image decodeFrame(ImageFrameSequence frames, int index) {
+        try {
+            return Image.convertImageFrame(frames.getFrame(index));
+        } catch (ImageStorageException e) {
+            getImageioLogger().warning("Cannot decode image frame " + index + ": " + e.getMessage());
+            return images[0];
+        }
     }
 
     public int getFrameDelay(int index) {
@@ -123,8 +207,9 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
     {
         ImageLoadListener listener = new PrismLoadListener();
         try {
-            ImageFrame[] imgFrames =
-                ImageStorage.loadAll(url, listener, w, h, preserveRatio, pixelScale, smooth);
+            ImageFrameSequence imgFrames =
+                ImageStorage.loadSequence(url, listener, w, h, preserveRatio, pixelScale, smooth,
+                                          PrismSettings.animationStreamThreshold);
             convertAll(imgFrames);
         } catch (ImageStorageException e) {
             handleException(e);
@@ -138,8 +223,9 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
     {
         ImageLoadListener listener = new PrismLoadListener();
         try {
-            ImageFrame[] imgFrames =
-                ImageStorage.loadAll(stream, listener, w, h, preserveRatio, 1.0f, smooth);
+            ImageFrameSequence imgFrames =
+                ImageStorage.loadSequence(stream, listener, w, h, preserveRatio, 1.0f, smooth,
+                                          PrismSettings.animationStreamThreshold);
             convertAll(imgFrames);
         } catch (ImageStorageException e) {
             handleException(e);
@@ -165,14 +251,22 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
         this.exception = exception;
     }
 
-    private void convertAll(ImageFrame[] imgFrames) {
-        int numFrames = imgFrames.length;
-        images = new Image[numFrames];
+    private void convertAll(ImageFrameSequence imgFrames) throws ImageStorageException {
+        int numFrames = imgFrames.getFrameCount();
+        // only the first frame of a streamed animation is decoded up front
+        int numImages = imgFrames.isStreamed() ? 1 : numFrames;
+        Image[] images = new Image[numImages];
         delayTimes = new int[numFrames];
         for (int i = 0; i < numFrames; i++) {
-            ImageFrame frame = imgFrames[i];
-            images[i] = com.sun.prism.Image.convertImageFrame(frame);
-            ImageMetadata metadata = frame.getMetadata();
+            if (i < numImages) {
+                ImageFrame frame = imgFrames.getFrame(i);
+                images[i] = com.sun.prism.Image.convertImageFrame(frame);
+                if (i == 0) {
+                    width = frame.getWidth();
+                    height = frame.getHeight();
+                }
+            }
+            ImageMetadata metadata = imgFrames.getMetadata(i);
             if (metadata != null) {
                 Integer delay = metadata.delayTime;
                 if (delay != null) {
@@ -183,11 +277,11 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
                     this.loopCount = loopCount;
                 }
             }
-            if (i == 0) {
-                width = frame.getWidth();
-                height = frame.getHeight();
-            }
         }
+        if (imgFrames.isStreamed()) {
+            sequence = imgFrames;
+        }
+        this.images = images;
     }
 
     /**
@@ -220,6 +314,245 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
         public void imageLoadMetaData(ImageLoader loader, ImageMetadata metadata) {
             // We currently have no need to listen for ImageMetadata ready.
         }
+
+        @Override
+        public boolean receivesImageLoadUpdates() {
+            return preview != null;
+        }
+
+        @Override
+        public void imageLoadUpdate(ImageLoader loader, ImageFrame frame, int y, int height) {
+            preview.update(frame, y, height);
+        }
+    }
+
+    /*
+     * Shows the rows of an image loaded in the background as they are
+     * decoded. The rows decoded since the last update are converted into a
+     * preview image on the loading thread, no more than once per pulse, and
+     * the listener is then told on the FX thread which rows have changed.
+     * Updates are skipped while the previous one has not been shown yet.
+     */
+    static final class ImagePreview {
+        private final PartialImageListener listener;
+        private final Future<?> task;
+        private final long interval;
+
+        // accessed on the loading thread only
+        private ImageFrame frame;
+        private Image image;
+        private int dirtyY = Integer.MAX_VALUE;
+        private int dirtyEndY = 0;
+        private long lastUpdate;
+
+        private Rectangle pendingRegion;
+
+        ImagePreview(PartialImageListener listener, Future<?> task) {
+            this.listener = listener;
+            this.task = task;
+            this.interval = TimeUnit.SECONDS.toNanos(1) / Toolkit.getToolkit().getRefreshRate();
+        }
+
+        void update(ImageFrame frame, int y, int height) {
+            if (this.frame != frame) {
+                // only the first frame is shown, and palette images are
+                // converted to RGB only once they are complete
+                if (this.frame != null || frame.getImageType() == ImageStorage.ImageType.PALETTE) {
+                    return;
+                }
+                this.frame = frame;
+            }
+
+            dirtyY = Math.min(dirtyY, y);
+            dirtyEndY = Math.max(dirtyEndY, y + height);
+
+            long now = System.nanoTime();
+            if (image != null && now - lastUpdate < interval) {
+                return;
+            }
+            synchronized (this) {
+                if (pendingRegion != null) {
+                    return;
+                }
+            }
+
+            convertRows(dirtyY, dirtyEndY - dirtyY);
+            Rectangle region = new Rectangle(0, dirtyY, image.getWidth(), dirtyEndY - dirtyY);
+            dirtyY = Integer.MAX_VALUE;
+            dirtyEndY = 0;
+            lastUpdate = now;
+
+            synchronized (this) {
+                pendingRegion = region;
+            }
+            Platform.runLater(this::show);
+        }
+
+        private void convertRows(int y, int height) {
+            int stride = frame.getStride();
+            if (image == null) {
+                ByteBuffer empty = ByteBuffer.allocate(stride * frame.getHeight());
+                image = Image.convertImageFrame(new ImageFrame(frame.getImageType(), empty,
+                        frame.getWidth(), frame.getHeight(), stride, null,
+                        frame.getPixelScale(), frame.getMetadata()));
+            }
+
+            // the rows are converted on a copy, the loader still uses the frame
+            ByteBuffer src = ((ByteBuffer) frame.getImageData()).duplicate();
+            src.limit((y + height) * stride).position(y * stride);
+            ByteBuffer rowData = ByteBuffer.allocate(stride * height);
+            rowData.put(src).rewind();
+            Image rows = Image.convertImageFrame(new ImageFrame(frame.getImageType(), rowData,
+                    frame.getWidth(), height, stride, null,
+                    frame.getPixelScale(), frame.getMetadata()));
+
+            ByteBuffer rowPixels = ((ByteBuffer) rows.getPixelBuffer()).duplicate();
+            ByteBuffer pixels = ((ByteBuffer) image.getPixelBuffer()).duplicate();
+            int rowBytes = image.getWidth() * image.getBytesPerPixelUnit();
+            for (int row = 0; row < height; row++) {
+                int pos = row * rows.getScanlineStride();
+                rowPixels.limit(pos + rowBytes).position(pos);
+                pixels.position((y + row) * image.getScanlineStride());
+                pixels.put(rowPixels);
+                rowPixels.clear();
+            }
+        }
+
+        private void show() {
+            Rectangle region;
+            synchronized (this) {
+                region = pendingRegion;
+                pendingRegion = null;
+            }
+            // the complete image is shown instead once the load is done
+            if (!task.isDone()) {
+                listener.onPartialImage(image,
+                        image.getWidth() / image.getPixelScale(),
+                        image.getHeight() / image.getPixelScale(),
+                        region);
+            }
+        }
+    }
+
+    /*
+     * Decodes the frames of a streamed animation for one image that shows
+     * it. Each time a frame is shown, that frame and the frames after it are
+     * decoded ahead on a background image loading thread, and only the last
+     * few decoded frames are kept. Frames are never decoded on the thread
+     * that shows them: a frame that is not decoded yet is reported missing,
+     * and the frame shown before it is kept until the next one is ready.
+     */
+    static final class FrameStream implements FrameSource {
+        // the number of frames kept, the one shown and those decoded ahead
+        private static final int WINDOW = 3;
+
+        private final PrismImageLoader2 loader;
+        private final ImageFrameSequence frames;
+
+        // guarded by this
+        private final Image[] window = new Image[WINDOW];
+        private final int[] windowIndices = new int[WINDOW];
+        private int requestedIndex;
+        private boolean decodingAhead;
+        private boolean disposed;
+
+        FrameStream(PrismImageLoader2 loader, ImageFrameSequence frames) {
+            this.loader = loader;
+            this.frames = frames;
+            Arrays.fill(windowIndices, -1);
+        }
+
+        @Override
+        public PlatformImage getFrame(int index) {
+            Image image;
+            synchronized (this) {
+                int slot = index % WINDOW;
+                image = windowIndices[slot] == index ? window[slot] : null;
+            }
+            decodeAhead(index);
+            return image;
+        }
+
+        @Override
+        public void dispose() {
+            synchronized (this) {
+                if (disposed) {
+                    return;
+                }
+                disposed = true;
+                Arrays.fill(window, null);
+                Arrays.fill(windowIndices, -1);
+                if (decodingAhead) {
+                    // the frames are released once the frame being decoded
+                    // is done, rather than waiting for it here
+                    return;
+                }
+            }
+            frames.dispose();
+        }
+
+        // returns the next frame of the requested ones that is not decoded
+        // yet, or -1 if there is none
+        private int nextMissingFrame() {
+            int frameCount = frames.getFrameCount();
+            for (int i = 0; i < WINDOW; i++) {
+                int index = (requestedIndex + i) % frameCount;
+                if (windowIndices[index % WINDOW] != index) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        private boolean isRequested(int index) {
+            int frameCount = frames.getFrameCount();
+            return (index - requestedIndex + frameCount) % frameCount < WINDOW;
+        }
+
+        private void decodeAhead(int index) {
+            synchronized (this) {
+                if (disposed) {
+                    return;
+                }
+                requestedIndex = index;
+                // a running task picks up the new request with its next frame
+                if (decodingAhead || nextMissingFrame() < 0) {
+                    return;
+                }
+                decodingAhead = true;
+            }
+            AsyncImageLoader.BG_LOADING_EXECUTOR.execute(() -> {
+                boolean release = false;
+                try {
+                    while (true) {
+                        int next;
+                        synchronized (this) {
+                            next = disposed ? -1 : nextMissingFrame();
+                        }
+                        if (next < 0) {
+                            break;
+                        }
+                        Image image = loader.decodeFrame(frames, next);
+                        synchronized (this) {
+                            // the slot of a frame that is no longer requested
+                            // may be needed for a requested one
+                            if (!disposed && isRequested(next)) {
+                                window[next % WINDOW] = image;
+                                windowIndices[next % WINDOW] = next;
+                            }
+                        }
+                    }
+                } finally {
+                    synchronized (this) {
+                        decodingAhead = false;
+                        release = disposed;
+                    }
+                    if (release) {
+                        frames.dispose();
+                    }
+                }
+            });
+        }
     }
 
     static final class AsyncImageLoader
@@ -251,12 +584,30 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
 
         @Override
         protected PrismImageLoader2 processStream(InputStream stream) throws IOException {
-            return new PrismImageLoader2(stream, width, height, preserveRatio, smooth);
+            ImagePreview preview = PrismSettings.progressiveImages && listener instanceof PartialImageListener
+                    ? new ImagePreview((PartialImageListener) listener, future)
+                    : null;
+            PrismImageLoader2 loader =
+                    new PrismImageLoader2(stream, width, height, preserveRatio, smooth, preview);
+            if (loader.getFrameCount() == 1) {
+                // Start uploading the texture of a large image before the
+                // image is shown
+                TextureUploader.schedule((com.sun.prism.Image) loader.getFrame(0));
+            }
+            return loader;
         }
 
         @SuppressWarnings("removal")
         @Override
         public PrismImageLoader2 call() throws IOException {
+            // images loaded in the background are read from the stream at
+            // a pixel scale of 1, see processStream
+            return (PrismImageLoader2) cache.get(url, width, height, preserveRatio, 1.0f, smooth,
+                    this::callPrivileged);
+        }
+
+        @SuppressWarnings("removal")
+        private PrismImageLoader2 callPrivileged() throws IOException {
             try {
                 return AccessController.doPrivileged(
                         (PrivilegedExceptionAction<PrismImageLoader2>) () -> AsyncImageLoader.super.call(), acc);
@@ -59,6 +59,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.IntBuffer;
 import java.security.AccessControlContext;
 import java.security.AccessController;
@@ -93,6 +94,7 @@ import com.sun.javafx.geom.PathIterator;
 import com.sun.javafx.geom.Shape;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.perf.PerformanceTracker;
+import com.sun.javafx.perf.ResourcePoolStatistics;
 import com.sun.javafx.runtime.async.AbstractRemoteResource;
 import com.sun.javafx.runtime.async.AsyncOperationListener;
 import com.sun.javafx.scene.text.TextLayoutFactory;
@@ -781,6 +783,41 @@ public final class QuantumToolkit extends Toolkit {
         return new PerformanceTrackerImpl();
     }
 
+    @Override
+    public ResourcePoolStatistics getTexturePoolStatistics() {
+        // the pool is managed on the render thread, take the snapshot there
+        final ResourcePoolStatistics[] statistics = new ResourcePoolStatistics[1];
+        RenderJob re = new RenderJob(() -> {
+            try {
+                ResourceFactory rf = GraphicsPipeline.getDefaultResourceFactory();
+                if (rf != null && !rf.isDisposed()) {
+                    statistics[0] = rf.getTextureResourcePool().getStatistics();
+                }
+            } catch (Throwable th) {
+                // the completion listener is only called if the job succeeds
+                th.printStackTrace();
+            }
+        });
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        re.setCompletionListener(job -> latch.countDown());
+        addRenderJob(re);
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return statistics[0];
+    }
+
     // Only currently called from the loadImage method below.  We do not
     // necessarily know what the worst render scale we will ever see is
     // because the user has control over that, but we should be loading
@@ -799,7 +836,7 @@ public final class QuantumToolkit extends Toolkit {
     }
 
     @Override public ImageLoader loadImage(String url, double width, double height, boolean preserveRatio, boolean smooth) {
-        return new PrismImageLoader2(url, width, height, preserveRatio, getMaxRenderScale(), smooth);
+        return PrismImageLoader2.load(url, width, height, preserveRatio, getMaxRenderScale(), smooth);
     }
 
     @Override public ImageLoader loadImage(InputStream stream, double width, double height,
@@ -856,6 +893,11 @@ public final class QuantumToolkit extends Toolkit {
             pulseTimer.stop();
             renderer.stopRenderer();
 
+            if (PrismSettings.poolStats && PrismImageLoader2.getCache().getMaxBytes() > 0) {
+                System.err.println(PrismImageLoader2.getCache());
+            }
+            PrismImageLoader2.getCache().clear();
+
             try {
                 AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
                     Runtime.getRuntime().removeShutdownHook(shutdownHook);
@@ -1547,7 +1589,11 @@ public final class QuantumToolkit extends Toolkit {
                 Graphics g = rt.createGraphics();
                 draw(g, x, y, w, h);
                 int[] pixels = rt.getPixels();
-                if (pixels != null) {
+                if (readPixelsInPlace(rt, pixels, pImage.image, w, h)) {
+                    // The pixels were written directly into the buffer of the
+                    // existing image, e.g. the one shared with a PixelBuffer
+                    pImage.image.bufferDirty(null);
+                } else if (pixels != null) {
                     pImage.setImage(com.sun.prism.Image.fromIntArgbPreData(pixels, w, h));
                 } else {
                     IntBuffer ib = IntBuffer.allocate(w * h);
@@ -1700,6 +1746,54 @@ public final class QuantumToolkit extends Toolkit {
         return image;
     }
 
+    /**
+     * Reads the pixels of the render target into the pixel buffer of
+     * the given image, if the image has the size of the snapshot and
+     * its buffer is laid out as the render target reads it back
+     * (tightly packed premultiplied ARGB ints or BGRA bytes).
+     */
+    static boolean readPixelsInPlace(RTTexture rt, int[] pixels,
+                                     com.sun.prism.Image image, int w, int h) {
+        if (image == null || image.getWidth() != w || image.getHeight() != h ||
+                image.getMinX() != 0 || image.getMinY() != 0 ||
+                image.getPixelScale() != 1.0f ||
+                image.getScanlineStride() != w * image.getBytesPerPixelUnit()) {
+            return false;
+        }
+        Buffer buffer = image.getPixelBuffer();
+        if (buffer.isReadOnly() || (buffer.hasArray() && buffer.arrayOffset() != 0)) {
+            return false;
+        }
+        // Duplicate the buffer so that its position and limit, which
+        // may be in use by the application, are not changed
+        if (image.getPixelFormat() == com.sun.prism.PixelFormat.INT_ARGB_PRE &&
+                buffer instanceof IntBuffer) {
+            IntBuffer ib = ((IntBuffer) buffer).duplicate();
+            if (ib.capacity() < w * h) {
+                return false;
+            }
+            if (pixels != null) {
+                ib.clear();
+                ib.put(pixels, 0, w * h);
+                return true;
+            }
+            return rt.readPixels(ib, rt.getContentX(), rt.getContentY(), w, h);
+        } else if (image.getPixelFormat() == com.sun.prism.PixelFormat.BYTE_BGRA_PRE &&
+                buffer instanceof ByteBuffer) {
+            ByteBuffer bb = ((ByteBuffer) buffer).duplicate();
+            if (bb.capacity() < w * h * 4) {
+                return false;
+            }
+            if (pixels != null) {
+                bb.clear();
+                bb.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(pixels, 0, w * h);
+                return true;
+            }
+            return rt.readPixels(bb, rt.getContentX(), rt.getContentY(), w, h);
+        }
+        return false;
+    }
+
     @Override
     public FileChooserResult showFileChooser(final TKStage ownerWindow,
                                       final String title,
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.tk.quantum;
+
+import java.util.concurrent.RejectedExecutionException;
+import com.sun.javafx.logging.PulseLogger;
+import com.sun.javafx.tk.RenderJob;
+import com.sun.prism.GraphicsPipeline;
+import com.sun.prism.Image;
+import com.sun.prism.ResourceFactory;
+import com.sun.prism.impl.PrismSettings;
+
+/**
+ * Uploads the texture of a large image ahead of time, a chunk of rows per
+ * render job, so that the frame on which the image is first rendered doesn't
+ * stall while all of its pixels are uploaded. The jobs for the scene's
+ * pulses run between the chunks, so each of them waits for at most one
+ * chunk. If the image is rendered before its upload is complete, the rest
+ * of its rows are uploaded on that frame.
+ */
+final class TextureUploader implements Runnable {
+
+    // The chunks uploaded since the last pulse and the time they took. The
+    // uploads run between pulses, when the pulse logger drops messages, so
+    // they are reported by the next pulse instead. Only used on the render
+    // thread.
+    private static int loggedChunks;
+    private static long loggedNanos;
+
+    private final Image image;
+
+    private TextureUploader(Image image) {
+        this.image = image;
+    }
+
+    /**
+     * Schedules the upload of the texture of the given image if it's large
+     * enough to cause a stall when it's uploaded on a single frame.
+     */
+    static void schedule(Image image) {
+        if (PrismSettings.textureUploadThreshold <= 0 || PrismSettings.textureUploadChunk <= 0) {
+            return;
+        }
+        long bytes = (long) image.getWidth() * image.getHeight() * image.getBytesPerPixelUnit();
+        if (bytes >= PrismSettings.textureUploadThreshold) {
+            new TextureUploader(image).submit();
+        }
+    }
+
+    /**
+     * Reports the chunks uploaded since the last pulse to the pulse logger.
+     * Must be called on the render thread while a pulse is rendered.
+     */
+    static void logUploads() {
+        if (loggedChunks > 0) {
+            PulseLogger.addMessage(String.format("Texture upload since last pulse: %d chunks, %.3f ms",
+                    loggedChunks, loggedNanos / 1e6));
+            loggedChunks = 0;
+            loggedNanos = 0;
+        }
+    }
+
+    private void submit() {
+        try {
+            QuantumRenderer.getInstance().submitRenderJob(new RenderJob(this));
+        } catch (RejectedExecutionException e) {
+            // The renderer is shutting down
+        }
+    }
+
+    @Override
+    public void run() {
+        ResourceFactory rf = GraphicsPipeline.getDefaultResourceFactory();
+        if (rf == null || !rf.isDeviceReady()) {
+            return;
+        }
+        long start = System.nanoTime();
+        boolean pending = rf.uploadCachedTexture(image, PrismSettings.textureUploadChunk);
+        if (PulseLogger.PULSE_LOGGING_ENABLED) {
+            loggedChunks++;
+            loggedNanos += System.nanoTime() - start;
+        }
+        if (pending) {
+            submit();
+        }
+    }
+}
@@ -250,6 +250,8 @@ abstract class ViewPainter implements Runnable {
                                                      tx, projTx);
             dirtyRegionContainer.roundOut();
             if (status == DirtyRegionContainer.DTR_OK) {
+                // Merge the regions which are cheaper to paint together
+                dirtyRegionContainer.optimize(PrismSettings.dirtyRegionOverhead);
                 root.doPreCulling(dirtyRegionContainer, tx, projTx);
             }
         }
@@ -258,6 +260,19 @@ abstract class ViewPainter implements Runnable {
         // might as well save this reference.
         final int dirtyRegionSize = status == DirtyRegionContainer.DTR_OK ? dirtyRegionContainer.size() : 0;
 
+        // The area, in scene coordinates, which is going to be repainted
+        final double viewArea = (double) width * height;
+        final double repaintedArea = dirtyRegionSize > 0 ?
+                Math.min(dirtyRegionContainer.getArea(), viewArea) : viewArea;
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.addMessage("Repainted area: " + (long) repaintedArea +
+                                   " of " + (long) viewArea + " pixels");
+            TextureUploader.logUploads();
+        }
+        if (PrismSettings.printDirtyStats) {
+            updateDirtyStats(dirtyRegionSize, repaintedArea / viewArea);
+        }
+
         if (dirtyRegionSize > 0) {
             // We set this flag on Graphics so that subsequent code in the render paths of
             // NGNode know whether they ought to be paying attention to dirty region
@@ -380,11 +395,20 @@ abstract class ViewPainter implements Runnable {
                         final RectBounds reg = dirtyRegionContainer.getDirtyRegion(i);
                         backBufferGraphics.fillRect(reg.getMinX(), reg.getMinY(), reg.getWidth(), reg.getHeight());
                     }
+                    // Outline each region so that adjacent regions can be told apart
+                    backBufferGraphics.setPaint(new Color(1, 0, 0, .8f));
+                    for (int i = 0; i < dirtyRegionSize; i++) {
+                        final RectBounds reg = dirtyRegionContainer.getDirtyRegion(i);
+                        backBufferGraphics.drawRect(reg.getMinX(), reg.getMinY(), reg.getWidth(), reg.getHeight());
+                    }
                 } else {
                     // No dirty regions, fill the entire view area
                     backBufferGraphics.setPaint(new Color(1, 0, 0, .3f));
                     backBufferGraphics.fillRect(0, 0, width, height);
                 }
+                // A bar along the top of the view shows the repainted fraction of the view
+                backBufferGraphics.setPaint(new Color(1, 1, 0, .8f));
+                backBufferGraphics.fillRect(0, 0, (float) (width * repaintedArea / viewArea), 4);
             }
             root.clearPainted();
         }
@@ -409,6 +433,31 @@ abstract class ViewPainter implements Runnable {
         texture.unlock();
     }
 
+    // Statistics printed when -Dprism.printdirtystats=true
+    private static final int DIRTY_STATS_FREQUENCY = 60;
+    private int dirtyStatsFrames;
+    private int dirtyStatsRegions;
+    private double dirtyStatsFraction;
+    private double dirtyStatsMaxFraction;
+
+    private void updateDirtyStats(int regions, double repaintedFraction) {
+        dirtyStatsFrames++;
+        dirtyStatsRegions += regions;
+        dirtyStatsFraction += repaintedFraction;
+        dirtyStatsMaxFraction = Math.max(dirtyStatsMaxFraction, repaintedFraction);
+        if (dirtyStatsFrames == DIRTY_STATS_FREQUENCY) {
+            System.err.printf("Dirty regions: %.1f regions/frame, %.1f%% of the view " +
+                              "repainted on average, %.1f%% at most%n",
+                              (double) dirtyStatsRegions / dirtyStatsFrames,
+                              100 * dirtyStatsFraction / dirtyStatsFrames,
+                              100 * dirtyStatsMaxFraction);
+            dirtyStatsFrames = 0;
+            dirtyStatsRegions = 0;
+            dirtyStatsFraction = 0;
+            dirtyStatsMaxFraction = 0;
+        }
+    }
+
     private static NodePath getRootPath(int i) {
         if (ROOT_PATHS[i] == null) {
             ROOT_PATHS[i] = new NodePath();
@@ -200,6 +200,14 @@ public final class DMarlinRenderingEngine implements MarlinConst
         logInfo("prism.marlin.clip.subdivider.minLength = "
                 + MarlinProperties.getSubdividerMinLength());
 
+        // parallel rendering parameters
+        logInfo("prism.marlin.bands            = "
+                + MarlinProperties.getBands());
+        logInfo("prism.marlin.bands.minCommands = "
+                + MarlinProperties.getBandsMinCommands());
+        logInfo("prism.marlin.bands.minHeight  = "
+                + MarlinProperties.getBandsMinHeight());
+
         // debugging parameters
         logInfo("prism.marlin.doStats          = "
                 + MarlinConst.DO_STATS);
@@ -189,6 +189,37 @@ public final class MarlinProperties {
         return getFloat("prism.marlin.clip.subdivider.minLength", 100.0f, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY);
     }
 
+    // parallel rendering parameters
+
+    /**
+     * Return the maximum number of horizontal bands a large path is split
+     * into to be rasterized concurrently
+     *
+     * @return 0 (disabled by default) < bands < 256
+     */
+    public static int getBands() {
+        return getInteger("prism.marlin.bands", 0, 0, 256);
+    }
+
+    /**
+     * Return the minimum number of path commands a path must have to be
+     * rasterized in bands
+     *
+     * @return 0 < commands (10000 by default)
+     */
+    public static int getBandsMinCommands() {
+        return getInteger("prism.marlin.bands.minCommands", 10000, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Return the minimum height in pixels of a band
+     *
+     * @return 1 < height < 32768 (64 by default)
+     */
+    public static int getBandsMinHeight() {
+        return getInteger("prism.marlin.bands.minHeight", 64, 1, 32 * 1024);
+    }
+
     // debugging parameters
 
     public static boolean isDoStats() {
@@ -31,6 +31,15 @@ public interface MarlinRenderer extends DPathConsumer2D {
                                 final int pix_boundsWidth, final int pix_boundsHeight,
                                 final int windingRule);
 
+    /**
+     * Restricts the pixel rows produced by this renderer to the band
+     * [pix_bandMinY, pix_bandMaxY[ of the bounds given to init(). It must be
+     * called after init() and before the path is fed to this renderer.
+     * Edges are still computed against the bounds given to init(), so the
+     * rows inside the band get exactly the same coverage as without a band.
+     */
+    public MarlinRenderer initBand(final int pix_bandMinY, final int pix_bandMaxY);
+
     /**
      * Disposes this renderer and recycle it clean up before reusing this instance
      */
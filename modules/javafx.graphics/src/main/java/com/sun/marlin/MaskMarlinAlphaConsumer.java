@@ -32,6 +32,8 @@ import sun.misc.Unsafe;
 
 public final class MaskMarlinAlphaConsumer implements MarlinAlphaConsumer {
     int x, y, width, height;
+    // offset of the origin and scanline stride within alphas:
+    int offset, stride;
     final byte alphas[];
     final ByteBuffer alphabuffer;
     final MaskData maskdata = new MaskData();
@@ -44,12 +46,33 @@ public final class MaskMarlinAlphaConsumer implements MarlinAlphaConsumer {
         alphabuffer = ByteBuffer.wrap(alphas);
     }
 
+    /**
+     * Creates a consumer that writes into the alphas of the given consumer,
+     * to let several renderers produce disjoint bands of the same mask.
+     * @see #setBandNoClone
+     */
+    public MaskMarlinAlphaConsumer(MaskMarlinAlphaConsumer shared) {
+        this.alphas = shared.alphas;
+        alphabuffer = shared.alphabuffer;
+    }
+
     public void setBoundsNoClone(int x, int y, int w, int h) {
+        setBandNoClone(x, y, w, h, 0, w);
+        maskdata.update(alphabuffer, x, y, w, h);
+    }
+
+    /**
+     * Sets the bounds of the alphas produced by this consumer, which are
+     * stored in the alphas array from the given offset with the given
+     * scanline stride. The mask data is not updated.
+     */
+    public void setBandNoClone(int x, int y, int w, int h, int offset, int stride) {
         this.x = x;
         this.y = y;
         this.width = w;
         this.height = h;
-        maskdata.update(alphabuffer, x, y, w, h);
+        this.offset = offset;
+        this.stride = stride;
 
         useFastFill = (w >= 32);
         if (useFastFill) {
@@ -146,7 +169,7 @@ public final class MaskMarlinAlphaConsumer implements MarlinAlphaConsumer {
     @Override
     public void clearAlphas(final int pix_y) {
         final int w = width;
-        final int off = (pix_y - y) * w;
+        final int off = offset + (pix_y - y) * stride;
 
         // Clear complete row:
        Arrays.fill(this.alphas, off, off + w, (byte)0);
@@ -161,7 +184,7 @@ public final class MaskMarlinAlphaConsumer implements MarlinAlphaConsumer {
 
         final byte[] out = this.alphas;
         final int w = width;
-        final int off = (pix_y - y) * w;
+        final int off = offset + (pix_y - y) * stride;
 
         final Unsafe _unsafe = OffHeapArray.UNSAFE;
         final long addr_alpha = ALPHA_MAP_USED.address;
@@ -225,7 +248,7 @@ public final class MaskMarlinAlphaConsumer implements MarlinAlphaConsumer {
 
         final byte[] out = this.alphas;
         final int w = width;
-        final int off = (pix_y - y) * w;
+        final int off = offset + (pix_y - y) * stride;
 
         final Unsafe _unsafe = OffHeapArray.UNSAFE;
         final long addr_alpha = ALPHA_MAP_USED.address;
@@ -328,6 +328,10 @@ public final class Renderer implements MarlinRenderer, MarlinConst {
         // upper integer (inclusive)
         final int firstCrossing = FloatMath.max(FloatMath.ceil_int(y1), boundsMinY);
 
+        // first crossing within the clip bounds, before any band restriction
+        // (see initBand):
+        final int clipFirstCrossing = FloatMath.max(FloatMath.ceil_int(y1), clipMinY);
+
         // note: use boundsMaxY (last Y exclusive) to compute correct coverage
         // upper integer (exclusive)
         final int lastCrossing  = FloatMath.min(FloatMath.ceil_int(y2), boundsMaxY);
@@ -421,11 +425,22 @@ public final class Renderer implements MarlinRenderer, MarlinConst {
         //                 = fixed_floor(x1_fixed + 2^31 - 1)
         //                 = fixed_floor(x1_fixed + 0x7FFFFFFF)
         // and error       = fixed_fract(x1_fixed + 0x7FFFFFFF)
-        final double x1_intercept = x1 + (firstCrossing - y1) * slope;
+        final double x1_intercept = x1 + (clipFirstCrossing - y1) * slope;
 
         // inlined scalb(x1_intercept, 32):
-        final long x1_fixed_biased = ((long) (POWER_2_TO_32 * x1_intercept))
-                                     + 0x7FFFFFFFL;
+        long x1_fixed_biased = ((long) (POWER_2_TO_32 * x1_intercept))
+                               + 0x7FFFFFFFL;
+
+        // inlined scalb(slope, 32):
+        final long slope_fixed = (long) (POWER_2_TO_32 * slope);
+
+        if (firstCrossing != clipFirstCrossing) {
+            // the edge starts above the band: advance x to the first crossing
+            // in the band exactly as the DDA in _endRendering() would do it,
+            // ie by adding the slope (last bit ignored) once per scanline:
+            x1_fixed_biased = (x1_fixed_biased & ~1L)
+                + (firstCrossing - clipFirstCrossing) * (slope_fixed & ~1L);
+        }
         // curx:
         // last bit corresponds to the orientation
         _unsafe.putInt(addr, (((int) (x1_fixed_biased >> 31L)) & ALL_BUT_LSB) | or);
@@ -433,9 +448,6 @@ public final class Renderer implements MarlinRenderer, MarlinConst {
         _unsafe.putInt(addr,  ((int)  x1_fixed_biased) >>> 1);
         addr += SIZE_INT;
 
-        // inlined scalb(slope, 32):
-        final long slope_fixed = (long) (POWER_2_TO_32 * slope);
-
         // last bit set to 0 to keep orientation:
         _unsafe.putInt(addr, (((int) (slope_fixed >> 31L)) & ALL_BUT_LSB));
         addr += SIZE_INT;
@@ -478,6 +490,9 @@ public final class Renderer implements MarlinRenderer, MarlinConst {
     // Bounds of the drawing region, at subpixel precision.
     private int boundsMinX, boundsMinY, boundsMaxX, boundsMaxY;
 
+    // Top of the clip bounds given to init(), at subpixel precision
+    private int clipMinY;
+
     // Current winding rule
     private int windingRule;
 
@@ -549,6 +564,7 @@ public final class Renderer implements MarlinRenderer, MarlinConst {
         this.boundsMinY =  pix_boundsY << SUBPIXEL_LG_POSITIONS_Y;
         this.boundsMaxY =
             (pix_boundsY + pix_boundsHeight) << SUBPIXEL_LG_POSITIONS_Y;
+        this.clipMinY = boundsMinY;
 
         if (DO_LOG_BOUNDS) {
             MarlinUtils.logInfo("boundsXY = [" + boundsMinX + " ... "
@@ -588,6 +604,21 @@ public final class Renderer implements MarlinRenderer, MarlinConst {
         return this; // fluent API
     }
 
+    @Override
+    public Renderer initBand(final int pix_bandMinY, final int pix_bandMaxY) {
+        this.boundsMinY = FloatMath.max(pix_bandMinY << SUBPIXEL_LG_POSITIONS_Y, boundsMinY);
+        this.boundsMaxY = FloatMath.min(pix_bandMaxY << SUBPIXEL_LG_POSITIONS_Y, boundsMaxY);
+
+        if (DO_STATS) {
+            rdrCtx.stats.stat_rdr_bands.add(pix_bandMaxY - pix_bandMinY);
+        }
+        if (DO_LOG_BOUNDS) {
+            MarlinUtils.logInfo("band = [" + boundsMinY + " ... "
+                                + boundsMaxY + "[");
+        }
+        return this; // fluent API
+    }
+
     /**
      * Disposes this renderer and recycle it clean up before reusing this instance
      */
@@ -78,6 +78,8 @@ public final class RendererStats implements MarlinConst {
         = new StatLong("renderer.quadBreakIntoLinesAndAdd");
     final StatLong stat_rdr_quadBreak_dec
         = new StatLong("renderer.quadBreakIntoLinesAndAdd.dec");
+    final StatLong stat_rdr_bands
+        = new StatLong("renderer.bands");
     final StatLong stat_rdr_edges
         = new StatLong("renderer.edges");
     final StatLong stat_rdr_edges_count
@@ -184,6 +186,7 @@ public final class RendererStats implements MarlinConst {
         stat_rdr_curveBreak_inc,
         stat_rdr_quadBreak,
         stat_rdr_quadBreak_dec,
+        stat_rdr_bands,
         stat_rdr_edges,
         stat_rdr_edges_count,
         stat_rdr_edges_resizes,
@@ -60,7 +60,7 @@ public final class GradientColorMap {
     int[] rgba = null;
     int[] colors = null;
 
-    GradientColorMap(int[] fractions, int[] rgba, int cycleMethod) {
+    public GradientColorMap(int[] fractions, int[] rgba, int cycleMethod) {
         this.cycleMethod = cycleMethod;
 
         int numStops = fractions.length;
@@ -311,6 +311,13 @@ public final class MultiTexture implements Texture {
         }
     }
 
+    @Override
+    public void setEvictionPriority(EvictionPriority priority) {
+        for (Texture tex : textures) {
+            tex.setEvictionPriority(priority);
+        }
+    }
+
     @Override
     public boolean isSurfaceLost() {
         for (Texture tex : textures) {
@@ -194,6 +194,24 @@ public interface ResourceFactory extends GraphicsResource {
      */
     public Texture getCachedTexture(Image image, Texture.WrapMode wrapMode, boolean useMipmap);
 
+    /**
+     * Uploads the next rows of the pixels of the given image to the texture
+     * that {@link #getCachedTexture(Image, Texture.WrapMode)} returns for the
+     * {@code CLAMP_TO_EDGE} wrap mode, creating the texture on the first call.
+     * The texture is only put in the cache once all of its rows are uploaded;
+     * if the texture is requested before that, the remaining rows are
+     * uploaded at once.
+     * Nothing is uploaded if the texture is already cached, if the image
+     * doesn't fit in a single texture or if there isn't enough room in the
+     * texture pool without freeing other textures.
+     *
+     * @param image the pixel data to be uploaded
+     * @param maxBytes the approximate number of bytes of pixels to upload,
+     *     at least one row is uploaded
+     * @return true if rows of the image remain to be uploaded
+     */
+    public boolean uploadCachedTexture(Image image, long maxBytes);
+
     /**
      * Returns true if the given {@code PixelFormat} is supported; otherwise
      * returns false.
@@ -165,6 +165,23 @@ public interface Texture extends GraphicsResource {
         }
     }
 
+    /**
+     * The order in which a texture pool frees the textures that are not in
+     * use when it needs room for a new texture. Textures of the same priority
+     * are freed least recently used first.
+     */
+    public enum EvictionPriority {
+        /**
+         * Caches of content that can be rendered again, such as the cached
+         * renderings of nodes, which are freed first.
+         */
+        CACHE,
+        /**
+         * All other textures, such as the textures of images.
+         */
+        DEFAULT
+    }
+
     /**
      * Returns the {@code PixelFormat} of this texture.
      *
@@ -485,6 +502,7 @@ public interface Texture extends GraphicsResource {
     public void makePermanent();
     public void contentsUseful();
     public void contentsNotUseful();
+    public void setEvictionPriority(EvictionPriority priority);
 
     /**
      * Called by code wanting to know if the RTTexture's surface is lost. This happens
@@ -34,6 +34,7 @@ import com.sun.prism.Texture;
 import com.sun.prism.Texture.Usage;
 import com.sun.prism.Texture.WrapMode;
 
+import java.nio.Buffer;
 import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.Collection;
@@ -51,6 +52,11 @@ public abstract class BaseResourceFactory implements ResourceFactory {
     private final WeakHashMap<ResourceFactoryListener,Boolean> listenerMap =
             new WeakHashMap<ResourceFactoryListener,Boolean>();
 
+    // Textures of the clamp cache whose rows are being uploaded by
+    // uploadCachedTexture and which aren't in the cache yet
+    private final Map<Image,PendingUpload> pendingUploads =
+            new WeakHashMap<Image,PendingUpload>();
+
     private boolean disposed = false;
 
     private Texture regionTexture;
@@ -105,6 +111,7 @@ public abstract class BaseResourceFactory implements ResourceFactory {
     }
 
     private void disposeResources() {
+        pendingUploads.clear();
         clampTexCache.clear();
         repeatTexCache.clear();
         mipmapTexCache.clear();
@@ -177,6 +184,9 @@ public abstract class BaseResourceFactory implements ResourceFactory {
         if (image == null) {
             throw new IllegalArgumentException("Image must be non-null");
         }
+        if (!pendingUploads.isEmpty()) {
+            finishPendingUpload(image);
+        }
         Map<Image,Texture> texCache;
         if (wrapMode == WrapMode.CLAMP_TO_EDGE) {
             // Mipmap not supported with CLAMP mode in current implementation
@@ -257,6 +267,104 @@ public abstract class BaseResourceFactory implements ResourceFactory {
         return tex;
     }
 
+    private static final class PendingUpload {
+        final Texture texture;
+        final int serial;
+        int nextRow;
+
+        PendingUpload(Texture texture, int serial) {
+            this.texture = texture;
+            this.serial = serial;
+        }
+    }
+
+    @Override
+    public boolean uploadCachedTexture(Image image, long maxBytes) {
+        if (checkDisposed()) return false;
+
+        PendingUpload upload = pendingUploads.get(image);
+        if (upload == null) {
+            if (clampTexCache.containsKey(image)) {
+                return false;
+            }
+            int w = image.getWidth();
+            int h = image.getHeight();
+            int maxSize = getMaximumTextureSize();
+            if (w > maxSize || h > maxSize) {
+                return false;
+            }
+            // Uploading ahead of time must not evict textures in use
+            TextureResourcePool pool = getTextureResourcePool();
+            if (pool.used() + pool.estimateTextureSize(w, h, image.getPixelFormat()) > pool.target()) {
+                return false;
+            }
+            Texture tex = createTexture(image.getPixelFormat(), Usage.DEFAULT,
+                                        WrapMode.CLAMP_TO_EDGE, w, h);
+            if (tex == null) {
+                return false;
+            }
+            upload = new PendingUpload(tex, image.getSerial().getIdRect().getKey());
+            pendingUploads.put(image, upload);
+        } else {
+            upload.texture.lock();
+            if (upload.texture.isSurfaceLost()) {
+                upload.texture.unlock();
+                pendingUploads.remove(image);
+                return false;
+            }
+        }
+
+        long bytesPerRow = Math.max(1L, (long) image.getWidth() * image.getBytesPerPixelUnit());
+        int rows = (int) Math.min(image.getHeight() - upload.nextRow,
+                                  Math.max(1L, maxBytes / bytesPerRow));
+        uploadRows(image, upload, rows);
+        boolean pending = upload.nextRow < image.getHeight();
+        if (!pending) {
+            pendingUploads.remove(image);
+            cacheUploadedTexture(image, upload);
+        }
+        upload.texture.unlock();
+        return pending;
+    }
+
+    private void finishPendingUpload(Image image) {
+        PendingUpload upload = pendingUploads.remove(image);
+        if (upload == null) {
+            return;
+        }
+        upload.texture.lock();
+        if (!upload.texture.isSurfaceLost()) {
+            uploadRows(image, upload, image.getHeight() - upload.nextRow);
+            cacheUploadedTexture(image, upload);
+        }
+        upload.texture.unlock();
+    }
+
+    private void cacheUploadedTexture(Image image, PendingUpload upload) {
+        // If the image changed during the upload, the texture is updated
+        // with the changes the next time getCachedTexture is called
+        upload.texture.setLastImageSerial(upload.serial);
+        upload.texture.contentsUseful();
+        clampTexCache.put(image, upload.texture);
+    }
+
+    private static void uploadRows(Image image, PendingUpload upload, int rows) {
+        if (rows <= 0) {
+            return;
+        }
+        Buffer pixels = image.getPixelBuffer();
+        int pos = pixels.position();
+        // The texture isn't used by any pending vertices yet, so there is
+        // no need to flush the vertex buffer
+        upload.texture.update(pixels, image.getPixelFormat(),
+                              0, upload.nextRow,
+                              image.getMinX(), image.getMinY() + upload.nextRow,
+                              image.getWidth(), rows,
+                              image.getScanlineStride(), true);
+        pixels.position(pos);
+        upload.nextRow += rows;
+    }
+
     @Override
     public Texture createTexture(Image image, Usage usageHint, WrapMode wrapMode) {
         if (checkDisposed()) return null;
@@ -25,7 +25,13 @@
 
 package com.sun.prism.impl;
 
+import com.sun.javafx.logging.PulseLogger;
+import com.sun.javafx.perf.ResourcePoolStatistics;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 /**
  * The base implementation of the {@link ResourcePool} interface, providing
@@ -50,20 +56,14 @@ public abstract class BaseResourcePool<T> implements ResourcePool<T> {
     private static final Predicate stageTesters[];
     private static final String    stageReasons[];
     static {
-        stageTesters = new Predicate[6];
-        stageReasons = new String[6];
+        stageTesters = new Predicate[3];
+        stageReasons = new String[3];
         stageTesters[0] = (mr) -> { return !mr.isInteresting() && mr.getAge() > FOREVER; };
         stageReasons[0] = "Pruning unuseful older than "+FOREVER;
         stageTesters[1] = (mr) -> { return !mr.isInteresting() && mr.getAge() > FOREVER/2; };
         stageReasons[1] = "Pruning unuseful older than "+FOREVER/2;
         stageTesters[2] = (mr) -> { return !mr.isInteresting() && mr.getAge() > RECENT; };
         stageReasons[2] = "Pruning unuseful older than "+RECENT;
-        stageTesters[3] = (mr) -> { return mr.getAge() > FOREVER; };
-        stageReasons[3] = "Pruning all older than "+FOREVER;
-        stageTesters[4] = (mr) -> { return mr.getAge() > FOREVER/2; };
-        stageReasons[4] = "Pruning all older than "+FOREVER/2;
-        stageTesters[5] = (mr) -> { return mr.getAge() > RECENTLY_USEFUL; };
-        stageReasons[5] = "Pruning all older than "+RECENTLY_USEFUL;
     }
 
     long managedSize;
@@ -73,6 +73,9 @@ public abstract class BaseResourcePool<T> implements ResourcePool<T> {
     final ResourcePool<T> sharedParent;
     private final Thread managerThread;
     private WeakLinkedList<T> resourceHead;
+    private long evictionCount;
+    private long evictedSize;
+    private long allocationFailureCount;
 
     protected BaseResourcePool(long target, long max) {
         this(null, target, max);
@@ -104,11 +107,14 @@ public abstract class BaseResourcePool<T> implements ResourcePool<T> {
      * <li> Go through a few passes cleaning out any non-interesting resources
      *      that have not been used in a long time with decreasing cutoff
      *      limits for the maximum age of the resource.
-     * <li> Go through more passes cleaning out even interesting resources that
-     *      have not been used in a fairly long time with decreasing age limits.
+     * <li> Clean out even interesting resources that have not been used in a
+     *      fairly long time, in the order of their eviction priority and
+     *      least recently used first.
      * <li> Attempt to grow the target to accommodate the new request.
-     * <li> Finally, prune any resources that are not currently in the process
-     *      of being used (i.e. locked or permanent).
+     * <li> Finally, prune resources that are not currently in the process
+     *      of being used (i.e. locked or permanent) in the same order, and
+     *      if that is not enough and {@code prism.poolgc} is set, look to
+     *      the garbage collector to find unreferenced resources.
      * </ol>
      *
      * @param needed
@@ -146,6 +152,12 @@ public abstract class BaseResourcePool<T> implements ResourcePool<T> {
                 if (used() + wanted <= target()) return true;
             }
 
+            if (PrismSettings.poolDebug) {
+                System.err.println("Pruning all older than "+RECENTLY_USEFUL+
+                                   " by priority in pool: "+this);
+            }
+            if (pruneByPriority(RECENTLY_USEFUL, wanted, target())) return true;
+
             // Now look to grow the target if we can satisfy this allocation at
             // less than max().
             long rem = max() - used();
@@ -166,12 +178,14 @@ public abstract class BaseResourcePool<T> implements ResourcePool<T> {
                 return true;
             }
 
-            // Finally, look to the garbage collector to dislodge some unreferenced
-            // resources that we can free with a very aggressive age set of (0, 0)
-            // which will target all unlocked/non-permanent textures.
+            // Finally, free the resources that are not locked or permanent,
+            // even those used recently, until the allocation fits under max().
+            // Only if asked to, look to the garbage collector to dislodge some
+            // unreferenced resources, since a forced gc() stalls the application.
             // Two tries, one with just a gc(), and a desperate one with a sleep...
-            for (int i = 0; i < 2; i++) {
-                pruneLastChance(i > 0);
+            int tries = PrismSettings.poolGC ? 3 : 1;
+            for (int i = 0; i < tries; i++) {
+                pruneLastChance(i, needed);
                 if (used() + needed <= max()) {
                     if (used() + needed > target()) {
                         setTarget(used() + needed);
@@ -185,6 +199,13 @@ public abstract class BaseResourcePool<T> implements ResourcePool<T> {
 
             // That was our last gasp, we either succeeded in making room under
             // the max() amount or we failed and need to return false.
+            allocationFailureCount++;
+            if (PrismSettings.poolDebug || PrismSettings.verbose) {
+                System.err.printf("Failed to allocate %,d from pool: %s\n", needed, this);
+            }
+            if (PulseLogger.PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Resource pool allocation failures");
+            }
             return false;
         } finally {
             if (PrismSettings.poolDebug) {
@@ -195,26 +216,66 @@ public abstract class BaseResourcePool<T> implements ResourcePool<T> {
         }
     }
 
-    private void pruneLastChance(boolean desperate) {
-        System.gc();
-        if (desperate) {
+    private void pruneLastChance(int attempt, long needed) {
+        if (attempt > 0) {
+            System.gc();
+        }
+        if (attempt > 1) {
             // Our alternative is to return false here and cause an allocation
             // failure which is usually bad news for any SG, so it is worth
-            // sleeping on the second time around to give one last GC some time
+            // sleeping on the last time around to give one last GC some time
             // to find a dead resource that was dropped on the floor...
             try { Thread.sleep(20); }
             catch (InterruptedException e) { }
         }
         Disposer.cleanUp();
         if (PrismSettings.poolDebug) {
-            if (desperate) {
+            if (attempt > 1) {
                 System.err.print("Last chance pruning");
             } else {
-                System.err.print("Pruning everything");
+                System.err.print("Pruning everything by priority");
             }
             System.err.println(" in pool: "+this);
         }
-        cleanup((mr) -> { return true; });
+        pruneByPriority(-1, needed, max());
+    }
+
+    /**
+     * Frees unlocked resources older than the given age, in the order of
+     * their eviction priority and least recently used first, until the pool
+     * has room for the indicated amount under the indicated limit.
+     *
+     * @return boolean indicating if the requested space is now available
+     */
+    private boolean pruneByPriority(int minAge, long needed, long limit) {
+        ArrayList<ManagedResource<T>> candidates = new ArrayList<>();
+        for (WeakLinkedList<T> cur = resourceHead.next; cur != null; cur = cur.next) {
+            ManagedResource<T> mr = cur.getResource();
+            if (mr != null && mr.isValid() &&
+                !mr.isPermanent() && !mr.isLocked() &&
+                mr.getAge() > minAge)
+            {
+                candidates.add(mr);
+            }
+        }
+        candidates.sort((mr1, mr2) -> {
+            int cmp = mr1.getEvictionPriority().compareTo(mr2.getEvictionPriority());
+            return (cmp != 0) ? cmp : Integer.compare(mr2.getAge(), mr1.getAge());
+        });
+
+        long excess = used() + needed - limit;
+        Set<ManagedResource<T>> evicted = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ManagedResource<T> mr : candidates) {
+            if (excess <= 0) {
+                break;
+            }
+            evicted.add(mr);
+            excess -= size(mr.resource);
+        }
+        if (!evicted.isEmpty()) {
+            cleanup((mr) -> { return evicted.contains(mr); });
+        }
+        return used() + needed <= limit;
     }
 
     private void cleanup(Predicate predicate) {
@@ -235,6 +296,11 @@ public abstract class BaseResourcePool<T> implements ResourcePool<T> {
                 mr.free();
                 mr.resource = null;
                 recordFree(cur.size);
+                evictionCount++;
+                evictedSize += cur.size;
+                if (PulseLogger.PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("Resource pool evictions");
+                }
                 cur = cur.next;
                 prev.next = cur;
             } else {
@@ -331,6 +397,9 @@ public abstract class BaseResourcePool<T> implements ResourcePool<T> {
                           this, used(), percentUsed,
                           target(), percentTarget,
                           max());
+        System.err.printf("%,d resources evicted (%,d total size), %,d allocation failures\n",
+                          evictionCount(), evictedSize(),
+                          allocationFailureCount());
 
         for (WeakLinkedList<T> cur = resourceHead.next; cur != null; cur = cur.next) {
             ManagedResource<T> mr = cur.getResource();
@@ -402,6 +471,28 @@ public abstract class BaseResourcePool<T> implements ResourcePool<T> {
         return maxSize;
     }
 
+    @Override
+    public final long evictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public final long evictedSize() {
+        return evictedSize;
+    }
+
+    @Override
+    public final long allocationFailureCount() {
+        return allocationFailureCount;
+    }
+
+    @Override
+    public final ResourcePoolStatistics getStatistics() {
+        return new ResourcePoolStatistics(used(), managed(), target(), max(),
+                                          evictionCount, evictedSize,
+                                          allocationFailureCount);
+    }
+
     @Override
     public final long origTarget() {
         return origTarget;
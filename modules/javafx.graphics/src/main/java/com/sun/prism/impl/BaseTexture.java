@@ -287,6 +287,11 @@ public abstract class BaseTexture<T extends ManagedResource> implements Texture
         resource.contentsNotUseful();
     }
 
+    @Override
+    public final void setEvictionPriority(EvictionPriority priority) {
+        resource.setEvictionPriority(priority);
+    }
+
     @Override
     public final boolean isSurfaceLost() {
         return !resource.isValid();
@@ -26,6 +26,7 @@
 package com.sun.prism.impl;
 
 import com.sun.prism.GraphicsResource;
+import com.sun.prism.Texture;
 import java.util.ArrayList;
 
 public abstract class ManagedResource<T> implements GraphicsResource {
@@ -51,6 +52,7 @@ public abstract class ManagedResource<T> implements GraphicsResource {
     private boolean mismatchDetected;
     private boolean disposalRequested;
     private int age;
+    private Texture.EvictionPriority evictionPriority = Texture.EvictionPriority.DEFAULT;
 
     protected ManagedResource(T resource, ResourcePool<T> pool) {
         this.resource = resource;
@@ -172,6 +174,17 @@ public abstract class ManagedResource<T> implements GraphicsResource {
         employcount--;
     }
 
+    public final Texture.EvictionPriority getEvictionPriority() {
+        return evictionPriority;
+    }
+
+    public final void setEvictionPriority(Texture.EvictionPriority priority) {
+        if (priority == null) {
+            throw new IllegalArgumentException("Eviction priority must be non-null");
+        }
+        evictionPriority = priority;
+    }
+
     public final boolean wasMismatched() {
         return mismatchDetected;
     }
@@ -61,6 +61,8 @@ public final class PrismSettings {
     public static final boolean printRenderGraph;
     public static final int minRTTSize;
     public static final int dirtyRegionCount;
+    public static final int dirtyRegionOverhead;
+    public static final boolean printDirtyStats;
     public static final boolean disableBadDriverWarning;
     public static final boolean forceGPU;
     public static final int maxTextureSize;
@@ -72,8 +74,14 @@ public final class PrismSettings {
     public static final boolean allowHiDPIScaling;
     public static final long maxVram;
     public static final long targetVram;
+    public static final long imageCacheSize;
+    public static final boolean progressiveImages;
+    public static final long textureUploadThreshold;
+    public static final long textureUploadChunk;
+    public static final long animationStreamThreshold;
     public static final boolean poolStats;
     public static final boolean poolDebug;
+    public static final boolean poolGC;
     public static final boolean disableEffects;
     public static final int glyphCacheWidth;
     public static final int glyphCacheHeight;
@@ -85,6 +93,8 @@ public final class PrismSettings {
     public static final boolean forceUploadingPainter;
     public static final boolean forceAlphaTestShader;
     public static final boolean forceNonAntialiasedShape;
+    public static final int swTileCount;
+    public static final int swTileMinHeight;
 
     public static enum RasterizerType {
         DoubleMarlin("Double Precision Marlin Rasterizer");
@@ -135,6 +145,11 @@ public final class PrismSettings {
         // support at present is 15.
         dirtyRegionCount = Utils.clamp(0, getInt(systemProperties, "prism.dirtyregioncount", 6, null), 15);
 
+        // The estimated cost, as an area in pixels, of painting one more dirty
+        // region. Dirty regions are merged when painting their union would add
+        // less than this to the painted area.
+        dirtyRegionOverhead = Math.max(0, getInt(systemProperties, "prism.dirtyregionoverhead", 4096, null));
+
         // Scrolling cache optimization
         // Disabled as a workaround for RT-39755.
         scrollCacheOpt = getBoolean(systemProperties, "prism.scrollcacheopt", false);
@@ -145,6 +160,9 @@ public final class PrismSettings {
         /* Draws overlay rectangles showing where the dirty regions were */
         showDirtyRegions = getBoolean(systemProperties, "prism.showdirty", false);
 
+        /* Prints the number of dirty regions and the repainted area per pulse */
+        printDirtyStats = getBoolean(systemProperties, "prism.printdirtystats", false);
+
         /*
          * Draws overlay rectangles showing not only the dirty regions, but how many times
          * each area within that dirty region was drawn (covered by bounds of a drawn object).
@@ -269,8 +287,39 @@ public final class PrismSettings {
                           "Try -Dprism.maxvram=<long>[kKmMgG]");
         targetVram = getLong(systemProperties, "prism.targetvram", maxVram / 8, maxVram,
                              "Try -Dprism.targetvram=<long>[kKmMgG]|<double(0,100)>%");
+        /*
+         * Bytes of decoded images that are kept to share them between Image
+         * instances loading the same URL at the same size, 0 disables sharing
+         */
+        imageCacheSize = getLong(systemProperties, "prism.imagecachesize", 0,
+                                 "Try -Dprism.imagecachesize=<long>[kKmMgG]");
+        /*
+         * Show the rows of images loaded in the background as they are decoded
+         */
+        progressiveImages = getBoolean(systemProperties, "prism.progressiveimages", true);
+        /*
+         * Bytes of pixels of an image loaded in the background above which
+         * its texture is uploaded ahead of time, at most textureUploadChunk
+         * bytes per render job, 0 disables uploading ahead of time
+         */
+        textureUploadThreshold = getLong(systemProperties, "prism.textureuploadthreshold", 4 * 1024 * 1024,
+                                         "Try -Dprism.textureuploadthreshold=<long>[kKmMgG]");
+        textureUploadChunk = getLong(systemProperties, "prism.textureuploadchunk", 1024 * 1024,
+                                     "Try -Dprism.textureuploadchunk=<long>[kKmMgG]");
+        /*
+         * Bytes of decoded frames of an animated GIF or PNG image above which
+         * its frames are decoded as they are shown, keeping only a few of them
+         * in memory, 0 decodes all frames up front
+         */
+        animationStreamThreshold = getLong(systemProperties, "prism.animationstreamthreshold", 32 * 1024 * 1024,
+                                           "Try -Dprism.animationstreamthreshold=<long>[kKmMgG]");
         poolStats = getBoolean(systemProperties, "prism.poolstats", false);
         poolDebug = getBoolean(systemProperties, "prism.pooldebug", false);
+        /*
+         * Run the garbage collector to find unreferenced resources when
+         * nothing else makes room in a resource pool for a new resource
+         */
+        poolGC = getBoolean(systemProperties, "prism.poolgc", false);
 
         if (verbose) {
             System.out.print("Prism pipeline init order: ");
@@ -354,6 +403,19 @@ public final class PrismSettings {
         // Force non anti-aliasing (not smooth) shape rendering
         forceNonAntialiasedShape = getBoolean(systemProperties, "prism.forceNonAntialiasedShape", false);
 
+        /*
+         * Number of horizontal tiles the SW pipeline splits a render target
+         * into in order to rasterize large shapes in parallel. A value <= 1
+         * disables tiled rasterization, "true" uses one tile per processor.
+         */
+        swTileCount = getInt(systemProperties, "prism.sw.tiles",
+                             0, Runtime.getRuntime().availableProcessors(),
+                             "Try -Dprism.sw.tiles=<true or number>");
+
+        /* Minimum height of a tile of the SW pipeline */
+        swTileMinHeight = Math.max(1, getInt(systemProperties, "prism.sw.tileMinHeight",
+                                             64, "Try -Dprism.sw.tileMinHeight=<number>"));
+
     }
 
     private static int parseInt(String s, int dflt, int trueDflt,
@@ -25,6 +25,8 @@
 
 package com.sun.prism.impl;
 
+import com.sun.javafx.perf.ResourcePoolStatistics;
+
 /**
  * An interface for tracking the usage of a particular resource from which
  * managed resources are allocated.
@@ -103,6 +105,37 @@ public interface ResourcePool<T> {
      */
     public long max();
 
+    /**
+     * The number of resources that this pool has freed to make room for new
+     * resources, because they were not locked and had not been used recently
+     * enough, since the pool was created.
+     * @return the number of evicted resources
+     */
+    public long evictionCount();
+
+    /**
+     * The total amount of the resource freed by the evictions counted by
+     * the {@link #evictionCount()} method.
+     * @return the amount of the resource that was evicted
+     */
+    public long evictedSize();
+
+    /**
+     * The number of times that this pool could not make room for a new
+     * resource in the {@link #prepareForAllocation(long)} method, since the
+     * pool was created.
+     * @return the number of failed allocations
+     */
+    public long allocationFailureCount();
+
+    /**
+     * Takes a snapshot of the amounts and counters of this pool. The
+     * snapshot is consistent only when it is taken on the thread that
+     * manages this pool.
+     * @return the statistics of this pool
+     */
+    public ResourcePoolStatistics getStatistics();
+
     /**
      * The current target of the maximum amount of space in this resource pool
      * that should be used so as to be friendly to other parts of the system.
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl.shape;
+
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.marlin.DMarlinRenderingEngine;
+import com.sun.marlin.MarlinProperties;
+import com.sun.marlin.MarlinRenderer;
+import com.sun.marlin.MaskMarlinAlphaConsumer;
+import com.sun.marlin.RendererContext;
+import com.sun.prism.BasicStroke;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Rasterizes very large paths into a mask by splitting the clip into
+ * horizontal bands that are rendered concurrently, each one with its own
+ * RendererContext taken from the Marlin context provider.
+ * <p>
+ * Every band renderer processes the whole path against the whole clip but
+ * only produces the pixel rows of its band (see
+ * {@link MarlinRenderer#initBand}), directly into the alphas of the mask, so
+ * the resulting mask is identical to the one produced by a single renderer.
+ * This mode is disabled by default and is enabled with
+ * {@code -Dprism.marlin.bands=<count>}.
+ */
+final class DMarlinBandRasterizer {
+
+    static final int MAX_BANDS = MarlinProperties.getBands();
+    static final int MIN_COMMANDS = MarlinProperties.getBandsMinCommands();
+    static final int MIN_HEIGHT = MarlinProperties.getBandsMinHeight();
+
+    private static ForkJoinPool pool;
+
+    private DMarlinBandRasterizer() {
+    }
+
+    /**
+     * Returns true if the given shape is large enough to be rasterized in
+     * bands within the given clip.
+     */
+    static boolean accept(final Shape shape, final Rectangle clip) {
+        return (MAX_BANDS > 1)
+                && (clip.height >= 2 * MIN_HEIGHT)
+                && ((long) clip.width * clip.height <= Integer.MAX_VALUE)
+                && (shape instanceof Path2D)
+                && (((Path2D) shape).getNumCommands() >= MIN_COMMANDS);
+    }
+
+    @SuppressWarnings("removal")
+    static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            final ForkJoinPool.ForkJoinWorkerThreadFactory factory = p -> {
+                return AccessController.doPrivileged((PrivilegedAction<ForkJoinWorkerThread>) () -> {
+                    final ForkJoinWorkerThread th =
+                            ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                    th.setName("Marlin Band Rasterizer-" + th.getPoolIndex());
+                    th.setDaemon(true);
+                    return th;
+                });
+            };
+            // the calling thread renders one of the bands itself
+            pool = new ForkJoinPool(Math.max(1, MAX_BANDS - 1), factory, null, false);
+        }
+        return pool;
+    }
+
+    /**
+     * Rasterizes the shape in bands into the given consumer, which must be
+     * large enough to hold a mask of the size of the clip.
+     *
+     * @return the mask data, or null if the shape produces no pixels
+     */
+    static MaskData getMaskData(final MaskMarlinAlphaConsumer consumer,
+                                final Shape shape,
+                                final BasicStroke stroke,
+                                final BaseTransform xform,
+                                final Rectangle clip,
+                                final boolean antialiasedShape)
+    {
+        // use the consumer bounds to lay out the bands in the clip:
+        consumer.setBoundsNoClone(clip.x, clip.y, clip.width, clip.height);
+        final byte[] alphas = consumer.getMaskData().getMaskBuffer().array();
+
+        final int count = Math.min(MAX_BANDS, clip.height / MIN_HEIGHT);
+        final Band[] bands = new Band[count];
+        for (int i = 0; i < count; i++) {
+            final int minY = clip.y + (int) ((long) clip.height * i / count);
+            final int maxY = clip.y + (int) ((long) clip.height * (i + 1) / count);
+            bands[i] = new Band(consumer, shape, stroke, xform, clip,
+                                minY, maxY, antialiasedShape);
+        }
+
+        final ForkJoinPool fjp = getPool();
+        for (int i = 1; i < count; i++) {
+            fjp.execute(bands[i]);
+        }
+        bands[0].invoke();
+        for (int i = 1; i < count; i++) {
+            bands[i].join();
+        }
+
+        // union of the band bounds = bounds of the single renderer:
+        int x0 = Integer.MAX_VALUE, y0 = Integer.MAX_VALUE;
+        int x1 = Integer.MIN_VALUE, y1 = Integer.MIN_VALUE;
+        for (Band band : bands) {
+            if (band.isEmpty()) {
+                continue;
+            }
+            x0 = Math.min(x0, band.outMinX);
+            y0 = Math.min(y0, band.outMinY);
+            x1 = Math.max(x1, band.outMaxX);
+            y1 = Math.max(y1, band.outMaxY);
+        }
+        if ((x0 >= x1) || (y0 >= y1)) {
+            return null;
+        }
+        final int w = x1 - x0;
+        final int h = y1 - y0;
+
+        // compact the rows from the clip layout into the mask layout:
+        if ((w != clip.width) || (x0 != clip.x) || (y0 != clip.y)) {
+            for (int y = 0, src = (y0 - clip.y) * clip.width + (x0 - clip.x);
+                 y < h; y++, src += clip.width)
+            {
+                System.arraycopy(alphas, src, alphas, y * w, w);
+            }
+        }
+        consumer.setBoundsNoClone(x0, y0, w, h);
+        return consumer.getMaskData();
+    }
+
+    private static final class Band extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final MaskMarlinAlphaConsumer consumer;
+        private final Shape shape;
+        private final BasicStroke stroke;
+        private final BaseTransform xform;
+        private final Rectangle clip;
+        private final int bandMinY;
+        private final int bandMaxY;
+        private final boolean antialiasedShape;
+        private final byte[] alphas;
+
+        // output pixel bounds of this band:
+        int outMinX, outMinY, outMaxX, outMaxY;
+
+        Band(final MaskMarlinAlphaConsumer mask,
+             final Shape shape,
+             final BasicStroke stroke,
+             final BaseTransform xform,
+             final Rectangle clip,
+             final int bandMinY,
+             final int bandMaxY,
+             final boolean antialiasedShape)
+        {
+            this.consumer = new MaskMarlinAlphaConsumer(mask);
+            this.alphas = mask.getMaskData().getMaskBuffer().array();
+            this.shape = shape;
+            this.stroke = stroke;
+            this.xform = xform;
+            this.clip = clip;
+            this.bandMinY = bandMinY;
+            this.bandMaxY = bandMaxY;
+            this.antialiasedShape = antialiasedShape;
+        }
+
+        boolean isEmpty() {
+            return (outMinX >= outMaxX) || (outMinY >= outMaxY);
+        }
+
+        @Override
+        protected void compute() {
+            // clear the rows of this band as the renderer only produces the
+            // rows and columns covered by the shape:
+            Arrays.fill(alphas, (bandMinY - clip.y) * clip.width,
+                        (bandMaxY - clip.y) * clip.width, (byte) 0);
+
+            final RendererContext rdrCtx = DMarlinRenderingEngine.getRendererContext();
+            MarlinRenderer renderer = null;
+            try {
+                renderer = DMarlinPrismUtils.setupRenderer(rdrCtx, shape, stroke, xform, clip,
+                        bandMinY, bandMaxY, antialiasedShape);
+
+                outMinX = renderer.getOutpixMinX();
+                outMaxX = renderer.getOutpixMaxX();
+                outMinY = renderer.getOutpixMinY();
+                outMaxY = renderer.getOutpixMaxY();
+                if (isEmpty()) {
+                    return;
+                }
+                consumer.setBandNoClone(outMinX, outMinY,
+                        outMaxX - outMinX, outMaxY - outMinY,
+                        (outMinY - clip.y) * clip.width + (outMinX - clip.x),
+                        clip.width);
+                renderer.produceAlphas(consumer);
+            } finally {
+                if (renderer != null) {
+                    renderer.dispose();
+                }
+                // recycle the RendererContext instance
+                DMarlinRenderingEngine.returnRendererContext(rdrCtx);
+            }
+        }
+    }
+}
@@ -226,6 +226,8 @@ public final class DMarlinPrismUtils {
             final BasicStroke stroke,
             final BaseTransform tx,
             final Rectangle clip,
+            final int bandMinY,
+            final int bandMaxY,
             final int piRule,
             final MarlinRenderer renderer)
     {
@@ -261,6 +263,7 @@ public final class DMarlinPrismUtils {
         if (stroke != null) {
             renderer.init(clip.x, clip.y, clip.width, clip.height,
                           MarlinConst.WIND_NON_ZERO);
+            initBand(renderer, clip, bandMinY, bandMaxY);
 
             return initStroker(rdrCtx, stroke, stroke.getLineWidth(), tx, renderer);
         } else {
@@ -269,6 +272,7 @@ public final class DMarlinPrismUtils {
                 MarlinConst.WIND_EVEN_ODD : MarlinConst.WIND_NON_ZERO;
 
             renderer.init(clip.x, clip.y, clip.width, clip.height, oprule);
+            initBand(renderer, clip, bandMinY, bandMaxY);
 
             DPathConsumer2D pc = renderer;
 
@@ -290,12 +294,42 @@ public final class DMarlinPrismUtils {
         }
     }
 
+    private static void initBand(final MarlinRenderer renderer,
+                                 final Rectangle clip,
+                                 final int bandMinY,
+                                 final int bandMaxY)
+    {
+        if ((bandMinY > clip.y) || (bandMaxY < clip.y + clip.height)) {
+            renderer.initBand(bandMinY, bandMaxY);
+        }
+    }
+
+    public static MarlinRenderer setupRenderer(
+            final RendererContext rdrCtx,
+            final Shape shape,
+            final BasicStroke stroke,
+            final BaseTransform xform,
+            final Rectangle rclip,
+            final boolean antialiasedShape)
+    {
+        return setupRenderer(rdrCtx, shape, stroke, xform, rclip,
+                             rclip.y, rclip.y + rclip.height, antialiasedShape);
+    }
+
+    /**
+     * Sets up a renderer for the given shape that only produces the pixel
+     * rows [bandMinY, bandMaxY[ of the clip. The path is clipped against the
+     * whole clip, so the coverage of these rows is identical to the coverage
+     * produced by a renderer set up without a band.
+     */
     public static MarlinRenderer setupRenderer(
             final RendererContext rdrCtx,
             final Shape shape,
             final BasicStroke stroke,
             final BaseTransform xform,
             final Rectangle rclip,
+            final int bandMinY,
+            final int bandMaxY,
             final boolean antialiasedShape)
     {
         // Test if transform is identity:
@@ -306,11 +340,13 @@ public final class DMarlinPrismUtils {
 
         if (shape instanceof Path2D) {
             final Path2D p2d = (Path2D)shape;
-            final DPathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, p2d.getWindingRule(), r);
+            final DPathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, bandMinY, bandMaxY,
+                                                      p2d.getWindingRule(), r);
             feedConsumer(rdrCtx, p2d, tf, pc2d);
         } else {
             final PathIterator pi = shape.getPathIterator(tf);
-            final DPathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, pi.getWindingRule(), r);
+            final DPathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, bandMinY, bandMaxY,
+                                                      pi.getWindingRule(), r);
             feedConsumer(rdrCtx, pi, pc2d);
         }
         return r;
@@ -83,6 +83,14 @@ public final class DMarlinRasterizer implements ShapeRasterizer {
             final Rectangle rclip = rdrCtx.clip;
             rclip.setBounds(xformBounds);
 
+            if (DMarlinBandRasterizer.accept(shape, rclip)) {
+                final MaskMarlinAlphaConsumer consumer =
+                        getConsumer(rdrCtx, rclip.width * rclip.height);
+                final MaskData mask = DMarlinBandRasterizer.getMaskData(consumer,
+                        shape, stroke, xform, rclip, antialiasedShape);
+                return (mask != null) ? mask : EMPTY_MASK;
+            }
+
             renderer = DMarlinPrismUtils.setupRenderer(rdrCtx, shape, stroke, xform, rclip,
                     antialiasedShape);
 
@@ -96,14 +104,7 @@ public final class DMarlinRasterizer implements ShapeRasterizer {
                 return EMPTY_MASK;
             }
 
-            MaskMarlinAlphaConsumer consumer = rdrCtx.consumer;
-            if (consumer == null || (w * h) > consumer.getAlphaLength()) {
-                final int csize = (w * h + 0xfff) & (~0xfff);
-                rdrCtx.consumer = consumer = new MaskMarlinAlphaConsumer(csize);
-                if (PrismSettings.verbose) {
-                    System.out.println("new alphas with length = " + csize);
-                }
-            }
+            final MaskMarlinAlphaConsumer consumer = getConsumer(rdrCtx, w * h);
             consumer.setBoundsNoClone(outpix_xmin, outpix_ymin, w, h);
             renderer.produceAlphas(consumer);
 
@@ -117,6 +118,20 @@ public final class DMarlinRasterizer implements ShapeRasterizer {
         }
     }
 
+    private static MaskMarlinAlphaConsumer getConsumer(final RendererContext rdrCtx,
+                                                       final int length)
+    {
+        MaskMarlinAlphaConsumer consumer = rdrCtx.consumer;
+        if (consumer == null || length > consumer.getAlphaLength()) {
+            final int csize = (length + 0xfff) & (~0xfff);
+            rdrCtx.consumer = consumer = new MaskMarlinAlphaConsumer(csize);
+            if (PrismSettings.verbose) {
+                System.out.println("new alphas with length = " + csize);
+            }
+        }
+        return consumer;
+    }
+
     static Shape createCenteredStrokedShape(Shape s, BasicStroke stroke)
     {
         final float lw = (stroke.getType() == BasicStroke.TYPE_CENTERED) ?
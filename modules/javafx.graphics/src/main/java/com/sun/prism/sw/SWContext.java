@@ -164,16 +164,41 @@ final class SWContext {
                 shape = stroke.createStrokedShape(shape);
                 stroke = null;
             }
+            renderShape(alphaConsumer, pr, shape, stroke, tr, clip, antialiasedShape);
+        }
+
+        /**
+         * Rasterizes the shape with Marlin and emits the coverage rows into
+         * the given renderer. The stroke, if any, must be a centered stroke.
+         * This method may be called concurrently as long as every caller
+         * provides its own alpha consumer and renderer.
+         */
+        static void renderShape(DirectRTMarlinAlphaConsumer alphaConsumer, PiscesRenderer pr,
+                                Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip,
+                                boolean antialiasedShape)
+        {
+            renderShape(alphaConsumer, pr, shape, stroke, tr, clip,
+                        clip.y, clip.y + clip.height, antialiasedShape);
+        }
+
+        /**
+         * Same as above, but only emits the pixel rows [bandMinY, bandMaxY[
+         * of the clip, with a coverage identical to the one of a full render.
+         */
+        static void renderShape(DirectRTMarlinAlphaConsumer alphaConsumer, PiscesRenderer pr,
+                                Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip,
+                                int bandMinY, int bandMaxY, boolean antialiasedShape)
+        {
             final RendererContext rdrCtx = DMarlinRenderingEngine.getRendererContext();
             MarlinRenderer renderer = null;
             try {
                 if (shape instanceof Path2D) {
                     renderer = DMarlinPrismUtils.setupRenderer(rdrCtx, (Path2D) shape, stroke, tr, clip,
-                            antialiasedShape);
+                            bandMinY, bandMaxY, antialiasedShape);
                 }
                 if (renderer == null) {
                     renderer = DMarlinPrismUtils.setupRenderer(rdrCtx, shape, stroke, tr, clip,
-                            antialiasedShape);
+                            bandMinY, bandMaxY, antialiasedShape);
                 }
                 final int outpix_xmin = renderer.getOutpixMinX();
                 final int outpix_xmax = renderer.getOutpixMaxX();
@@ -74,6 +74,7 @@ final class SWGraphics implements ReadbackGraphics {
     private final SWContext context;
     private final SWRTTexture target;
     private final SWPaint swPaint;
+    private final SWTileRasterizer tiles;
 
     private final BaseTransform tx = new Affine2D();
 
@@ -108,11 +109,12 @@ final class SWGraphics implements ReadbackGraphics {
         return renderRoot;
     }
 
-    public SWGraphics(SWRTTexture target, SWContext context, PiscesRenderer pr) {
+    public SWGraphics(SWRTTexture target, SWContext context, PiscesRenderer pr, SWTileRasterizer tiles) {
         this.target = target;
         this.context = context;
         this.pr = pr;
-        this.swPaint = new SWPaint(context, pr);
+        this.tiles = tiles;
+        this.swPaint = new SWPaint(context, pr, tiles);
 
         this.setClipRect(null);
     }
@@ -343,6 +345,9 @@ final class SWGraphics implements ReadbackGraphics {
                 throw new InternalError("Unrecognized composite mode: "+mode);
         }
         this.pr.setCompositeRule(piscesComp);
+        if (tiles != null) {
+            tiles.setCompositeRule(piscesComp);
+        }
     }
 
     public void setNodeBounds(RectBounds bounds) {
@@ -514,7 +519,11 @@ final class SWGraphics implements ReadbackGraphics {
             System.out.println("Clip: " + finalClip);
             System.out.println("Composite rule: " + compositeMode);
         }
-        context.renderShape(this.pr, shape, st, tr, this.finalClip, isAntialiasedShape());
+        if (tiles != null && tiles.accept(shape, st, tr, this.finalClip)) {
+            tiles.renderShape(shape, st, tr, this.finalClip, isAntialiasedShape());
+        } else {
+            context.renderShape(this.pr, shape, st, tr, this.finalClip, isAntialiasedShape());
+        }
     }
 
     private void paintRoundRect(float x, float y, float width, float height, float arcw, float arch, BasicStroke st) {
@@ -49,6 +49,7 @@ final class SWPaint {
 
     private final SWContext context;
     private final PiscesRenderer pr;
+    private final SWTileRasterizer tiles;
 
     private final BaseTransform paintTx = new Affine2D();
     private final Transform6 piscesTx = new Transform6();
@@ -56,9 +57,10 @@ final class SWPaint {
     private float compositeAlpha = 1.0f;
     private float px, py, pw, ph;
 
-    SWPaint(SWContext context, PiscesRenderer pr) {
+    SWPaint(SWContext context, PiscesRenderer pr, SWTileRasterizer tiles) {
         this.context = context;
         this.pr = pr;
+        this.tiles = tiles;
     }
 
     float getCompositeAlpha() {
@@ -73,10 +75,14 @@ final class SWPaint {
         if (PrismSettings.debug) {
             System.out.println("PR.setColor: " + c);
         }
-        this.pr.setColor((int) (c.getRed() * 255),
-                (int) (255 * c.getGreen()),
-                (int) (255 * c.getBlue()),
-                (int) (255 * c.getAlpha() * compositeAlpha));
+        final int red = (int) (c.getRed() * 255);
+        final int green = (int) (255 * c.getGreen());
+        final int blue = (int) (255 * c.getBlue());
+        final int alpha = (int) (255 * c.getAlpha() * compositeAlpha);
+        this.pr.setColor(red, green, blue, alpha);
+        if (tiles != null) {
+            tiles.setColor(red, green, blue, alpha);
+        }
     }
 
     void setPaintFromShape(Paint p, BaseTransform tx, Shape shape, RectBounds nodeBounds,
@@ -136,9 +142,16 @@ final class SWPaint {
                     x2 = x + width * x2;
                     y2 = y + height * y2;
                 }
+                final GradientColorMap lgColorMap = new GradientColorMap(getFractions(lg),
+                        getARGB(lg, this.compositeAlpha), getPiscesGradientCycleMethod(lg.getSpreadMethod()));
                 this.pr.setLinearGradient((int)(SWUtils.TO_PISCES * x1), (int)(SWUtils.TO_PISCES * y1),
                         (int)(SWUtils.TO_PISCES * x2), (int)(SWUtils.TO_PISCES * y2),
-                        getFractions(lg), getARGB(lg, this.compositeAlpha), getPiscesGradientCycleMethod(lg.getSpreadMethod()), piscesTx);
+                        lgColorMap, piscesTx);
+                if (tiles != null) {
+                    tiles.setLinearGradient((int)(SWUtils.TO_PISCES * x1), (int)(SWUtils.TO_PISCES * y1),
+                            (int)(SWUtils.TO_PISCES * x2), (int)(SWUtils.TO_PISCES * y2),
+                            lgColorMap, piscesTx);
+                }
                 break;
             case RADIAL_GRADIENT:
                 final RadialGradient rg = (RadialGradient)p;
@@ -169,9 +182,16 @@ final class SWPaint {
                 final float fx = (float)(cx + rg.getFocusDistance() * r * Math.cos(Math.toRadians(rg.getFocusAngle())));
                 final float fy = (float)(cy + rg.getFocusDistance() * r * Math.sin(Math.toRadians(rg.getFocusAngle())));
 
+                final GradientColorMap rgColorMap = new GradientColorMap(getFractions(rg),
+                        getARGB(rg, this.compositeAlpha), getPiscesGradientCycleMethod(rg.getSpreadMethod()));
                 this.pr.setRadialGradient((int) (SWUtils.TO_PISCES * cx), (int) (SWUtils.TO_PISCES * cy),
                         (int) (SWUtils.TO_PISCES * fx), (int) (SWUtils.TO_PISCES * fy), (int) (SWUtils.TO_PISCES * r),
-                        getFractions(rg), getARGB(rg, this.compositeAlpha), getPiscesGradientCycleMethod(rg.getSpreadMethod()), piscesTx);
+                        rgColorMap, piscesTx);
+                if (tiles != null) {
+                    tiles.setRadialGradient((int) (SWUtils.TO_PISCES * cx), (int) (SWUtils.TO_PISCES * cy),
+                            (int) (SWUtils.TO_PISCES * fx), (int) (SWUtils.TO_PISCES * fy), (int) (SWUtils.TO_PISCES * r),
+                            rgColorMap, piscesTx);
+                }
                 break;
             case IMAGE_PATTERN:
                 final ImagePattern ip = (ImagePattern)p;
@@ -191,6 +211,14 @@ final class SWPaint {
                             tex.getWrapMode() == Texture.WrapMode.REPEAT,
                             tex.getLinearFiltering(),
                             tex.hasAlpha());
+                    if (tiles != null) {
+                        tiles.setTexture(RendererBase.TYPE_INT_ARGB_PRE, tex.getDataNoClone(),
+                                tex.getContentWidth(), tex.getContentHeight(), tex.getPhysicalWidth(),
+                                piscesTx,
+                                tex.getWrapMode() == Texture.WrapMode.REPEAT,
+                                tex.getLinearFiltering(),
+                                tex.hasAlpha());
+                    }
                 }
                 break;
             default:
@@ -42,6 +42,8 @@ class SWRTTexture extends SWArgbPreTexture implements RTTexture {
 
     private PiscesRenderer pr;
     private JavaSurface surface;
+    private SWTileRasterizer tiles;
+    private boolean tilesInitialized;
     private final Rectangle dimensions = new Rectangle();
     private boolean isOpaque;
 
@@ -56,6 +58,18 @@ class SWRTTexture extends SWArgbPreTexture implements RTTexture {
         return this.surface;
     }
 
+    /**
+     * Returns the tile rasterizer of this texture, or null if tiled
+     * rasterization is not used for this texture.
+     */
+    SWTileRasterizer getTileRasterizer() {
+        if (!tilesInitialized) {
+            tiles = SWTileRasterizer.create(this);
+            tilesInitialized = true;
+        }
+        return tiles;
+    }
+
     @Override
     public int[] getPixels() {
         if (contentWidth == physicalWidth) {
@@ -116,7 +130,7 @@ class SWRTTexture extends SWArgbPreTexture implements RTTexture {
         if (pr == null) {
             pr = new PiscesRenderer(this.surface);
         }
-        return new SWGraphics(this, getResourceFactory().getContext(), pr);
+        return new SWGraphics(this, getResourceFactory().getContext(), pr, getTileRasterizer());
     }
 
     public boolean isOpaque() {
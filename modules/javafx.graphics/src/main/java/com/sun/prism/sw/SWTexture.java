@@ -122,6 +122,9 @@ abstract class SWTexture implements Texture {
         employcount--;
     }
 
+    @Override
+    public void setEvictionPriority(EvictionPriority priority) { }
+
     public boolean isSurfaceLost() {
         return false;
     }
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.sw;
+
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.pisces.GradientColorMap;
+import com.sun.pisces.JavaSurface;
+import com.sun.pisces.PiscesRenderer;
+import com.sun.pisces.RendererBase;
+import com.sun.pisces.Transform6;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.impl.PrismSettings;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Rasterizes large shapes of a {@code SWRTTexture} in parallel by splitting
+ * the texture into horizontal tiles.
+ * <p>
+ * Every tile owns a {@code PiscesRenderer} bound to its own
+ * {@code JavaSurface} that wraps the pixel array of the texture, and is
+ * clipped to the rows of the tile, so the tiles never write the same pixel.
+ * Marlin clips the path against the whole clip and only produces the rows
+ * of the tile, so edges entering a tile start at the position they would
+ * have reached in a full render. This keeps the output identical to the
+ * output of the single threaded renderer.
+ * <p>
+ * The paint and composite state set on the main renderer by
+ * {@code SWGraphics} is recorded here as well, and is replayed into a tile
+ * renderer only when that tile is about to rasterize a shape.
+ */
+final class SWTileRasterizer {
+
+    private static final int PAINT_COLOR = 0;
+    private static final int PAINT_LINEAR_GRADIENT = 1;
+    private static final int PAINT_RADIAL_GRADIENT = 2;
+    private static final int PAINT_TEXTURE = 3;
+
+    private static ForkJoinPool pool;
+
+    private final Tile[] tiles;
+    private final ForkJoinTask<?>[] tasks;
+    private final RectBounds tmpBounds = new RectBounds();
+
+    // recorded paint state
+    private int paintStamp;
+    private int paintType = PAINT_COLOR;
+    private int compositeRule = RendererBase.COMPOSITE_SRC_OVER;
+    private int red, green, blue, alpha = 255;
+    private int gx0, gy0, gx1, gy1, gRadius;
+    private GradientColorMap gradientColorMap;
+    private int texImageType, texWidth, texHeight, texStride;
+    private int[] texData;
+    private boolean texRepeat, texLinearFiltering, texHasAlpha;
+    private final Transform6 paintTransform = new Transform6();
+
+    // the shape currently being rasterized
+    private Shape shape;
+    private BasicStroke stroke;
+    private BaseTransform transform;
+    private Rectangle clip;
+    private boolean antialiasedShape;
+
+    SWTileRasterizer(SWRTTexture target, int tileCount) {
+        final int width = target.getPhysicalWidth();
+        final int height = target.getPhysicalHeight();
+        tiles = new Tile[tileCount];
+        tasks = new ForkJoinTask<?>[tileCount];
+        for (int i = 0; i < tileCount; i++) {
+            final int y0 = (int) ((long) height * i / tileCount);
+            final int y1 = (int) ((long) height * (i + 1) / tileCount);
+            final JavaSurface surface = new JavaSurface(target.getDataNoClone(),
+                    RendererBase.TYPE_INT_ARGB_PRE, width, height);
+            tiles[i] = new Tile(new PiscesRenderer(surface), new Rectangle(0, y0, width, y1 - y0));
+        }
+    }
+
+    /**
+     * Returns a tile rasterizer for the given render target, or null if
+     * tiled rasterization is disabled or the target is too small to
+     * benefit from it.
+     */
+    static SWTileRasterizer create(SWRTTexture target) {
+        final int tileCount = Math.min(PrismSettings.swTileCount,
+                target.getPhysicalHeight() / PrismSettings.swTileMinHeight);
+        if (tileCount < 2) {
+            return null;
+        }
+        return new SWTileRasterizer(target, tileCount);
+    }
+
+    @SuppressWarnings("removal")
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            final ForkJoinPool.ForkJoinWorkerThreadFactory factory = p -> {
+                return AccessController.doPrivileged((PrivilegedAction<ForkJoinWorkerThread>) () -> {
+                    final ForkJoinWorkerThread th =
+                            ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                    th.setName("Prism SW Tile Rasterizer-" + th.getPoolIndex());
+                    th.setDaemon(true);
+                    return th;
+                });
+            };
+            // the calling thread rasterizes one of the tiles itself
+            pool = new ForkJoinPool(Math.max(1, PrismSettings.swTileCount - 1),
+                                    factory, null, false);
+        }
+        return pool;
+    }
+
+    void setCompositeRule(int compositeRule) {
+        this.compositeRule = compositeRule;
+        paintStamp++;
+    }
+
+    void setColor(int red, int green, int blue, int alpha) {
+        this.paintType = PAINT_COLOR;
+        this.red = red;
+        this.green = green;
+        this.blue = blue;
+        this.alpha = alpha;
+        paintStamp++;
+    }
+
+    void setLinearGradient(int x0, int y0, int x1, int y1,
+                           GradientColorMap gradientColorMap, Transform6 gradientTransform)
+    {
+        this.paintType = PAINT_LINEAR_GRADIENT;
+        this.gx0 = x0;
+        this.gy0 = y0;
+        this.gx1 = x1;
+        this.gy1 = y1;
+        this.gradientColorMap = gradientColorMap;
+        this.paintTransform.setTransform(gradientTransform);
+        paintStamp++;
+    }
+
+    void setRadialGradient(int cx, int cy, int fx, int fy, int radius,
+                           GradientColorMap gradientColorMap, Transform6 gradientTransform)
+    {
+        this.paintType = PAINT_RADIAL_GRADIENT;
+        this.gx0 = cx;
+        this.gy0 = cy;
+        this.gx1 = fx;
+        this.gy1 = fy;
+        this.gRadius = radius;
+        this.gradientColorMap = gradientColorMap;
+        this.paintTransform.setTransform(gradientTransform);
+        paintStamp++;
+    }
+
+    void setTexture(int imageType, int data[], int width, int height, int stride,
+                    Transform6 textureTransform, boolean repeat, boolean linearFiltering, boolean hasAlpha)
+    {
+        this.paintType = PAINT_TEXTURE;
+        this.texImageType = imageType;
+        this.texData = data;
+        this.texWidth = width;
+        this.texHeight = height;
+        this.texStride = stride;
+        this.paintTransform.setTransform(textureTransform);
+        this.texRepeat = repeat;
+        this.texLinearFiltering = linearFiltering;
+        this.texHasAlpha = hasAlpha;
+        paintStamp++;
+    }
+
+    /**
+     * Returns true if the device space bounds of the shape, clipped to the
+     * given clip, span at least two tiles.
+     */
+    boolean accept(Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip) {
+        tmpBounds.setBounds(shape.getBounds());
+        if (stroke != null) {
+            final float pad = stroke.getLineWidth();
+            tmpBounds.grow(pad, pad);
+        }
+        final BaseBounds b = tr.transform(tmpBounds, tmpBounds);
+        final int minY = Math.max(clip.y, (int) Math.floor(b.getMinY()));
+        final int maxY = Math.min(clip.y + clip.height, (int) Math.ceil(b.getMaxY()));
+        int spanned = 0;
+        for (Tile tile : tiles) {
+            if (minY < tile.bounds.y + tile.bounds.height && tile.bounds.y < maxY) {
+                if (++spanned > 1) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rasterizes the shape into all the tiles it intersects, using the
+     * recorded paint and composite state. This method returns only after
+     * all the tiles have been rendered.
+     */
+    void renderShape(Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape) {
+        if (stroke != null && stroke.getType() != BasicStroke.TYPE_CENTERED) {
+            // see SWContext.DMarlinShapeRenderer
+            shape = stroke.createStrokedShape(shape);
+            stroke = null;
+        }
+        this.shape = shape;
+        this.stroke = stroke;
+        this.transform = tr;
+        this.clip = clip;
+        this.antialiasedShape = antialiasedShape;
+        try {
+            Tile first = null;
+            int forked = 0;
+            for (Tile tile : tiles) {
+                if (!tile.setClip(clip)) {
+                    continue;
+                }
+                if (first == null) {
+                    first = tile;
+                } else {
+                    tasks[forked++] = getPool().submit(tile);
+                }
+            }
+            if (first != null) {
+                first.run();
+            }
+            for (int i = 0; i < forked; i++) {
+                tasks[i].join();
+                tasks[i] = null;
+            }
+        } finally {
+            this.shape = null;
+            this.stroke = null;
+            this.transform = null;
+            this.clip = null;
+        }
+    }
+
+    private final class Tile implements Runnable {
+        final PiscesRenderer pr;
+        final SWContext.DirectRTMarlinAlphaConsumer alphaConsumer =
+                new SWContext.DirectRTMarlinAlphaConsumer();
+        final Rectangle bounds;
+        final Rectangle clip = new Rectangle();
+        int appliedStamp = -1;
+
+        Tile(PiscesRenderer pr, Rectangle bounds) {
+            this.pr = pr;
+            this.bounds = bounds;
+        }
+
+        boolean setClip(Rectangle finalClip) {
+            clip.setBounds(bounds);
+            clip.intersectWith(finalClip);
+            return !clip.isEmpty();
+        }
+
+        private void applyPaint() {
+            if (appliedStamp == paintStamp) {
+                return;
+            }
+            pr.setCompositeRule(compositeRule);
+            switch (paintType) {
+                case PAINT_COLOR:
+                    pr.setColor(red, green, blue, alpha);
+                    break;
+                case PAINT_LINEAR_GRADIENT:
+                    pr.setLinearGradient(gx0, gy0, gx1, gy1, gradientColorMap, paintTransform);
+                    break;
+                case PAINT_RADIAL_GRADIENT:
+                    pr.setRadialGradient(gx0, gy0, gx1, gy1, gRadius, gradientColorMap, paintTransform);
+                    break;
+                case PAINT_TEXTURE:
+                    pr.setTexture(texImageType, texData, texWidth, texHeight, texStride,
+                            paintTransform, texRepeat, texLinearFiltering, texHasAlpha);
+                    break;
+                default:
+                    throw new InternalError("Unknown paint type: " + paintType);
+            }
+            appliedStamp = paintStamp;
+        }
+
+        @Override
+        public void run() {
+            applyPaint();
+            pr.setClip(clip.x, clip.y, clip.width, clip.height);
+            // clip the path against the whole clip but only produce the rows
+            // of this tile, so the coverage matches a single-threaded render:
+            SWContext.DMarlinShapeRenderer.renderShape(alphaConsumer, pr,
+                    shape, stroke, transform, SWTileRasterizer.this.clip,
+                    clip.y, clip.y + clip.height, antialiasedShape);
+        }
+    }
+}
@@ -26,6 +26,7 @@
 package javafx.application;
 
 import com.sun.javafx.application.PlatformImpl;
+import com.sun.javafx.perf.ResourcePoolStatistics;
 import com.sun.javafx.tk.Toolkit;
 import java.util.Optional;
 import javafx.beans.property.ReadOnlyBooleanProperty;
@@ -368,6 +369,24 @@ public final class Platform {
         return Toolkit.getToolkit().isKeyLocked(keyCode);
     }
 
+    /**
+     * Takes a snapshot of the usage of the pool of graphics memory that
+     * textures are allocated from, for example to monitor it from an
+     * {@code AnimationTimer}. The snapshot is taken on the thread that renders
+     * the scenes, so this method waits for any rendering that is in progress.
+     * This method may be called from any thread once the JavaFX runtime has
+     * been started.
+     *
+     * @return the statistics of the texture pool, or {@code null} if the
+     * graphics pipeline in use has no texture pool
+     *
+     * @since 18
+     */
+    public static TexturePoolStatistics getTexturePoolStatistics() {
+        ResourcePoolStatistics statistics = Toolkit.getToolkit().getTexturePoolStatistics();
+        return statistics == null ? null : new TexturePoolStatistics(statistics);
+    }
+
     /**
      * Checks whether a nested event loop is running, returning true to indicate
      * that one is, and false if there are no nested event loops currently
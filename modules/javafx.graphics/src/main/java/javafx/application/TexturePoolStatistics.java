@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.application;
+
+import com.sun.javafx.perf.ResourcePoolStatistics;
+
+/**
+ * A snapshot of the usage of the pool of graphics memory that textures are
+ * allocated from, as returned by {@link Platform#getTexturePoolStatistics()}.
+ * Textures hold the pixels of images, of cached nodes and of effects, among
+ * others. When the pool reaches its target size, textures that are not in
+ * use are evicted, starting with the ones that are cheapest to recreate.
+ * <p>
+ * All sizes are in bytes and all counts are accumulated since the pool was
+ * created. The exact values depend on the graphics pipeline in use, so they
+ * are meant for monitoring rather than for decisions that must be portable.
+ *
+ * @since 18
+ */
+public final class TexturePoolStatistics {
+
+    private final long used;
+    private final long managed;
+    private final long target;
+    private final long max;
+    private final long evictionCount;
+    private final long evictedSize;
+    private final long allocationFailureCount;
+
+    TexturePoolStatistics(ResourcePoolStatistics statistics) {
+        this.used = statistics.getUsed();
+        this.managed = statistics.getManaged();
+        this.target = statistics.getTarget();
+        this.max = statistics.getMax();
+        this.evictionCount = statistics.getEvictionCount();
+        this.evictedSize = statistics.getEvictedSize();
+        this.allocationFailureCount = statistics.getAllocationFailureCount();
+    }
+
+    /**
+     * Gets the amount of the pool that is in use by any texture.
+     *
+     * @return the size of all textures allocated from the pool
+     */
+    public long getUsed() {
+        return used;
+    }
+
+    /**
+     * Gets the amount of the pool that is in use by textures that can be
+     * evicted when they are not in use.
+     *
+     * @return the size of the evictable textures
+     */
+    public long getManaged() {
+        return managed;
+    }
+
+    /**
+     * Gets the size that the pool tries to stay under by evicting textures
+     * before new ones are allocated.
+     *
+     * @return the target size of the pool
+     */
+    public long getTarget() {
+        return target;
+    }
+
+    /**
+     * Gets the size that the pool never exceeds.
+     *
+     * @return the maximum size of the pool
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the number of textures that were evicted to make room for new
+     * textures.
+     *
+     * @return the number of evicted textures
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the total size of the textures that were evicted to make room for
+     * new textures.
+     *
+     * @return the size of the evicted textures
+     */
+    public long getEvictedSize() {
+        return evictedSize;
+    }
+
+    /**
+     * Gets the number of times that the pool could not make room for a new
+     * texture.
+     *
+     * @return the number of failed allocations
+     */
+    public long getAllocationFailureCount() {
+        return allocationFailureCount;
+    }
+
+    /**
+     * Returns a string representation of this {@code TexturePoolStatistics}
+     * object.
+     *
+     * @return a string representation of this object
+     */
+    @Override
+    public String toString() {
+        return String.format("TexturePoolStatistics[used=%,d, managed=%,d, target=%,d, max=%,d, "
+                             + "evictions=%,d, evicted=%,d, allocation failures=%,d]",
+                             used, managed, target, max,
+                             evictionCount, evictedSize, allocationFailureCount);
+    }
+}
@@ -2167,6 +2167,9 @@ public abstract class Node implements EventTarget, Styleable {
      * In this case, the width and height of the image determine the area
      * that is rendered instead of the width and height of the bounds or
      * viewport.
+     * If the image was constructed using a {@code PixelBuffer}, the pixels
+     * are rendered into the buffer of that {@code PixelBuffer}, and all
+     * images created using it are updated.
      *
      * @throws IllegalStateException if this method is called on a thread
      *     other than the JavaFX Application Thread.
@@ -2256,6 +2259,9 @@ public abstract class Node implements EventTarget, Styleable {
      * In this case, the width and height of the image determine the area
      * that is rendered instead of the width and height of the bounds or
      * viewport.
+     * If the image was constructed using a {@code PixelBuffer}, the pixels
+     * are rendered into the buffer of that {@code PixelBuffer}, and all
+     * images created using it are updated.
      *
      * @throws IllegalStateException if this method is called on a thread
      *     other than the JavaFX Application Thread.
@@ -1458,6 +1458,9 @@ public class Scene implements EventTarget {
      * existing image.
      * In this case, the width and height of the image determine the area
      * that is rendered instead of the width and height of the scene.
+     * If the image was constructed using a {@code PixelBuffer}, the pixels
+     * are rendered into the buffer of that {@code PixelBuffer}, and all
+     * images created using it are updated.
      *
      * @throws IllegalStateException if this method is called on a thread
      *     other than the JavaFX Application Thread.
@@ -1509,6 +1512,9 @@ public class Scene implements EventTarget {
      * existing image.
      * In this case, the width and height of the image determine the area
      * that is rendered instead of the width and height of the scene.
+     * If the image was constructed using a {@code PixelBuffer}, the pixels
+     * are rendered into the buffer of that {@code PixelBuffer}, and all
+     * images created using it are updated.
      *
      * @throws IllegalStateException if this method is called on a thread
      *     other than the JavaFX Application Thread.
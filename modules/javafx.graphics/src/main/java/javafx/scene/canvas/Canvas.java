@@ -273,7 +273,9 @@ public class Canvas extends Node {
                 }
                 recentvalsizes[lastsizeindex] = current.writeValuePosition();
                 recentobjsizes[lastsizeindex] = current.writeObjectPosition();
-                rendererBehind = peer.updateRendering(current);
+                rendererBehind = peer.updateRendering(current,
+                                                      theContext.getDamage());
+                theContext.resetDamage();
                 current = null;
             }
         }
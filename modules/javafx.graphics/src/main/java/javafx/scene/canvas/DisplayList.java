@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.canvas;
+
+import com.sun.javafx.geom.DirtyRegionContainer;
+import com.sun.javafx.sg.prism.GrowableDataBuffer;
+
+/**
+ * A sequence of {@link GraphicsContext} rendering calls recorded once with
+ * {@link GraphicsContext#beginDisplayList()} and
+ * {@link GraphicsContext#endDisplayList()}, which can then be rendered any
+ * number of times, on any {@link Canvas}, with
+ * {@link GraphicsContext#drawDisplayList(DisplayList)}.
+ * A display list is immutable.
+ *
+ * <p>Example:</p>
+ *
+ * <pre>
+ * GraphicsContext gc = canvas.getGraphicsContext2D();
+ * gc.beginDisplayList();
+ * gc.setStroke(Color.GRAY);
+ * gc.strokeLines(gridLines, 0, gridLines.length / 4);
+ * DisplayList grid = gc.endDisplayList();
+ *
+ * // every frame:
+ * gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+ * gc.drawDisplayList(grid);
+ * </pre>
+ *
+ * @see GraphicsContext#drawDisplayList(DisplayList)
+ * @since 18
+ */
+public final class DisplayList {
+    private final GrowableDataBuffer buffer;
+    // the regions of the canvas changed by this display list, null if unknown
+    private final DirtyRegionContainer damage;
+
+    DisplayList(GrowableDataBuffer buffer, DirtyRegionContainer damage) {
+        this.buffer = buffer;
+        this.damage = damage;
+    }
+
+    GrowableDataBuffer getBuffer() {
+        return buffer;
+    }
+
+    DirtyRegionContainer getDamage() {
+        return damage;
+    }
+}
@@ -26,9 +26,12 @@
 package javafx.scene.canvas;
 
 import com.sun.javafx.geom.Arc2D;
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.DirtyRegionContainer;
 import com.sun.javafx.geom.IllegalPathStateException;
 import com.sun.javafx.geom.Path2D;
 import com.sun.javafx.geom.PathIterator;
+import com.sun.javafx.geom.RectBounds;
 import com.sun.javafx.geom.transform.Affine2D;
 import com.sun.javafx.geom.transform.NoninvertibleTransformException;
 import com.sun.javafx.image.*;
@@ -59,9 +62,11 @@ import javafx.scene.transform.Affine;
 
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.util.Arrays;
 import java.util.LinkedList;
+import java.util.Objects;
 import javafx.scene.text.FontSmoothingType;
 
 /**
@@ -489,6 +494,22 @@ public final class GraphicsContext {
     LinkedList<State> stateStack;
     LinkedList<Path2D> clipStack;
 
+    // the display list being recorded, if any, and the state of this
+    // context when the recording started
+    private GrowableDataBuffer recording;
+    private State recordingState;
+    private int recordingStackDepth;
+    private DirtyRegionContainer recordingDamage;
+    private boolean recordingDamageAll;
+
+    // the regions of the canvas, in canvas coordinates, changed by the
+    // rendering calls since the last synchronization with the renderer,
+    // or by the display list being recorded
+    private DirtyRegionContainer damage =
+            new DirtyRegionContainer(NGCanvas.MAX_DAMAGE_REGIONS);
+    private boolean damageAll;
+    private final RectBounds damageTemp = new RectBounds();
+
     GraphicsContext(Canvas theCanvas) {
         this.theCanvas = theCanvas;
         this.path = new Path2D();
@@ -613,7 +634,7 @@ public final class GraphicsContext {
     }
 
     private GrowableDataBuffer getBuffer() {
-        return theCanvas.getBuffer();
+        return (recording != null) ? recording : theCanvas.getBuffer();
     }
 
     private float coords[] = new float[6];
@@ -631,6 +652,11 @@ public final class GraphicsContext {
     }
 
     private void writePath(byte command) {
+        if (!damageAll) {
+            RectBounds pb = path.getBounds();
+            damageCanvas(pb.getMinX(), pb.getMinY(), pb.getMaxX(), pb.getMaxY(),
+                         command == NGCanvas.STROKE_PATH);
+        }
         updateTransform();
         GrowableDataBuffer buf = getBuffer();
         if (pathDirty) {
@@ -679,6 +705,12 @@ public final class GraphicsContext {
     }
 
     private void writeOp4(double x, double y, double w, double h, byte command) {
+        if (command == NGCanvas.STROKE_LINE) {
+            damageUser(x, y, w, h, true);
+        } else {
+            damageUser(x, y, x + w, y + h,
+                       command == NGCanvas.STROKE_RECT || command == NGCanvas.STROKE_OVAL);
+        }
         updateTransform();
         writeRectParams(getBuffer(), x, y, w, h, command);
     }
@@ -686,6 +718,8 @@ public final class GraphicsContext {
     private void writeOp6(double x, double y, double w, double h,
                           double v1, double v2, byte command)
     {
+        damageUser(x, y, x + w, y + h,
+                   command == NGCanvas.STROKE_ARC || command == NGCanvas.STROKE_ROUND_RECT);
         updateTransform();
         GrowableDataBuffer buf = getBuffer();
         buf.putByte(command);
@@ -727,6 +761,17 @@ public final class GraphicsContext {
             polybuf[pos++] = (float) yPoints[i];
         }
         flushPolyBuf(buf, polybuf, pos, polycmd);
+        if (!damageAll) {
+            float minx = Float.POSITIVE_INFINITY, miny = Float.POSITIVE_INFINITY;
+            float maxx = Float.NEGATIVE_INFINITY, maxy = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < nPoints; i++) {
+                minx = Math.min(minx, (float) xPoints[i]);
+                miny = Math.min(miny, (float) yPoints[i]);
+                maxx = Math.max(maxx, (float) xPoints[i]);
+                maxy = Math.max(maxy, (float) yPoints[i]);
+            }
+            damageUser(minx, miny, maxx, maxy, command == NGCanvas.STROKE_PATH);
+        }
         if (close) {
             buf.putByte(NGCanvas.CLOSEPATH);
         }
@@ -739,12 +784,69 @@ public final class GraphicsContext {
         markPathDirty();
     }
 
+    private static void checkRects(int offset, int count, int length) {
+        // bound count first so that count * 4 can't overflow
+        if (count < 0 || count > length / 4) {
+            throw new IndexOutOfBoundsException("count: " + count);
+        }
+        Objects.checkFromIndexSize(offset, count * 4, length);
+    }
+
+    private void writeRects(float[] data, int offset, int count, byte command) {
+        checkRects(offset, count, data.length);
+        if (count > 0) {
+            damageRects(data, null, offset, count, command);
+            updateTransform();
+            GrowableDataBuffer buf = getBuffer();
+            buf.putByte(command);
+            buf.putInt(count);
+            buf.putFloats(data, offset, count * 4);
+        }
+    }
+
+    private void writeRects(FloatBuffer data, int count, byte command) {
+        checkRects(data.position(), count, data.limit());
+        if (count > 0) {
+            damageRects(null, data, data.position(), count, command);
+            updateTransform();
+            GrowableDataBuffer buf = getBuffer();
+            buf.putByte(command);
+            buf.putInt(count);
+            buf.putFloats(data, data.position(), count * 4);
+        }
+    }
+
+    private void damageRects(float[] data, FloatBuffer fb, int offset, int count,
+                             byte command)
+    {
+        if (damageAll) return;
+        float minx = Float.POSITIVE_INFINITY, miny = Float.POSITIVE_INFINITY;
+        float maxx = Float.NEGATIVE_INFINITY, maxy = Float.NEGATIVE_INFINITY;
+        boolean lines = (command == NGCanvas.STROKE_LINES);
+        for (int i = offset, end = offset + count * 4; i < end; i += 4) {
+            float x0 = (data != null) ? data[i]     : fb.get(i);
+            float y0 = (data != null) ? data[i + 1] : fb.get(i + 1);
+            float x1 = (data != null) ? data[i + 2] : fb.get(i + 2);
+            float y1 = (data != null) ? data[i + 3] : fb.get(i + 3);
+            if (!lines) {
+                x1 += x0;
+                y1 += y0;
+            }
+            minx = Math.min(minx, Math.min(x0, x1));
+            miny = Math.min(miny, Math.min(y0, y1));
+            maxx = Math.max(maxx, Math.max(x0, x1));
+            maxy = Math.max(maxy, Math.max(y0, y1));
+        }
+        damageUser(minx, miny, maxx, maxy, command != NGCanvas.FILL_RECTS);
+    }
+
     private void writeImage(Image img,
                             double dx, double dy, double dw, double dh)
     {
         if (img == null || img.getProgress() < 1.0) return;
         Object platformImg = Toolkit.getImageAccessor().getPlatformImage(img);
         if (platformImg == null) return;
+        damageUser(dx, dy, dx + dw, dy + dh, false);
         updateTransform();
         GrowableDataBuffer buf = getBuffer();
         writeRectParams(buf, dx, dy, dw, dh, NGCanvas.DRAW_IMAGE);
@@ -758,6 +860,7 @@ public final class GraphicsContext {
         if (img == null || img.getProgress() < 1.0) return;
         Object platformImg = Toolkit.getImageAccessor().getPlatformImage(img);
         if (platformImg == null) return;
+        damageUser(dx, dy, dx + dw, dy + dh, false);
         updateTransform();
         GrowableDataBuffer buf = getBuffer();
         writeRectParams(buf, dx, dy, dw, dh, NGCanvas.DRAW_SUBIMAGE);
@@ -772,6 +875,8 @@ public final class GraphicsContext {
                            byte command)
     {
         if (text == null) return;
+        // the bounds of the text are only known to the renderer
+        damageAll();
         updateTransform();
         GrowableDataBuffer buf = getBuffer();
         buf.putByte(command);
@@ -809,14 +914,96 @@ public final class GraphicsContext {
         }
     }
 
+    private void damageAll() {
+        damageAll = true;
+    }
+
+    // Adds the bounds of a rendering operation, in user space, to the damage
+    private void damageUser(double x0, double y0, double x1, double y1,
+                            boolean stroked)
+    {
+        if (damageAll) return;
+        if (curState.effect != null) {
+            // effects may render outside of the bounds of the operation
+            damageAll();
+            return;
+        }
+        damageTemp.setBoundsAndSort((float) x0, (float) y0, (float) x1, (float) y1);
+        if (stroked) {
+            float pad = getStrokePad();
+            damageTemp.grow(pad, pad);
+        }
+        BaseBounds b = curState.transform.transform(damageTemp, damageTemp);
+        addDamage(b.getMinX(), b.getMinY(), b.getMaxX(), b.getMaxY());
+    }
+
+    // Adds the bounds of a rendering operation, in canvas coordinates, to
+    // the damage, with the stroke transformed by the current transform
+    private void damageCanvas(float x0, float y0, float x1, float y1,
+                              boolean stroked)
+    {
+        if (damageAll) return;
+        if (curState.effect != null) {
+            damageAll();
+            return;
+        }
+        if (stroked) {
+            Affine2D tx = curState.transform;
+            float pad = getStrokePad() * (float)
+                Math.max(Math.hypot(tx.getMxx(), tx.getMyx()),
+                         Math.hypot(tx.getMxy(), tx.getMyy()));
+            x0 -= pad; y0 -= pad;
+            x1 += pad; y1 += pad;
+        }
+        addDamage(x0, y0, x1, y1);
+    }
+
+    private float getStrokePad() {
+        // half the line width, extended by the miter or by the diagonal
+        // of square caps
+        double scale = (curState.linejoin == StrokeLineJoin.MITER)
+                       ? Math.max(curState.miterlimit, Math.sqrt(2.0))
+                       : Math.sqrt(2.0);
+        return (float) (curState.linewidth * 0.5 * scale);
+    }
+
+    private void addDamage(float x0, float y0, float x1, float y1) {
+        if (!(x0 <= x1 && y0 <= y1)) {
+            // NaN coordinates
+            damageAll();
+            return;
+        }
+        // one more pixel for antialiasing
+        damageTemp.setBounds((float) Math.floor(x0) - 1, (float) Math.floor(y0) - 1,
+                             (float) Math.ceil(x1) + 1, (float) Math.ceil(y1) + 1);
+        damage.addDirtyRegion(damageTemp);
+    }
+
+    /**
+     * Returns the regions of the canvas changed since the last call to
+     * {@link #resetDamage()}, or null if the whole canvas may have changed.
+     */
+    DirtyRegionContainer getDamage() {
+        return damageAll ? null : damage;
+    }
+
+    void resetDamage() {
+        damage.reset();
+        damageAll = false;
+    }
+
     void updateDimensions() {
-        GrowableDataBuffer buf = getBuffer();
+        GrowableDataBuffer buf = theCanvas.getBuffer();
         buf.putByte(NGCanvas.SET_DIMS);
         buf.putFloat((float) theCanvas.getWidth());
         buf.putFloat((float) theCanvas.getHeight());
     }
 
     private void reset() {
+        if (recording != null) {
+            // a display list has no prior content to omit
+            return;
+        }
         GrowableDataBuffer buf = getBuffer();
         // Only reset if we have a significant amount of data to omit,
         // this prevents a common occurrence of "setFill(bg); fillRect();"
@@ -829,6 +1016,7 @@ public final class GraphicsContext {
         {
             buf.reset();
             buf.putByte(NGCanvas.RESET);
+            damageAll();
             updateDimensions();
             txdirty = true;
             pathDirty = true;
@@ -932,13 +1120,122 @@ public final class GraphicsContext {
      * Note that the current path is not restored.
      */
     public void restore() {
-        if (!stateStack.isEmpty()) {
+        if (stateStack.size() > (recording != null ? recordingStackDepth : 0)) {
             State savedState = stateStack.pop();
             savedState.restore(this);
             txdirty = true;
         }
     }
 
+    /**
+     * Starts recording a display list.
+     * Until {@link #endDisplayList()} is called, the rendering calls made
+     * on this {@code GraphicsContext} are recorded into the display list
+     * instead of being rendered into the {@code Canvas}.
+     * <p>
+     * The display list starts with the attributes that are current when
+     * this method is called. Any attribute changes, as well as any clips,
+     * made while recording are part of the display list only, and the
+     * attributes of this {@code GraphicsContext} are reverted to their
+     * values at the start of the recording when it ends.
+     * Calls to {@link #restore()} while recording only pop states that
+     * were saved during the recording.
+     * The current path is not saved and may be modified while recording.
+     * </p>
+     *
+     * @throws IllegalStateException if a display list is already being
+     * recorded on this {@code GraphicsContext}
+     * @see #drawDisplayList(DisplayList)
+     * @since 18
+     */
+    public void beginDisplayList() {
+        if (recording != null) {
+            throw new IllegalStateException("A display list is already being recorded");
+        }
+        recordingState = curState;
+        recordingStackDepth = stateStack.size();
+        recording = GrowableDataBuffer.getBuffer(Canvas.DEFAULT_VAL_BUF_SIZE,
+                                                 Canvas.DEFAULT_OBJ_BUF_SIZE);
+        recordingDamage = damage;
+        recordingDamageAll = damageAll;
+        damage = new DirtyRegionContainer(NGCanvas.MAX_DAMAGE_REGIONS);
+        damageAll = false;
+        // Display lists are rendered starting from the default attributes,
+        // so only the attributes that differ from them need to be recorded.
+        curState = new State();
+        curState.numClipPaths = recordingState.numClipPaths;
+        recordingState.restore(this);
+        txdirty = true;
+        pathDirty = true;
+    }
+
+    /**
+     * Ends the recording of a display list started with
+     * {@link #beginDisplayList()} and returns the recorded display list.
+     * The attributes of this {@code GraphicsContext} are reverted to their
+     * values at the start of the recording.
+     *
+     * @return the recorded display list
+     * @throws IllegalStateException if no display list is being recorded on
+     * this {@code GraphicsContext}
+     * @since 18
+     */
+    public DisplayList endDisplayList() {
+        if (recording == null) {
+            throw new IllegalStateException("No display list is being recorded");
+        }
+        // pop the clips of the display list when it is rendered
+        while (curState.numClipPaths > recordingState.numClipPaths) {
+            curState.numClipPaths--;
+            clipStack.removeLast();
+            recording.putByte(NGCanvas.POP_CLIP);
+        }
+        while (stateStack.size() > recordingStackDepth) {
+            stateStack.pop();
+        }
+        DisplayList list = new DisplayList(recording, damageAll ? null : damage);
+        recording = null;
+        damage = recordingDamage;
+        damageAll = recordingDamageAll;
+        recordingDamage = null;
+        curState = recordingState;
+        recordingState = null;
+        txdirty = true;
+        pathDirty = true;
+        return list;
+    }
+
+    /**
+     * Renders a display list recorded with {@link #beginDisplayList()}.
+     * The display list is rendered with the attributes it was recorded with,
+     * within the current clip of this {@code GraphicsContext}, and does not
+     * change the attributes of this {@code GraphicsContext}.
+     * The display list is not encoded again, so rendering the same display
+     * list many times, possibly on several canvases, is much cheaper than
+     * issuing the recorded calls again.
+     * A {@code null} value is ignored.
+     *
+     * @param list the display list to render
+     * @since 18
+     */
+    public void drawDisplayList(DisplayList list) {
+        if (list == null) return;
+        DirtyRegionContainer listDamage = list.getDamage();
+        if (listDamage == null) {
+            damageAll();
+        } else if (!damageAll) {
+            for (int i = 0; i < listDamage.size(); i++) {
+                damageTemp.deriveWithNewBounds(listDamage.getDirtyRegion(i));
+                damage.addDirtyRegion(damageTemp);
+            }
+        }
+        GrowableDataBuffer buf = getBuffer();
+        buf.putByte(NGCanvas.DISPLAY_LIST);
+        buf.putObject(list.getBuffer());
+        // the display list may have replaced the path of the renderer
+        pathDirty = true;
+    }
+
     /**
      * Translates the current transform by x, y.
      * @param x value to translate along the x axis.
@@ -2648,6 +2945,146 @@ public final class GraphicsContext {
         }
     }
 
+    /**
+     * Fills a sequence of rectangles using the current fill paint.
+     * Each rectangle is specified by 4 consecutive values in the array:
+     * the X and Y position of its upper left corner, its width and its
+     * height.
+     * This is equivalent to, but much cheaper than, calling
+     * {@link #fillRect(double, double, double, double) fillRect} once for
+     * each rectangle.
+     * <p>
+     * This method will be affected by any of the
+     * <a href="#comm-attr">global common</a>
+     * or <a href="#fill-attr">fill</a>
+     * attributes as specified in the
+     * <a href="#attr-ops-table">Rendering Attributes Table</a>.
+     * </p>
+     *
+     * @param rects the array holding the rectangles.
+     * @param offset the index of the first value of the first rectangle.
+     * @param count the number of rectangles to fill.
+     * @throws NullPointerException if {@code rects} is null
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code count}
+     * is negative, or if the array holds less than {@code 4 * count} values
+     * from {@code offset}
+     * @since 18
+     */
+    public void fillRects(float[] rects, int offset, int count) {
+        writeRects(rects, offset, count, NGCanvas.FILL_RECTS);
+    }
+
+    /**
+     * Fills a sequence of rectangles read from the current position of the
+     * buffer using the current fill paint.
+     * The rectangles are laid out as described in
+     * {@link #fillRects(float[], int, int)} and the position of the buffer
+     * is not modified.
+     *
+     * @param rects the buffer holding the rectangles.
+     * @param count the number of rectangles to fill.
+     * @throws NullPointerException if {@code rects} is null
+     * @throws IndexOutOfBoundsException if {@code count} is negative, or if
+     * the buffer has less than {@code 4 * count} values remaining
+     * @since 18
+     */
+    public void fillRects(FloatBuffer rects, int count) {
+        writeRects(rects, count, NGCanvas.FILL_RECTS);
+    }
+
+    /**
+     * Strokes a sequence of rectangles using the current stroke paint.
+     * The rectangles are laid out as described in
+     * {@link #fillRects(float[], int, int)}.
+     * This is equivalent to, but much cheaper than, calling
+     * {@link #strokeRect(double, double, double, double) strokeRect} once
+     * for each rectangle.
+     * <p>
+     * This method will be affected by any of the
+     * <a href="#comm-attr">global common</a>
+     * or <a href="#strk-attr">stroke</a>
+     * attributes as specified in the
+     * <a href="#attr-ops-table">Rendering Attributes Table</a>.
+     * </p>
+     *
+     * @param rects the array holding the rectangles.
+     * @param offset the index of the first value of the first rectangle.
+     * @param count the number of rectangles to stroke.
+     * @throws NullPointerException if {@code rects} is null
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code count}
+     * is negative, or if the array holds less than {@code 4 * count} values
+     * from {@code offset}
+     * @since 18
+     */
+    public void strokeRects(float[] rects, int offset, int count) {
+        writeRects(rects, offset, count, NGCanvas.STROKE_RECTS);
+    }
+
+    /**
+     * Strokes a sequence of rectangles read from the current position of the
+     * buffer using the current stroke paint.
+     * The rectangles are laid out as described in
+     * {@link #fillRects(float[], int, int)} and the position of the buffer
+     * is not modified.
+     *
+     * @param rects the buffer holding the rectangles.
+     * @param count the number of rectangles to stroke.
+     * @throws NullPointerException if {@code rects} is null
+     * @throws IndexOutOfBoundsException if {@code count} is negative, or if
+     * the buffer has less than {@code 4 * count} values remaining
+     * @since 18
+     */
+    public void strokeRects(FloatBuffer rects, int count) {
+        writeRects(rects, count, NGCanvas.STROKE_RECTS);
+    }
+
+    /**
+     * Strokes a sequence of lines using the current stroke paint.
+     * Each line is specified by 4 consecutive values in the array:
+     * the X and Y coordinates of its starting point followed by the X and Y
+     * coordinates of its ending point.
+     * This is equivalent to, but much cheaper than, calling
+     * {@link #strokeLine(double, double, double, double) strokeLine} once
+     * for each line.
+     * <p>
+     * This method will be affected by any of the
+     * <a href="#comm-attr">global common</a>
+     * or <a href="#strk-attr">stroke</a>
+     * attributes as specified in the
+     * <a href="#attr-ops-table">Rendering Attributes Table</a>.
+     * </p>
+     *
+     * @param lines the array holding the lines.
+     * @param offset the index of the first value of the first line.
+     * @param count the number of lines to stroke.
+     * @throws NullPointerException if {@code lines} is null
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code count}
+     * is negative, or if the array holds less than {@code 4 * count} values
+     * from {@code offset}
+     * @since 18
+     */
+    public void strokeLines(float[] lines, int offset, int count) {
+        writeRects(lines, offset, count, NGCanvas.STROKE_LINES);
+    }
+
+    /**
+     * Strokes a sequence of lines read from the current position of the
+     * buffer using the current stroke paint.
+     * The lines are laid out as described in
+     * {@link #strokeLines(float[], int, int)} and the position of the buffer
+     * is not modified.
+     *
+     * @param lines the buffer holding the lines.
+     * @param count the number of lines to stroke.
+     * @throws NullPointerException if {@code lines} is null
+     * @throws IndexOutOfBoundsException if {@code count} is negative, or if
+     * the buffer has less than {@code 4 * count} values remaining
+     * @since 18
+     */
+    public void strokeLines(FloatBuffer lines, int count) {
+        writeRects(lines, count, NGCanvas.STROKE_LINES);
+    }
+
     /**
      * Draws an image at the given x, y position using the width
      * and height of the given image.
@@ -2749,6 +3186,7 @@ public final class GraphicsContext {
 
                 @Override
                 public void setArgb(int x, int y, int argb) {
+                    addDamage(x, y, x + 1, y + 1);
                     GrowableDataBuffer buf = getBuffer();
                     buf.putByte(NGCanvas.PUT_ARGB);
                     buf.putInt(x);
@@ -2769,6 +3207,7 @@ public final class GraphicsContext {
                 private void writePixelBuffer(int x, int y, int w, int h,
                                               byte[] pixels)
                 {
+                    addDamage(x, y, x + w, y + h);
                     GrowableDataBuffer buf = getBuffer();
                     buf.putByte(NGCanvas.PUT_ARGBPRE_BUF);
                     buf.putInt(x);
@@ -3006,6 +3445,7 @@ public final class GraphicsContext {
      */
     public void applyEffect(Effect e) {
         if (e == null) return;
+        damageAll();
         GrowableDataBuffer buf = getBuffer();
         buf.putByte(NGCanvas.FX_APPLY_EFFECT);
         Effect effect = EffectHelper.copy(e);
@@ -51,9 +51,11 @@ import javafx.beans.property.ReadOnlyObjectPropertyBase;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
+import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.runtime.async.AsyncOperation;
 import com.sun.javafx.runtime.async.AsyncOperationListener;
 import com.sun.javafx.tk.ImageLoader;
+import com.sun.javafx.tk.PartialImageListener;
 import com.sun.javafx.tk.PlatformImage;
 import com.sun.javafx.tk.Toolkit;
 import com.sun.javafx.util.DataURI;
@@ -793,6 +795,9 @@ public class Image {
             if (animation != null) {
                 animation.stop();
             }
+            if (animFrameSource != null) {
+                animFrameSource.dispose();
+            }
         });
     }
 
@@ -853,16 +858,21 @@ public class Image {
     private volatile boolean isAnimated;
     // We keep the animation frames associated with the Image rather than with
     // the animation, so most of the data can be garbage collected while
-    // the animation is still running.
+    // the animation is still running. The frames of large animations are
+    // instead decoded as they are shown by the frame source.
     private PlatformImage[] animFrames;
+    private ImageLoader.FrameSource animFrameSource;
 
     // Generates the animation Timeline for multiframe images.
     private void initializeAnimatedImage(ImageLoader loader) {
         final int frameCount = loader.getFrameCount();
-        animFrames = new PlatformImage[frameCount];
+        animFrameSource = loader.openFrameSource();
 
-        for (int i = 0; i < frameCount; ++i) {
-            animFrames[i] = loader.getFrame(i);
+        if (animFrameSource == null) {
+            animFrames = new PlatformImage[frameCount];
+            for (int i = 0; i < frameCount; ++i) {
+                animFrames[i] = loader.getFrame(i);
+            }
         }
 
         PlatformImage zeroFrame = loader.getFrame(0);
@@ -905,6 +915,15 @@ public class Image {
             // Note: we need one extra frame in the timeline to define how long
             // the last frame is shown, the wrap around is "instantaneous"
             timeline.getKeyFrames().add(new KeyFrame(Duration.millis(duration)));
+
+            // the frames decoded ahead are not needed once the last frame
+            // of the last cycle is shown
+            timeline.setOnFinished(event -> {
+                final Image img = imageRef.get();
+                if (img != null && img.animFrameSource != null) {
+                    img.animFrameSource.dispose();
+                }
+            });
         }
 
         public void start() {
@@ -918,8 +937,14 @@ public class Image {
         private void updateImage(final int frameIndex) {
             final Image image = imageRef.get();
             if (image != null) {
-                image.platformImagePropertyImpl().set(
-                        image.animFrames[frameIndex]);
+                PlatformImage frame = image.animFrameSource != null
+                        ? image.animFrameSource.getFrame(frameIndex)
+                        : image.animFrames[frameIndex];
+                // a streamed frame that is not decoded yet is skipped, the
+                // frame shown before it stays until the next one is ready
+                if (frame != null) {
+                    image.platformImagePropertyImpl().set(frame);
+                }
             } else {
                 timeline.stop();
             }
@@ -1016,7 +1041,7 @@ public class Image {
             new LinkedList<ImageTask>();
 
     private final class ImageTask
-            implements AsyncOperationListener<ImageLoader> {
+            implements AsyncOperationListener<ImageLoader>, PartialImageListener {
 
         private final AsyncOperation peer;
 
@@ -1052,6 +1077,18 @@ public class Image {
             }
         }
 
+        // shows the rows of the image decoded so far
+        @Override
+        public void onPartialImage(PlatformImage image, double width, double height,
+                                   Rectangle dirtyRegion) {
+            if (Toolkit.getImageAccessor().getPlatformImage(Image.this) == image) {
+                image.bufferDirty(dirtyRegion);
+                pixelsDirty();
+            } else {
+                setPlatformImageWH(image, width, height);
+            }
+        }
+
         public void start() {
             peer.start();
         }
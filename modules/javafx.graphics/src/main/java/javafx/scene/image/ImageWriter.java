@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.image;
+
+import com.sun.javafx.iio.ImageEncoder;
+import com.sun.javafx.iio.ImageStorage;
+import com.sun.javafx.tk.PlatformImage;
+
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The {@code ImageWriter} class writes images in the PNG or JPEG format.
+ * Images are encoded on background threads, directly from the pixels of the
+ * image, so for example the image returned by
+ * {@link javafx.scene.Node#snapshot Node.snapshot} can be saved without
+ * blocking the JavaFX Application Thread:
+ *
+ * <pre>{@code
+ * WritableImage image = chart.snapshot(null, null);
+ * OutputStream out = Files.newOutputStream(path);
+ * ImageWriter.write(image, "png", out).whenComplete((v, ex) -> {
+ *     if (ex != null) {
+ *         ex.printStackTrace();
+ *     }
+ *     try {
+ *         out.close();
+ *     } catch (IOException e) {
+ *         e.printStackTrace();
+ *     }
+ * });
+ * }</pre>
+ *
+ * <p>PNG images are written with 8 bits per component and an alpha
+ * channel. JPEG images are written with a fixed quality of 0.9 and without
+ * the alpha channel of the image.</p>
+ *
+ * @since 18
+ */
+public final class ImageWriter {
+
+    private ImageWriter() {
+    }
+
+    /**
+     * Writes an image to a stream in a given format. The image is encoded on
+     * background threads and the returned future is completed once it has
+     * been written. The pixels are read while the image is encoded, so the
+     * image should not be modified, for example by rendering another snapshot
+     * into it, before the future completes. The stream is not closed.
+     * This method may be called on any thread.
+     *
+     * @param image the image to write
+     * @param format the name of the format, "png", "jpg" or "jpeg", in any
+     *     case
+     * @param output the stream to write the image to
+     * @return a future which is completed when the image has been written,
+     *     or completed exceptionally with the exception thrown while encoding
+     *     the image, which is an {@code IOException} if writing to the stream
+     *     fails
+     * @throws NullPointerException if any of the arguments is {@code null}
+     * @throws IllegalArgumentException if images can't be written in the
+     *     format, or if the image is an animation, failed to load or has not
+     *     been loaded yet
+     */
+    public static CompletableFuture<Void> write(Image image, String format,
+                                                OutputStream output) {
+        Objects.requireNonNull(image, "image must not be null");
+        Objects.requireNonNull(format, "format must not be null");
+        Objects.requireNonNull(output, "output must not be null");
+
+        if (!image.pixelsReadable()) {
+            throw new IllegalArgumentException("Image is not loaded or is an animation");
+        }
+        PlatformImage platformImage = (PlatformImage) image.getPlatformImage();
+        ImagePixels pixels = new ImagePixels(platformImage,
+                                             (int) image.getWidth(),
+                                             (int) image.getHeight());
+        return ImageStorage.writeImageAsync(pixels, format, output);
+    }
+
+    private static final class ImagePixels implements ImageEncoder.PixelSource {
+        private final PlatformImage platformImage;
+        private final int width;
+        private final int height;
+
+        ImagePixels(PlatformImage platformImage, int width, int height) {
+            this.platformImage = platformImage;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public void getArgb(int y, int h, int[] pixels) {
+            // converts the rows straight from the buffer of the platform image
+            platformImage.getPixels(0, y, width, h, PixelFormat.getIntArgbInstance(),
+                                    pixels, 0, width);
+        }
+    }
+}
@@ -285,11 +285,27 @@ public class WritableImage extends Image {
             throw new IllegalArgumentException("Size of loader does not match size of image");
         }
 
-        super.setPlatformImage(tkLoader.getFrame(0));
+        PlatformImage frame = tkLoader.getFrame(0);
+        if (frame == getPlatformImage()) {
+            // The pixels were rendered in place, so only notify the views of
+            // this image (and of the other images sharing its PixelBuffer)
+            if (pixelBuffer != null) {
+                pixelBuffer.updateBuffer(pb -> null);
+            } else {
+                pixelsDirty();
+            }
+        } else {
+            super.setPlatformImage(frame);
+        }
         this.tkImageLoader = tkLoader;
     }
 
     private Object getTkImageLoader() {
+        if (tkImageLoader == null && getPlatformImage() != null) {
+            // Let the toolkit render into the current platform image, which
+            // for a PixelBuffer backed image shares the application's buffer
+            tkImageLoader = Toolkit.getToolkit().loadPlatformImage(getPlatformImage());
+        }
         return tkImageLoader;
     }
 }
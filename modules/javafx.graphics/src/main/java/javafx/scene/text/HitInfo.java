@@ -25,6 +25,7 @@
 
 package javafx.scene.text;
 
+import com.sun.javafx.scene.text.HitInfoHelper;
 import java.text.BreakIterator;
 
 /**
@@ -34,6 +35,10 @@ import java.text.BreakIterator;
  */
 public class HitInfo {
 
+    static {
+        HitInfoHelper.setHitInfoAccessor(HitInfo::new);
+    }
+
     private int charIndex;
     private boolean leading;
     private int insertionIndex;
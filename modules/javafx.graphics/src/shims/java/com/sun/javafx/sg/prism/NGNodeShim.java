@@ -73,6 +73,10 @@ public abstract class NGNodeShim extends NGNode {
         node.markCullRegions(drc, cullingRegionsBitsOfParent, tx, pvTx);
     }
 
+    public static void markContentDirty(NGNode node, DirtyRegionContainer regions) {
+        node.markContentDirty(regions);
+    }
+
     public static void set_dirty(NGNode node, NGNode.DirtyFlag flag) {
         node.dirty = flag;
     }
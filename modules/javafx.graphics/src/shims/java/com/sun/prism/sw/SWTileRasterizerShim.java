@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.sw;
+
+import com.sun.pisces.PiscesRenderer;
+import com.sun.prism.Graphics;
+import java.util.function.Consumer;
+
+public class SWTileRasterizerShim {
+
+    /**
+     * Renders into a new SW render target, split into the given number of
+     * tiles or not tiled at all if {@code tileCount} is less than 2, and
+     * returns a copy of its pixels.
+     */
+    public static int[] render(int width, int height, int tileCount, Consumer<Graphics> painter) {
+        final SWResourceFactory factory = new SWResourceFactory(null);
+        final SWRTTexture target = new SWRTTexture(factory, width, height);
+        try {
+            final SWTileRasterizer tiles = (tileCount < 2) ? null : new SWTileRasterizer(target, tileCount);
+            final SWGraphics g = new SWGraphics(target, factory.getContext(),
+                    new PiscesRenderer(target.getSurface()), tiles);
+            painter.accept(g);
+            return target.getDataNoClone().clone();
+        } finally {
+            target.dispose();
+            factory.dispose();
+        }
+    }
+}
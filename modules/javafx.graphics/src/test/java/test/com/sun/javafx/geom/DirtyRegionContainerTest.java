@@ -191,6 +191,75 @@ public class DirtyRegionContainerTest {
         Assert.assertEquals(new RectBounds(0, 0, 50, 50), drc.getDirtyRegion(2));
     }
 
+    @Test
+    public void test_addDirtyRegion_no_space_merges_cheapest() {
+        DirtyRegionContainer drc = new DirtyRegionContainer(3);
+        // two large adjacent regions and two small distant ones
+        drc.addDirtyRegion(new RectBounds(0, 100, 200, 300));
+        drc.addDirtyRegion(new RectBounds(201, 100, 400, 300));
+        drc.addDirtyRegion(new RectBounds(0, 0, 1, 1));
+
+        drc.addDirtyRegion(new RectBounds(300, 0, 301, 1));
+
+        Assert.assertEquals(3, drc.size());
+        Assert.assertEquals(new RectBounds(0, 100, 400, 300), drc.getDirtyRegion(0));
+        Assert.assertEquals(new RectBounds(0, 0, 1, 1), drc.getDirtyRegion(1));
+        Assert.assertEquals(new RectBounds(300, 0, 301, 1), drc.getDirtyRegion(2));
+    }
+
+    @Test
+    public void test_getArea() {
+        DirtyRegionContainer drc = getDRC_initialized();
+        Assert.assertEquals(20 * 20 + 25 * 25 + 40 * 40, drc.getArea(), 0);
+        drc.reset();
+        Assert.assertEquals(0, drc.getArea(), 0);
+    }
+
+    @Test
+    public void test_optimize_merges_close_regions() {
+        DirtyRegionContainer drc = getDRC_initialized();
+        // merging the first two regions adds 50 * 50 - 20 * 20 - 25 * 25 = 1475
+        drc.optimize(1500);
+
+        Assert.assertEquals(2, drc.size());
+        Assert.assertEquals(new RectBounds(60, 60, 100, 100), drc.getDirtyRegion(0));
+        Assert.assertEquals(new RectBounds(0, 0, 50, 50), drc.getDirtyRegion(1));
+    }
+
+    @Test
+    public void test_optimize_keeps_distant_regions() {
+        DirtyRegionContainer drc = getDRC_initialized();
+        drc.optimize(1000);
+
+        Assert.assertEquals(3, drc.size());
+        for (int i = 0; i < drc.size(); i++) {
+            Assert.assertEquals(nonIntersecting_3_Regions[i], drc.getDirtyRegion(i));
+        }
+    }
+
+    @Test
+    public void test_optimize_merges_all() {
+        DirtyRegionContainer drc = getDRC_initialized();
+        drc.optimize(Float.MAX_VALUE);
+
+        Assert.assertEquals(1, drc.size());
+        Assert.assertEquals(new RectBounds(0, 0, 100, 100), drc.getDirtyRegion(0));
+    }
+
+    @Test
+    public void test_optimize_merges_overlapping_union() {
+        DirtyRegionContainer drc = new DirtyRegionContainer(4);
+        drc.addDirtyRegion(new RectBounds(0, 0, 10, 10));
+        drc.addDirtyRegion(new RectBounds(20, 0, 30, 10));
+        drc.addDirtyRegion(new RectBounds(12, -5, 18, 20));
+        // merging the first two regions adds 100, and their union overlaps
+        // the third one, which would have been too expensive to merge alone
+        drc.optimize(150);
+
+        Assert.assertEquals(1, drc.size());
+        Assert.assertEquals(new RectBounds(0, -5, 30, 20), drc.getDirtyRegion(0));
+    }
+
     private DirtyRegionContainer getDRC_initialized() {
         DirtyRegionContainer drc = new DirtyRegionContainer(4);
         return drc.deriveWithNewRegions(nonIntersecting_3_Regions);
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.iio;
+
+import com.sun.javafx.iio.ImageEncoder;
+import com.sun.javafx.iio.ImageEncoder.PixelSource;
+import com.sun.javafx.iio.ImageFrame;
+import com.sun.javafx.iio.ImageStorage;
+import com.sun.javafx.iio.ImageStorage.ImageType;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Inflater;
+import javax.imageio.ImageIO;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ImageEncoderTest {
+
+    private static final class ArrayPixels implements PixelSource {
+        final int[] argb;
+        final int width;
+        final int height;
+
+        ArrayPixels(int[] argb, int width, int height) {
+            this.argb = argb;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public void getArgb(int y, int h, int[] pixels) {
+            System.arraycopy(argb, y * width, pixels, 0, h * width);
+        }
+    }
+
+    private static ArrayPixels createRandomImage(int width, int height) {
+        Random random = new Random(width * 31 + height);
+        int[] argb = new int[width * height];
+        for (int i = 0; i < argb.length; i++) {
+            // mix noise with runs of equal pixels like in rendered images
+            argb[i] = (i % 7 < 3) ? random.nextInt() : 0x80ff8000;
+        }
+        return new ArrayPixels(argb, width, height);
+    }
+
+    private static ArrayPixels createGradientImage(int width, int height) {
+        int[] argb = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int r = x * 255 / width;
+                int g = y * 255 / height;
+                int b = (x + y) * 255 / (width + height);
+                argb[y * width + x] = 0xff000000 | (r << 16) | (g << 8) | b;
+            }
+        }
+        return new ArrayPixels(argb, width, height);
+    }
+
+    private static byte[] write(PixelSource source, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageStorage.writeImage(source, format, out);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testGetEncoder() {
+        assertEquals("PNG", ImageStorage.getEncoder("png").getFormatDescription().getFormatName());
+        assertEquals("JPEG", ImageStorage.getEncoder("JPG").getFormatDescription().getFormatName());
+        assertEquals("JPEG", ImageStorage.getEncoder("jpeg").getFormatDescription().getFormatName());
+        assertNull(ImageStorage.getEncoder("gif"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedFormat() throws IOException {
+        write(createRandomImage(2, 2), "bmp");
+    }
+
+    @Test
+    public void testPNGRoundTrip() throws IOException {
+        // large enough to be encoded in several strips
+        ArrayPixels source = createRandomImage(301, 700);
+        byte[] png = write(source, "png");
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertEquals(source.width, image.getWidth());
+        assertEquals(source.height, image.getHeight());
+        int[] decoded = image.getRGB(0, 0, source.width, source.height, null, 0, source.width);
+        assertArrayEquals(source.argb, decoded);
+
+        ImageFrame[] frames = ImageStorage.loadAll(new ByteArrayInputStream(png),
+                null, 0, 0, false, 1.0f, false);
+        assertEquals(1, frames.length);
+        assertEquals(ImageType.RGBA, frames[0].getImageType());
+        ByteBuffer rgba = (ByteBuffer) frames[0].getImageData();
+        for (int i = 0; i < source.argb.length; i++) {
+            int p = source.argb[i];
+            int q = ((rgba.get(i * 4 + 3) & 0xff) << 24) | ((rgba.get(i * 4) & 0xff) << 16)
+                    | ((rgba.get(i * 4 + 1) & 0xff) << 8) | (rgba.get(i * 4 + 2) & 0xff);
+            assertEquals(p, q);
+        }
+    }
+
+    @Test
+    public void testPNGDataStreamIsValid() throws Exception {
+        ArrayPixels source = createRandomImage(500, 600);
+        byte[] png = write(source, "png");
+
+        // concatenate the IDAT chunks and inflate them, which verifies the
+        // checksum combined from the strips
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(png));
+        in.skipBytes(8);
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        int idatCount = 0;
+        while (true) {
+            int length = in.readInt();
+            int type = in.readInt();
+            byte[] chunk = new byte[length];
+            in.readFully(chunk);
+            in.readInt();
+            if (type == 0x49444154) {
+                data.write(chunk);
+                idatCount++;
+            } else if (type == 0x49454e44) {
+                break;
+            }
+        }
+        assertTrue(idatCount > 1);
+
+        Inflater inflater = new Inflater();
+        inflater.setInput(data.toByteArray());
+        byte[] raw = new byte[source.height * (1 + source.width * 4) + 1];
+        int length = 0;
+        while (!inflater.finished()) {
+            int n = inflater.inflate(raw, length, raw.length - length);
+            if (n == 0 && inflater.needsInput()) {
+                fail("Truncated image data");
+            }
+            length += n;
+        }
+        inflater.end();
+        assertEquals(source.height * (1 + source.width * 4), length);
+    }
+
+    @Test
+    public void testJPEGRoundTrip() throws IOException {
+        // large enough to be encoded in several strips separated by
+        // restart markers, with partial blocks at the right and bottom
+        ArrayPixels source = createGradientImage(203, 1101);
+        byte[] jpeg = write(source, "jpg");
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertEquals(source.width, image.getWidth());
+        assertEquals(source.height, image.getHeight());
+        long totalError = 0;
+        for (int y = 0; y < source.height; y++) {
+            for (int x = 0; x < source.width; x++) {
+                int p = source.argb[y * source.width + x];
+                int q = image.getRGB(x, y);
+                for (int shift = 0; shift < 24; shift += 8) {
+                    int error = Math.abs(((p >> shift) & 0xff) - ((q >> shift) & 0xff));
+                    assertTrue("error at " + x + ", " + y + ": " + error, error < 16);
+                    totalError += error;
+                }
+            }
+        }
+        assertTrue(totalError / (3.0 * source.argb.length) < 2.0);
+    }
+
+    @Test
+    public void testJPEGSmallImage() throws IOException {
+        int[] argb = { 0xffff0000, 0xff00ff00, 0xff0000ff };
+        byte[] jpeg = write(new ArrayPixels(argb, 3, 1), "jpeg");
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertEquals(3, image.getWidth());
+        assertEquals(1, image.getHeight());
+    }
+
+    @Test
+    public void testWriteImageAsync() throws Exception {
+        ArrayPixels source = createRandomImage(64, 48);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CompletableFuture<Void> future = ImageStorage.writeImageAsync(source, "png", out);
+        future.get(10, TimeUnit.SECONDS);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        assertNotNull(image);
+        assertArrayEquals(source.argb, image.getRGB(0, 0, 64, 48, null, 0, 64));
+    }
+
+    @Test
+    public void testWriteImageAsyncFailure() throws Exception {
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+        CompletableFuture<Void> future =
+                ImageStorage.writeImageAsync(createRandomImage(300, 1000), "jpg", failing);
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("Expected the write to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void testEncodersAreStateless() throws Exception {
+        ImageEncoder encoder = ImageStorage.getEncoder("png");
+        ArrayPixels source = createRandomImage(120, 900);
+        ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+        ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+        CompletableFuture<Void> f1 = ImageStorage.writeImageAsync(source, "png", out1);
+        encoder.encode(source, out2);
+        f1.get(10, TimeUnit.SECONDS);
+        assertArrayEquals(out1.toByteArray(), out2.toByteArray());
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.iio;
+
+import com.sun.javafx.iio.ImageFrame;
+import com.sun.javafx.iio.ImageFrameSequence;
+import com.sun.javafx.iio.ImageStorage;
+import com.sun.javafx.iio.ImageStorageException;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.junit.Test;
+import test.com.sun.javafx.iio.ImageTestHelper.APNGFrame;
+
+import static org.junit.Assert.*;
+
+public class ImageFrameSequenceTest {
+
+    private static final int FRAMES = 5;
+
+    // an animation of 8x8 frames of 256 bytes each
+    private static InputStream createAnimation() throws IOException {
+        APNGFrame[] frames = new APNGFrame[FRAMES];
+        for (int i = 0; i < FRAMES; i++) {
+            int[] pixels = new int[64];
+            Arrays.fill(pixels, 0xff000000 | (i * 40) << 16);
+            pixels[i] = 0xffffffff;
+            frames[i] = new APNGFrame(0, 0, 8, 8, 10 * (i + 1), 0, 0, pixels);
+        }
+        return ImageTestHelper.writeAPNG(8, 8, 0, null, frames);
+    }
+
+    private static byte[] getData(ImageFrame frame) {
+        ByteBuffer data = ((ByteBuffer) frame.getImageData()).duplicate();
+        data.rewind();
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+        return bytes;
+    }
+
+    private static void assertFrame(ImageFrame expected, ImageFrame frame) {
+        assertEquals(expected.getWidth(), frame.getWidth());
+        assertEquals(expected.getHeight(), frame.getHeight());
+        assertArrayEquals(getData(expected), getData(frame));
+    }
+
+    @Test
+    public void testAnimationStreamedAboveMaxBytes() throws IOException, ImageStorageException {
+        ImageFrame[] expected = ImageStorage.loadAll(createAnimation(), null, 0, 0, true, 1.0f, false);
+        assertEquals(FRAMES, expected.length);
+
+        ImageFrameSequence frames = ImageStorage.loadSequence(createAnimation(), null,
+                0, 0, true, 1.0f, false, 600);
+        assertTrue(frames.isStreamed());
+        assertEquals(FRAMES, frames.getFrameCount());
+        for (int i = 0; i < FRAMES; i++) {
+            assertEquals(10 * (i + 1), frames.getMetadata(i).delayTime.intValue());
+            assertFrame(expected[i], frames.getFrame(i));
+        }
+
+        // earlier frames are decoded again from the first frame
+        for (int i : new int[] {3, 1, 4, 0, 2, 2}) {
+            assertFrame(expected[i], frames.getFrame(i));
+        }
+        frames.dispose();
+        assertFrame(expected[4], frames.getFrame(4));
+    }
+
+    @Test
+    public void testAnimationNotStreamedBelowMaxBytes() throws IOException, ImageStorageException {
+        ImageFrameSequence frames = ImageStorage.loadSequence(createAnimation(), null,
+                0, 0, true, 1.0f, false, 64 * 1024);
+        assertFalse(frames.isStreamed());
+        assertEquals(FRAMES, frames.getFrameCount());
+
+        frames = ImageStorage.loadSequence(createAnimation(), null,
+                0, 0, true, 1.0f, false, 0);
+        assertFalse(frames.isStreamed());
+    }
+
+    @Test
+    public void testStillImageNotStreamed() throws IOException, ImageStorageException {
+        BufferedImage bImg = new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB);
+        ImageTestHelper.drawImageRandom(bImg);
+        ImageFrameSequence frames = ImageStorage.loadSequence(
+                ImageTestHelper.writeImageToStream(bImg, "png", null), null,
+                0, 0, true, 1.0f, false, 1);
+        assertFalse(frames.isStreamed());
+        assertEquals(1, frames.getFrameCount());
+    }
+
+    @Test
+    public void testCopiesDecodeIndependently() throws IOException, ImageStorageException {
+        ImageFrame[] expected = ImageStorage.loadAll(createAnimation(), null, 0, 0, true, 1.0f, false);
+        ImageFrameSequence frames = ImageStorage.loadSequence(createAnimation(), null,
+                0, 0, true, 1.0f, false, 1);
+        ImageFrameSequence copy = frames.copy();
+        assertTrue(copy.isStreamed());
+
+        assertFrame(expected[3], frames.getFrame(3));
+        assertFrame(expected[1], copy.getFrame(1));
+        assertFrame(expected[4], frames.getFrame(4));
+        assertFrame(expected[2], copy.getFrame(2));
+    }
+
+    @Test
+    public void testScaledAnimationStreamed() throws IOException, ImageStorageException {
+        ImageFrame[] expected = ImageStorage.loadAll(createAnimation(), null, 4, 4, true, 1.0f, true);
+        ImageFrameSequence frames = ImageStorage.loadSequence(createAnimation(), null,
+                4, 4, true, 1.0f, true, 1);
+        assertTrue(frames.isStreamed());
+        for (int i = FRAMES - 1; i >= 0; i--) {
+            assertFrame(expected[i], frames.getFrame(i));
+        }
+    }
+
+    @Test
+    public void testGIFAnimationStreamed() throws ImageStorageException {
+        String path = getClass().getResource("gif/animation/test3Frames.gif").toString();
+        ImageFrame[] expected = ImageStorage.loadAll(path, null, 0, 0, true, 1.0f, true);
+        ImageFrameSequence frames = ImageStorage.loadSequence(path, null, 0, 0, true, 1.0f, true, 1);
+        assertTrue(frames.isStreamed());
+        assertEquals(expected.length, frames.getFrameCount());
+        for (int i : new int[] {0, 1, 2, 1, 0, 2}) {
+            assertFrame(expected[i], frames.getFrame(i));
+        }
+    }
+}
@@ -27,11 +27,13 @@ package test.com.sun.javafx.iio;
 
 import com.sun.javafx.iio.ImageFrame;
 import com.sun.javafx.iio.ImageStorage;
+import com.sun.javafx.iio.common.ImageTools;
 import com.sun.prism.Image;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import static org.junit.Assert.*;
 import org.junit.Test;
 
@@ -188,4 +190,113 @@ public class ImageLoaderScalingTest {
     public void testRT20295_GIF() throws Exception {
         testScale("gif", 100, 62, 100, 78);
     }
+
+    @Test
+    public void testScalePalettePNG() throws Exception {
+        BufferedImage bImg = new BufferedImage(50, 40, BufferedImage.TYPE_BYTE_INDEXED);
+        ImageTestHelper.drawImageRandom(bImg);
+        scaleAndCompareImage(bImg, "png", 20, 17);
+        scaleAndCompareImage(bImg, "png", 70, 50);
+    }
+
+    private ImageFrame loadFrame(InputStream stream, int width, int height, boolean smooth)
+            throws Exception
+    {
+        ImageFrame[] imgFrames =
+            ImageStorage.loadAll(stream, null, width, height, false, 1.0f, smooth);
+        assertNotNull(imgFrames);
+        return imgFrames[0];
+    }
+
+    private void assertSamePixels(ImageFrame expected, ImageFrame actual) {
+        assertEquals(expected.getImageType(), actual.getImageType());
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        int rowBytes = expected.getWidth() * ImageStorage.getNumBands(expected.getImageType());
+        ByteBuffer e = (ByteBuffer) expected.getImageData();
+        ByteBuffer a = (ByteBuffer) actual.getImageData();
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int i = 0; i < rowBytes; i++) {
+                assertEquals("row " + y + ", byte " + i,
+                        e.get(y * expected.getStride() + i), a.get(y * actual.getStride() + i));
+            }
+        }
+    }
+
+    private void testSmoothScaleMatchesScaledFullImage(BufferedImage bImg, int width, int height)
+            throws Exception
+    {
+        ByteArrayInputStream in = ImageTestHelper.writeImageToStream(bImg, "png", null);
+        ImageFrame full = loadFrame(in, 0, 0, true);
+        in.reset();
+        ImageFrame scaled = loadFrame(in, width, height, true);
+        assertSamePixels(ImageTools.scaleImageFrame(full, width, height, true), scaled);
+    }
+
+    @Test
+    public void testSmoothScalePNGMatchesScaledFullImage() throws Exception {
+        testSmoothScaleMatchesScaledFullImage(createImage(97, 61), 24, 15);
+        testSmoothScaleMatchesScaledFullImage(createImage(97, 61), 97, 30);
+
+        BufferedImage palette = new BufferedImage(97, 61, BufferedImage.TYPE_BYTE_INDEXED);
+        ImageTestHelper.drawImageRandom(palette);
+        testSmoothScaleMatchesScaledFullImage(palette, 24, 15);
+
+        BufferedImage alpha = new BufferedImage(97, 61, BufferedImage.TYPE_INT_ARGB);
+        ImageTestHelper.drawImageRandom(alpha);
+        testSmoothScaleMatchesScaledFullImage(alpha, 24, 15);
+    }
+
+    private void testRegion(BufferedImage bImg, String format, int x, int y, int w, int h,
+            int width, int height) throws Exception
+    {
+        ByteArrayInputStream in = ImageTestHelper.writeImageToStream(bImg, format, null);
+        ImageFrame full = loadFrame(in, 0, 0, false);
+        in.reset();
+        ImageFrame region = ImageStorage.loadRegion(in, null, x, y, w, h, width, height, false);
+
+        ImageFrame expected = ImageTools.cropImageFrame(full, x, y, w, h);
+        if (width > 0 && height > 0 && (width != w || height != h)) {
+            expected = ImageTools.scaleImageFrame(expected, width, height, false);
+        }
+        assertSamePixels(expected, region);
+    }
+
+    @Test
+    public void testRegionPNG() throws Exception {
+        BufferedImage bImg = createImage(80, 60);
+        testRegion(bImg, "png", 0, 0, 80, 60, 0, 0);
+        testRegion(bImg, "png", 0, 0, 80, 20, 0, 0);
+        testRegion(bImg, "png", 13, 7, 31, 29, 0, 0);
+        testRegion(bImg, "png", 50, 40, 30, 20, 0, 0);
+        testRegion(bImg, "png", 13, 7, 31, 29, 10, 12);
+        testRegion(bImg, "png", 13, 7, 31, 29, 62, 58);
+    }
+
+    @Test
+    public void testRegionPalettePNG() throws Exception {
+        BufferedImage bImg = new BufferedImage(80, 60, BufferedImage.TYPE_BYTE_INDEXED);
+        ImageTestHelper.drawImageRandom(bImg);
+        testRegion(bImg, "png", 13, 7, 31, 29, 0, 0);
+        testRegion(bImg, "png", 13, 7, 31, 29, 10, 12);
+    }
+
+    @Test
+    public void testRegionBMP() throws Exception {
+        BufferedImage bImg = createImage(80, 60);
+        testRegion(bImg, "bmp", 13, 7, 31, 29, 0, 0);
+        testRegion(bImg, "bmp", 13, 7, 31, 29, 10, 12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegionOutsideImage() throws Exception {
+        BufferedImage bImg = createImage(80, 60);
+        testRegion(bImg, "png", 60, 0, 30, 20, 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyRegion() throws Exception {
+        BufferedImage bImg = createImage(80, 60);
+        testRegion(bImg, "png", 10, 10, 0, 20, 0, 0);
+    }
 }
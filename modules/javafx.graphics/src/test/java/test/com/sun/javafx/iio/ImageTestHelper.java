@@ -31,12 +31,16 @@ import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
 import javax.imageio.ImageWriteParam;
@@ -176,4 +180,118 @@ public class ImageTestHelper {
         }
         return new ByteArrayInputStream(bytes);
     }
+
+    /**
+     * A frame of an animated PNG image, with its pixels in ARGB.
+     */
+    public static class APNGFrame {
+        final int x, y, width, height, delay, disposeOp, blendOp;
+        final int[] argb;
+
+        public APNGFrame(int x, int y, int width, int height, int delay,
+                int disposeOp, int blendOp, int... argb) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.delay = delay;
+            this.disposeOp = disposeOp;
+            this.blendOp = blendOp;
+            this.argb = argb;
+        }
+    }
+
+    /**
+     * Writes an animated PNG image of RGBA pixels. If defaultImage is not
+     * null, it is the image shown by decoders which do not support
+     * animations, and not part of the animation.
+     */
+    public static ByteArrayInputStream writeAPNG(int width, int height, int numPlays,
+            int[] defaultImage, APNGFrame... frames) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(new byte[] {(byte) 137, 80, 78, 71, 13, 10, 26, 10});
+
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(chunk);
+        data.writeInt(width);
+        data.writeInt(height);
+        data.write(new byte[] {8, 6, 0, 0, 0});
+        writeChunk(out, "IHDR", chunk);
+
+        data.writeInt(frames.length);
+        data.writeInt(numPlays);
+        writeChunk(out, "acTL", chunk);
+
+        if (defaultImage != null) {
+            data.write(deflateRGBA(defaultImage, width, height));
+            writeChunk(out, "IDAT", chunk);
+        }
+
+        int sequenceNumber = 0;
+        for (int i = 0; i < frames.length; i++) {
+            APNGFrame frame = frames[i];
+            data.writeInt(sequenceNumber++);
+            data.writeInt(frame.width);
+            data.writeInt(frame.height);
+            data.writeInt(frame.x);
+            data.writeInt(frame.y);
+            data.writeShort(frame.delay);
+            data.writeShort(1000);
+            data.writeByte(frame.disposeOp);
+            data.writeByte(frame.blendOp);
+            writeChunk(out, "fcTL", chunk);
+
+            byte[] pixels = deflateRGBA(frame.argb, frame.width, frame.height);
+            if (i == 0 && defaultImage == null) {
+                data.write(pixels);
+                writeChunk(out, "IDAT", chunk);
+            } else {
+                // the data of a frame may span several chunks
+                int half = pixels.length / 2;
+                data.writeInt(sequenceNumber++);
+                data.write(pixels, 0, half);
+                writeChunk(out, "fdAT", chunk);
+                data.writeInt(sequenceNumber++);
+                data.write(pixels, half, pixels.length - half);
+                writeChunk(out, "fdAT", chunk);
+            }
+        }
+
+        writeChunk(out, "IEND", chunk);
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+
+    private static byte[] deflateRGBA(int[] argb, int width, int height) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes)) {
+            for (int y = 0; y < height; y++) {
+                out.write(0); // no filter
+                for (int x = 0; x < width; x++) {
+                    int pixel = argb[y * width + x];
+                    out.write(pixel >> 16);
+                    out.write(pixel >> 8);
+                    out.write(pixel);
+                    out.write(pixel >>> 24);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeChunk(DataOutputStream out, String type,
+            ByteArrayOutputStream data) throws IOException
+    {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        byte[] dataBytes = data.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(dataBytes);
+        out.writeInt(dataBytes.length);
+        out.write(typeBytes);
+        out.write(dataBytes);
+        out.writeInt((int) crc.getValue());
+        data.reset();
+    }
 }
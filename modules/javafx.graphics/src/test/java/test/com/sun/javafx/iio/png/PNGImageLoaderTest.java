@@ -25,13 +25,34 @@
 
 package test.com.sun.javafx.iio.png;
 
+import com.sun.javafx.iio.ImageFrame;
+import com.sun.javafx.iio.ImageLoadListener;
+import com.sun.javafx.iio.ImageLoader;
+import com.sun.javafx.iio.ImageMetadata;
 import com.sun.javafx.iio.png.PNGImageLoader2;
 import test.com.sun.javafx.iio.ImageTestHelper;
+import test.com.sun.javafx.iio.ImageTestHelper.APNGFrame;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
 public class PNGImageLoaderTest {
 
     private void testImage(InputStream stream) throws IOException {
@@ -76,4 +97,254 @@ public class PNGImageLoaderTest {
         ByteArrayInputStream stream = ImageTestHelper.constructStreamFromInts(corruptedIDATLength);
         testImage(stream);
     }
+
+    @Test
+    public void testLargeImage() throws IOException {
+        // large enough for its image data to be inflated on a separate thread
+        BufferedImage bImg = new BufferedImage(1024, 600, BufferedImage.TYPE_INT_RGB);
+        ImageTestHelper.drawImageRandom(bImg);
+        InputStream stream = ImageTestHelper.writeImageToStream(bImg, "png", null);
+
+        ImageFrame frame = new PNGImageLoader2(stream).load(0, 0, 0, true, false);
+        ByteBuffer pixels = (ByteBuffer) frame.getImageData();
+        for (int y = 0; y != bImg.getHeight(); ++y) {
+            for (int x = 0; x != bImg.getWidth(); ++x) {
+                int pos = y * frame.getStride() + x * 3;
+                int rgb = (pixels.get(pos) & 0xff) << 16
+                        | (pixels.get(pos + 1) & 0xff) << 8
+                        | (pixels.get(pos + 2) & 0xff);
+                assertEquals(bImg.getRGB(x, y) & 0xffffff, rgb);
+            }
+        }
+    }
+
+    private static class UpdateListener implements ImageLoadListener {
+        final boolean receivesUpdates;
+        final List<int[]> updates = new ArrayList<>();
+        byte[] rows;
+
+        UpdateListener(boolean receivesUpdates) {
+            this.receivesUpdates = receivesUpdates;
+        }
+
+        @Override
+        public void imageLoadProgress(ImageLoader loader, float percentageComplete) {
+        }
+
+        @Override
+        public void imageLoadWarning(ImageLoader loader, String message) {
+        }
+
+        @Override
+        public void imageLoadMetaData(ImageLoader loader, ImageMetadata metadata) {
+        }
+
+        @Override
+        public boolean receivesImageLoadUpdates() {
+            return receivesUpdates;
+        }
+
+        @Override
+        public void imageLoadUpdate(ImageLoader loader, ImageFrame frame, int y, int height) {
+            updates.add(new int[] {y, height});
+            ByteBuffer data = (ByteBuffer) frame.getImageData();
+            if (rows == null) {
+                rows = new byte[data.capacity()];
+            }
+            int stride = frame.getStride();
+            for (int i = y * stride; i < (y + height) * stride; i++) {
+                rows[i] = data.get(i);
+            }
+        }
+    }
+
+    private static ByteArrayInputStream writeInterlacedPNG(BufferedImage bImg) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(bImg, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    private static byte[] getImageData(ImageFrame frame) {
+        ByteBuffer data = (ByteBuffer) frame.getImageData();
+        byte[] bytes = new byte[data.capacity()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = data.get(i);
+        }
+        return bytes;
+    }
+
+    @Test
+    public void testRowUpdates() throws IOException {
+        BufferedImage bImg = new BufferedImage(37, 23, BufferedImage.TYPE_INT_ARGB);
+        ImageTestHelper.drawImageRandom(bImg);
+        InputStream stream = ImageTestHelper.writeImageToStream(bImg, "png", null);
+
+        PNGImageLoader2 loader = new PNGImageLoader2(stream);
+        UpdateListener listener = new UpdateListener(true);
+        loader.addListener(listener);
+        ImageFrame frame = loader.load(0, 0, 0, true, false);
+
+        // every row is reported once it is decoded, in order
+        assertEquals(bImg.getHeight(), listener.updates.size());
+        for (int y = 0; y < bImg.getHeight(); y++) {
+            assertArrayEquals(new int[] {y, 1}, listener.updates.get(y));
+        }
+        assertArrayEquals(getImageData(frame), listener.rows);
+    }
+
+    @Test
+    public void testInterlacedPassUpdates() throws IOException {
+        BufferedImage bImg = new BufferedImage(29, 19, BufferedImage.TYPE_INT_RGB);
+        ImageTestHelper.drawImageRandom(bImg);
+        ImageFrame expected = new PNGImageLoader2(writeInterlacedPNG(bImg)).load(0, 0, 0, true, false);
+
+        PNGImageLoader2 loader = new PNGImageLoader2(writeInterlacedPNG(bImg));
+        UpdateListener listener = new UpdateListener(true);
+        loader.addListener(listener);
+        ImageFrame frame = loader.load(0, 0, 0, true, false);
+
+        // the whole image is reported after each of the seven passes, and
+        // filling in the pixels of later passes does not change the result
+        assertEquals(7, listener.updates.size());
+        for (int[] update : listener.updates) {
+            assertArrayEquals(new int[] {0, bImg.getHeight()}, update);
+        }
+        byte[] data = getImageData(frame);
+        assertArrayEquals(getImageData(expected), data);
+        for (int y = 0; y < bImg.getHeight(); y++) {
+            for (int x = 0; x < bImg.getWidth(); x++) {
+                int pos = y * frame.getStride() + x * 3;
+                int rgb = (data[pos] & 0xff) << 16 | (data[pos + 1] & 0xff) << 8 | (data[pos + 2] & 0xff);
+                assertEquals(bImg.getRGB(x, y) & 0xffffff, rgb);
+            }
+        }
+    }
+
+    @Test
+    public void testNoUpdatesUnlessRequested() throws IOException {
+        BufferedImage bImg = new BufferedImage(20, 20, BufferedImage.TYPE_INT_RGB);
+        ImageTestHelper.drawImageRandom(bImg);
+
+        PNGImageLoader2 loader = new PNGImageLoader2(ImageTestHelper.writeImageToStream(bImg, "png", null));
+        UpdateListener listener = new UpdateListener(false);
+        loader.addListener(listener);
+        loader.load(0, 0, 0, true, false);
+        assertTrue(listener.updates.isEmpty());
+
+        // scaled rows are not reported either
+        loader = new PNGImageLoader2(ImageTestHelper.writeImageToStream(bImg, "png", null));
+        listener = new UpdateListener(true);
+        loader.addListener(listener);
+        loader.load(0, 10, 10, true, false);
+        assertTrue(listener.updates.isEmpty());
+    }
+
+    private static final int RED = 0xffff0000;
+    private static final int GREEN = 0xff00ff00;
+    private static final int BLUE = 0xff0000ff;
+
+    private static int[] fill(int count, int argb) {
+        int[] pixels = new int[count];
+        Arrays.fill(pixels, argb);
+        return pixels;
+    }
+
+    private static int getARGB(ImageFrame frame, int x, int y) {
+        assertEquals(4, frame.getStride() / frame.getWidth());
+        ByteBuffer data = (ByteBuffer) frame.getImageData();
+        int pos = y * frame.getStride() + x * 4;
+        return (data.get(pos + 3) & 0xff) << 24 | (data.get(pos) & 0xff) << 16
+                | (data.get(pos + 1) & 0xff) << 8 | (data.get(pos + 2) & 0xff);
+    }
+
+    private static void assertPixels(ImageFrame frame, int... argb) {
+        for (int y = 0; y < frame.getHeight(); y++) {
+            for (int x = 0; x < frame.getWidth(); x++) {
+                assertEquals("pixel " + x + "," + y,
+                        Integer.toHexString(argb[y * frame.getWidth() + x]),
+                        Integer.toHexString(getARGB(frame, x, y)));
+            }
+        }
+    }
+
+    @Test
+    public void testAnimatedPNG() throws IOException {
+        PNGImageLoader2 loader = new PNGImageLoader2(ImageTestHelper.writeAPNG(3, 2, 0, null,
+                new APNGFrame(0, 0, 3, 2, 100, 0, 0, fill(6, RED)),
+                new APNGFrame(1, 0, 1, 2, 0, 0, 0, fill(2, GREEN)),
+                new APNGFrame(0, 1, 2, 1, 30, 0, 1, fill(2, 0x800000ff))));
+
+        ImageFrame frame = loader.load(0, 0, 0, true, false);
+        assertPixels(frame, RED, RED, RED, RED, RED, RED);
+        assertEquals(100, frame.getMetadata().delayTime.intValue());
+        assertEquals(0, frame.getMetadata().loopCount.intValue());
+
+        // a frame without a delay is shown as long as a GIF frame without one
+        frame = loader.load(1, 0, 0, true, false);
+        assertPixels(frame, RED, GREEN, RED, RED, GREEN, RED);
+        assertEquals(40, frame.getMetadata().delayTime.intValue());
+
+        // half transparent blue blended over the previous frame
+        frame = loader.load(2, 0, 0, true, false);
+        assertPixels(frame, RED, GREEN, RED, 0xff7f0080, 0xff007f80, RED);
+        assertEquals(30, frame.getMetadata().delayTime.intValue());
+
+        assertNull(loader.load(3, 0, 0, true, false));
+    }
+
+    @Test
+    public void testAnimatedPNGDisposal() throws IOException {
+        PNGImageLoader2 loader = new PNGImageLoader2(ImageTestHelper.writeAPNG(2, 1, 1, null,
+                new APNGFrame(0, 0, 2, 1, 10, 1, 0, fill(2, RED)),
+                new APNGFrame(0, 0, 1, 1, 10, 2, 0, GREEN),
+                new APNGFrame(1, 0, 1, 1, 10, 0, 1, BLUE)));
+
+        assertPixels(loader.load(0, 0, 0, true, false), RED, RED);
+        // the first frame is cleared before the second one is drawn
+        assertPixels(loader.load(1, 0, 0, true, false), GREEN, 0);
+        // the second frame is undone before the third one is drawn
+        assertPixels(loader.load(2, 0, 0, true, false), 0, BLUE);
+    }
+
+    @Test
+    public void testAnimatedPNGWithDefaultImage() throws IOException {
+        PNGImageLoader2 loader = new PNGImageLoader2(ImageTestHelper.writeAPNG(2, 2, 0, fill(4, RED),
+                new APNGFrame(0, 0, 2, 2, 10, 0, 0, fill(4, GREEN)),
+                new APNGFrame(0, 0, 2, 2, 10, 0, 0, fill(4, BLUE))));
+
+        // the default image is not part of the animation
+        assertPixels(loader.load(0, 0, 0, true, false), GREEN, GREEN, GREEN, GREEN);
+        assertPixels(loader.load(1, 0, 0, true, false), BLUE, BLUE, BLUE, BLUE);
+        assertNull(loader.load(2, 0, 0, true, false));
+    }
+
+    @Test
+    public void testAnimatedPNGScaled() throws IOException {
+        PNGImageLoader2 loader = new PNGImageLoader2(ImageTestHelper.writeAPNG(4, 4, 0, null,
+                new APNGFrame(0, 0, 4, 4, 10, 0, 0, fill(16, RED)),
+                new APNGFrame(0, 0, 2, 4, 10, 0, 0, fill(8, GREEN))));
+
+        ImageFrame frame = loader.load(0, 2, 2, true, false);
+        assertEquals(2, frame.getWidth());
+        assertPixels(frame, RED, RED, RED, RED);
+        frame = loader.load(1, 2, 2, true, false);
+        assertPixels(frame, GREEN, RED, GREEN, RED);
+    }
+
+    @Test
+    public void testStillImageHasOneFrame() throws IOException {
+        BufferedImage bImg = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+        PNGImageLoader2 loader = new PNGImageLoader2(ImageTestHelper.writeImageToStream(bImg, "png", null));
+        ImageFrame frame = loader.load(0, 0, 0, true, false);
+        assertNull(frame.getMetadata().delayTime);
+        assertNull(loader.load(1, 0, 0, true, false));
+    }
 }
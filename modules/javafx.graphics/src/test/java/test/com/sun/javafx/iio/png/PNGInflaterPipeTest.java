@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.iio.png;
+
+import com.sun.javafx.iio.png.PNGInflaterPipe;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PNGInflaterPipeTest {
+
+    private static byte[] createData(int size) {
+        // half random, half repeated so that both kinds of blocks are inflated
+        byte data[] = new byte[size];
+        new Random(42).nextBytes(data);
+        Arrays.fill(data, size / 2, size, (byte) 7);
+        return data;
+    }
+
+    private static byte[] deflate(byte data[]) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static InputStream createPipe(byte deflated[]) {
+        return new PNGInflaterPipe(new InflaterInputStream(new ByteArrayInputStream(deflated)));
+    }
+
+    @Test
+    public void testReadAll() throws IOException {
+        byte data[] = createData(1000003);
+        byte result[] = new byte[data.length];
+
+        try (InputStream pipe = createPipe(deflate(data))) {
+            assertEquals(data.length, pipe.read(result, 0, result.length));
+            assertEquals(-1, pipe.read());
+            assertEquals(-1, pipe.read(result, 0, 1));
+        }
+
+        assertArrayEquals(data, result);
+    }
+
+    @Test
+    public void testReadScanlines() throws IOException {
+        byte data[] = createData(300001);
+        byte result[] = new byte[data.length];
+        int lineLength = 1001;
+
+        try (InputStream pipe = createPipe(deflate(data))) {
+            int pos = 0;
+            while (pos != data.length) {
+                result[pos] = (byte) pipe.read();
+                pos++;
+                int n = pipe.read(result, pos, Math.min(lineLength, data.length - pos));
+                assertEquals(Math.min(lineLength, data.length - pos), n);
+                pos += n;
+            }
+            assertEquals(-1, pipe.read());
+        }
+
+        assertArrayEquals(data, result);
+    }
+
+    @Test(timeout = 5000, expected = EOFException.class)
+    public void testTruncatedData() throws IOException {
+        byte deflated[] = deflate(createData(500000));
+
+        try (InputStream pipe = createPipe(Arrays.copyOf(deflated, deflated.length / 2))) {
+            pipe.read(new byte[500000], 0, 500000);
+        }
+    }
+
+    @Test(timeout = 5000, expected = StackOverflowError.class)
+    public void testErrorInSource() throws IOException {
+        InputStream source = new InputStream() {
+            @Override public int read() {
+                throw new StackOverflowError();
+            }
+        };
+
+        try (InputStream pipe = new PNGInflaterPipe(source)) {
+            pipe.read();
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testCloseBeforeEnd() throws IOException {
+        byte data[] = createData(2000000);
+        InputStream pipe = createPipe(deflate(data));
+
+        byte result[] = new byte[1000];
+        assertEquals(result.length, pipe.read(result, 0, result.length));
+        assertArrayEquals(Arrays.copyOf(data, result.length), result);
+
+        pipe.close();
+        assertEquals(-1, pipe.read());
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.iio.png;
+
+import com.sun.javafx.iio.png.PNGUnfilterPipe;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class PNGUnfilterPipeTest {
+
+    private static byte[][] createLines(int width, int height) {
+        byte lines[][] = new byte[height][width];
+        Random random = new Random(42);
+        for (byte line[] : lines) {
+            random.nextBytes(line);
+        }
+        return lines;
+    }
+
+    private static int paeth(int a, int b, int c) {
+        int p = a + b - c;
+        int pa = Math.abs(p - a), pb = Math.abs(p - b), pc = Math.abs(p - c);
+        return (pa <= pb && pa <= pc) ? a : (pb <= pc) ? b : c;
+    }
+
+    // Filters each line with the filter types 0 to 4 in turn
+    private static byte[] filter(byte lines[][], int bpp) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte prev[] = new byte[lines[0].length];
+        for (int y = 0; y != lines.length; ++y) {
+            byte line[] = lines[y];
+            int type = y % 5;
+            out.write(type);
+            for (int i = 0; i != line.length; ++i) {
+                int a = i >= bpp ? line[i - bpp] & 0xff : 0;
+                int b = prev[i] & 0xff;
+                int c = i >= bpp ? prev[i - bpp] & 0xff : 0;
+                int predictor = type == 1 ? a : type == 2 ? b : type == 3 ? (a + b) / 2 : type == 4 ? paeth(a, b, c) : 0;
+                out.write(line[i] - predictor);
+            }
+            prev = line;
+        }
+        return out.toByteArray();
+    }
+
+    private static void testUnfilter(int width, int height, int bpp) throws IOException {
+        byte lines[][] = createLines(width, height);
+        PNGUnfilterPipe pipe = new PNGUnfilterPipe(new ByteArrayInputStream(filter(lines, bpp)), width, height, bpp);
+        try {
+            for (byte line[] : lines) {
+                assertArrayEquals(line, pipe.nextScanLine());
+            }
+        } finally {
+            pipe.close();
+        }
+    }
+
+    @Test
+    public void testUnfilter() throws IOException {
+        // many scanlines per block
+        testUnfilter(1000, 500, 4);
+        testUnfilter(999, 301, 3);
+        // one scanline per block
+        testUnfilter(100000, 10, 1);
+    }
+
+    @Test(timeout = 5000, expected = EOFException.class)
+    public void testReadPastEnd() throws IOException {
+        byte lines[][] = createLines(10, 3);
+        PNGUnfilterPipe pipe = new PNGUnfilterPipe(new ByteArrayInputStream(filter(lines, 1)), 10, 3, 1);
+        try {
+            for (int i = 0; i != 4; ++i) {
+                pipe.nextScanLine();
+            }
+        } finally {
+            pipe.close();
+        }
+    }
+
+    @Test(timeout = 5000, expected = EOFException.class)
+    public void testTruncatedData() throws IOException {
+        byte data[] = filter(createLines(1000, 200), 4);
+        PNGUnfilterPipe pipe = new PNGUnfilterPipe(new ByteArrayInputStream(Arrays.copyOf(data, data.length / 2)), 1000, 200, 4);
+        try {
+            for (int i = 0; i != 200; ++i) {
+                pipe.nextScanLine();
+            }
+        } finally {
+            pipe.close();
+        }
+    }
+
+    @Test(timeout = 5000, expected = StackOverflowError.class)
+    public void testErrorInSource() throws IOException {
+        InputStream source = new InputStream() {
+            @Override public int read() {
+                throw new StackOverflowError();
+            }
+        };
+
+        PNGUnfilterPipe pipe = new PNGUnfilterPipe(source, 10, 10, 1);
+        try {
+            pipe.nextScanLine();
+        } finally {
+            pipe.close();
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testCloseBeforeEnd() throws IOException {
+        byte lines[][] = createLines(1000, 1000);
+        PNGUnfilterPipe pipe = new PNGUnfilterPipe(new ByteArrayInputStream(filter(lines, 4)), 1000, 1000, 4);
+        assertArrayEquals(lines[0], pipe.nextScanLine());
+        pipe.close();
+    }
+}
@@ -1019,4 +1019,143 @@ public class ConverterTest {
             }
         }
     }
+
+    private static int refPremultiply(int c, int a) {
+        return (a == 0) ? 0 : (c * a + 0x7f) / 0xff;
+    }
+
+    private static int refUnpremultiply(int c, int a) {
+        return (a == 0 || a == 0xff) ? c : (c * 0xff + (a >> 1)) / a;
+    }
+
+    private static int refPremultiply(int argb) {
+        int a = argb >>> 24;
+        return (a << 24) |
+               (refPremultiply((argb >> 16) & 0xff, a) << 16) |
+               (refPremultiply((argb >>  8) & 0xff, a) <<  8) |
+               (refPremultiply((argb      ) & 0xff, a)      );
+    }
+
+    private static int refUnpremultiply(int argb) {
+        int a = argb >>> 24;
+        return (a << 24) |
+               (refUnpremultiply((argb >> 16) & 0xff, a) << 16) |
+               (refUnpremultiply((argb >>  8) & 0xff, a) <<  8) |
+               (refUnpremultiply((argb      ) & 0xff, a)      );
+    }
+
+    // Every alpha combined with every component value
+    private static int[] allNonPreValues() {
+        int pixels[] = new int[256 * 256];
+        for (int a = 0; a < 256; a++) {
+            for (int c = 0; c < 256; c++) {
+                pixels[(a << 8) | c] = (a << 24) | (c << 16) | ((0xff - c) << 8) | ((c * 7) & 0xff);
+            }
+        }
+        return pixels;
+    }
+
+    // Every alpha combined with every component value valid for that alpha
+    private static int[] allPreValues() {
+        int pixels[] = new int[256 * 257 / 2];
+        int i = 0;
+        for (int a = 0; a < 256; a++) {
+            for (int c = 0; c <= a; c++) {
+                pixels[i++] = (a << 24) | (c << 16) | ((a - c) << 8) | (c >> 1);
+            }
+        }
+        return pixels;
+    }
+
+    private static byte[] toBytes(int argbarr[]) {
+        byte bgra[] = new byte[argbarr.length * 4];
+        for (int i = 0; i < argbarr.length; i++) {
+            ByteBgra.setter.setArgb(bgra, i * 4, argbarr[i]);
+        }
+        return bgra;
+    }
+
+    private static void checkAll(int refarr[], int argbarr[]) {
+        for (int i = 0; i < refarr.length; i++) {
+            if (refarr[i] != argbarr[i]) {
+                fail("pixel " + Integer.toHexString(i) +
+                     " expected " + Integer.toHexString(refarr[i]) +
+                     " but was " + Integer.toHexString(argbarr[i]));
+            }
+        }
+    }
+
+    private static void checkAll(int refarr[], byte bgraarr[]) {
+        int argbarr[] = new int[refarr.length];
+        for (int i = 0; i < argbarr.length; i++) {
+            argbarr[i] = ByteBgra.getter.getArgb(bgraarr, i * 4);
+        }
+        checkAll(refarr, argbarr);
+    }
+
+    @Test
+    public void testPremultiplyAllValues() {
+        int src[] = allNonPreValues();
+        int ref[] = new int[src.length];
+        int dst[] = new int[src.length];
+        for (int i = 0; i < src.length; i++) {
+            ref[i] = refPremultiply(src[i]);
+            dst[i] = PixelUtils.NonPretoPre(src[i]);
+            int a = src[i] >>> 24;
+            int c = src[i] & 0xff;
+            assertEquals(refPremultiply(c, a), PixelUtils.NonPretoPre(c, a));
+        }
+        checkAll(ref, dst);
+
+        IntArgb.ToIntArgbPreConverter().convert(src, 0, 0, dst, 0, 0, src.length, 1);
+        checkAll(ref, dst);
+        byte bgra[] = toBytes(src);
+        ByteBgra.ToIntArgbPreConverter().convert(bgra, 0, 0, dst, 0, 0, src.length, 1);
+        checkAll(ref, dst);
+        ByteBgra.ToByteBgraPreConverter().convert(bgra, 0, 0, bgra, 0, 0, src.length, 1);
+        checkAll(ref, bgra);
+        bgra = new byte[src.length * 4];
+        IntArgb.ToByteBgraPreConverter().convert(src, 0, 0, bgra, 0, 0, src.length, 1);
+        checkAll(ref, bgra);
+        IntBuffer dstbuf = directIntBuffer(0, src.length);
+        IntArgb.ToIntArgbPreConverter().convert(IntBuffer.wrap(src), 0, 0, dstbuf, 0, 0, src.length, 1);
+        dstbuf.get(dst);
+        checkAll(ref, dst);
+    }
+
+    @Test
+    public void testUnpremultiplyAllValues() {
+        int src[] = allPreValues();
+        int ref[] = new int[src.length];
+        int dst[] = new int[src.length];
+        for (int i = 0; i < src.length; i++) {
+            ref[i] = refUnpremultiply(src[i]);
+            dst[i] = PixelUtils.PretoNonPre(src[i]);
+            int a = src[i] >>> 24;
+            int c = (src[i] >> 16) & 0xff;
+            assertEquals(refUnpremultiply(c, a), PixelUtils.PreToNonPre(c, a));
+        }
+        checkAll(ref, dst);
+
+        IntArgbPre.ToIntArgbConverter().convert(src, 0, 0, dst, 0, 0, src.length, 1);
+        checkAll(ref, dst);
+        byte bgra[] = toBytes(src);
+        ByteBgraPre.ToIntArgbConverter().convert(bgra, 0, 0, dst, 0, 0, src.length, 1);
+        checkAll(ref, dst);
+        ByteBgraPre.ToByteBgraConverter().convert(bgra, 0, 0, bgra, 0, 0, src.length, 1);
+        checkAll(ref, bgra);
+        bgra = new byte[src.length * 4];
+        IntArgbPre.ToByteBgraConverter().convert(src, 0, 0, bgra, 0, 0, src.length, 1);
+        checkAll(ref, bgra);
+        IntBuffer dstbuf = directIntBuffer(0, src.length);
+        IntArgbPre.ToIntArgbConverter().convert(IntBuffer.wrap(src), 0, 0, dstbuf, 0, 0, src.length, 1);
+        dstbuf.get(dst);
+        checkAll(ref, dst);
+    }
+
+    @Test
+    public void testUnpremultiplyClampsInvalidValues() {
+        assertEquals(0xff, PixelUtils.PreToNonPre(0x90, 0x80));
+        assertEquals(0x80ffffff, PixelUtils.PretoNonPre(0x80ff90ff));
+    }
 }
@@ -25,9 +25,12 @@
 
 package test.com.sun.javafx.pgstub;
 
+import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.runtime.async.AsyncOperation;
 import com.sun.javafx.runtime.async.AsyncOperationListener;
 import com.sun.javafx.tk.ImageLoader;
+import com.sun.javafx.tk.PartialImageListener;
+import com.sun.javafx.tk.PlatformImage;
 
 public class StubAsyncImageLoader implements AsyncOperation {
     private final ImageLoader imageLoader;
@@ -84,4 +87,10 @@ public class StubAsyncImageLoader implements AsyncOperation {
     public void setProgress(final int cur, final int max) {
         listener.onProgress(cur, max);
     }
+
+    public void setPartialImage(final PlatformImage image,
+                                final double width, final double height,
+                                final Rectangle dirtyRegion) {
+        ((PartialImageListener) listener).onPartialImage(image, width, height, dirtyRegion);
+    }
 }
@@ -78,6 +78,23 @@ public final class StubImageLoader implements ImageLoader {
         return frames[i];
     }
 
+    @Override
+    public FrameSource openFrameSource() {
+        if (!imageInfo.isStreamed()) {
+            return null;
+        }
+        return new FrameSource() {
+            @Override
+            public PlatformImage getFrame(final int index) {
+                return imageInfo.isFrameDecoded(index) ? frames[index] : null;
+            }
+
+            @Override
+            public void dispose() {
+            }
+        };
+    }
+
     @Override
     public int getFrameDelay(final int i) {
         return imageInfo.getFrameDelay(i);
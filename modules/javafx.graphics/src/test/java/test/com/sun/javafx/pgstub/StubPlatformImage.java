@@ -37,6 +37,7 @@ import javafx.scene.image.WritablePixelFormat;
 public final class StubPlatformImage implements PlatformImage {
     private final StubImageLoader imageLoader;
     private final int frame;
+    private Rectangle dirtyRegion;
 
     public StubPlatformImage(final StubImageLoader imageLoader,
                              final int frame) {
@@ -161,6 +162,10 @@ public final class StubPlatformImage implements PlatformImage {
 
     @Override
     public void bufferDirty(Rectangle rect) {
-        throw new UnsupportedOperationException("Not supported yet.");
+        dirtyRegion = rect;
+    }
+
+    public Rectangle getDirtyRegion() {
+        return dirtyRegion;
     }
 }
@@ -30,6 +30,7 @@ public final class StubPlatformImageInfo {
     private final int height;
     private final int[] frameDelays;
     private final int loopCount;
+    private boolean[] decodedFrames;
 
     public StubPlatformImageInfo(final int width,
                                  final int height) {
@@ -53,6 +54,22 @@ public final class StubPlatformImageInfo {
         return frameDelays[index];
     }
 
+    /**
+     * Makes the frames of the image streamed, so that only the frames marked
+     * as decoded are returned by its frame source.
+     */
+    public void setDecodedFrames(final boolean... decodedFrames) {
+        this.decodedFrames = decodedFrames;
+    }
+
+    boolean isStreamed() {
+        return decodedFrames != null;
+    }
+
+    boolean isFrameDecoded(final int index) {
+        return decodedFrames[index];
+    }
+
     int getLoopCount() {
         return loopCount;
     }
@@ -38,6 +38,7 @@ import com.sun.javafx.geom.Shape;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.menu.MenuBase;
 import com.sun.javafx.perf.PerformanceTracker;
+import com.sun.javafx.perf.ResourcePoolStatistics;
 import com.sun.javafx.runtime.async.AsyncOperation;
 import com.sun.javafx.runtime.async.AsyncOperationListener;
 import com.sun.javafx.scene.SceneHelper;
@@ -208,6 +209,17 @@ public class StubToolkit extends Toolkit {
         return new StubPerformanceTracker();
     }
 
+    private ResourcePoolStatistics texturePoolStatistics;
+
+    public void setTexturePoolStatistics(ResourcePoolStatistics statistics) {
+        texturePoolStatistics = statistics;
+    }
+
+    @Override
+    public ResourcePoolStatistics getTexturePoolStatistics() {
+        return texturePoolStatistics;
+    }
+
     @Override
     protected Object createColorPaint(Color paint) {
         return new com.sun.prism.paint.Color((float) paint.getRed(),
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.com.sun.javafx.sg.prism;
+
+import com.sun.javafx.geom.DirtyRegionContainer;
+import com.sun.javafx.geom.DirtyRegionPool;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.javafx.sg.prism.NGNode;
+import com.sun.javafx.sg.prism.NGNodeShim;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that only the changed parts of a node whose content is marked dirty
+ * are added to the dirty region, rather than the whole node.
+ */
+public class ContentDirtyRegionTest extends NGTestBase {
+
+    private static final int WIDTH = 3840;
+    private static final int HEIGHT = 2160;
+
+    private RectBounds windowClip = new RectBounds(0, 0, WIDTH, HEIGHT);
+    private TestNGRectangle content;
+    private TestNGGroup root;
+
+    @Before public void setUp() {
+        content = createRectangle(0, 0, WIDTH - 100, HEIGHT - 100);
+        translate(content, 50, 50);
+        root = createGroup(content);
+        root.render(TestGraphics.TEST_GRAPHICS);
+    }
+
+    private static DirtyRegionContainer regions(RectBounds... bounds) {
+        DirtyRegionContainer drc = new DirtyRegionContainer(4);
+        for (RectBounds b : bounds) {
+            drc.addDirtyRegion(new RectBounds(b.getMinX(), b.getMinY(), b.getMaxX(), b.getMaxY()));
+        }
+        return drc;
+    }
+
+    private DirtyRegionContainer accumulate() {
+        DirtyRegionPool pool = new DirtyRegionPool(4);
+        DirtyRegionContainer drc = pool.checkOut();
+        int status = root.accumulateDirtyRegions(windowClip, new RectBounds(), pool, drc,
+                                                 BaseTransform.IDENTITY_TRANSFORM,
+                                                 new GeneralTransform3D());
+        if (status == DirtyRegionContainer.DTR_CONTAINS_CLIP) {
+            drc.setDirtyRegion(0, windowClip);
+        }
+        return drc;
+    }
+
+    private static double area(DirtyRegionContainer drc) {
+        double area = 0;
+        for (int i = 0; i < drc.size(); i++) {
+            RectBounds r = drc.getDirtyRegion(i);
+            area += (double) r.getWidth() * r.getHeight();
+        }
+        return area;
+    }
+
+    private static void assertContains(DirtyRegionContainer drc, RectBounds expected) {
+        for (int i = 0; i < drc.size(); i++) {
+            if (drc.getDirtyRegion(i).contains(expected)) {
+                return;
+            }
+        }
+        throw new AssertionError(drc + " does not contain " + expected);
+    }
+
+    @Test public void contentRegionIsTransformed() {
+        NGNodeShim.markContentDirty(content, regions(new RectBounds(10, 20, 30, 40)));
+        DirtyRegionContainer drc = accumulate();
+        assertEquals(1, drc.size());
+        assertContains(drc, new RectBounds(60, 70, 80, 90));
+        assertTrue(area(drc) < 30 * 30);
+    }
+
+    @Test public void contentRegionIsClippedToNode() {
+        NGNodeShim.markContentDirty(content, regions(new RectBounds(-500, -500, 10, 10)));
+        DirtyRegionContainer drc = accumulate();
+        assertEquals(1, drc.size());
+        assertTrue(area(drc) < 20 * 20);
+    }
+
+    @Test public void contentRegionsAreMerged() {
+        NGNodeShim.markContentDirty(content, regions(new RectBounds(0, 0, 10, 10)));
+        NGNodeShim.markContentDirty(content, regions(new RectBounds(1000, 1000, 1010, 1010)));
+        DirtyRegionContainer drc = accumulate();
+        assertEquals(2, drc.size());
+        assertContains(drc, new RectBounds(50, 50, 60, 60));
+        assertContains(drc, new RectBounds(1050, 1050, 1060, 1060));
+    }
+
+    @Test public void markDirtyDirtiesWholeNode() {
+        NGNodeShim.markContentDirty(content, regions(new RectBounds(0, 0, 10, 10)));
+        content.markDirty();
+        DirtyRegionContainer drc = accumulate();
+        assertContains(drc, new RectBounds(50, 50, WIDTH - 50, HEIGHT - 50));
+    }
+
+    @Test public void contentRegionsAreClearedByRender() {
+        NGNodeShim.markContentDirty(content, regions(new RectBounds(0, 0, 10, 10)));
+        root.render(TestGraphics.TEST_GRAPHICS);
+        NGNodeShim.markContentDirty(content, regions(new RectBounds(100, 100, 110, 110)));
+        DirtyRegionContainer drc = accumulate();
+        assertEquals(1, drc.size());
+        assertContains(drc, new RectBounds(150, 150, 160, 160));
+        assertTrue(area(drc) < 20 * 20);
+    }
+
+    @Test public void pixelsRepaintedPerFrame() {
+        // a cursor line moving across a 4K surface, one frame at a time
+        double total = 0;
+        int frames = 200;
+        for (int i = 0; i < frames; i++) {
+            NGNodeShim.markContentDirty(content, regions(
+                    new RectBounds(i * 10, 500, i * 10 + 2, 520),
+                    new RectBounds(i * 10 + 10, 500, i * 10 + 12, 520)));
+            total += area(accumulate());
+            root.render(TestGraphics.TEST_GRAPHICS);
+        }
+        double perFrame = total / frames;
+        assertTrue("pixels repainted per frame: " + perFrame,
+                   perFrame < (double) WIDTH * HEIGHT / 1000);
+    }
+}
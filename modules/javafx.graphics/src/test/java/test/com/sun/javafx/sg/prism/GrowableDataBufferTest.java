@@ -26,8 +26,10 @@
 package test.com.sun.javafx.sg.prism;
 
 import com.sun.javafx.sg.prism.GrowableDataBuffer;
+import java.nio.FloatBuffer;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -413,4 +415,34 @@ public class GrowableDataBufferTest {
         assertFalse(gdb.hasValues());
         assertFalse(gdb.hasObjects());
     }
+
+    @Test public void testPutFloats() {
+        GrowableDataBuffer gdb = GrowableDataBuffer.getBuffer(0, 0);
+        float[] fa = new float[NUM_VALUES];
+        for (int i = 0; i < NUM_VALUES; i++) {
+            fa[i] = i * 1.5f - 7f;
+        }
+        gdb.putFloats(fa, 1, NUM_VALUES - 2);
+        gdb.putFloats(FloatBuffer.wrap(fa), 0, 2);
+        assertEquals((NUM_VALUES - 2 + 2) * 4, gdb.writeValuePosition());
+        for (int i = 1; i < NUM_VALUES - 1; i++) {
+            assertEquals(fa[i], gdb.getFloat(), 0f);
+        }
+        assertEquals(fa[0], gdb.getFloat(), 0f);
+        assertEquals(fa[1], gdb.getFloat(), 0f);
+        assertFalse(gdb.hasValues());
+    }
+
+    @Test public void testRewind() {
+        GrowableDataBuffer gdb = GrowableDataBuffer.getBuffer(NUM_BYTES, NUM_VALUES);
+        fill(gdb, true, true);
+        for (int i = 0; i < 3; i++) {
+            test(gdb, true, true);
+            assertFalse(gdb.hasValues());
+            assertFalse(gdb.hasObjects());
+            gdb.rewind();
+            assertTrue(gdb.hasValues());
+            assertTrue(gdb.hasObjects());
+        }
+    }
 }
@@ -191,6 +191,7 @@ public class TestGraphics extends BaseGraphics {
         @Override public boolean isWrapModeSupported(Texture.WrapMode mode) { return true; }
         @Override public Texture getCachedTexture(Image image, WrapMode wrapMode) { return null; }
         @Override public Texture getCachedTexture(Image image, WrapMode wrapMode, boolean useMipmap) { return null; }
+        @Override public boolean uploadCachedTexture(Image image, long maxBytes) { return false; }
         @Override public boolean isFormatSupported(PixelFormat format) { return false; }
         @Override public int getMaximumTextureSize() { return 0; }
         @Override public Texture createMaskTexture(int width, int height, Texture.WrapMode wrapMode) { return null; }
@@ -232,6 +233,7 @@ public class TestGraphics extends BaseGraphics {
                 @Override public WrapMode getWrapMode() { return null; }
                 @Override public boolean getLinearFiltering() { return false; }
                 @Override public void setLinearFiltering(boolean linear) { }
+                @Override public void setEvictionPriority(Texture.EvictionPriority priority) { }
                 @Override public void dispose() { }
                 @Override public void lock() { }
                 @Override public void unlock() { }
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.tk;
+
+import com.sun.javafx.tk.ImageLoader;
+import com.sun.javafx.tk.ImageLoaderCache;
+import com.sun.javafx.tk.PlatformImage;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ImageLoaderCacheTest {
+
+    private static final class TestImageLoader implements ImageLoader {
+        final long bytes;
+        final Exception exception;
+
+        TestImageLoader(long bytes) {
+            this(bytes, null);
+        }
+
+        TestImageLoader(long bytes, Exception exception) {
+            this.bytes = bytes;
+            this.exception = exception;
+        }
+
+        @Override public Exception getException() { return exception; }
+        @Override public int getFrameCount() { return exception == null ? 1 : 0; }
+        @Override public PlatformImage getFrame(int index) { return null; }
+        @Override public int getFrameDelay(int index) { return 0; }
+        @Override public int getLoopCount() { return 0; }
+        @Override public double getWidth() { return 0; }
+        @Override public double getHeight() { return 0; }
+    }
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ImageLoaderCache createCache(long maxBytes) {
+        return new ImageLoaderCache(maxBytes, image -> ((TestImageLoader) image).bytes);
+    }
+
+    private ImageLoader get(ImageLoaderCache cache, String url, double width, long bytes) throws IOException {
+        return cache.get(url, width, width, true, 1.0f, true, () -> {
+            loads.incrementAndGet();
+            return new TestImageLoader(bytes);
+        });
+    }
+
+    @Test public void testSameRequestIsSharedAndCounted() throws IOException {
+        ImageLoaderCache cache = createCache(1000);
+        ImageLoader first = get(cache, "a.png", 10, 100);
+        ImageLoader second = get(cache, "a.png", 10, 100);
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getImageCount());
+        assertEquals(100, cache.getBytes());
+    }
+
+    @Test public void testRequestedSizeIsPartOfTheKey() throws IOException {
+        ImageLoaderCache cache = createCache(1000);
+        ImageLoader small = get(cache, "a.png", 10, 100);
+        ImageLoader large = get(cache, "a.png", 20, 400);
+        assertNotSame(small, large);
+        ImageLoader unsmoothed = cache.get("a.png", 10, 10, true, 1.0f, false, () -> new TestImageLoader(100));
+        assertNotSame(small, unsmoothed);
+        ImageLoader scaled = cache.get("a.png", 10, 10, true, 2.0f, true, () -> new TestImageLoader(400));
+        assertNotSame(small, scaled);
+        assertEquals(4, cache.getImageCount());
+    }
+
+    @Test public void testLeastRecentlyUsedImageIsEvicted() throws IOException {
+        ImageLoaderCache cache = createCache(300);
+        ImageLoader a = get(cache, "a.png", 10, 100);
+        get(cache, "b.png", 10, 100);
+        get(cache, "c.png", 10, 100);
+        // a is now the most recently used
+        assertSame(a, get(cache, "a.png", 10, 100));
+
+        get(cache, "d.png", 10, 100);
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(300, cache.getBytes());
+
+        int before = loads.get();
+        get(cache, "a.png", 10, 100);
+        assertEquals(before, loads.get());
+        get(cache, "b.png", 10, 100);
+        assertEquals(before + 1, loads.get());
+    }
+
+    @Test public void testImageLargerThanBudgetIsNotCached() throws IOException {
+        ImageLoaderCache cache = createCache(100);
+        get(cache, "a.png", 10, 50);
+        get(cache, "huge.png", 10, 1000);
+        assertEquals(1, cache.getImageCount());
+        assertEquals(50, cache.getBytes());
+        get(cache, "huge.png", 10, 1000);
+        assertEquals(3, loads.get());
+    }
+
+    @Test public void testFailedLoadIsNotCached() throws IOException {
+        ImageLoaderCache cache = createCache(1000);
+        cache.get("broken.png", 0, 0, false, 1.0f, true, () -> new TestImageLoader(0, new IOException()));
+        assertEquals(0, cache.getImageCount());
+        ImageLoader image = get(cache, "broken.png", 0, 10);
+        assertNull(image.getException());
+    }
+
+    @Test public void testDisabledCacheAlwaysLoads() throws IOException {
+        ImageLoaderCache cache = createCache(0);
+        assertNotSame(get(cache, "a.png", 10, 10), get(cache, "a.png", 10, 10));
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getImageCount());
+    }
+
+    @Test public void testConcurrentRequestsShareOneLoad() throws Exception {
+        ImageLoaderCache cache = createCache(1000);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ImageLoader> first = executor.submit(() -> cache.get("a.png", 10, 10, true, 1.0f, true, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return new TestImageLoader(100);
+            }));
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            Future<ImageLoader> second = executor.submit(() -> get(cache, "a.png", 10, 100));
+
+            // wait until the second request joined the load in progress
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (cache.getJoinCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+            assertEquals(1, cache.getJoinCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test public void testClear() throws IOException {
+        ImageLoaderCache cache = createCache(1000);
+        get(cache, "a.png", 10, 100);
+        cache.clear();
+        assertEquals(0, cache.getImageCount());
+        assertEquals(0, cache.getBytes());
+        get(cache, "a.png", 10, 100);
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.tk.quantum;
+
+import com.sun.javafx.tk.quantum.QuantumToolkitShim;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SnapshotInPlaceTest {
+
+    private static final int WIDTH = 4;
+    private static final int HEIGHT = 3;
+
+    private static int[] createPixels() {
+        int[] pixels = new int[WIDTH * HEIGHT];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = 0xFF000000 | (i << 16) | ((i * 3) << 8) | (i * 7);
+        }
+        return pixels;
+    }
+
+    @Test
+    public void snapshotIntoIntArgbPrePixelBufferTest() {
+        IntBuffer buffer = IntBuffer.allocate(WIDTH * HEIGHT);
+        PixelBuffer<IntBuffer> pixelBuffer = new PixelBuffer<>(WIDTH, HEIGHT, buffer,
+                PixelFormat.getIntArgbPreInstance());
+        int[] pixels = createPixels();
+
+        assertTrue(QuantumToolkitShim.readPixelsInPlace(pixelBuffer, pixels, WIDTH, HEIGHT));
+        for (int i = 0; i < pixels.length; i++) {
+            assertEquals(pixels[i], buffer.get(i));
+        }
+        // the position and limit used by the application are unchanged
+        assertEquals(0, buffer.position());
+        assertEquals(WIDTH * HEIGHT, buffer.limit());
+    }
+
+    @Test
+    public void snapshotIntoByteBgraPrePixelBufferTest() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WIDTH * HEIGHT * 4);
+        PixelBuffer<ByteBuffer> pixelBuffer = new PixelBuffer<>(WIDTH, HEIGHT, buffer,
+                PixelFormat.getByteBgraPreInstance());
+        int[] pixels = createPixels();
+
+        assertTrue(QuantumToolkitShim.readPixelsInPlace(pixelBuffer, pixels, WIDTH, HEIGHT));
+        for (int i = 0; i < pixels.length; i++) {
+            assertEquals(pixels[i] & 0xFF, buffer.get(i * 4) & 0xFF);
+            assertEquals((pixels[i] >> 8) & 0xFF, buffer.get(i * 4 + 1) & 0xFF);
+            assertEquals((pixels[i] >> 16) & 0xFF, buffer.get(i * 4 + 2) & 0xFF);
+            assertEquals((pixels[i] >>> 24), buffer.get(i * 4 + 3) & 0xFF);
+        }
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void snapshotOfOtherSizeIsNotReadInPlaceTest() {
+        IntBuffer buffer = IntBuffer.allocate(WIDTH * HEIGHT);
+        PixelBuffer<IntBuffer> pixelBuffer = new PixelBuffer<>(WIDTH, HEIGHT, buffer,
+                PixelFormat.getIntArgbPreInstance());
+
+        assertFalse(QuantumToolkitShim.readPixelsInPlace(pixelBuffer,
+                new int[(WIDTH - 1) * HEIGHT], WIDTH - 1, HEIGHT));
+        for (int i = 0; i < WIDTH * HEIGHT; i++) {
+            assertEquals(0, buffer.get(i));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism;
+
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.marlin.DMarlinRenderingEngine;
+import com.sun.marlin.MarlinRenderer;
+import com.sun.marlin.MaskMarlinAlphaConsumer;
+import com.sun.marlin.RendererContext;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.impl.shape.DMarlinPrismUtils;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that rendering a shape in several bands produces exactly the
+ * same coverage as rendering it at once.
+ */
+public class MarlinBandTest {
+
+    private static final Rectangle CLIP = new Rectangle(-20, -10, 300, 250);
+
+    private static Path2D createPath(long seed) {
+        final Random rnd = new Random(seed);
+        final Path2D path = new Path2D();
+        path.moveTo(rnd.nextFloat() * 320 - 30, rnd.nextFloat() * 280 - 30);
+        for (int i = 0; i < 50; i++) {
+            final float x = rnd.nextFloat() * 320 - 30;
+            final float y = rnd.nextFloat() * 280 - 30;
+            switch (i % 3) {
+                case 0:
+                    path.lineTo(x, y);
+                    break;
+                case 1:
+                    path.quadTo(rnd.nextFloat() * 320 - 30, rnd.nextFloat() * 280 - 30, x, y);
+                    break;
+                default:
+                    path.curveTo(rnd.nextFloat() * 320 - 30, rnd.nextFloat() * 280 - 30,
+                                 rnd.nextFloat() * 320 - 30, rnd.nextFloat() * 280 - 30, x, y);
+                    break;
+            }
+        }
+        path.closePath();
+        return path;
+    }
+
+    private static byte[] render(Path2D path, BasicStroke stroke, boolean aa, int[] bandsY) {
+        final byte[] result = new byte[CLIP.width * CLIP.height];
+        final MaskMarlinAlphaConsumer mask = new MaskMarlinAlphaConsumer(result.length);
+        for (int i = 0; i + 1 < bandsY.length; i++) {
+            final RendererContext rdrCtx = DMarlinRenderingEngine.getRendererContext();
+            MarlinRenderer renderer = null;
+            try {
+                renderer = DMarlinPrismUtils.setupRenderer(rdrCtx, path, stroke,
+                        BaseTransform.IDENTITY_TRANSFORM, CLIP, bandsY[i], bandsY[i + 1], aa);
+                final int x0 = renderer.getOutpixMinX();
+                final int y0 = renderer.getOutpixMinY();
+                final int w = renderer.getOutpixMaxX() - x0;
+                final int h = renderer.getOutpixMaxY() - y0;
+                if (w <= 0 || h <= 0) {
+                    continue;
+                }
+                assertTrue(y0 >= bandsY[i] && y0 + h <= bandsY[i + 1]);
+                mask.setBoundsNoClone(x0, y0, w, h);
+                renderer.produceAlphas(mask);
+                final byte[] out = mask.getMaskData().getMaskBuffer().array();
+                for (int y = 0; y < h; y++) {
+                    System.arraycopy(out, y * w, result,
+                            (y0 + y - CLIP.y) * CLIP.width + (x0 - CLIP.x), w);
+                }
+            } finally {
+                if (renderer != null) {
+                    renderer.dispose();
+                }
+                DMarlinRenderingEngine.returnRendererContext(rdrCtx);
+            }
+        }
+        return result;
+    }
+
+    private static void checkBands(Path2D path, BasicStroke stroke, boolean aa) {
+        final int minY = CLIP.y;
+        final int maxY = CLIP.y + CLIP.height;
+        final byte[] expected = render(path, stroke, aa, new int[] {minY, maxY});
+        final int[][] allBands = {
+            {minY, minY + 1, maxY},
+            {minY, minY + 63, minY + 64, minY + 200, maxY},
+            {minY, minY + 37, minY + 101, minY + 170, minY + 171, maxY - 1, maxY}
+        };
+        for (int[] bands : allBands) {
+            assertArrayEquals(expected, render(path, stroke, aa, bands));
+        }
+    }
+
+    @Test
+    public void fillBandsAA() {
+        for (long seed = 0; seed < 10; seed++) {
+            checkBands(createPath(seed), null, true);
+        }
+    }
+
+    @Test
+    public void fillBandsNoAA() {
+        for (long seed = 0; seed < 10; seed++) {
+            checkBands(createPath(seed), null, false);
+        }
+    }
+
+    @Test
+    public void strokeBandsAA() {
+        final BasicStroke stroke = new BasicStroke(7f, BasicStroke.CAP_ROUND,
+                                                   BasicStroke.JOIN_ROUND, 10f);
+        for (long seed = 0; seed < 5; seed++) {
+            checkBands(createPath(seed), stroke, true);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism.impl;
+
+import com.sun.prism.Image;
+import com.sun.prism.MediaFrame;
+import com.sun.prism.Mesh;
+import com.sun.prism.MeshView;
+import com.sun.prism.PhongMaterial;
+import com.sun.prism.PixelFormat;
+import com.sun.prism.Presentable;
+import com.sun.prism.PresentableState;
+import com.sun.prism.RTTexture;
+import com.sun.prism.Texture;
+import com.sun.prism.Texture.Usage;
+import com.sun.prism.Texture.WrapMode;
+import com.sun.prism.impl.BaseResourceFactory;
+import com.sun.prism.impl.BaseResourcePool;
+import com.sun.prism.impl.BaseTexture;
+import com.sun.prism.impl.ManagedResource;
+import com.sun.prism.impl.TextureResourcePool;
+import com.sun.prism.shape.ShapeRep;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BaseResourceFactoryTest {
+
+    private static final int WIDTH = 100;
+    private static final int HEIGHT = 50;
+    private static final int ROW_BYTES = WIDTH * 4;
+
+    static class TestPool extends BaseResourcePool<Long> implements TextureResourcePool<Long> {
+        TestPool(long target, long max) {
+            super(target, max);
+        }
+
+        @Override
+        public long size(Long resource) {
+            return resource;
+        }
+
+        @Override
+        public long estimateTextureSize(int width, int height, PixelFormat format) {
+            return (long) width * height * format.getBytesPerPixelUnit();
+        }
+
+        @Override
+        public long estimateRTTextureSize(int width, int height, boolean hasDepth) {
+            return (long) width * height * 4;
+        }
+    }
+
+    static class TestResource extends ManagedResource<Long> {
+        boolean lost;
+
+        TestResource(long size, TestPool pool) {
+            super(size, pool);
+        }
+
+        @Override
+        public boolean isValid() {
+            return !lost && super.isValid();
+        }
+    }
+
+    static class TestTexture extends BaseTexture<TestResource> {
+        // the first row and row count of each update
+        final List<int[]> updates = new ArrayList<>();
+
+        TestTexture(TestResource resource, PixelFormat format, WrapMode wrapMode, int width, int height) {
+            super(resource, format, wrapMode, width, height);
+        }
+
+        void loseSurface() {
+            resource.lost = true;
+        }
+
+        @Override
+        protected Texture createSharedTexture(WrapMode newMode) {
+            return null;
+        }
+
+        @Override
+        public void update(Buffer buffer, PixelFormat format, int dstx, int dsty,
+                           int srcx, int srcy, int srcw, int srch, int srcscan, boolean skipFlush) {
+            checkUpdateParams(buffer, format, dstx, dsty, srcx, srcy, srcw, srch, srcscan);
+            updates.add(new int[] { dsty, srch });
+        }
+
+        @Override
+        public void update(MediaFrame frame, boolean skipFlush) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static class TestResourceFactory extends BaseResourceFactory {
+        final TestPool pool;
+        final List<TestTexture> created = new ArrayList<>();
+
+        TestResourceFactory(long poolTarget) {
+            pool = new TestPool(poolTarget, poolTarget * 2);
+        }
+
+        @Override
+        public TextureResourcePool getTextureResourcePool() {
+            return pool;
+        }
+
+        @Override
+        public Texture createTexture(PixelFormat formatHint, Usage usageHint, WrapMode wrapMode, int w, int h) {
+            TestResource resource = new TestResource(pool.estimateTextureSize(w, h, formatHint), pool);
+            TestTexture texture = new TestTexture(resource, formatHint, wrapMode, w, h);
+            created.add(texture);
+            return texture;
+        }
+
+        @Override
+        public Texture createTexture(PixelFormat formatHint, Usage usageHint, WrapMode wrapMode,
+                                     int w, int h, boolean useMipmap) {
+            return createTexture(formatHint, usageHint, wrapMode, w, h);
+        }
+
+        @Override
+        public int getMaximumTextureSize() {
+            return 4096;
+        }
+
+        @Override public int getRTTWidth(int w, WrapMode wrapMode) { return w; }
+        @Override public int getRTTHeight(int h, WrapMode wrapMode) { return h; }
+        @Override public Texture createTexture(MediaFrame frame) { return null; }
+        @Override public boolean isFormatSupported(PixelFormat format) { return true; }
+        @Override public boolean isCompatibleTexture(Texture tex) { return tex instanceof TestTexture; }
+        @Override public Presentable createPresentable(PresentableState pState) { return null; }
+        @Override public RTTexture createRTTexture(int width, int height, WrapMode wrapMode) { return null; }
+        @Override public RTTexture createRTTexture(int width, int height, WrapMode wrapMode, boolean msaa) { return null; }
+        @Override public ShapeRep createPathRep() { return null; }
+        @Override public ShapeRep createRoundRectRep() { return null; }
+        @Override public ShapeRep createEllipseRep() { return null; }
+        @Override public ShapeRep createArcRep() { return null; }
+        @Override public PhongMaterial createPhongMaterial() { return null; }
+        @Override public MeshView createMeshView(Mesh mesh) { return null; }
+        @Override public Mesh createMesh() { return null; }
+    }
+
+    private TestResourceFactory factory;
+    private Image image;
+
+    @Before
+    public void setUp() {
+        factory = new TestResourceFactory(1L << 20);
+        image = Image.fromByteBgraPreData(ByteBuffer.allocate(WIDTH * HEIGHT * 4), WIDTH, HEIGHT);
+    }
+
+    private TestTexture uploadedTexture() {
+        assertEquals(1, factory.created.size());
+        return factory.created.get(0);
+    }
+
+    private static void assertUpdates(TestTexture texture, int... rows) {
+        assertEquals(rows.length / 2, texture.updates.size());
+        for (int i = 0; i < texture.updates.size(); i++) {
+            assertArrayEquals(new int[] { rows[2 * i], rows[2 * i + 1] }, texture.updates.get(i));
+        }
+    }
+
+    @Test
+    public void testUploadInChunks() {
+        assertTrue(factory.uploadCachedTexture(image, 20 * ROW_BYTES));
+        assertTrue(factory.uploadCachedTexture(image, 20 * ROW_BYTES));
+        assertFalse(factory.uploadCachedTexture(image, 20 * ROW_BYTES));
+        TestTexture texture = uploadedTexture();
+        assertUpdates(texture, 0, 20, 20, 20, 40, 10);
+        assertFalse(texture.isLocked());
+
+        // the texture is in the cache and is not uploaded again
+        assertSame(texture, factory.getCachedTexture(image, WrapMode.CLAMP_TO_EDGE));
+        assertEquals(3, texture.updates.size());
+        assertFalse(factory.uploadCachedTexture(image, 20 * ROW_BYTES));
+        assertEquals(1, factory.created.size());
+    }
+
+    @Test
+    public void testUploadAtLeastOneRow() {
+        assertTrue(factory.uploadCachedTexture(image, 1));
+        assertUpdates(uploadedTexture(), 0, 1);
+    }
+
+    @Test
+    public void testUploadFinishedOnDemand() {
+        assertTrue(factory.uploadCachedTexture(image, 20 * ROW_BYTES));
+        TestTexture texture = uploadedTexture();
+
+        assertSame(texture, factory.getCachedTexture(image, WrapMode.CLAMP_TO_EDGE));
+        assertUpdates(texture, 0, 20, 20, 30);
+        texture.unlock();
+
+        // nothing is left to upload
+        assertFalse(factory.uploadCachedTexture(image, 20 * ROW_BYTES));
+        assertEquals(2, texture.updates.size());
+    }
+
+    @Test
+    public void testNoUploadWithoutRoomInPool() {
+        factory = new TestResourceFactory(WIDTH * HEIGHT * 4 - 1);
+        assertFalse(factory.uploadCachedTexture(image, 20 * ROW_BYTES));
+        assertTrue(factory.created.isEmpty());
+    }
+
+    @Test
+    public void testNoUploadOfImageLargerThanTexture() {
+        Image large = Image.fromByteBgraPreData(ByteBuffer.allocate(5000 * 4), 5000, 1);
+        assertFalse(factory.uploadCachedTexture(large, 20 * ROW_BYTES));
+        assertTrue(factory.created.isEmpty());
+    }
+
+    @Test
+    public void testUploadAbandonedWhenSurfaceLost() {
+        assertTrue(factory.uploadCachedTexture(image, 20 * ROW_BYTES));
+        TestTexture lost = uploadedTexture();
+        lost.loseSurface();
+
+        assertFalse(factory.uploadCachedTexture(image, 20 * ROW_BYTES));
+        assertEquals(1, lost.updates.size());
+        assertFalse(lost.isLocked());
+
+        // the image gets a new texture with all of its rows when rendered
+        Texture texture = factory.getCachedTexture(image, WrapMode.CLAMP_TO_EDGE);
+        assertNotSame(lost, texture);
+        assertEquals(2, factory.created.size());
+        assertEquals(1, lost.updates.size());
+    }
+
+    @Test
+    public void testSurfaceLostBeforeFinishedOnDemand() {
+        assertTrue(factory.uploadCachedTexture(image, 20 * ROW_BYTES));
+        TestTexture lost = uploadedTexture();
+        lost.loseSurface();
+
+        Texture texture = factory.getCachedTexture(image, WrapMode.CLAMP_TO_EDGE);
+        assertNotSame(lost, texture);
+        assertEquals(1, lost.updates.size());
+        assertFalse(lost.isLocked());
+    }
+}
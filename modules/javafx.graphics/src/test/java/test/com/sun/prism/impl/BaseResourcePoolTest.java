@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism.impl;
+
+import com.sun.javafx.perf.ResourcePoolStatistics;
+import com.sun.prism.Texture.EvictionPriority;
+import com.sun.prism.impl.BaseResourcePool;
+import com.sun.prism.impl.ManagedResource;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BaseResourcePoolTest {
+
+    static class TestPool extends BaseResourcePool<Long> {
+        TestPool(long target, long max) {
+            super(target, max);
+        }
+
+        @Override
+        public long size(Long resource) {
+            return resource;
+        }
+
+        void age(int count) {
+            for (int i = 0; i < count; i++) {
+                freeDisposalRequestedAndCheckResources(false);
+            }
+        }
+    }
+
+    static class TestResource extends ManagedResource<Long> {
+        TestResource(long size, TestPool pool) {
+            super(size, pool);
+        }
+
+        @Override
+        public void free() {
+        }
+    }
+
+    private TestPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new TestPool(1000, 2000);
+    }
+
+    private TestResource allocate(long size, boolean useful) {
+        assertTrue(pool.prepareForAllocation(size));
+        TestResource mr = new TestResource(size, pool);
+        if (useful) {
+            mr.contentsUseful();
+        }
+        mr.unlock();
+        return mr;
+    }
+
+    @Test
+    public void cachePriorityEvictedBeforeDefault() {
+        TestResource r0 = allocate(250, true);
+        TestResource r1 = allocate(250, true);
+        TestResource r2 = allocate(250, true);
+        TestResource r3 = allocate(250, true);
+        r2.setEvictionPriority(EvictionPriority.CACHE);
+        pool.age(150);
+
+        assertTrue(pool.prepareForAllocation(250));
+        assertTrue(r0.isValid());
+        assertTrue(r1.isValid());
+        assertFalse(r2.isValid());
+        assertTrue(r3.isValid());
+        assertEquals(750, pool.used());
+        assertEquals(1, pool.evictionCount());
+        assertEquals(250, pool.evictedSize());
+        assertEquals(0, pool.allocationFailureCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedEvictedFirst() {
+        TestResource r0 = allocate(250, true);
+        pool.age(10);
+        TestResource r1 = allocate(250, true);
+        pool.age(10);
+        TestResource r2 = allocate(250, true);
+        pool.age(10);
+        TestResource r3 = allocate(250, true);
+        pool.age(150);
+
+        assertTrue(pool.prepareForAllocation(300));
+        assertFalse(r0.isValid());
+        assertFalse(r1.isValid());
+        assertTrue(r2.isValid());
+        assertTrue(r3.isValid());
+        assertEquals(2, pool.evictionCount());
+        assertEquals(500, pool.evictedSize());
+    }
+
+    @Test
+    public void recentlyUsedNotEvictedWhenTargetCanGrow() {
+        TestResource r0 = allocate(250, true);
+        TestResource r1 = allocate(250, true);
+        TestResource r2 = allocate(250, true);
+        TestResource r3 = allocate(250, true);
+        pool.age(10);
+
+        assertTrue(pool.prepareForAllocation(500));
+        assertTrue(r0.isValid());
+        assertTrue(r1.isValid());
+        assertTrue(r2.isValid());
+        assertTrue(r3.isValid());
+        assertEquals(1500, pool.target());
+        assertEquals(0, pool.evictionCount());
+    }
+
+    @Test
+    public void lastChanceEvictsRecentlyUsedByPriority() {
+        TestResource r0 = allocate(250, true);
+        TestResource r1 = allocate(250, true);
+        TestResource r2 = allocate(250, true);
+        TestResource r3 = allocate(250, true);
+        r3.setEvictionPriority(EvictionPriority.CACHE);
+
+        assertTrue(pool.prepareForAllocation(1250));
+        assertTrue(r0.isValid());
+        assertTrue(r1.isValid());
+        assertTrue(r2.isValid());
+        assertFalse(r3.isValid());
+        assertEquals(750, pool.used());
+        assertEquals(1, pool.evictionCount());
+    }
+
+    @Test
+    public void lockedResourcesNotEvicted() {
+        TestResource r0 = allocate(500, true);
+        TestResource r1 = allocate(500, true);
+        r0.lock();
+        r1.lock();
+        r1.setEvictionPriority(EvictionPriority.CACHE);
+
+        assertFalse(pool.prepareForAllocation(1500));
+        assertTrue(r0.isValid());
+        assertTrue(r1.isValid());
+        assertEquals(0, pool.evictionCount());
+        assertEquals(1, pool.allocationFailureCount());
+    }
+
+    @Test
+    public void statisticsSnapshot() {
+        TestResource r0 = allocate(500, true);
+        TestResource r1 = allocate(500, true);
+        r0.lock();
+        r1.setEvictionPriority(EvictionPriority.CACHE);
+        assertFalse(pool.prepareForAllocation(1600));
+        r0.unlock();
+        pool.age(150);
+        assertTrue(pool.prepareForAllocation(500));
+
+        ResourcePoolStatistics stats = pool.getStatistics();
+        assertEquals(500, stats.getUsed());
+        assertEquals(500, stats.getManaged());
+        assertEquals(pool.target(), stats.getTarget());
+        assertEquals(2000, stats.getMax());
+        assertEquals(1, stats.getEvictionCount());
+        assertEquals(500, stats.getEvictedSize());
+        assertEquals(1, stats.getAllocationFailureCount());
+
+        // the snapshot does not change with the pool
+        allocate(100, true);
+        assertEquals(500, stats.getUsed());
+        assertEquals(600, pool.getStatistics().getUsed());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullPriorityRejected() {
+        allocate(100, false).setEvictionPriority(null);
+    }
+}
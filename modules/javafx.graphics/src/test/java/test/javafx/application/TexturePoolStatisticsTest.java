@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.application;
+
+import com.sun.javafx.perf.ResourcePoolStatistics;
+import com.sun.javafx.tk.Toolkit;
+import javafx.application.Platform;
+import javafx.application.TexturePoolStatistics;
+import org.junit.After;
+import org.junit.Test;
+import test.com.sun.javafx.pgstub.StubToolkit;
+
+import static org.junit.Assert.*;
+
+public final class TexturePoolStatisticsTest {
+
+    private static StubToolkit toolkit() {
+        return (StubToolkit) Toolkit.getToolkit();
+    }
+
+    @After
+    public void tearDown() {
+        toolkit().setTexturePoolStatistics(null);
+    }
+
+    @Test
+    public void testNoTexturePool() {
+        assertNull(Platform.getTexturePoolStatistics());
+    }
+
+    @Test
+    public void testSnapshotIsCopiedFromToolkit() {
+        toolkit().setTexturePoolStatistics(new ResourcePoolStatistics(10, 20, 30, 40, 5, 6, 7));
+
+        TexturePoolStatistics statistics = Platform.getTexturePoolStatistics();
+        assertEquals(10, statistics.getUsed());
+        assertEquals(20, statistics.getManaged());
+        assertEquals(30, statistics.getTarget());
+        assertEquals(40, statistics.getMax());
+        assertEquals(5, statistics.getEvictionCount());
+        assertEquals(6, statistics.getEvictedSize());
+        assertEquals(7, statistics.getAllocationFailureCount());
+    }
+}
@@ -28,8 +28,11 @@ package test.javafx.scene.canvas;
 import javafx.geometry.VPos;
 import test.javafx.scene.NodeTest;
 import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.DisplayList;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.canvas.GraphicsContextShim;
 import javafx.scene.effect.BlendMode;
+import javafx.scene.effect.BoxBlur;
 import test.javafx.scene.image.ImageForTesting;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.ArcType;
@@ -42,6 +45,9 @@ import javafx.scene.text.TextAlignment;
 import javafx.scene.transform.Affine;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Transform;
+import java.nio.FloatBuffer;
+import com.sun.javafx.geom.DirtyRegionContainer;
+import com.sun.javafx.geom.RectBounds;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -51,6 +57,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
 
 public class CanvasTest {
 
@@ -508,6 +515,129 @@ public class CanvasTest {
         gc.drawImage(image, 0, 0, 100, 100, 0, 0, 100, 100);
     }
 
+    @Test public void testGCfillRects_basic() throws Exception {
+        float[] rects = {0, 0, 10, 10, 20, 20, 5, 5, 0, 0, 0, 0};
+        gc.fillRects(rects, 0, 3);
+        gc.fillRects(rects, 4, 2);
+        gc.fillRects(rects, 0, 0);
+        gc.fillRects(FloatBuffer.wrap(rects), 3);
+    }
+
+    @Test public void testGCstrokeRectsAndLines_basic() throws Exception {
+        float[] data = {0, 0, 10, 10, 20, 20, 5, 5};
+        gc.strokeRects(data, 0, 2);
+        gc.strokeRects(FloatBuffer.wrap(data), 2);
+        gc.strokeLines(data, 4, 1);
+        gc.strokeLines(FloatBuffer.wrap(data).position(4), 1);
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testGCfillRects_Null() {
+        gc.fillRects((float[]) null, 0, 1);
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void testGCfillRects_TooFewValues() {
+        gc.fillRects(new float[7], 0, 2);
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void testGCfillRects_NegativeCount() {
+        gc.fillRects(new float[8], 0, -1);
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void testGCfillRects_CountOverflow() {
+        // 4 * count overflows to 4
+        gc.fillRects(new float[8], 0, 0x40000001);
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void testGCstrokeRects_BufferCountOverflow() {
+        gc.strokeRects(FloatBuffer.wrap(new float[8]), 0x40000001);
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void testGCstrokeLines_NegativeOffset() {
+        gc.strokeLines(new float[8], -1, 1);
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void testGCstrokeRects_BufferTooSmall() {
+        gc.strokeRects(FloatBuffer.wrap(new float[8]).position(1), 2);
+    }
+
+    @Test public void testGCDisplayList_basic() throws Exception {
+        gc.beginDisplayList();
+        gc.setFill(Color.RED);
+        gc.fillRect(0, 0, 10, 10);
+        gc.strokeLines(new float[] {0, 0, 10, 10}, 0, 1);
+        DisplayList list = gc.endDisplayList();
+        assertNotNull(list);
+        gc.drawDisplayList(list);
+        gc.drawDisplayList(list);
+        gc.drawDisplayList(null);
+    }
+
+    @Test public void testGCDisplayList_RestoresAttributes() throws Exception {
+        gc.setFill(Color.GREEN);
+        gc.setLineWidth(3);
+        gc.translate(5, 5);
+        Affine tx = gc.getTransform();
+        gc.beginDisplayList();
+        assertEquals(Color.GREEN, gc.getFill());
+        assertEquals(3, gc.getLineWidth(), 0);
+        gc.setFill(Color.RED);
+        gc.setLineWidth(7);
+        gc.rotate(45);
+        gc.save();
+        gc.rect(0, 0, 10, 10);
+        gc.clip();
+        gc.fillRect(0, 0, 10, 10);
+        gc.endDisplayList();
+        assertEquals(Color.GREEN, gc.getFill());
+        assertEquals(3, gc.getLineWidth(), 0);
+        assertMatrix(tx, gc.getTransform());
+    }
+
+    @Test public void testGCDisplayList_RestoreOnlyPopsRecordedStates() throws Exception {
+        gc.setFill(Color.GREEN);
+        gc.save();
+        gc.setFill(Color.BLUE);
+        gc.beginDisplayList();
+        gc.restore();
+        assertEquals(Color.BLUE, gc.getFill());
+        gc.save();
+        gc.setFill(Color.RED);
+        gc.restore();
+        assertEquals(Color.BLUE, gc.getFill());
+        gc.endDisplayList();
+        gc.restore();
+        assertEquals(Color.GREEN, gc.getFill());
+    }
+
+    @Test public void testGCDisplayList_Nested() throws Exception {
+        gc.beginDisplayList();
+        gc.fillRect(0, 0, 10, 10);
+        DisplayList inner = gc.endDisplayList();
+        gc.beginDisplayList();
+        gc.drawDisplayList(inner);
+        gc.drawDisplayList(inner);
+        DisplayList outer = gc.endDisplayList();
+        gc.drawDisplayList(outer);
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void testGCDisplayList_BeginTwice() {
+        gc.beginDisplayList();
+        gc.beginDisplayList();
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void testGCDisplayList_EndWithoutBegin() {
+        gc.endDisplayList();
+    }
+
     public static void assertMatrix(Transform expected,
             Transform result) {
         assertEquals(expected.getMxx(), result.getMxx(), 0.00001);
@@ -523,4 +653,104 @@ public class CanvasTest {
         assertEquals(expected.getMzz(), result.getMzz(), 0.00001);
         assertEquals(expected.getTz(), result.getTz(), 0.00001);
     }
+
+    private static double damagedArea(GraphicsContext gc) {
+        DirtyRegionContainer damage = GraphicsContextShim.getDamage(gc);
+        if (damage == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double area = 0;
+        for (int i = 0; i < damage.size(); i++) {
+            RectBounds r = damage.getDirtyRegion(i);
+            area += (double) r.getWidth() * r.getHeight();
+        }
+        return area;
+    }
+
+    private static void assertDamageContains(GraphicsContext gc, float x0, float y0, float x1, float y1) {
+        DirtyRegionContainer damage = GraphicsContextShim.getDamage(gc);
+        assertNotNull(damage);
+        RectBounds r = new RectBounds(x0, y0, x1, y1);
+        for (int i = 0; i < damage.size(); i++) {
+            if (damage.getDirtyRegion(i).contains(r)) {
+                return;
+            }
+        }
+        fail("damage " + damage + " does not contain " + r);
+    }
+
+    @Test public void testDamage_fillRect() {
+        GraphicsContextShim.resetDamage(gc);
+        gc.fillRect(10, 20, 30, 40);
+        assertDamageContains(gc, 10, 20, 40, 60);
+        assertTrue(damagedArea(gc) < 40 * 50);
+    }
+
+    @Test public void testDamage_transformedStroke() {
+        GraphicsContextShim.resetDamage(gc);
+        gc.translate(100, 100);
+        gc.scale(2, 2);
+        gc.setLineWidth(4);
+        gc.strokeLine(0, 0, 10, 0);
+        // the line width of 4 is scaled to 8
+        assertDamageContains(gc, 96, 96, 124, 104);
+    }
+
+    @Test public void testDamage_pathAndPolygon() {
+        GraphicsContextShim.resetDamage(gc);
+        gc.beginPath();
+        gc.moveTo(50, 50);
+        gc.lineTo(60, 70);
+        gc.fill();
+        gc.fillPolygon(new double[] { 200, 210, 220 }, new double[] { 5, 25, 5 }, 3);
+        assertDamageContains(gc, 50, 50, 60, 70);
+        assertDamageContains(gc, 200, 5, 220, 25);
+    }
+
+    @Test public void testDamage_pixelWriter() {
+        GraphicsContextShim.resetDamage(gc);
+        gc.getPixelWriter().setArgb(7, 9, 0xff000000);
+        assertDamageContains(gc, 7, 9, 8, 10);
+        assertTrue(damagedArea(gc) <= 9);
+    }
+
+    @Test public void testDamage_fullForTextAndEffects() {
+        GraphicsContextShim.resetDamage(gc);
+        gc.fillText("Test", 0, 0);
+        assertNull(GraphicsContextShim.getDamage(gc));
+
+        GraphicsContextShim.resetDamage(gc);
+        gc.setEffect(new BoxBlur());
+        gc.fillRect(0, 0, 1, 1);
+        assertNull(GraphicsContextShim.getDamage(gc));
+    }
+
+    @Test public void testDamage_displayList() {
+        gc.beginDisplayList();
+        gc.fillRect(300, 300, 10, 10);
+        DisplayList list = gc.endDisplayList();
+        GraphicsContextShim.resetDamage(gc);
+        gc.fillRect(0, 0, 5, 5);
+        gc.drawDisplayList(list);
+        assertDamageContains(gc, 0, 0, 5, 5);
+        assertDamageContains(gc, 300, 300, 310, 310);
+    }
+
+    @Test public void testDamage_movingCursorOn4KCanvas() {
+        canvas.setWidth(3840);
+        canvas.setHeight(2160);
+        gc.fillRect(0, 0, 3840, 2160);
+        double total = 0;
+        int frames = 100;
+        for (int i = 0; i < frames; i++) {
+            GraphicsContextShim.resetDamage(gc);
+            // erase the previous position of the cursor and draw the new one
+            gc.clearRect(i * 10, 1000, 2, 20);
+            gc.fillRect(i * 10 + 10, 1000, 2, 20);
+            total += damagedArea(gc);
+        }
+        double perFrame = total / frames;
+        assertTrue("damaged pixels per frame: " + perFrame,
+                   perFrame < 3840.0 * 2160.0 / 1000);
+    }
 }
@@ -32,6 +32,7 @@ import test.com.sun.javafx.pgstub.StubAsyncImageLoader;
 import test.com.sun.javafx.pgstub.StubImageLoaderFactory;
 import test.com.sun.javafx.pgstub.StubToolkit;
 import test.com.sun.javafx.test.PropertyInvalidationCounter;
+import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.tk.Toolkit;
 import javafx.beans.InvalidationListener;
 import org.junit.Before;
@@ -149,6 +150,43 @@ public final class ImageTest {
         assertTrue(p3 == p4);
     }
 
+    @Test
+    public void loadImageAsyncPartialImageTest() {
+        final Object fakePartialImage = new Object();
+        registerImage(fakePartialImage, 200, 100);
+        final StubPlatformImage partialImage = getPlatformImage(
+                Toolkit.getImageAccessor().fromPlatformImage(fakePartialImage));
+
+        final String url = "file:test.png";
+        registerImage(url, 200, 100);
+
+        final Image image = new Image(url, true);
+        final StubAsyncImageLoader lastAsyncImageLoader =
+                getLastAsyncImageLoader();
+        final PropertyInvalidationCounter<Object> plImageInvalidationCounter =
+                new PropertyInvalidationCounter<Object>();
+        Toolkit.getImageAccessor().getImageProperty(image).addListener(plImageInvalidationCounter);
+
+        lastAsyncImageLoader.setPartialImage(partialImage, 200, 100, new Rectangle(0, 0, 200, 10));
+        assertSame(partialImage, getPlatformImage(image));
+        assertEquals(200, image.getWidth(), 0);
+        assertEquals(100, image.getHeight(), 0);
+        assertEquals(1, plImageInvalidationCounter.getCounter());
+        assertNull(partialImage.getDirtyRegion());
+        assertTrue(image.getProgress() < 1);
+
+        // later rows are marked dirty in the same platform image
+        final Rectangle dirtyRegion = new Rectangle(0, 10, 200, 20);
+        lastAsyncImageLoader.setPartialImage(partialImage, 200, 100, dirtyRegion);
+        assertSame(partialImage, getPlatformImage(image));
+        assertEquals(2, plImageInvalidationCounter.getCounter());
+        assertEquals(dirtyRegion, partialImage.getDirtyRegion());
+
+        lastAsyncImageLoader.finish();
+        assertNotSame(partialImage, getPlatformImage(image));
+        verifyLoadedImage(image, 0, 0, false, false, 200, 100);
+    }
+
     /*
     @Test
     public void loadImageAsyncPlaceholderTest() {
@@ -383,6 +421,33 @@ public final class ImageTest {
         TestImages.disposeAnimatedImage(animatedImage);
     }
 
+    @Test
+    public void streamedAnimatedImageKeepsFrameUntilDecodedTest() {
+        // reset time
+        toolkit.setAnimationTime(0);
+        final String url = "file:testStreamedAnimImg.png";
+        final StubPlatformImageInfo imageInfo =
+                new StubPlatformImageInfo(300, 400, new int[] { 2000, 1000, 3000 }, 0);
+        imageInfo.setDecodedFrames(true, false, true);
+        imageLoaderFactory.registerImage(url, imageInfo);
+        final Image animatedImage = new Image(url);
+
+        verifyLoadedImage(animatedImage, 0, 0, false, false, 300, 400);
+
+        // frame 1 is not decoded in time, frame 0 stays
+        toolkit.setAnimationTime(2500);
+        assertEquals(0, getPlatformImage(animatedImage).getFrame());
+
+        toolkit.setAnimationTime(3000);
+        assertEquals(2, getPlatformImage(animatedImage).getFrame());
+
+        imageInfo.setDecodedFrames(true, true, true);
+        toolkit.setAnimationTime(8000);
+        assertEquals(1, getPlatformImage(animatedImage).getFrame());
+
+        TestImages.disposeAnimatedImage(animatedImage);
+    }
+
     @Test
     public void imagePropertyListenersCalledOnceTest() {
         final String url = "file:test.png";
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.image;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageWriter;
+import javafx.scene.image.WritableImage;
+import javax.imageio.ImageIO;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class ImageWriterTest {
+
+    private static BufferedImage writeAndRead(Image image, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageWriter.write(image, format, out).get(10, TimeUnit.SECONDS);
+        return ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    public void writePNGTest() throws Exception {
+        final BufferedImage image = writeAndRead(new WritableImage(30, 20), "png");
+        assertEquals(30, image.getWidth());
+        assertEquals(20, image.getHeight());
+    }
+
+    @Test
+    public void writeJPEGTest() throws Exception {
+        final BufferedImage image = writeAndRead(new WritableImage(17, 9), "JPG");
+        assertEquals(17, image.getWidth());
+        assertEquals(9, image.getHeight());
+    }
+
+    @Test
+    public void failingOutputTest() throws Exception {
+        final IOException failure = new IOException("disk full");
+        final OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw failure;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw failure;
+            }
+        };
+        try {
+            ImageWriter.write(new WritableImage(10, 10), "png", out)
+                       .get(10, TimeUnit.SECONDS);
+            fail("Writing to a failing stream must fail");
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedFormatTest() {
+        ImageWriter.write(new WritableImage(10, 10), "tiff", new ByteArrayOutputStream());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullImageTest() {
+        ImageWriter.write(null, "png", new ByteArrayOutputStream());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullOutputTest() {
+        ImageWriter.write(new WritableImage(10, 10), "png", null);
+    }
+
+    @Test
+    public void animatedImageTest() {
+        final Image animatedImage =
+                TestImages.createAnimatedTestImage(30, 40, 0, 1000, 1000);
+        try {
+            ImageWriter.write(animatedImage, "png", new ByteArrayOutputStream());
+            fail("Animated images can't be written");
+        } catch (IllegalArgumentException e) {
+            // expected
+        } finally {
+            TestImages.disposeAnimatedImage(animatedImage);
+        }
+    }
+}
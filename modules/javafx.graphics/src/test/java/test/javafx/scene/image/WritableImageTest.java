@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.image;
+
+import test.com.sun.javafx.test.PropertyInvalidationCounter;
+import com.sun.javafx.tk.ImageLoader;
+import com.sun.javafx.tk.PlatformImage;
+import com.sun.javafx.tk.Toolkit;
+import javafx.scene.image.WritableImage;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class WritableImageTest {
+
+    @Test
+    public void snapshotLoaderIsCreatedForCurrentImageTest() {
+        final WritableImage image = new WritableImage(10, 20);
+        final Toolkit.WritableImageAccessor accessor = Toolkit.getWritableImageAccessor();
+
+        final Object platformImage = getPlatformImage(image);
+        final Object loader = accessor.getTkImageLoader(image);
+        assertTrue(loader instanceof ImageLoader);
+        assertEquals(10, ((ImageLoader) loader).getWidth(), 0);
+        assertEquals(20, ((ImageLoader) loader).getHeight(), 0);
+        assertSame(loader, accessor.getTkImageLoader(image));
+        assertSame(platformImage, getPlatformImage(image));
+    }
+
+    @Test
+    public void loadTkImageRenderedInPlaceTest() {
+        final WritableImage image = new WritableImage(10, 20);
+        final Object platformImage = getPlatformImage(image);
+        final PropertyInvalidationCounter<Object> counter =
+                new PropertyInvalidationCounter<Object>();
+        Toolkit.getImageAccessor().getImageProperty(image).addListener(counter);
+
+        final ImageLoader loader = new FrameLoader((PlatformImage) platformImage, 10, 20);
+        Toolkit.getWritableImageAccessor().loadTkImage(image, loader);
+        assertSame(platformImage, getPlatformImage(image));
+        assertSame(loader, Toolkit.getWritableImageAccessor().getTkImageLoader(image));
+        assertEquals(1, counter.getCounter());
+
+        Toolkit.getWritableImageAccessor().loadTkImage(image, loader);
+        assertSame(platformImage, getPlatformImage(image));
+        assertEquals(2, counter.getCounter());
+    }
+
+    @Test
+    public void loadTkImageWithNewImageTest() {
+        final WritableImage image = new WritableImage(10, 20);
+        final PlatformImage newImage = Toolkit.getToolkit().createPlatformImage(10, 20);
+        final PropertyInvalidationCounter<Object> counter =
+                new PropertyInvalidationCounter<Object>();
+        Toolkit.getImageAccessor().getImageProperty(image).addListener(counter);
+
+        Toolkit.getWritableImageAccessor().loadTkImage(image, new FrameLoader(newImage, 10, 20));
+        assertSame(newImage, getPlatformImage(image));
+        assertEquals(1, counter.getCounter());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void loadTkImageWithWrongSizeTest() {
+        final WritableImage image = new WritableImage(10, 20);
+        final PlatformImage newImage = Toolkit.getToolkit().createPlatformImage(20, 10);
+
+        Toolkit.getWritableImageAccessor().loadTkImage(image, new FrameLoader(newImage, 20, 10));
+    }
+
+    private static Object getPlatformImage(final WritableImage image) {
+        return Toolkit.getImageAccessor().getPlatformImage(image);
+    }
+
+    private static final class FrameLoader implements ImageLoader {
+        private final PlatformImage frame;
+        private final int width;
+        private final int height;
+
+        FrameLoader(final PlatformImage frame, final int width, final int height) {
+            this.frame = frame;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override public Exception getException() { return null; }
+        @Override public int getFrameCount() { return 1; }
+        @Override public PlatformImage getFrame(final int index) { return frame; }
+        @Override public int getFrameDelay(final int index) { return 0; }
+        @Override public int getLoopCount() { return 0; }
+        @Override public double getWidth() { return width; }
+        @Override public double getHeight() { return height; }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package creation;
+
+import java.util.function.Supplier;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+
+/**
+ * Measures how many controls per second can be created and skinned, and the
+ * heap retained per control, for the controls that typically appear in large
+ * numbers: form fields, buttons and cells.
+ *
+ * Usage: java creation.ControlCreationBenchmark [controls]
+ */
+public final class ControlCreationBenchmark {
+
+    private ControlCreationBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        Platform.startup(() -> {
+            try {
+                for (int pass = 0; pass < 3; pass++) {
+                    run("TextField", count, TextField::new);
+                    run("TextArea", count / 10, TextArea::new);
+                    run("Button", count, () -> new Button("button"));
+                    run("CheckBox", count, () -> new CheckBox("check"));
+                    run("ListCell", count, ListCell::new);
+                    run("TableCell", count, TableCell::new);
+                    System.out.println();
+                }
+            } finally {
+                Platform.exit();
+            }
+        });
+    }
+
+    private static void run(String name, int count, Supplier<? extends Node> factory) {
+        long before = usedMemory();
+        long start = System.nanoTime();
+        Group root = new Group();
+        for (int i = 0; i < count; i++) {
+            root.getChildren().add(factory.get());
+        }
+        // skins are created when CSS is first applied
+        Scene scene = new Scene(root);
+        root.applyCss();
+        long time = System.nanoTime() - start;
+        long after = usedMemory();
+
+        System.out.printf("%-10s %6d controls: %8.0f controls/s, %6d bytes/control%n",
+                name, count, count / (time / 1e9), (after - before) / count);
+
+        // keep the scene reachable until the memory has been measured
+        if (scene.getRoot() != root) {
+            throw new AssertionError();
+        }
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
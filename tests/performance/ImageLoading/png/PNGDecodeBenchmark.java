@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package png;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+
+/**
+ * Measures how fast PNG images of different kinds are decoded: palette,
+ * 8 bit RGB and RGBA, 16 bit RGBA and interlaced images, both small and
+ * large. The image data of large images is inflated on a separate thread
+ * while their scanlines are decoded; run the benchmark a second time with
+ * -Dcom.sun.javafx.iio.png.pipelined=false to compare with decoding them
+ * on a single thread.
+ *
+ * Usage: java png.PNGDecodeBenchmark [milliseconds per image]
+ */
+public final class PNGDecodeBenchmark {
+
+    private PNGDecodeBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        final long millis = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+
+        final byte[] paletteSmall = encode(createPalette(256, 256), false);
+        final byte[] paletteLarge = encode(createPalette(2048, 2048), false);
+        final byte[] rgbLarge = encode(createRgb(2048, 2048, BufferedImage.TYPE_INT_RGB), false);
+        final byte[] rgbaSmall = encode(createRgb(256, 256, BufferedImage.TYPE_INT_ARGB), false);
+        final byte[] rgbaLarge = encode(createRgb(2048, 2048, BufferedImage.TYPE_INT_ARGB), false);
+        final byte[] rgba16Large = encode(createRgba16(1024, 1024), false);
+        final byte[] interlacedLarge = encode(createRgb(2048, 2048, BufferedImage.TYPE_INT_RGB), true);
+
+        Platform.startup(() -> {
+            new Thread(() -> {
+                try {
+                    for (int pass = 0; pass < 3; pass++) {
+                        run("palette 256x256", paletteSmall, millis);
+                        run("palette 2048x2048", paletteLarge, millis);
+                        run("RGB 2048x2048", rgbLarge, millis);
+                        run("RGBA 256x256", rgbaSmall, millis);
+                        run("RGBA 2048x2048", rgbaLarge, millis);
+                        run("RGBA16 1024x1024", rgba16Large, millis);
+                        run("interlaced 2048x2048", interlacedLarge, millis);
+                        System.out.println();
+                    }
+                } finally {
+                    Platform.exit();
+                }
+            }).start();
+        });
+    }
+
+    private static void run(String name, byte[] data, long millis) {
+        int count = 0;
+        long start = System.nanoTime();
+        long end = start + millis * 1_000_000;
+        long time;
+        do {
+            Image image = new Image(new ByteArrayInputStream(data));
+            if (image.isError()) {
+                throw new AssertionError(name, image.getException());
+            }
+            count++;
+            time = System.nanoTime();
+        } while (time < end);
+
+        double seconds = (time - start) / 1e9;
+        System.out.printf("%-22s %8d bytes: %8.2f ms/image, %8.1f MB/s encoded%n",
+                name, data.length, seconds * 1000 / count, data.length * (double) count / seconds / 1e6);
+    }
+
+    private static BufferedImage createRgb(int w, int h, int type) {
+        // a gradient with some noise compresses roughly like a photograph
+        BufferedImage image = new BufferedImage(w, h, type);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, new Color(255, 0, 0, 255), w, h, new Color(0, 0, 255, 128)));
+        g.fillRect(0, 0, w, h);
+        g.dispose();
+        Random random = new Random(42);
+        for (int i = 0; i < w * h / 8; i++) {
+            int x = random.nextInt(w), y = random.nextInt(h);
+            image.setRGB(x, y, image.getRGB(x, y) ^ random.nextInt(0x40));
+        }
+        return image;
+    }
+
+    private static BufferedImage createPalette(int w, int h) {
+        BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_BYTE_INDEXED);
+        Graphics2D g = image.createGraphics();
+        g.drawImage(createRgb(w, h, BufferedImage.TYPE_INT_RGB), 0, 0, null);
+        g.dispose();
+        return image;
+    }
+
+    private static BufferedImage createRgba16(int w, int h) {
+        ComponentColorModel model = new ComponentColorModel(ColorSpace.getInstance(ColorSpace.CS_sRGB),
+                true, false, Transparency.TRANSLUCENT, DataBuffer.TYPE_USHORT);
+        WritableRaster raster = model.createCompatibleWritableRaster(w, h);
+        Random random = new Random(42);
+        int[] pixel = new int[4];
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                pixel[0] = x * 65535 / w;
+                pixel[1] = y * 65535 / h;
+                pixel[2] = random.nextInt(65536);
+                pixel[3] = 65535 - pixel[0] / 2;
+                raster.setPixel(x, y, pixel);
+            }
+        }
+        return new BufferedImage(model, raster, false, null);
+    }
+
+    private static byte[] encode(BufferedImage image, boolean interlaced) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        if (interlaced) {
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        } else {
+            param.setProgressiveMode(ImageWriteParam.MODE_DISABLED);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package converters;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Random;
+import javafx.application.Platform;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.image.WritablePixelFormat;
+
+/**
+ * Measures the pixel format conversions done when pixels are written to
+ * and read from a WritableImage, whose pixels are stored as premultiplied
+ * BGRA bytes, for each pixel format supported by PixelWriter and
+ * PixelReader. Every conversion is measured with tightly packed rows and
+ * with rows that are padded, which the converters can't treat as a single
+ * row. Half of the pixels are translucent, so that the premultiply and
+ * unpremultiply paths are exercised.
+ *
+ * Usage: java converters.PixelConverterBenchmark [milliseconds per conversion]
+ */
+public final class PixelConverterBenchmark {
+
+    private static final int WIDTH = 1024;
+    private static final int HEIGHT = 1024;
+    private static final int PADDING = 16;
+
+    private PixelConverterBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final long millis = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+
+        Platform.startup(() -> {
+            try {
+                final WritableImage image = new WritableImage(WIDTH, HEIGHT);
+                for (int pass = 0; pass < 3; pass++) {
+                    for (int stride = WIDTH; stride <= WIDTH + PADDING; stride += PADDING) {
+                        runWrites(image, stride, millis);
+                        runReads(image, stride, millis);
+                    }
+                    System.out.println();
+                }
+            } finally {
+                Platform.exit();
+            }
+        });
+    }
+
+    private static void runWrites(WritableImage image, int stride, long millis) {
+        final PixelWriter writer = image.getPixelWriter();
+        final int[] ints = createPixels(stride);
+        final byte[] bgra = toBgraBytes(ints);
+        final byte[] rgb = toRgbBytes(ints, stride);
+
+        run("IntArgb -> ByteBgraPre", stride, millis, () -> writer.setPixels(0, 0, WIDTH, HEIGHT,
+                PixelFormat.getIntArgbInstance(), IntBuffer.wrap(ints), stride));
+        run("IntArgbPre -> ByteBgraPre", stride, millis, () -> writer.setPixels(0, 0, WIDTH, HEIGHT,
+                PixelFormat.getIntArgbPreInstance(), IntBuffer.wrap(ints), stride));
+        run("ByteBgra -> ByteBgraPre", stride, millis, () -> writer.setPixels(0, 0, WIDTH, HEIGHT,
+                PixelFormat.getByteBgraInstance(), ByteBuffer.wrap(bgra), stride * 4));
+        run("ByteBgraPre -> ByteBgraPre", stride, millis, () -> writer.setPixels(0, 0, WIDTH, HEIGHT,
+                PixelFormat.getByteBgraPreInstance(), ByteBuffer.wrap(bgra), stride * 4));
+        run("ByteRgb -> ByteBgraPre", stride, millis, () -> writer.setPixels(0, 0, WIDTH, HEIGHT,
+                PixelFormat.getByteRgbInstance(), ByteBuffer.wrap(rgb), stride * 3));
+    }
+
+    private static void runReads(WritableImage image, int stride, long millis) {
+        final PixelReader reader = image.getPixelReader();
+        final IntBuffer ints = IntBuffer.allocate(stride * HEIGHT);
+        final ByteBuffer bytes = ByteBuffer.allocate(stride * HEIGHT * 4);
+        image.getPixelWriter().setPixels(0, 0, WIDTH, HEIGHT,
+                PixelFormat.getIntArgbInstance(), createPixels(WIDTH), 0, WIDTH);
+
+        run("ByteBgraPre -> IntArgb", stride, millis, () -> reader.getPixels(0, 0, WIDTH, HEIGHT,
+                WritablePixelFormat.getIntArgbInstance(), ints, stride));
+        run("ByteBgraPre -> IntArgbPre", stride, millis, () -> reader.getPixels(0, 0, WIDTH, HEIGHT,
+                WritablePixelFormat.getIntArgbPreInstance(), ints, stride));
+        run("ByteBgraPre -> ByteBgra", stride, millis, () -> reader.getPixels(0, 0, WIDTH, HEIGHT,
+                WritablePixelFormat.getByteBgraInstance(), bytes, stride * 4));
+        run("ByteBgraPre -> ByteBgraPre", stride, millis, () -> reader.getPixels(0, 0, WIDTH, HEIGHT,
+                WritablePixelFormat.getByteBgraPreInstance(), bytes, stride * 4));
+    }
+
+    private static void run(String name, int stride, long millis, Runnable conversion) {
+        // Warm up
+        long end = System.nanoTime() + millis * 1_000_000L / 4;
+        while (System.nanoTime() < end) {
+            conversion.run();
+        }
+
+        int count = 0;
+        long start = System.nanoTime();
+        end = start + millis * 1_000_000L;
+        long now;
+        do {
+            conversion.run();
+            count++;
+            now = System.nanoTime();
+        } while (now < end);
+
+        double ms = (now - start) / 1e6 / count;
+        double mpixels = (double) WIDTH * HEIGHT / (ms * 1000);
+        System.out.printf("%-28s stride %5d: %8.3f ms %9.1f Mpixels/s%n",
+                name, stride, ms, mpixels);
+    }
+
+    private static int[] createPixels(int stride) {
+        final Random random = new Random(0);
+        final int[] pixels = new int[stride * HEIGHT];
+        for (int i = 0; i < pixels.length; i++) {
+            int alpha = random.nextBoolean() ? 0xff : random.nextInt(0x100);
+            pixels[i] = (alpha << 24) | (random.nextInt() & 0xffffff);
+        }
+        return pixels;
+    }
+
+    private static byte[] toBgraBytes(int[] pixels) {
+        final byte[] bytes = new byte[pixels.length * 4];
+        for (int i = 0; i < pixels.length; i++) {
+            int p = pixels[i];
+            // Keep the components valid for both BGRA and premultiplied BGRA
+            int a = p >>> 24;
+            bytes[i * 4    ] = (byte) Math.min(p & 0xff, a);
+            bytes[i * 4 + 1] = (byte) Math.min((p >> 8) & 0xff, a);
+            bytes[i * 4 + 2] = (byte) Math.min((p >> 16) & 0xff, a);
+            bytes[i * 4 + 3] = (byte) a;
+        }
+        return bytes;
+    }
+
+    private static byte[] toRgbBytes(int[] pixels, int stride) {
+        final byte[] bytes = new byte[stride * HEIGHT * 3];
+        for (int i = 0; i < pixels.length; i++) {
+            int p = pixels[i];
+            bytes[i * 3    ] = (byte) (p >> 16);
+            bytes[i * 3 + 1] = (byte) (p >> 8);
+            bytes[i * 3 + 2] = (byte) p;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package bands;
+
+import java.util.Random;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.CubicCurveTo;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.StrokeLineJoin;
+
+/**
+ * Measures how fast paths with many commands are rasterized by Marlin, for
+ * filled and stroked polylines and curves covering a large area. Each
+ * iteration moves the last point of the path so that the mask is not
+ * reused. Run the benchmark with -Dprism.marlin.bands=<count>, e.g. the
+ * number of processors, to rasterize the paths in bands, and without it to
+ * compare with rasterizing them on a single thread. Smaller paths, which are never
+ * rasterized in bands, are measured as a reference.
+ *
+ * Usage: java bands.MarlinBandBenchmark [milliseconds per path]
+ */
+public final class MarlinBandBenchmark {
+
+    private static final int SIZE = 2048;
+
+    private MarlinBandBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final long millis = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+        System.out.println("prism.marlin.bands = " + System.getProperty("prism.marlin.bands", "0"));
+        Platform.startup(() -> {
+            try {
+                for (int pass = 0; pass < 3; pass++) {
+                    run("fill lines 1000", createPath(1000, false), false, millis);
+                    run("fill lines 50000", createPath(50000, false), false, millis);
+                    run("fill curves 20000", createPath(20000, true), false, millis);
+                    run("stroke lines 50000", createPath(50000, false), true, millis);
+                    run("stroke curves 20000", createPath(20000, true), true, millis);
+                    System.out.println();
+                }
+            } finally {
+                Platform.exit();
+            }
+        });
+    }
+
+    private static void run(String name, Path path, boolean stroke, long millis) {
+        if (stroke) {
+            path.setFill(null);
+            path.setStroke(Color.BLACK);
+            path.setStrokeWidth(1.5);
+            path.setStrokeLineJoin(StrokeLineJoin.ROUND);
+        } else {
+            path.setFill(Color.BLACK);
+        }
+        final Group root = new Group(path);
+        final SnapshotParameters params = new SnapshotParameters();
+        final WritableImage image = new WritableImage(SIZE, SIZE);
+        final LineTo last = (LineTo) path.getElements().get(path.getElements().size() - 2);
+
+        int count = 0;
+        long start = System.nanoTime();
+        long end = start + millis * 1_000_000;
+        long time;
+        do {
+            last.setX(SIZE / 2.0 + (count & 0xFF) / 256.0);
+            root.snapshot(params, image);
+            count++;
+            time = System.nanoTime();
+        } while (time < end);
+
+        double seconds = (time - start) / 1e9;
+        System.out.printf("%-20s %8.2f ms/path%n", name, seconds * 1000 / count);
+    }
+
+    // Creates a closed path with the given number of segments spread over
+    // the whole snapshot, ending with a line that the benchmark moves.
+    private static Path createPath(int segments, boolean curves) {
+        final Random random = new Random(42);
+        final PathElement[] elements = new PathElement[segments + 2];
+        elements[0] = new MoveTo(0, 0);
+        for (int i = 1; i < segments; i++) {
+            if (curves) {
+                elements[i] = new CubicCurveTo(random.nextDouble() * SIZE, random.nextDouble() * SIZE,
+                        random.nextDouble() * SIZE, random.nextDouble() * SIZE,
+                        random.nextDouble() * SIZE, random.nextDouble() * SIZE);
+            } else {
+                elements[i] = new LineTo(random.nextDouble() * SIZE, random.nextDouble() * SIZE);
+            }
+        }
+        elements[segments] = new LineTo(SIZE / 2.0, SIZE);
+        elements[segments + 1] = new ClosePath();
+        return new Path(elements);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package rowlookup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javafx.application.Platform;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeView;
+
+/**
+ * Measures the time taken to map rows to tree items and back in a TreeView
+ * with a million nodes, for a wide tree (few levels with many children each)
+ * and a deep one.
+ *
+ * Usage: java rowlookup.TreeRowLookupBenchmark [nodes]
+ */
+public final class TreeRowLookupBenchmark {
+
+    private static final int LOOKUPS = 200_000;
+
+    private TreeRowLookupBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Platform.startup(() -> {
+            try {
+                run("wide", createTree(nodes, (int) Math.sqrt(nodes)));
+                run("deep", createTree(nodes, 10));
+            } finally {
+                Platform.exit();
+            }
+        });
+    }
+
+    // Creates a fully expanded tree with the given number of nodes, each
+    // having at most the given number of children.
+    private static TreeItem<String> createTree(int nodes, int width) {
+        TreeItem<String> root = new TreeItem<>("root");
+        root.setExpanded(true);
+        List<TreeItem<String>> level = List.of(root);
+        int count = 1;
+        while (count < nodes) {
+            List<TreeItem<String>> next = new ArrayList<>();
+            for (TreeItem<String> parent : level) {
+                List<TreeItem<String>> children = new ArrayList<>();
+                for (int i = 0; i < width && count < nodes; i++, count++) {
+                    TreeItem<String> child = new TreeItem<>(parent.getValue() + "." + i);
+                    child.setExpanded(true);
+                    children.add(child);
+                }
+                parent.getChildren().setAll(children);
+                next.addAll(children);
+                if (count >= nodes) {
+                    break;
+                }
+            }
+            level = next;
+        }
+        return root;
+    }
+
+    private static void run(String name, TreeItem<String> root) {
+        TreeView<String> treeView = new TreeView<>(root);
+        int rows = treeView.getExpandedItemCount();
+        Random random = new Random(0);
+        int[] sample = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            sample[i] = random.nextInt(rows);
+        }
+
+        // getTreeItem caches the items it finds, so collapse and expand the
+        // root between the passes to measure the lookups themselves
+        for (int pass = 0; pass < 3; pass++) {
+            root.setExpanded(false);
+            root.setExpanded(true);
+            treeView.getExpandedItemCount();
+
+            long start = System.nanoTime();
+            List<TreeItem<String>> items = new ArrayList<>(LOOKUPS);
+            for (int row : sample) {
+                items.add(treeView.getTreeItem(row));
+            }
+            long itemTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                if (treeView.getRow(items.get(i)) != sample[i]) {
+                    throw new AssertionError("row mismatch at " + sample[i]);
+                }
+            }
+            long rowTime = System.nanoTime() - start;
+
+            System.out.printf("%s tree, %d rows: getTreeItem %.0f ns/op, getRow %.0f ns/op%n",
+                    name, rows, (double) itemTime / LOOKUPS, (double) rowTime / LOOKUPS);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.com.sun.prism.sw;
+
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.RoundRectangle2D;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.Graphics;
+import com.sun.prism.paint.Color;
+import com.sun.prism.paint.Gradient;
+import com.sun.prism.paint.LinearGradient;
+import com.sun.prism.paint.RadialGradient;
+import com.sun.prism.paint.Stop;
+import com.sun.prism.sw.SWTileRasterizerShim;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import junit.framework.AssertionFailedError;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static test.util.Util.TIMEOUT;
+
+/**
+ * Compares shapes rasterized by the tiles of the SW pipeline with the same
+ * shapes rasterized by a plain {@code SWGraphics} without tiles.
+ * <p>
+ * Both renders cover the whole frame with the same clip. The shapes
+ * straddle the tile boundaries at fractional coordinates, and every pixel
+ * of the tiled frame must match the untiled frame.
+ */
+public class SWTileRasterizerTest {
+
+    static final int TILES = 4;
+
+    static final int WIDTH = 300;
+    static final int TILE_HEIGHT = 64;
+    static final int HEIGHT = TILES * TILE_HEIGHT;
+
+    // Used to launch the application before running any test
+    private static final CountDownLatch launchLatch = new CountDownLatch(1);
+
+    // Application class. An instance is created and initialized before running
+    // the first test, and it lives through the execution of all tests.
+    public static class MyApp extends Application {
+
+        public MyApp() {
+            super();
+        }
+
+        @Override
+        public void start(Stage primaryStage) throws Exception {
+            // the SW pipeline and its native renderer are loaded by the
+            // toolkit, the frames are rendered by the tests themselves
+            primaryStage.setScene(new Scene(new Group()));
+            primaryStage.setTitle("SWTileRasterizerTest");
+            primaryStage.show();
+
+            launchLatch.countDown();
+        }
+    }
+
+    @BeforeClass
+    public static void setupOnce() {
+        System.setProperty("prism.order", "sw");
+        System.setProperty("prism.sw.tiles", Integer.toString(TILES));
+
+        // Start the Application
+        new Thread(() -> Application.launch(MyApp.class, (String[]) null)).start();
+
+        try {
+            if (!launchLatch.await(TIMEOUT, TimeUnit.MILLISECONDS)) {
+                throw new AssertionFailedError("Timeout waiting for Application to launch");
+            }
+        } catch (InterruptedException ex) {
+            AssertionFailedError err = new AssertionFailedError("Unexpected exception");
+            err.initCause(ex);
+            throw err;
+        }
+
+        assertEquals(0, launchLatch.getCount());
+    }
+
+    @AfterClass
+    public static void teardownOnce() {
+        Platform.exit();
+    }
+
+    @Test(timeout = 20000)
+    public void testAntialiasedFills() {
+        compareTiledAndUntiled(g -> {
+            g.setPaint(new Color(0.39f, 0.58f, 0.93f, 1f));
+            g.fill(circle(WIDTH / 2f + 0.3f, TILE_HEIGHT + 0.7f, 50.25f));
+
+            g.setPaint(new Color(0.78f, 0.16f, 0.12f, 0.6f));
+            g.fill(new Ellipse2D(70.5f - 40.3f, 2 * TILE_HEIGHT + 0.4f - 90.1f, 2 * 40.3f, 2 * 90.1f));
+
+            g.setTransform(BaseTransform.getRotateInstance(Math.toRadians(17), 220.5, 160.875));
+            g.setPaint(new Color(0f, 0.39f, 0f, 1f));
+            g.fill(new RoundRectangle2D(180.25f, 100.5f, 80.5f, 120.75f, 0, 0));
+        });
+    }
+
+    @Test(timeout = 20000)
+    public void testStrokes() {
+        compareTiledAndUntiled(g -> {
+            final Path2D path = new Path2D();
+            path.moveTo(10.5f, 10.25f);
+            path.lineTo(WIDTH - 20.75f, HEIGHT - 30.5f);
+            path.curveTo(40, HEIGHT, 250, 20, 30.3f, TILE_HEIGHT * 3 - 0.5f);
+            g.setPaint(new Color(0.5f, 0f, 0f, 1f));
+            g.setStroke(new BasicStroke(7.3f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_MITER, 10f));
+            g.draw(path);
+
+            g.setPaint(new Color(0f, 0f, 0.5f, 1f));
+            g.setStroke(new BasicStroke(2.6f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f,
+                    new float[] {11f, 5.5f}, 0f));
+            g.draw(circle(WIDTH / 2f, HEIGHT / 2f, 2 * TILE_HEIGHT - 3.4f));
+
+            g.setPaint(Color.BLACK);
+            g.setStroke(new BasicStroke(0.6f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f));
+            g.draw(new Ellipse2D(WIDTH / 2f + 0.5f - 100.2f, HEIGHT / 2f - TILE_HEIGHT - 0.5f,
+                    2 * 100.2f, 2 * TILE_HEIGHT + 1f));
+        });
+    }
+
+    @Test(timeout = 20000)
+    public void testGradients() {
+        compareTiledAndUntiled(g -> {
+            g.setPaint(new LinearGradient(20, 14, 90, 200, null, false, Gradient.REFLECT, List.of(
+                    new Stop(new Color(1f, 1f, 0f, 1f), 0f),
+                    new Stop(new Color(0f, 0f, 1f, 0.5f), 0.5f),
+                    new Stop(new Color(1f, 0f, 0f, 1f), 1f))));
+            g.fill(circle(90.5f, TILE_HEIGHT + 20.3f, 70.7f));
+
+            g.setPaint(new RadialGradient(WIDTH - 90.25f, 2 * TILE_HEIGHT + 10.5f, 30f, 0.2f, 70f,
+                    null, false, Gradient.PAD, List.of(
+                    new Stop(Color.WHITE, 0f),
+                    new Stop(new Color(0.58f, 0f, 0.83f, 1f), 1f))));
+            g.fill(new Ellipse2D(WIDTH - 90.25f - 80.4f, 2 * TILE_HEIGHT + 10.5f - 110.6f,
+                    2 * 80.4f, 2 * 110.6f));
+
+            final Path2D line = new Path2D();
+            line.moveTo(5.5f, HEIGHT - 5.5f);
+            line.lineTo(WIDTH - 5.5f, 5.5f);
+            g.setPaint(new LinearGradient(0, 0, WIDTH, 0, null, false, Gradient.REPEAT, List.of(
+                    new Stop(new Color(1f, 0.65f, 0f, 1f), 0f),
+                    new Stop(new Color(0f, 0.5f, 0.5f, 1f), 1f))));
+            g.setStroke(new BasicStroke(12.2f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f));
+            g.draw(line);
+        });
+    }
+
+    private static Ellipse2D circle(float cx, float cy, float r) {
+        return new Ellipse2D(cx - r, cy - r, 2 * r, 2 * r);
+    }
+
+    private static void compareTiledAndUntiled(Consumer<Graphics> painter) {
+        final Consumer<Graphics> frame = g -> {
+            g.clear(Color.WHITE);
+            painter.accept(g);
+        };
+        final int[] untiled = SWTileRasterizerShim.render(WIDTH, HEIGHT, 1, frame);
+        final int[] tiled = SWTileRasterizerShim.render(WIDTH, HEIGHT, TILES, frame);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                final int expected = untiled[y * WIDTH + x];
+                final int actual = tiled[y * WIDTH + x];
+                if (actual != expected) {
+                    fail("bad pixel at (" + x + ", " + y + ") = "
+                            + Integer.toHexString(actual) + " expected: "
+                            + Integer.toHexString(expected));
+                }
+            }
+        }
+    }
+}